@@ -1,10 +1,13 @@
+import gestores.ContextoAplicacion;
 import gui.LoginUI;
 import javax.swing.*;
 
 public class Main {
     public static void main(String[] args) {
+        // Los datos se cargan una sola vez, fuera del hilo de eventos de Swing
+        ContextoAplicacion contexto = new ContextoAplicacion();
         SwingUtilities.invokeLater(() -> {
-            new LoginUI().setVisible(true);
+            new LoginUI(contexto).setVisible(true);
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package gestores;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus de eventos en memoria que comparten los gestores de un mismo {@link GestorGeneral}.
+ * Los gestores publican un {@link EventoDominio} por cada cambio confirmado y las ventanas se suscriben
+ * para actualizar solo lo afectado, en lugar de recargar todas las tablas.
+ * La entrega es síncrona, en el hilo que hizo el cambio y muchas veces con el bloqueo del gestor tomado:
+ * los oyentes deben ser rápidos y no modificar datos (las ventanas solo encolan el evento para el EDT).
+ */
+public class BusEventos {
+    private final Map<Class<? extends EventoDominio>, List<Consumer<? super EventoDominio>>> oyentes =
+            new ConcurrentHashMap<>();
+    private volatile boolean cerrado;
+
+    /**
+     * Suscribe un oyente a un tipo de evento y a sus subtipos ({@code EventoDominio.class} recibe todos).
+     * @return el oyente registrado, para pasarlo a {@link #desuscribir}
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends EventoDominio> Consumer<? super EventoDominio> suscribir(Class<E> tipo, Consumer<? super E> oyente) {
+        Consumer<? super EventoDominio> registrado = evento -> oyente.accept((E) evento);
+        if (cerrado) {
+            return registrado; // No recibirá nada: los gestores de este bus ya no publican
+        }
+        oyentes.computeIfAbsent(tipo, t -> new CopyOnWriteArrayList<>()).add(registrado);
+        return registrado;
+    }
+
+    /**
+     * Quita todos los oyentes y descarta lo que se publique después (al reemplazar los gestores que lo usan)
+     */
+    public void cerrar() {
+        cerrado = true;
+        oyentes.clear();
+    }
+
+    public void desuscribir(Consumer<? super EventoDominio> registrado) {
+        for (List<Consumer<? super EventoDominio>> lista : oyentes.values()) {
+            lista.remove(registrado);
+        }
+    }
+
+    /**
+     * Entrega el evento a los oyentes de su tipo. Un oyente que falla no impide la entrega a los demás
+     * ni afecta al cambio ya confirmado.
+     */
+    public void publicar(EventoDominio evento) {
+        if (cerrado) {
+            return;
+        }
+        for (Map.Entry<Class<? extends EventoDominio>, List<Consumer<? super EventoDominio>>> entrada : oyentes.entrySet()) {
+            if (!entrada.getKey().isInstance(evento)) {
+                continue;
+            }
+            for (Consumer<? super EventoDominio> oyente : entrada.getValue()) {
+                try {
+                    oyente.accept(evento);
+                } catch (RuntimeException e) {
+                    System.err.println("[WARNING] Error en un oyente de " + evento + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package gestores;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ranking de IDs por puntaje que se mantiene ordenado a medida que cambian los puntajes.
+ * Un índice ID -> puntaje permite ubicar la entrada anterior de un ID para reemplazarla (O(log n)),
+ * y leer los primeros K solo recorre esos K, sin ordenar todo de nuevo.
+ * Se guardan todos los IDs y no solo los K primeros: si un puntaje baja, el siguiente tiene que estar disponible.
+ */
+class Clasificacion {
+    private final Map<String, Double> puntajes = new HashMap<>();
+    // Mayor puntaje primero; a igual puntaje, por ID para que el orden sea estable
+    private final TreeSet<String> orden = new TreeSet<>((a, b) -> {
+        int comparacion = Double.compare(puntajes.get(b), puntajes.get(a));
+        return comparacion != 0 ? comparacion : a.compareTo(b);
+    });
+
+    /**
+     * Define el puntaje del ID, agregándolo si no estaba
+     */
+    synchronized void actualizar(String id, double puntaje) {
+        Double anterior = puntajes.get(id);
+        if (anterior != null) {
+            if (anterior == puntaje) {
+                return;
+            }
+            orden.remove(id); // Debe salir con el puntaje viejo, que es el que ubica su posición
+        }
+        puntajes.put(id, puntaje);
+        orden.add(id);
+    }
+
+    synchronized void quitar(String id) {
+        if (puntajes.containsKey(id)) {
+            orden.remove(id);
+            puntajes.remove(id);
+        }
+    }
+
+    synchronized void limpiar() {
+        orden.clear();
+        puntajes.clear();
+    }
+
+    /**
+     * IDs con mayor puntaje, de mayor a menor
+     */
+    synchronized List<String> obtenerTop(int cantidad) {
+        List<String> top = new ArrayList<>(Math.max(0, Math.min(cantidad, orden.size())));
+        Iterator<String> it = orden.iterator();
+        while (top.size() < cantidad && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    synchronized double getPuntaje(String id) {
+        Double puntaje = puntajes.get(id);
+        return puntaje != null ? puntaje : 0.0;
+    }
+
+    synchronized int size() {
+        return puntajes.size();
+    }
+}
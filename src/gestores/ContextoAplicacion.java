@@ -0,0 +1,61 @@
+package gestores;
+
+import exceptions.PersistenciaException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/*
+Contexto compartido por toda la aplicación.
+Se crea una sola vez al iniciar (Main) y se entrega a cada ventana, de modo que los datos se leen de disco
+una única vez y los gestores, junto con sus índices en memoria, se mantienen entre cierres e inicios de sesión.
+*/
+public class ContextoAplicacion {
+    private volatile GestorGeneral gestorGeneral;
+    private final List<Consumer<GestorGeneral>> oyentesRecarga = new CopyOnWriteArrayList<>();
+
+    public ContextoAplicacion() {
+        this.gestorGeneral = new GestorGeneral();
+    }
+
+    public GestorGeneral getGestorGeneral() {
+        return gestorGeneral;
+    }
+
+    /*
+    Registra un oyente que recibe los gestores nuevos después de recargar. Las ventanas que guardan
+    referencias a los gestores deben registrarse y volver a enlazarse (o cerrarse) al recibirlo.
+    @return el oyente, para quitarlo con quitarOyenteRecarga al cerrar la ventana
+    */
+    public Consumer<GestorGeneral> alRecargar(Consumer<GestorGeneral> oyente) {
+        oyentesRecarga.add(oyente);
+        return oyente;
+    }
+
+    public void quitarOyenteRecarga(Consumer<GestorGeneral> oyente) {
+        oyentesRecarga.remove(oyente);
+    }
+
+    /*
+    Vuelve a leer todos los archivos de datos, por ejemplo si se modificaron fuera de la aplicación.
+    Antes de leer se cierran los gestores anteriores: dejan de escribir, su bus de eventos se desarma y
+    lo pendiente se guarda, así nunca hay dos juegos de gestores agregando registros a los mismos diarios.
+    Después se avisa a los oyentes de alRecargar para que las ventanas abiertas usen los gestores nuevos.
+    */
+    public synchronized GestorGeneral recargar() throws PersistenciaException {
+        gestorGeneral.sincronizarPersistencia(); // Si falla, los gestores actuales siguen abiertos
+        gestorGeneral.cerrar();
+        GestorGeneral nuevo = new GestorGeneral();
+        gestorGeneral = nuevo;
+        System.out.println("[INFO] Datos recargados desde disco.");
+        for (Consumer<GestorGeneral> oyente : oyentesRecarga) {
+            try {
+                oyente.accept(nuevo);
+            } catch (RuntimeException e) {
+                System.err.println("[WARNING] Error avisando la recarga de datos: " + e.getMessage());
+            }
+        }
+        return nuevo;
+    }
+}
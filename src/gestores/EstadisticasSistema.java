@@ -0,0 +1,242 @@
+package gestores;
+
+import model.Actividad;
+import model.Brigada;
+import model.Recurso;
+import model.Voluntario;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conteos y sumas del sistema que muestran los dashboards, mantenidos al día con los eventos de los gestores.
+ * Se calculan una vez al cargar los datos; después cada {@link EventoDominio} ajusta solo el aporte de la entidad
+ * que cambió, así que leer cualquier valor no recorre ninguna lista.
+ * Los oyentes corren con el bloqueo del gestor que publicó, por eso aquí solo se actualizan unos pocos números.
+ */
+public class EstadisticasSistema {
+    private final GestorUsuarios gestorUsuarios;
+    private final GestorBrigadas gestorBrigadas;
+    private final GestorActividades gestorActividades;
+    private final GestorRecursos gestorRecursos;
+
+    private final Set<String> voluntarios = new HashSet<>();
+    private final Map<String, Boolean> brigadas = new HashMap<>(); // ID -> activa
+    private int brigadasActivas;
+
+    private final Map<String, AporteActividad> actividades = new HashMap<>();
+    private int actividadesSinResultados;
+    private int actividadesConVoluntarios;
+    private int voluntariosEnActividades;
+    // Con resultados pero fecha futura: cuentan como pendientes hasta que llegue la fecha (casi siempre vacío)
+    private final Map<String, Long> completadasAFuturo = new HashMap<>();
+
+    private final Map<String, int[]> recursos = new HashMap<>(); // ID -> {stock, capacidad}
+    private long stockTotal;
+    private long capacidadTotal;
+
+    public EstadisticasSistema(GestorUsuarios gestorUsuarios, GestorBrigadas gestorBrigadas,
+                               GestorActividades gestorActividades, GestorRecursos gestorRecursos) {
+        this.gestorUsuarios = gestorUsuarios;
+        this.gestorBrigadas = gestorBrigadas;
+        this.gestorActividades = gestorActividades;
+        this.gestorRecursos = gestorRecursos;
+    }
+
+    /**
+     * Se suscribe a los eventos de los gestores; conviene llamarlo antes de {@link #recalcular()}
+     */
+    void conectar(BusEventos bus) {
+        bus.suscribir(EventoDominio.VoluntarioActualizado.class, e -> registrarVoluntario(e.getVoluntario()));
+        bus.suscribir(EventoDominio.VoluntarioEliminado.class, e -> quitarVoluntario(e.getEntidadId()));
+        bus.suscribir(EventoDominio.BrigadaActualizada.class, e -> actualizarBrigada(e.getBrigada()));
+        bus.suscribir(EventoDominio.BrigadaEliminada.class, e -> quitarBrigada(e.getEntidadId()));
+        bus.suscribir(EventoDominio.ActividadCreada.class, e -> actualizarActividad(e.getActividad()));
+        bus.suscribir(EventoDominio.ActividadActualizada.class, e -> actualizarActividad(e.getActividad()));
+        bus.suscribir(EventoDominio.ActividadEliminada.class, e -> quitarActividad(e.getEntidadId()));
+        bus.suscribir(EventoDominio.VoluntarioAsignado.class, e -> actualizarActividad(e.getActividadId()));
+        bus.suscribir(EventoDominio.VoluntarioRetirado.class, e -> actualizarActividad(e.getActividadId()));
+        bus.suscribir(EventoDominio.StockCambiado.class, e -> actualizarRecurso(e.getRecurso()));
+        bus.suscribir(EventoDominio.RecursoEliminado.class, e -> quitarRecurso(e.getEntidadId()));
+    }
+
+    /**
+     * Vuelve a calcular todo recorriendo los gestores una vez (al cargar los datos)
+     */
+    public void recalcular() {
+        synchronized (this) {
+            voluntarios.clear();
+            brigadas.clear();
+            brigadasActivas = 0;
+            actividades.clear();
+            actividadesSinResultados = 0;
+            actividadesConVoluntarios = 0;
+            voluntariosEnActividades = 0;
+            completadasAFuturo.clear();
+            recursos.clear();
+            stockTotal = 0;
+            capacidadTotal = 0;
+        }
+        for (Voluntario voluntario : gestorUsuarios.obtenerVoluntarios()) {
+            registrarVoluntario(voluntario);
+        }
+        for (Brigada brigada : gestorBrigadas.obtenerTodasBrigadas()) {
+            actualizarBrigada(brigada);
+        }
+        for (Actividad actividad : gestorActividades.obtenerTodasActividades()) {
+            actualizarActividad(actividad);
+        }
+        for (Recurso recurso : gestorRecursos.obtenerTodosRecursos()) {
+            actualizarRecurso(recurso);
+        }
+        System.out.println("[INFO] Estadísticas calculadas: " + getTotalVoluntarios() + " voluntarios, "
+                + getTotalBrigadas() + " brigadas, " + getTotalActividades() + " actividades.");
+    }
+
+    /* ===== Lecturas ===== */
+
+    public synchronized int getTotalVoluntarios() {
+        return voluntarios.size();
+    }
+
+    public synchronized int getTotalBrigadas() {
+        return brigadas.size();
+    }
+
+    public synchronized int getBrigadasActivas() {
+        return brigadasActivas;
+    }
+
+    public synchronized int getTotalActividades() {
+        return actividades.size();
+    }
+
+    /**
+     * Actividades pendientes o en proceso: sin resultados registrados, o con fecha futura
+     */
+    public synchronized int getActividadesProgramadas() {
+        long ahora = System.currentTimeMillis();
+        // Las que ya llegaron a su fecha no vuelven a contar salvo que se actualicen (y entonces se registran de nuevo)
+        completadasAFuturo.values().removeIf(fecha -> fecha <= ahora);
+        return actividadesSinResultados + completadasAFuturo.size();
+    }
+
+    public synchronized int getActividadesConVoluntarios() {
+        return actividadesConVoluntarios;
+    }
+
+    public synchronized int getVoluntariosEnActividades() {
+        return voluntariosEnActividades;
+    }
+
+    public synchronized long getStockTotal() {
+        return stockTotal;
+    }
+
+    public synchronized long getCapacidadTotal() {
+        return capacidadTotal;
+    }
+
+    /**
+     * Stock total sobre capacidad total de todos los recursos, en porcentaje (0 si no hay capacidad)
+     */
+    public synchronized double getPorcentajeRecursosDisponibles() {
+        return capacidadTotal == 0 ? 0.0 : (stockTotal * 100.0) / capacidadTotal;
+    }
+
+    /* ===== Ajustes por entidad ===== */
+
+    private synchronized void registrarVoluntario(Voluntario voluntario) {
+        if (voluntario != null && voluntario.getId() != null) {
+            voluntarios.add(voluntario.getId());
+        }
+    }
+
+    private synchronized void quitarVoluntario(String id) {
+        voluntarios.remove(id);
+    }
+
+    private synchronized void actualizarBrigada(Brigada brigada) {
+        boolean activa = "Activa".equalsIgnoreCase(brigada.getEstado());
+        Boolean anterior = brigadas.put(brigada.getId(), activa);
+        brigadasActivas += (activa ? 1 : 0) - (Boolean.TRUE.equals(anterior) ? 1 : 0);
+    }
+
+    private synchronized void quitarBrigada(String id) {
+        if (Boolean.TRUE.equals(brigadas.remove(id))) {
+            brigadasActivas--;
+        }
+    }
+
+    private void actualizarActividad(String actividadId) {
+        if (actividadId == null) {
+            return; // Asignación a una brigada, no a una actividad
+        }
+        // La búsqueda se hace fuera del bloqueo: usa el índice del gestor
+        Actividad actividad = gestorActividades.buscarActividadPorId(actividadId);
+        if (actividad != null) {
+            actualizarActividad(actividad);
+        }
+    }
+
+    private synchronized void actualizarActividad(Actividad actividad) {
+        AporteActividad nuevo = new AporteActividad(actividad);
+        restar(actividades.put(actividad.getId(), nuevo));
+        actividadesSinResultados += nuevo.sinResultados ? 1 : 0;
+        actividadesConVoluntarios += nuevo.voluntarios > 0 ? 1 : 0;
+        voluntariosEnActividades += nuevo.voluntarios;
+        completadasAFuturo.remove(actividad.getId());
+        if (!nuevo.sinResultados && nuevo.fecha > System.currentTimeMillis()) {
+            completadasAFuturo.put(actividad.getId(), nuevo.fecha);
+        }
+    }
+
+    private synchronized void quitarActividad(String id) {
+        restar(actividades.remove(id));
+        completadasAFuturo.remove(id);
+    }
+
+    private void restar(AporteActividad anterior) {
+        if (anterior != null) {
+            actividadesSinResultados -= anterior.sinResultados ? 1 : 0;
+            actividadesConVoluntarios -= anterior.voluntarios > 0 ? 1 : 0;
+            voluntariosEnActividades -= anterior.voluntarios;
+        }
+    }
+
+    private synchronized void actualizarRecurso(Recurso recurso) {
+        int[] nuevo = {recurso.getStockActual(), recurso.getCapacidadMaxima()};
+        int[] anterior = recursos.put(recurso.getId(), nuevo);
+        if (anterior != null) {
+            stockTotal -= anterior[0];
+            capacidadTotal -= anterior[1];
+        }
+        stockTotal += nuevo[0];
+        capacidadTotal += nuevo[1];
+    }
+
+    private synchronized void quitarRecurso(String id) {
+        int[] anterior = recursos.remove(id);
+        if (anterior != null) {
+            stockTotal -= anterior[0];
+            capacidadTotal -= anterior[1];
+        }
+    }
+
+    /**
+     * Lo que una actividad suma a los contadores, guardado para poder restarlo cuando cambia o se elimina
+     */
+    private static final class AporteActividad {
+        final boolean sinResultados;
+        final long fecha;
+        final int voluntarios;
+
+        AporteActividad(Actividad actividad) {
+            this.sinResultados = actividad.getResultados() == null || actividad.getResultados().isEmpty();
+            this.fecha = actividad.getFecha() != null ? actividad.getFecha().getTime() : 0L;
+            this.voluntarios = actividad.getCantidadVoluntarios();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package gestores;
+
+import model.Actividad;
+import model.Brigada;
+import model.Recurso;
+import model.ResultadoActividad;
+import model.Voluntario;
+
+/**
+ * Cambio ya confirmado en los datos, publicado por los gestores en el {@link BusEventos}.
+ * Los eventos se publican después de persistir el cambio, por lo que nunca anuncian algo que luego se revierte.
+ * Cada tipo es una subclase anidada; los oyentes se suscriben por tipo.
+ */
+public abstract class EventoDominio {
+    private final String entidadId;
+
+    protected EventoDominio(String entidadId) {
+        this.entidadId = entidadId;
+    }
+
+    /**
+     * ID de la entidad afectada (actividad, brigada, recurso o voluntario según el tipo)
+     */
+    public String getEntidadId() {
+        return entidadId;
+    }
+
+    /**
+     * Dos eventos con la misma clave describen el mismo cambio, así que basta con procesar el último
+     */
+    public String getClave() {
+        return getClass().getSimpleName() + ":" + entidadId;
+    }
+
+    @Override
+    public String toString() {
+        return getClave();
+    }
+
+    /* ===== Actividades ===== */
+
+    public static final class ActividadCreada extends EventoDominio {
+        private final Actividad actividad;
+
+        public ActividadCreada(Actividad actividad) {
+            super(actividad.getId());
+            this.actividad = actividad;
+        }
+
+        public Actividad getActividad() { return actividad; }
+    }
+
+    /**
+     * Datos, brigada, resultados o recursos de la actividad modificados
+     */
+    public static final class ActividadActualizada extends EventoDominio {
+        private final Actividad actividad;
+
+        public ActividadActualizada(Actividad actividad) {
+            super(actividad.getId());
+            this.actividad = actividad;
+        }
+
+        public Actividad getActividad() { return actividad; }
+    }
+
+    public static final class ActividadEliminada extends EventoDominio {
+        public ActividadEliminada(String actividadId) {
+            super(actividadId);
+        }
+    }
+
+    /* ===== Voluntarios ===== */
+
+    /**
+     * Un voluntario entró a una actividad o a una brigada (el otro ID queda en null)
+     */
+    public static final class VoluntarioAsignado extends EventoDominio {
+        private final String actividadId;
+        private final String brigadaId;
+
+        public VoluntarioAsignado(String voluntarioId, String actividadId, String brigadaId) {
+            super(voluntarioId);
+            this.actividadId = actividadId;
+            this.brigadaId = brigadaId;
+        }
+
+        public String getVoluntarioId() { return getEntidadId(); }
+        public String getActividadId() { return actividadId; }
+        public String getBrigadaId() { return brigadaId; }
+
+        @Override
+        public String getClave() {
+            return super.getClave() + ":" + actividadId + ":" + brigadaId;
+        }
+    }
+
+    /**
+     * Un voluntario salió de una actividad o de una brigada (el otro ID queda en null)
+     */
+    public static final class VoluntarioRetirado extends EventoDominio {
+        private final String actividadId;
+        private final String brigadaId;
+
+        public VoluntarioRetirado(String voluntarioId, String actividadId, String brigadaId) {
+            super(voluntarioId);
+            this.actividadId = actividadId;
+            this.brigadaId = brigadaId;
+        }
+
+        public String getVoluntarioId() { return getEntidadId(); }
+        public String getActividadId() { return actividadId; }
+        public String getBrigadaId() { return brigadaId; }
+
+        @Override
+        public String getClave() {
+            return super.getClave() + ":" + actividadId + ":" + brigadaId;
+        }
+    }
+
+    /**
+     * Voluntario registrado o con sus datos personales modificados
+     */
+    public static final class VoluntarioActualizado extends EventoDominio {
+        private final Voluntario voluntario;
+
+        public VoluntarioActualizado(Voluntario voluntario) {
+            super(voluntario.getId());
+            this.voluntario = voluntario;
+        }
+
+        public Voluntario getVoluntario() { return voluntario; }
+    }
+
+    public static final class VoluntarioEliminado extends EventoDominio {
+        public VoluntarioEliminado(String voluntarioId) {
+            super(voluntarioId);
+        }
+    }
+
+    /* ===== Brigadas ===== */
+
+    /**
+     * Brigada creada o modificada (datos, estado, coordinador o miembros)
+     */
+    public static final class BrigadaActualizada extends EventoDominio {
+        private final Brigada brigada;
+
+        public BrigadaActualizada(Brigada brigada) {
+            super(brigada.getId());
+            this.brigada = brigada;
+        }
+
+        public Brigada getBrigada() { return brigada; }
+    }
+
+    public static final class BrigadaEliminada extends EventoDominio {
+        public BrigadaEliminada(String brigadaId) {
+            super(brigadaId);
+        }
+    }
+
+    /* ===== Recursos ===== */
+
+    /**
+     * Recurso agregado, editado, repuesto o asignado a una actividad
+     */
+    public static final class StockCambiado extends EventoDominio {
+        private final Recurso recurso;
+
+        public StockCambiado(Recurso recurso) {
+            super(recurso.getId());
+            this.recurso = recurso;
+        }
+
+        public Recurso getRecurso() { return recurso; }
+    }
+
+    public static final class RecursoEliminado extends EventoDominio {
+        public RecursoEliminado(String recursoId) {
+            super(recursoId);
+        }
+    }
+
+    /* ===== Resultados ===== */
+
+    public static final class ResultadoRegistrado extends EventoDominio {
+        private final ResultadoActividad resultado;
+
+        public ResultadoRegistrado(ResultadoActividad resultado) {
+            super(resultado.getId());
+            this.resultado = resultado;
+        }
+
+        public ResultadoActividad getResultado() { return resultado; }
+    }
+}
@@ -0,0 +1,142 @@
+package gestores;
+
+import model.Actividad;
+import model.Brigada;
+import model.Recurso;
+import model.ResultadoActividad;
+import model.Voluntario;
+import persistence.Exportador;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Columnas exportables de cada entidad, listas para {@link Exportador}.
+ * Cada llamada devuelve un exportador nuevo, que luego se configura (columnas, fechas, formato) y se usa una vez.
+ */
+public final class Exportaciones {
+    public static final String RESULTADOS = "Resultados";
+    public static final String ACTIVIDADES = "Actividades";
+    public static final String VOLUNTARIOS = "Voluntarios";
+    public static final String BRIGADAS = "Brigadas";
+    public static final String RECURSOS = "Recursos";
+
+    // Formato de fecha de los CSV de resultados anteriores al exportador
+    private static final DateTimeFormatter FECHA_ORIGINAL =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneId.systemDefault());
+
+    private Exportaciones() {
+    }
+
+    /**
+     * Resultados de actividades; el rango de fechas se aplica a la fecha de la actividad
+     */
+    public static Exportador<ResultadoActividad> resultados() {
+        return new Exportador<ResultadoActividad>()
+                .columna("ID Resultado", ResultadoActividad::getId)
+                .columna("ID Actividad", ResultadoActividad::getActividadId)
+                .columna("Nombre Actividad", ResultadoActividad::getNombreActividad)
+                .columna("Fecha Actividad", ResultadoActividad::getFechaActividad)
+                .columna("Coordinador", ResultadoActividad::getCoordinadorNombre)
+                .columna("Personas Beneficiadas", ResultadoActividad::getPersonasBeneficiadas)
+                .columna("Horas Trabajadas", ResultadoActividad::getHorasTrabajadas)
+                .columna("Impacto Total", ResultadoActividad::calcularImpacto)
+                .columna("Resultados", ResultadoActividad::getResultadosAlcanzados)
+                .columna("Fecha Registro", ResultadoActividad::getFechaRegistro)
+                .columna("Materiales", ResultadoActividad::getMaterialesUtilizados)
+                .columna("Voluntarios", ResultadoActividad::getVoluntariosParticipantes)
+                .columna("Observaciones", ResultadoActividad::getObservaciones)
+                .fecha(ResultadoActividad::getFechaActividad);
+    }
+
+    /**
+     * Resultados con el formato del CSV que generaba {@link GestorResultados#exportarResultadosCSV()} antes del
+     * exportador: las nueve columnas originales, fechas dd/MM/yyyy, horas e impacto con un decimal y el texto
+     * siempre entre comillas.
+     */
+    public static Exportador<ResultadoActividad> resultadosFormatoOriginal() {
+        return new Exportador<ResultadoActividad>()
+                .columna("ID Resultado", ResultadoActividad::getId)
+                .columna("ID Actividad", ResultadoActividad::getActividadId)
+                .columna("Nombre Actividad", ResultadoActividad::getNombreActividad)
+                .columna("Fecha Actividad", r -> fechaOriginal(r.getFechaActividad()))
+                .columna("Coordinador", ResultadoActividad::getCoordinadorNombre)
+                .columna("Personas Beneficiadas", ResultadoActividad::getPersonasBeneficiadas)
+                .columna("Horas Trabajadas", r -> unDecimal(r.getHorasTrabajadas()))
+                .columna("Impacto Total", r -> unDecimal(r.calcularImpacto()))
+                .columna("Resultados", ResultadoActividad::getResultadosAlcanzados)
+                .fecha(ResultadoActividad::getFechaActividad)
+                .comillasSiempre(true);
+    }
+
+    private static String fechaOriginal(Date fecha) {
+        return fecha != null ? FECHA_ORIGINAL.format(fecha.toInstant()) : null;
+    }
+
+    // Un decimal, con punto: en CSV la coma separa columnas
+    private static BigDecimal unDecimal(double valor) {
+        return Double.isFinite(valor) ? BigDecimal.valueOf(valor).setScale(1, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * Actividades; el rango de fechas se aplica a la fecha de la actividad
+     */
+    public static Exportador<Actividad> actividades() {
+        return new Exportador<Actividad>()
+                .columna("ID", Actividad::getId)
+                .columna("Nombre", Actividad::getNombre)
+                .columna("Fecha", Actividad::getFecha)
+                .columna("Lugar", Actividad::getLugar)
+                .columna("Objetivo", Actividad::getObjetivo)
+                .columna("Brigada", Actividad::getNombreBrigada)
+                .columna("Voluntarios", Actividad::getCantidadVoluntarios)
+                .columna("Recursos", a -> a.getRecursosAsignados().size())
+                .columna("Resultados", Actividad::getResultados)
+                .fecha(Actividad::getFecha);
+    }
+
+    /**
+     * Voluntarios; las horas se leen del libro de horas de {@code gestorResultados}
+     */
+    public static Exportador<Voluntario> voluntarios(GestorResultados gestorResultados) {
+        return new Exportador<Voluntario>()
+                .columna("ID", Voluntario::getId)
+                .columna("Nombre", Voluntario::getNombre)
+                .columna("Email", Voluntario::getEmail)
+                .columna("Teléfono", Voluntario::getTelefono)
+                .columna("Habilidades", Voluntario::getHabilidades)
+                .columna("Días Disponibles", Voluntario::getDiasDisponibles)
+                .columna("Disponible", Voluntario::isDisponible)
+                .columna("Horas", v -> gestorResultados.obtenerHorasVoluntario(v.getId()));
+    }
+
+    public static Exportador<Brigada> brigadas() {
+        return new Exportador<Brigada>()
+                .columna("ID", Brigada::getId)
+                .columna("Nombre", Brigada::getNombre)
+                .columna("Tipo", Brigada::getTipo)
+                .columna("Zona", Brigada::getZona)
+                .columna("Estado", Brigada::getEstado)
+                .columna("Coordinador", b -> b.getCoordinador() != null ? b.getCoordinador().getNombre() : null)
+                .columna("Voluntarios", Brigada::getCantidadVoluntarios)
+                .columna("Capacidad Máxima", Brigada::getCapacidadMaxima)
+                .columna("Ocupación %", Brigada::getPorcentajeOcupacion)
+                .columna("Descripción", Brigada::getDescripcion);
+    }
+
+    public static Exportador<Recurso> recursos() {
+        return new Exportador<Recurso>()
+                .columna("ID", Recurso::getId)
+                .columna("Nombre", Recurso::getNombre)
+                .columna("Categoría", Recurso::getCategoria)
+                .columna("Tipo", Recurso::getTipo)
+                .columna("Stock Actual", Recurso::getStockActual)
+                .columna("Stock Disponible", Recurso::getStockDisponible)
+                .columna("Capacidad Máxima", Recurso::getCapacidadMaxima)
+                .columna("Umbral Alerta", Recurso::getUmbralAlerta)
+                .columna("Unidad", Recurso::getUnidadMedida);
+    }
+}
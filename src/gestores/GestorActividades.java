@@ -5,59 +5,175 @@ import exceptions.BrigadaException;
 import exceptions.VoluntarioNoEncontradoException;
 import exceptions.PersistenciaException;
 import persistence.GestorAlmacenamiento;
+import persistence.GestorSecuencias;
+import persistence.MapaIdentidades;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Gestor responsable de la planificación de actividades (RF-04, RF-05, RF-07, RF-08).
  * Incluye persistencia completa de datos.
+ * Concurrencia: las modificaciones son synchronized sobre el gestor; las consultas no bloquean porque la lista
+ * es copy-on-write y los índices (incluido el índice ordenado por fecha) son mapas concurrentes.
  */
 public class GestorActividades {
     private static final String ARCHIVO_ACTIVIDADES = "actividades.dat";
-    private List<Actividad> actividades;
+    private volatile List<Actividad> actividades;
     // Dependencias
     private GestorBrigadas gestorBrigadas;
     private GestorVoluntarios gestorVoluntarios;
     private GestorAlmacenamiento gestorAlmacenamiento;
     private GestorRecursos gestorRecursos;
+    private final GestorSecuencias secuencias = GestorSecuencias.getInstancia();
+    // Bus donde se anuncian los cambios confirmados; GestorGeneral conecta el compartido
+    private BusEventos eventos = new BusEventos();
 
     // Mapa para roles de voluntarios en actividades
     private Map<String, Map<String, String>> asignacionesVoluntarios; // actividadId -> (voluntarioId -> rol)
 
+    // Índices en memoria: por ID, por fecha (ordenado) y por brigada
+    private final Map<String, Actividad> actividadesPorId = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Map<String, Actividad>> actividadesPorFecha = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, Actividad>> actividadesPorBrigada = new ConcurrentHashMap<>();
+    // Fecha y brigada con las que se indexó cada actividad (la actividad puede modificarse después)
+    private final Map<String, Long> fechaIndexada = new ConcurrentHashMap<>();
+    private final Map<String, String> brigadaIndexada = new ConcurrentHashMap<>();
+
     public GestorActividades(GestorBrigadas gestorBrigadas, GestorVoluntarios gestorVoluntarios, GestorRecursos gestorRecursos) {
-        this.actividades = new ArrayList<>();
+        this.actividades = new CopyOnWriteArrayList<>();
         this.gestorBrigadas = gestorBrigadas;
         this.gestorVoluntarios = gestorVoluntarios;
         this.gestorAlmacenamiento = new GestorAlmacenamiento();
         this.gestorRecursos = gestorRecursos;
-        this.asignacionesVoluntarios = new HashMap<>();
-        cargarActividades();
+        this.asignacionesVoluntarios = new ConcurrentHashMap<>();
+        // Los datos se cargan con cargar*() desde GestorGeneral, en paralelo con los demás archivos
+    }
+
+    void setBusEventos(BusEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    // Deja de escribir en disco (otros gestores pasaron a ser dueños de los archivos)
+    void cerrar() {
+        gestorAlmacenamiento.cerrar();
     }
 
     /**
      * Carga las actividades desde el archivo de persistencia.
      */
-    @SuppressWarnings("unchecked")
-    private void cargarActividades() {
+    synchronized void cargarActividades() {
         try {
-            Object datos = gestorAlmacenamiento.cargar(ARCHIVO_ACTIVIDADES);
+            List<Actividad> datos = gestorAlmacenamiento.cargarLista(ARCHIVO_ACTIVIDADES, Actividad::getId);
             if (datos != null) {
-                actividades = (List<Actividad>) datos;
+                actividades = new CopyOnWriteArrayList<>(datos);
                 System.out.println("[INFO] Cargadas " + actividades.size() + " actividades desde persistencia.");
 
                 // Inicializar asignaciones de voluntarios
                 inicializarAsignacionesVoluntarios();
             } else {
-                actividades = new ArrayList<>();
+                actividades = new CopyOnWriteArrayList<>();
                 System.out.println("[INFO] No se encontraron actividades guardadas, iniciando lista vacía.");
             }
         } catch (PersistenciaException e) {
             System.err.println("Error cargando actividades: " + e.getMessage());
-            actividades = new ArrayList<>();
+            actividades = new CopyOnWriteArrayList<>();
+        }
+        reconstruirIndices();
+        secuencias.registrarExistentes(GestorSecuencias.PREFIJO_ACTIVIDAD, actividadesPorId.keySet());
+    }
+
+    /**
+     * Reconstruye los índices a partir de la lista de actividades.
+     */
+    private void reconstruirIndices() {
+        actividadesPorId.clear();
+        actividadesPorFecha.clear();
+        actividadesPorBrigada.clear();
+        fechaIndexada.clear();
+        brigadaIndexada.clear();
+        for (Actividad actividad : actividades) {
+            indexar(actividad);
+        }
+    }
+
+    private void indexar(Actividad actividad) {
+        String id = actividad.getId();
+        if (id == null) {
+            return;
+        }
+        actividadesPorId.putIfAbsent(id, actividad);
+        if (actividad.getFecha() != null) {
+            long fecha = actividad.getFecha().getTime();
+            actividadesPorFecha.computeIfAbsent(fecha, k -> new ConcurrentHashMap<>()).put(id, actividad);
+            fechaIndexada.put(id, fecha);
+        }
+        if (actividad.getBrigadaAsociada() != null) {
+            String brigadaId = actividad.getBrigadaAsociada().getId();
+            actividadesPorBrigada.computeIfAbsent(brigadaId, k -> new ConcurrentHashMap<>()).put(id, actividad);
+            brigadaIndexada.put(id, brigadaId);
+        }
+    }
+
+    private void desindexar(Actividad actividad) {
+        String id = actividad.getId();
+        if (id == null) {
+            return;
+        }
+        actividadesPorId.remove(id, actividad);
+        Long fecha = fechaIndexada.remove(id);
+        if (fecha != null) {
+            quitarDeGrupo(actividadesPorFecha, fecha, id);
+        }
+        String brigadaId = brigadaIndexada.remove(id);
+        if (brigadaId != null) {
+            quitarDeGrupo(actividadesPorBrigada, brigadaId, id);
+        }
+    }
+
+    private static <K> void quitarDeGrupo(Map<K, Map<String, Actividad>> indice, K clave, String id) {
+        Map<String, Actividad> grupo = indice.get(clave);
+        if (grupo != null) {
+            grupo.remove(id);
+            if (grupo.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+
+    /**
+     * Actualiza los índices después de cambiar la fecha o la brigada de una actividad.
+     */
+    private void reindexar(Actividad actividad) {
+        desindexar(actividad);
+        indexar(actividad);
+    }
+
+    private static List<Actividad> aplanar(Iterable<Map<String, Actividad>> grupos) {
+        List<Actividad> resultado = new ArrayList<>();
+        for (Map<String, Actividad> grupo : grupos) {
+            resultado.addAll(grupo.values());
+        }
+        return resultado;
+    }
+
+    /**
+     * Reemplaza la brigada asociada de cada actividad cargada por la instancia canónica de GestorBrigadas.
+     */
+    public synchronized void resolverReferencias(MapaIdentidades mapa) {
+        int sinResolver = 0;
+        for (Actividad actividad : actividades) {
+            sinResolver += mapa.resolverActividad(actividad);
+        }
+        if (sinResolver > 0) {
+            System.err.println("[WARNING] " + sinResolver + " actividades referencian brigadas que ya no existen.");
         }
     }
 
@@ -68,7 +184,11 @@ public class GestorActividades {
         for (Actividad actividad : actividades) {
             Map<String, String> asignacion = actividad.getAsignacionesVoluntarios();
             if (asignacion != null && !asignacion.isEmpty()) {
-                asignacionesVoluntarios.put(actividad.getId(), new HashMap<>(asignacion));
+                // El mapa concurrente no admite nulos; las asignaciones sin rol quedan como "Participante"
+                Map<String, String> copia = new ConcurrentHashMap<>();
+                asignacion.forEach((voluntarioId, rol) ->
+                        copia.put(voluntarioId, rol != null ? rol : "Participante"));
+                asignacionesVoluntarios.put(actividad.getId(), copia);
             }
         }
     }
@@ -88,15 +208,16 @@ public class GestorActividades {
     /**
      * Elimina un recurso de una actividad
      */
-    public void eliminarRecursoDeActividad(String actividadId, String recursoId)
+    public synchronized void eliminarRecursoDeActividad(String actividadId, String recursoId)
             throws BrigadaException {
 
         Actividad actividad = obtenerActividadPorId(actividadId);
 
         try {
             actividad.eliminarRecurso(recursoId);
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Recurso eliminado de la actividad '" + actividad.getNombre() + "'");
+            eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
 
         } catch (Exception e) {
             throw new BrigadaException("Error al eliminar recurso: " + e.getMessage());
@@ -104,42 +225,42 @@ public class GestorActividades {
     }
 
     /**
-     * Guarda las actividades en el archivo de persistencia.
+     * Registra el uso de recursos en una actividad y lo guarda en el diario (RF-06).
+     * Lo llama GestorRecursos después de reservar el stock; si falla el guardado se restauran las cantidades anteriores.
+     * @param cantidades ID de recurso -> cantidad asignada
      */
-    private void guardarActividades() throws PersistenciaException {
-        gestorAlmacenamiento.guardar(ARCHIVO_ACTIVIDADES, actividades);
-    }
-
-    public String generarIdActividadGestor() {
+    synchronized void registrarUsoRecursos(Actividad actividad, Map<String, Integer> cantidades)
+            throws BrigadaException {
+        Map<String, Integer> anteriores = actividad.clonarRecursosAsignados();
+        for (Map.Entry<String, Integer> entrada : cantidades.entrySet()) {
+            actividad.registrarUsoRecurso(entrada.getKey(), entrada.getValue());
+        }
         try {
-            // Buscar el número más alto en los IDs existentes
-            int maxNum = 0;
-
-            for (Actividad actividad : actividades) {
-                String id = actividad.getId();
-                if (id != null && id.startsWith("ACT-")) {
-                    try {
-                        String numeroStr = id.substring(4); // Quitar "ACT-"
-                        int num = Integer.parseInt(numeroStr);
-                        if (num > maxNum) {
-                            maxNum = num;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Ignorar IDs que no siguen el formato
-                    }
-                }
-            }
+            persistirActividad(actividad);
+        } catch (PersistenciaException e) {
+            actividad.setRecursosAsignados(anteriores);
+            throw new BrigadaException("Error al guardar la actividad: " + e.getMessage());
+        }
+        eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
+    }
 
-            // Incrementar para el nuevo ID
-            int nuevoNumero = maxNum + 1;
+    /**
+     * Registra en el diario el estado actual de una actividad.
+     */
+    private void persistirActividad(Actividad actividad) throws PersistenciaException {
+        secuencias.registrarExistente(GestorSecuencias.PREFIJO_ACTIVIDAD, actividad.getId());
+        gestorAlmacenamiento.registrarGuardado(ARCHIVO_ACTIVIDADES, actividad.getId(), actividad, actividades);
+    }
 
-            // Formatear con 3 dígitos: 001, 002, etc.
-            return String.format("ACT-%03d", nuevoNumero);
+    /**
+     * Registra en el diario la eliminación de una actividad.
+     */
+    private void persistirEliminacion(String actividadId) throws PersistenciaException {
+        gestorAlmacenamiento.registrarEliminacion(ARCHIVO_ACTIVIDADES, actividadId, actividades);
+    }
 
-        } catch (Exception e) {
-            // Fallback en caso de error
-            return "ACT-001";
-        }
+    public String generarIdActividadGestor() {
+        return secuencias.siguienteId(GestorSecuencias.PREFIJO_ACTIVIDAD);
     }
 
     /**
@@ -298,7 +419,7 @@ public class GestorActividades {
     /**
      * Planifica y crea una nueva actividad (RF-04).
      */
-    public Actividad planificarActividad(String id, String nombre, Date fecha, String lugar, String objetivo, String brigadaId)
+    public synchronized Actividad planificarActividad(String id, String nombre, Date fecha, String lugar, String objetivo, String brigadaId)
             throws BrigadaException {
 
         // Validaciones
@@ -331,12 +452,15 @@ public class GestorActividades {
         // Guardar estado anterior para poder revertir si falla
         try {
             actividades.add(nuevaActividad);
-            guardarActividades();
+            indexar(nuevaActividad);
+            persistirActividad(nuevaActividad);
             System.out.println("[INFO] Actividad '" + nombre + "' planificada con éxito (RF-04).");
+            eventos.publicar(new EventoDominio.ActividadCreada(nuevaActividad));
             return nuevaActividad;
         } catch (PersistenciaException e) {
             // Revertir si falla el guardado
             actividades.remove(nuevaActividad);
+            desindexar(nuevaActividad);
             throw new BrigadaException("Error al guardar la actividad: " + e.getMessage());
         }
     }
@@ -344,7 +468,7 @@ public class GestorActividades {
     /**
      * Crea y guarda una nueva actividad directamente desde objeto Actividad.
      */
-    public void crearActividad(Actividad actividad) throws BrigadaException {
+    public synchronized void crearActividad(Actividad actividad) throws BrigadaException {
         if (actividad == null) {
             throw new BrigadaException("Error: La actividad no puede ser nula.");
         }
@@ -355,10 +479,13 @@ public class GestorActividades {
 
         try {
             actividades.add(actividad);
-            guardarActividades();
+            indexar(actividad);
+            persistirActividad(actividad);
             System.out.println("[INFO] Actividad '" + actividad.getNombre() + "' creada exitosamente.");
+            eventos.publicar(new EventoDominio.ActividadCreada(actividad));
         } catch (PersistenciaException e) {
             actividades.remove(actividad);
+            desindexar(actividad);
             throw new BrigadaException("Error al crear la actividad: " + e.getMessage());
         }
     }
@@ -366,7 +493,7 @@ public class GestorActividades {
     /**
      * Asigna un voluntario a una actividad con un rol específico (RF-05).
      */
-    public void asignarVoluntarioAActividad(String actividadId, String voluntarioId, String rolAsignado)
+    public synchronized void asignarVoluntarioAActividad(String actividadId, String voluntarioId, String rolAsignado)
             throws VoluntarioNoEncontradoException, BrigadaException {
 
         Actividad actividad = obtenerActividadPorId(actividadId);
@@ -380,11 +507,12 @@ public class GestorActividades {
             actividad.asignarVoluntario(voluntarioId, rolAsignado);
 
             // Actualizar mapa de asignaciones
-            asignacionesVoluntarios.computeIfAbsent(actividadId, k -> new HashMap<>())
+            asignacionesVoluntarios.computeIfAbsent(actividadId, k -> new ConcurrentHashMap<>())
                     .put(voluntarioId, rolAsignado);
 
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Voluntario " + voluntario.getNombre() + " asignado a '" + actividad.getNombre() + "' como " + rolAsignado + " (RF-05).");
+            eventos.publicar(new EventoDominio.VoluntarioAsignado(voluntarioId, actividadId, null));
         } catch (PersistenciaException e) {
             // Revertir la asignación si falla el guardado
             actividad.eliminarVoluntario(voluntarioId);
@@ -396,7 +524,7 @@ public class GestorActividades {
     /**
      * Asigna múltiples voluntarios a una actividad (NUEVO MÉTODO para RF-05).
      */
-    public void asignarVoluntariosAActividad(String actividadId, List<String> voluntariosIds)
+    public synchronized void asignarVoluntariosAActividad(String actividadId, List<String> voluntariosIds)
             throws BrigadaException {
 
         Actividad actividad = obtenerActividadPorId(actividadId);
@@ -405,26 +533,51 @@ public class GestorActividades {
         }
 
         try {
+            List<String> asignados = new ArrayList<>();
             for (String voluntarioId : voluntariosIds) {
                 Voluntario voluntario = gestorVoluntarios.buscarVoluntarioPorId(voluntarioId);
                 if (voluntario != null) {
+                    asignados.add(voluntarioId);
                     // Asignar con rol "Participante" por defecto
                     actividad.asignarVoluntario(voluntarioId, "Participante");
 
                     // Actualizar mapa de asignaciones
-                    asignacionesVoluntarios.computeIfAbsent(actividadId, k -> new HashMap<>())
+                    asignacionesVoluntarios.computeIfAbsent(actividadId, k -> new ConcurrentHashMap<>())
                             .put(voluntarioId, "Participante");
                 }
             }
 
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] " + voluntariosIds.size() + " voluntarios asignados a la actividad '" + actividad.getNombre() + "'.");
+            for (String voluntarioId : asignados) {
+                eventos.publicar(new EventoDominio.VoluntarioAsignado(voluntarioId, actividadId, null));
+            }
 
         } catch (Exception e) {
             throw new BrigadaException("Error al asignar voluntarios: " + e.getMessage());
         }
     }
 
+    /**
+     * Asigna (o quita, si es null) la brigada asociada a una actividad.
+     */
+    public synchronized void asignarBrigadaAActividad(String actividadId, Brigada brigada) throws BrigadaException {
+        Actividad actividad = obtenerActividadPorId(actividadId);
+        Brigada brigadaAnterior = actividad.getBrigadaAsociada();
+
+        actividad.setBrigadaAsociada(brigada);
+        reindexar(actividad);
+        try {
+            persistirActividad(actividad);
+            System.out.println("[INFO] Brigada de la actividad '" + actividad.getNombre() + "' actualizada.");
+            eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
+        } catch (PersistenciaException e) {
+            actividad.setBrigadaAsociada(brigadaAnterior); // Revertir si falla
+            reindexar(actividad);
+            throw new BrigadaException("Error al asignar la brigada: " + e.getMessage());
+        }
+    }
+
     /**
      * Obtiene voluntarios asignados a una actividad (NUEVO MÉTODO).
      */
@@ -452,7 +605,7 @@ public class GestorActividades {
     /**
      * Registra los resultados de una actividad (RF-07).
      */
-    public void registrarResultados(String actividadId, String resultados, Coordinador coordinador) throws BrigadaException {
+    public synchronized void registrarResultados(String actividadId, String resultados, Coordinador coordinador) throws BrigadaException {
         Actividad actividad = obtenerActividadPorId(actividadId);
         if (actividad == null) {
             throw new BrigadaException("Actividad no encontrada para registrar resultados: " + actividadId);
@@ -460,8 +613,9 @@ public class GestorActividades {
 
         try {
             actividad.setResultados(resultados);
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Resultados registrados para la actividad '" + actividad.getNombre() + "' por " + coordinador.getNombre() + " (RF-07).");
+            eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
         } catch (PersistenciaException e) {
             actividad.setResultados(null); // Revertir si falla
             throw new BrigadaException("Error al guardar resultados: " + e.getMessage());
@@ -474,7 +628,7 @@ public class GestorActividades {
     /**
      * Registra resultados completos de actividad (NUEVO MÉTODO para RF-07).
      */
-    public void registrarResultados(String actividadId, int personasBeneficiadas,
+    public synchronized void registrarResultados(String actividadId, int personasBeneficiadas,
                                     double horasTrabajadas, String resultados, String observaciones)
             throws BrigadaException {
 
@@ -499,9 +653,10 @@ public class GestorActividades {
             );
 
             actividad.setResultados(resultadosCompletos);
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Resultados completos registrados para la actividad '" +
                     actividad.getNombre() + "'.");
+            eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
 
             // DEBUG: Verificar que se guardó
             System.out.println("[DEBUG] Resultados guardados: " + actividad.getResultados());
@@ -525,10 +680,7 @@ public class GestorActividades {
      * Busca una actividad por ID.
      */
     public Actividad buscarActividadPorId(String id) {
-        return actividades.stream()
-                .filter(a -> a.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return id != null ? actividadesPorId.get(id) : null;
     }
 
     /**
@@ -545,7 +697,7 @@ public class GestorActividades {
     /**
      * Elimina una actividad del sistema.
      */
-    public void eliminarActividad(String id) throws BrigadaException {
+    public synchronized void eliminarActividad(String id) throws BrigadaException {
         Actividad actividad = obtenerActividadPorId(id);
 
         // Verificar si la actividad tiene voluntarios asignados
@@ -556,11 +708,14 @@ public class GestorActividades {
 
         try {
             actividades.remove(actividad);
+            desindexar(actividad);
             asignacionesVoluntarios.remove(id); // Eliminar asignaciones
-            guardarActividades();
+            persistirEliminacion(id);
             System.out.println("[INFO] Actividad '" + actividad.getNombre() + "' eliminada exitosamente.");
+            eventos.publicar(new EventoDominio.ActividadEliminada(id));
         } catch (PersistenciaException e) {
             actividades.add(actividad); // Revertir si falla
+            indexar(actividad);
             throw new BrigadaException("Error al eliminar la actividad: " + e.getMessage());
         }
     }
@@ -568,16 +723,19 @@ public class GestorActividades {
     /**
      * Elimina una actividad forzadamente (sin verificar voluntarios).
      */
-    public void eliminarActividadForzadamente(String id) throws BrigadaException {
+    public synchronized void eliminarActividadForzadamente(String id) throws BrigadaException {
         Actividad actividad = obtenerActividadPorId(id);
 
         try {
             actividades.remove(actividad);
+            desindexar(actividad);
             asignacionesVoluntarios.remove(id); // Eliminar asignaciones
-            guardarActividades();
+            persistirEliminacion(id);
             System.out.println("[WARNING] Actividad '" + actividad.getNombre() + "' eliminada forzadamente.");
+            eventos.publicar(new EventoDominio.ActividadEliminada(id));
         } catch (PersistenciaException e) {
             actividades.add(actividad); // Revertir si falla
+            indexar(actividad);
             throw new BrigadaException("Error al eliminar la actividad: " + e.getMessage());
         }
     }
@@ -585,7 +743,7 @@ public class GestorActividades {
     /**
      * Actualiza una actividad existente.
      */
-    public void actualizarActividad(Actividad actividadActualizada) throws BrigadaException {
+    public synchronized void actualizarActividad(Actividad actividadActualizada) throws BrigadaException {
         if (actividadActualizada == null) {
             throw new BrigadaException("La actividad actualizada no puede ser nula.");
         }
@@ -612,9 +770,11 @@ public class GestorActividades {
             if (actividadActualizada.getBrigadaAsociada() != null) {
                 actividadExistente.setBrigadaAsociada(actividadActualizada.getBrigadaAsociada());
             }
+            reindexar(actividadExistente);
 
-            guardarActividades();
+            persistirActividad(actividadExistente);
             System.out.println("[INFO] Actividad '" + actividadExistente.getNombre() + "' actualizada exitosamente.");
+            eventos.publicar(new EventoDominio.ActividadActualizada(actividadExistente));
         } catch (PersistenciaException e) {
             // Revertir cambios si falla el guardado
             actividadExistente.setNombre(nombreAnterior);
@@ -623,6 +783,7 @@ public class GestorActividades {
             actividadExistente.setObjetivo(objetivoAnterior);
             actividadExistente.setResultados(resultadosAnterior);
             actividadExistente.setBrigadaAsociada(brigadaAnterior);
+            reindexar(actividadExistente);
             throw new BrigadaException("Error al actualizar la actividad: " + e.getMessage());
         }
     }
@@ -630,7 +791,7 @@ public class GestorActividades {
     /**
      * Guarda una actividad (crea o actualiza).
      */
-    public void guardarActividad(Actividad actividad) throws BrigadaException {
+    public synchronized void guardarActividad(Actividad actividad) throws BrigadaException {
         if (actividad == null) {
             throw new BrigadaException("La actividad no puede ser nula.");
         }
@@ -638,10 +799,13 @@ public class GestorActividades {
         // Verificar si ya existe
         for (int i = 0; i < actividades.size(); i++) {
             if (actividades.get(i).getId().equals(actividad.getId())) {
+                desindexar(actividades.get(i));
                 actividades.set(i, actividad); // Actualizar
+                indexar(actividad);
                 try {
-                    guardarActividades();
+                    persistirActividad(actividad);
                     System.out.println("[INFO] Actividad '" + actividad.getNombre() + "' actualizada.");
+                    eventos.publicar(new EventoDominio.ActividadActualizada(actividad));
                     return;
                 } catch (PersistenciaException e) {
                     throw new BrigadaException("Error al actualizar actividad: " + e.getMessage());
@@ -651,11 +815,14 @@ public class GestorActividades {
 
         // Si no existe, agregar
         actividades.add(actividad);
+        indexar(actividad);
         try {
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Actividad '" + actividad.getNombre() + "' creada.");
+            eventos.publicar(new EventoDominio.ActividadCreada(actividad));
         } catch (PersistenciaException e) {
             actividades.remove(actividad); // Revertir si falla
+            desindexar(actividad);
             throw new BrigadaException("Error al crear actividad: " + e.getMessage());
         }
     }
@@ -671,39 +838,57 @@ public class GestorActividades {
      * Obtiene actividades por brigada.
      */
     public List<Actividad> obtenerActividadesPorBrigada(String brigadaId) {
-        return actividades.stream()
-                .filter(a -> a.getBrigadaAsociada() != null &&
-                        brigadaId.equals(a.getBrigadaAsociada().getId()))
-                .collect(java.util.stream.Collectors.toList());
+        Map<String, Actividad> grupo = actividadesPorBrigada.get(brigadaId);
+        return grupo != null ? new ArrayList<>(grupo.values()) : new ArrayList<>();
     }
 
     /**
      * Obtiene actividades por fecha.
      */
     public List<Actividad> obtenerActividadesPorFecha(Date fecha) {
-        return actividades.stream()
-                .filter(a -> a.getFecha().equals(fecha))
-                .collect(java.util.stream.Collectors.toList());
+        Map<String, Actividad> grupo = actividadesPorFecha.get(fecha.getTime());
+        return grupo != null ? new ArrayList<>(grupo.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene las actividades entre dos fechas (ambas incluidas), ordenadas por fecha.
+     */
+    public List<Actividad> obtenerActividadesEntre(Date desde, Date hasta) {
+        if (desde.after(hasta)) {
+            return new ArrayList<>();
+        }
+        return aplanar(actividadesPorFecha.subMap(desde.getTime(), true, hasta.getTime(), true).values());
+    }
+
+    /**
+     * Obtiene las próximas actividades a partir de ahora, ordenadas por fecha.
+     * @param cantidad máximo de actividades a devolver
+     */
+    public List<Actividad> obtenerProximasActividades(int cantidad) {
+        List<Actividad> resultado = new ArrayList<>();
+        for (Map<String, Actividad> grupo : actividadesPorFecha.tailMap(System.currentTimeMillis(), false).values()) {
+            for (Actividad actividad : grupo.values()) {
+                if (resultado.size() >= cantidad) {
+                    return resultado;
+                }
+                resultado.add(actividad);
+            }
+        }
+        return resultado;
     }
 
     /**
      * Obtiene actividades pendientes (fecha futura).
      */
     public List<Actividad> obtenerActividadesPendientes() {
-        Date ahora = new Date();
-        return actividades.stream()
-                .filter(a -> a.getFecha().after(ahora))
-                .collect(java.util.stream.Collectors.toList());
+        return aplanar(actividadesPorFecha.tailMap(System.currentTimeMillis(), false).values());
     }
 
     /**
      * Obtiene actividades completadas (fecha pasada).
      */
     public List<Actividad> obtenerActividadesCompletadas() {
-        Date ahora = new Date();
-        return actividades.stream()
-                .filter(a -> a.getFecha().before(ahora))
-                .collect(java.util.stream.Collectors.toList());
+        return aplanar(actividadesPorFecha.headMap(System.currentTimeMillis(), false).values());
     }
 
     /**
@@ -720,7 +905,7 @@ public class GestorActividades {
                         a.getLugar().toLowerCase().contains(terminoLower) ||
                         a.getObjetivo().toLowerCase().contains(terminoLower) ||
                         (a.getBrigadaAsociada() != null &&
-                                a.getBrigadaAsociada().getNombre().toLowerCase().contains(terminoLower)))
+                                a.getNombreBrigada().toLowerCase().contains(terminoLower)))
                 .collect(java.util.stream.Collectors.toList());
     }
 
@@ -766,14 +951,28 @@ public class GestorActividades {
     }
 
     /**
-     * Obtiene estadísticas de actividades.
+     * Obtiene estadísticas de actividades, contando todo en una sola pasada.
      */
     public String obtenerEstadisticasActividades() {
-        int total = obtenerTotalActividades();
-        int pendientes = obtenerActividadesPendientes().size();
-        int completadas = obtenerActividadesCompletadas().size();
-        int conVoluntarios = obtenerActividadesConVoluntarios().size();
-        int sinVoluntarios = obtenerActividadesSinVoluntarios().size();
+        long ahora = System.currentTimeMillis();
+        int total = 0, pendientes = 0, completadas = 0, conVoluntarios = 0, totalVoluntarios = 0;
+        for (Actividad actividad : actividades) {
+            total++;
+            if (actividad.getFecha() != null) {
+                long fecha = actividad.getFecha().getTime();
+                if (fecha > ahora) {
+                    pendientes++;
+                } else if (fecha < ahora) {
+                    completadas++;
+                }
+            }
+            int voluntarios = actividad.getVoluntariosAsignados().size();
+            if (voluntarios > 0) {
+                conVoluntarios++;
+                totalVoluntarios += voluntarios;
+            }
+        }
+        int sinVoluntarios = total - conVoluntarios;
 
         return String.format("""
             Estadísticas de Actividades:
@@ -786,7 +985,7 @@ public class GestorActividades {
             Total voluntarios asignados: %d
             """,
                 total, pendientes, completadas, conVoluntarios, sinVoluntarios,
-                obtenerTotalVoluntariosEnActividades());
+                totalVoluntarios);
     }
 
     /**
@@ -801,8 +1000,8 @@ public class GestorActividades {
                 return obtenerActividadesCompletadas();
             case "en proceso":
                 // Actividades cuya fecha ya pasó pero no tienen resultados registrados
-                return actividades.stream()
-                        .filter(a -> a.getFecha().before(ahora) && a.getResultados() == null)
+                return aplanar(actividadesPorFecha.headMap(ahora.getTime(), false).values()).stream()
+                        .filter(a -> a.getResultados() == null)
                         .collect(java.util.stream.Collectors.toList());
             default:
                 return new ArrayList<>();
@@ -812,7 +1011,7 @@ public class GestorActividades {
     /**
      * Desasigna un voluntario de una actividad.
      */
-    public void desasignarVoluntario(String actividadId, String voluntarioId) throws BrigadaException {
+    public synchronized void desasignarVoluntario(String actividadId, String voluntarioId) throws BrigadaException {
         Actividad actividad = obtenerActividadPorId(actividadId);
         if (actividad == null) {
             throw new BrigadaException("Actividad no encontrada: " + actividadId);
@@ -822,12 +1021,14 @@ public class GestorActividades {
             actividad.eliminarVoluntario(voluntarioId);
 
             // Actualizar mapa de asignaciones
-            if (asignacionesVoluntarios.containsKey(actividadId)) {
-                asignacionesVoluntarios.get(actividadId).remove(voluntarioId);
+            Map<String, String> asignaciones = asignacionesVoluntarios.get(actividadId);
+            if (asignaciones != null) {
+                asignaciones.remove(voluntarioId);
             }
 
-            guardarActividades();
+            persistirActividad(actividad);
             System.out.println("[INFO] Voluntario desasignado de la actividad '" + actividad.getNombre() + "'.");
+            eventos.publicar(new EventoDominio.VoluntarioRetirado(voluntarioId, actividadId, null));
 
         } catch (Exception e) {
             throw new BrigadaException("Error al desasignar voluntario: " + e.getMessage());
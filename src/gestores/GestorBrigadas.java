@@ -7,48 +7,179 @@ import exceptions.BrigadaException;
 import exceptions.PersistenciaException;
 import exceptions.VoluntarioNoEncontradoException;
 import persistence.GestorAlmacenamiento;
+import persistence.MapaIdentidades;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /*
 Gestor responsable de la administración de brigadas en el sistema (RF-01, RF-03).
+Los métodos que modifican brigadas son synchronized, de modo que dos escrituras nunca se intercalan;
+las altas y bajas de voluntarios usan en cambio un bloqueo por brigada (ver bloqueosBrigada). Todo cambio
+a una brigada, incluidos los synchronized, toma su franja (siempre gestor -> franja) y la mantiene mientras
+la registra en el diario. Las consultas leen la lista copy-on-write y los índices concurrentes sin bloquear.
 */
 public class GestorBrigadas {
     private static final String ARCHIVO_BRIGADAS = "brigadas.dat";
-    private List<Brigada> brigadas;
+    private volatile List<Brigada> brigadas;
+    // Índices en memoria: ID -> brigada y ID de voluntario -> IDs de las brigadas a las que pertenece
+    private final Map<String, Brigada> brigadasPorId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> brigadasPorVoluntario = new ConcurrentHashMap<>();
+    // Bloqueos por franjas según el ID de brigada: las altas y bajas de voluntarios de una misma brigada
+    // (verificación de cupo incluida) son atómicas, y las de brigadas distintas avanzan en paralelo
+    private static final int FRANJAS_BLOQUEO = 32;
+    private final ReentrantLock[] bloqueosBrigada = new ReentrantLock[FRANJAS_BLOQUEO];
     private GestorAlmacenamiento gestor;
     // Referencia cruzada para validar voluntarios
     private GestorVoluntarios gestorVoluntarios;
+    // Bus donde se anuncian los cambios confirmados; GestorGeneral conecta el compartido
+    private BusEventos eventos = new BusEventos();
 
     public GestorBrigadas(GestorVoluntarios gestorVoluntarios) {
         this.gestor = new GestorAlmacenamiento();
         this.gestorVoluntarios = gestorVoluntarios;
-        cargarBrigadas();
+        this.brigadas = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < FRANJAS_BLOQUEO; i++) {
+            bloqueosBrigada[i] = new ReentrantLock();
+        }
+        // Los datos se cargan con cargar*() desde GestorGeneral, en paralelo con los demás archivos
+    }
+
+    void setBusEventos(BusEventos eventos) {
+        this.eventos = eventos;
     }
 
-    @SuppressWarnings("unchecked")
-    private void cargarBrigadas() {
+    // Deja de escribir en disco (otros gestores pasaron a ser dueños de los archivos)
+    void cerrar() {
+        gestor.cerrar();
+    }
+
+    synchronized void cargarBrigadas() {
         try {
-            Object datos = gestor.cargar(ARCHIVO_BRIGADAS);
+            List<Brigada> datos = gestor.cargarLista(ARCHIVO_BRIGADAS, Brigada::getId);
             if (datos != null) {
-                brigadas = (List<Brigada>) datos;
+                brigadas = new CopyOnWriteArrayList<>(datos);
             } else {
-                brigadas = new ArrayList<>();
+                brigadas = new CopyOnWriteArrayList<>();
             }
         } catch (PersistenciaException e) {
             System.err.println("Error cargando brigadas: " + e.getMessage());
-            brigadas = new ArrayList<>();
+            brigadas = new CopyOnWriteArrayList<>();
+        }
+        reconstruirIndices();
+    }
+
+    /* Reconstruye los índices a partir de la lista de brigadas */
+    private void reconstruirIndices() {
+        brigadasPorId.clear();
+        brigadasPorVoluntario.clear();
+        for (Brigada brigada : brigadas) {
+            indexarBrigada(brigada);
+        }
+    }
+
+    private void indexarBrigada(Brigada brigada) {
+        if (brigada.getId() == null) {
+            return;
+        }
+        brigadasPorId.putIfAbsent(brigada.getId(), brigada);
+        for (Voluntario voluntario : brigada.getVoluntarios()) {
+            indexarMembresia(voluntario.getId(), brigada.getId());
+        }
+    }
+
+    private void desindexarBrigada(Brigada brigada) {
+        if (brigada.getId() == null) {
+            return;
+        }
+        brigadasPorId.remove(brigada.getId(), brigada);
+        for (Voluntario voluntario : brigada.getVoluntarios()) {
+            desindexarMembresia(voluntario.getId(), brigada.getId());
+        }
+    }
+
+    // compute es atómico por voluntario, así dos brigadas (en franjas distintas) pueden actualizar el mismo voluntario
+    private void indexarMembresia(String voluntarioId, String brigadaId) {
+        brigadasPorVoluntario.compute(voluntarioId, (k, ids) -> {
+            Set<String> resultado = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            resultado.add(brigadaId);
+            return resultado;
+        });
+    }
+
+    private void desindexarMembresia(String voluntarioId, String brigadaId) {
+        brigadasPorVoluntario.computeIfPresent(voluntarioId, (k, ids) -> {
+            ids.remove(brigadaId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /* Bloqueo de la franja que corresponde a una brigada */
+    private ReentrantLock bloqueoDe(String brigadaId) {
+        int hash = brigadaId != null ? brigadaId.hashCode() : 0;
+        return bloqueosBrigada[(hash & 0x7fffffff) % FRANJAS_BLOQUEO];
+    }
+
+    /* Reemplaza las referencias por ID de las brigadas cargadas por las instancias canónicas de los usuarios
+       y registra las brigadas en el mapa para resolver las actividades. */
+    public synchronized void resolverReferencias(MapaIdentidades mapa) {
+        int sinResolver = 0;
+        for (Brigada brigada : brigadas) {
+            sinResolver += mapa.resolverBrigada(brigada);
+        }
+        mapa.registrarBrigadas(brigadas);
+        reconstruirIndices();
+        if (sinResolver > 0) {
+            System.err.println("[WARNING] " + sinResolver + " referencias de brigadas a usuarios inexistentes fueron descartadas.");
         }
     }
 
-    private void guardarBrigadas() throws PersistenciaException {
-        gestor.guardar(ARCHIVO_BRIGADAS, brigadas);
+    /* Registra en el diario el estado actual de una brigada. Se llama con la franja de la brigada tomada:
+       el registro se codifica y se encola dentro de ella, así el último encolado es siempre el último estado.
+       No compacta (las altas y bajas de voluntarios no tienen el bloqueo del gestor): ver compactarSiCorresponde. */
+    private void persistirBrigada(Brigada brigada) throws PersistenciaException {
+        gestor.registrarGuardado(ARCHIVO_BRIGADAS, brigada.getId(), brigada, null);
+    }
+
+    /* Registra en el diario la eliminación de una brigada */
+    private void persistirEliminacion(String brigadaId) throws PersistenciaException {
+        gestor.registrarEliminacion(ARCHIVO_BRIGADAS, brigadaId, null);
+    }
+
+    /* Si el diario llegó al umbral, escribe la lista completa con el bloqueo del gestor y todas las franjas
+       tomadas (en orden), de modo que ninguna brigada esté a medio modificar ni con su registro en camino.
+       Se llama después de soltar la franja propia. */
+    private void compactarSiCorresponde() {
+        if (!gestor.compactacionPendiente(ARCHIVO_BRIGADAS)) {
+            return;
+        }
+        synchronized (this) {
+            for (ReentrantLock bloqueo : bloqueosBrigada) {
+                bloqueo.lock();
+            }
+            try {
+                if (gestor.compactacionPendiente(ARCHIVO_BRIGADAS)) {
+                    gestor.guardarDiferido(ARCHIVO_BRIGADAS, new ArrayList<>(brigadas));
+                }
+            } catch (PersistenciaException e) {
+                // Los cambios ya están en el diario; se vuelve a intentar con el próximo cambio
+                System.err.println("[WARNING] No se pudo compactar " + ARCHIVO_BRIGADAS + ": " + e.getMessage());
+            } finally {
+                for (int i = FRANJAS_BLOQUEO - 1; i >= 0; i--) {
+                    bloqueosBrigada[i].unlock();
+                }
+            }
+        }
     }
 
     /* Crea una nueva brigada en el sistema (RF-01). */
-    public void crearBrigada(Brigada brigada) throws BrigadaException {
+    public synchronized void crearBrigada(Brigada brigada) throws BrigadaException {
         if (brigada == null) {
             throw new BrigadaException("Error: La brigada no puede ser nula.");
         }
@@ -65,22 +196,29 @@ public class GestorBrigadas {
             throw new BrigadaException("Error: El nombre de la brigada no puede estar vacío.");
         }
 
-        brigadas.add(brigada);
+        ReentrantLock bloqueo = bloqueoDe(brigada.getId());
+        bloqueo.lock();
         try {
-            guardarBrigadas();
-            System.out.println("[INFO] Brigada " + brigada.getNombre() + " creada exitosamente.");
-        } catch (PersistenciaException e) {
-            brigadas.remove(brigada); // Revertir si falla el guardado
-            throw new BrigadaException("Error al guardar la brigada: " + e.getMessage());
+            brigadas.add(brigada);
+            indexarBrigada(brigada);
+            try {
+                persistirBrigada(brigada);
+                System.out.println("[INFO] Brigada " + brigada.getNombre() + " creada exitosamente.");
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+            } catch (PersistenciaException e) {
+                brigadas.remove(brigada); // Revertir si falla el guardado
+                desindexarBrigada(brigada);
+                throw new BrigadaException("Error al guardar la brigada: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Busca una brigada por su identificador único. */
     public Brigada buscarBrigadaPorId(String id) {
-        return brigadas.stream()
-                .filter(b -> b.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return id != null ? brigadasPorId.get(id) : null;
     }
 
     /* Obtiene una brigada por su ID o lanza excepción si no existe */
@@ -95,52 +233,78 @@ public class GestorBrigadas {
     /* Agrega un voluntario a una brigada específica (RF-03). */
     public void agregarVoluntarioABrigada(String brigadaId, String voluntarioId)
             throws BrigadaException, VoluntarioNoEncontradoException {
+        ReentrantLock bloqueo = bloqueoDe(brigadaId);
+        bloqueo.lock();
+        try {
+            Brigada brigada = obtenerBrigadaPorId(brigadaId);
 
-        Brigada brigada = obtenerBrigadaPorId(brigadaId);
+            Voluntario voluntario = gestorVoluntarios.buscarVoluntarioPorId(voluntarioId);
+            if (voluntario == null) {
+                throw new VoluntarioNoEncontradoException(voluntarioId);
+            }
 
-        Voluntario voluntario = gestorVoluntarios.buscarVoluntarioPorId(voluntarioId);
-        if (voluntario == null) {
-            throw new VoluntarioNoEncontradoException(voluntarioId);
-        }
+            // Verificar si el voluntario ya está en la brigada
+            if (brigada.contieneVoluntario(voluntarioId)) {
+                throw new BrigadaException("El voluntario ya está asignado a esta brigada.");
+            }
 
-        // Verificar si el voluntario ya está en la brigada
-        if (brigada.getVoluntarios().contains(voluntario)) {
-            throw new BrigadaException("El voluntario ya está asignado a esta brigada.");
-        }
+            // El cupo se verifica con el bloqueo tomado, así dos altas simultáneas no pueden superar la capacidad
+            if (!brigada.tieneCupoDisponible()) {
+                throw new BrigadaException("La brigada ha alcanzado su capacidad máxima de " +
+                        brigada.getCapacidadMaxima() + " voluntarios.");
+            }
 
-        brigada.agregarVoluntario(voluntario);
-        try {
-            guardarBrigadas();
-            System.out.println("[INFO] Voluntario " + voluntario.getNombre() + " agregado a brigada " + brigada.getNombre());
-        } catch (PersistenciaException e) {
-            brigada.eliminarVoluntario(voluntario); // Revertir si falla
-            throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            brigada.agregarVoluntario(voluntario);
+            indexarMembresia(voluntarioId, brigadaId);
+            try {
+                persistirBrigada(brigada);
+                System.out.println("[INFO] Voluntario " + voluntario.getNombre() + " agregado a brigada " + brigada.getNombre());
+                eventos.publicar(new EventoDominio.VoluntarioAsignado(voluntarioId, null, brigadaId));
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+            } catch (PersistenciaException e) {
+                brigada.eliminarVoluntario(voluntario); // Revertir si falla
+                desindexarMembresia(voluntarioId, brigadaId);
+                throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Elimina un voluntario de una brigada */
     public void eliminarVoluntarioDeBrigada(String brigadaId, String voluntarioId)
             throws BrigadaException, VoluntarioNoEncontradoException {
+        ReentrantLock bloqueo = bloqueoDe(brigadaId);
+        bloqueo.lock();
+        try {
+            Brigada brigada = obtenerBrigadaPorId(brigadaId);
 
-        Brigada brigada = obtenerBrigadaPorId(brigadaId);
-
-        Voluntario voluntario = gestorVoluntarios.buscarVoluntarioPorId(voluntarioId);
-        if (voluntario == null) {
-            throw new VoluntarioNoEncontradoException(voluntarioId);
-        }
+            Voluntario voluntario = gestorVoluntarios.buscarVoluntarioPorId(voluntarioId);
+            if (voluntario == null) {
+                throw new VoluntarioNoEncontradoException(voluntarioId);
+            }
 
-        if (!brigada.getVoluntarios().contains(voluntario)) {
-            throw new BrigadaException("El voluntario no está asignado a esta brigada.");
-        }
+            if (!brigada.contieneVoluntario(voluntarioId)) {
+                throw new BrigadaException("El voluntario no está asignado a esta brigada.");
+            }
 
-        brigada.eliminarVoluntario(voluntario);
-        try {
-            guardarBrigadas();
-            System.out.println("[INFO] Voluntario " + voluntario.getNombre() + " eliminado de brigada " + brigada.getNombre());
-        } catch (PersistenciaException e) {
-            brigada.agregarVoluntario(voluntario); // Revertir si falla
-            throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            brigada.eliminarVoluntario(voluntario);
+            desindexarMembresia(voluntarioId, brigadaId);
+            try {
+                persistirBrigada(brigada);
+                System.out.println("[INFO] Voluntario " + voluntario.getNombre() + " eliminado de brigada " + brigada.getNombre());
+                eventos.publicar(new EventoDominio.VoluntarioRetirado(voluntarioId, null, brigadaId));
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+            } catch (PersistenciaException e) {
+                brigada.agregarVoluntario(voluntario); // Revertir si falla
+                indexarMembresia(voluntarioId, brigadaId);
+                throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* NUEVO MÉTODO: Obtiene voluntarios de una brigada específica */
@@ -170,7 +334,7 @@ public class GestorBrigadas {
     }
 
     /* Asigna un coordinador a una brigada. */
-    public void asignarCoordinadorABrigada(String brigadaId, Coordinador coordinador)
+    public synchronized void asignarCoordinadorABrigada(String brigadaId, Coordinador coordinador)
             throws BrigadaException {
 
         Brigada brigada = obtenerBrigadaPorId(brigadaId);
@@ -179,126 +343,180 @@ public class GestorBrigadas {
             throw new BrigadaException("El coordinador no puede ser nulo.");
         }
 
-        brigada.setCoordinador(coordinador);
+        ReentrantLock bloqueo = bloqueoDe(brigadaId);
+        bloqueo.lock();
         try {
-            guardarBrigadas();
-            System.out.println("[INFO] Coordinador " + coordinador.getNombre() + " asignado a brigada " + brigada.getNombre());
-        } catch (PersistenciaException e) {
-            throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            Coordinador coordinadorAnterior = brigada.getCoordinador();
+            brigada.setCoordinador(coordinador);
+            try {
+                persistirBrigada(brigada);
+                System.out.println("[INFO] Coordinador " + coordinador.getNombre() + " asignado a brigada " + brigada.getNombre());
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+            } catch (PersistenciaException e) {
+                brigada.setCoordinador(coordinadorAnterior); // Revertir si falla
+                throw new BrigadaException("Error al guardar cambios: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Elimina una brigada del sistema */
-    public void eliminarBrigada(String id) throws BrigadaException {
-        Brigada brigada = obtenerBrigadaPorId(id);
+    public synchronized void eliminarBrigada(String id) throws BrigadaException {
+        ReentrantLock bloqueo = bloqueoDe(id);
+        bloqueo.lock();
+        try {
+            Brigada brigada = obtenerBrigadaPorId(id);
 
-        // Verificar si la brigada tiene voluntarios asignados
-        if (!brigada.getVoluntarios().isEmpty()) {
-            throw new BrigadaException("No se puede eliminar la brigada " + brigada.getNombre() +
-                    " porque tiene " + brigada.getVoluntarios().size() + " voluntarios asignados." +
-                    "\nReasigna o elimina los voluntarios primero.");
-        }
+            // Verificar si la brigada tiene voluntarios asignados
+            if (brigada.getCantidadVoluntarios() > 0) {
+                throw new BrigadaException("No se puede eliminar la brigada " + brigada.getNombre() +
+                        " porque tiene " + brigada.getCantidadVoluntarios() + " voluntarios asignados." +
+                        "\nReasigna o elimina los voluntarios primero.");
+            }
 
-        brigadas.remove(brigada);
-        try {
-            guardarBrigadas();
-            System.out.println("[INFO] Brigada " + brigada.getNombre() + " eliminada exitosamente.");
-        } catch (PersistenciaException e) {
-            brigadas.add(brigada); // Revertir si falla
-            throw new BrigadaException("Error al eliminar la brigada: " + e.getMessage());
+            brigadas.remove(brigada);
+            desindexarBrigada(brigada);
+            try {
+                persistirEliminacion(brigada.getId());
+                System.out.println("[INFO] Brigada " + brigada.getNombre() + " eliminada exitosamente.");
+                eventos.publicar(new EventoDominio.BrigadaEliminada(id));
+            } catch (PersistenciaException e) {
+                brigadas.add(brigada); // Revertir si falla
+                indexarBrigada(brigada);
+                throw new BrigadaException("Error al eliminar la brigada: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Elimina una brigada forzadamente (sin verificar voluntarios) */
-    public void eliminarBrigadaForzadamente(String id) throws BrigadaException {
-        Brigada brigada = obtenerBrigadaPorId(id);
+    public synchronized void eliminarBrigadaForzadamente(String id) throws BrigadaException {
+        ReentrantLock bloqueo = bloqueoDe(id);
+        bloqueo.lock();
+        try {
+            Brigada brigada = obtenerBrigadaPorId(id);
 
-        if (brigada == null) {
-            throw new BrigadaException("Brigada no encontrada: " + id);
-        }
+            if (brigada == null) {
+                throw new BrigadaException("Brigada no encontrada: " + id);
+            }
 
-        brigadas.remove(brigada);
-        try {
-            guardarBrigadas();
-            System.out.println("[WARNING] Brigada " + brigada.getNombre() + " eliminada forzadamente.");
-        } catch (PersistenciaException e) {
-            brigadas.add(brigada); // Revertir si falla
-            throw new BrigadaException("Error al eliminar la brigada: " + e.getMessage());
+            brigadas.remove(brigada);
+            desindexarBrigada(brigada);
+            try {
+                persistirEliminacion(brigada.getId());
+                System.out.println("[WARNING] Brigada " + brigada.getNombre() + " eliminada forzadamente.");
+                eventos.publicar(new EventoDominio.BrigadaEliminada(id));
+            } catch (PersistenciaException e) {
+                brigadas.add(brigada); // Revertir si falla
+                indexarBrigada(brigada);
+                throw new BrigadaException("Error al eliminar la brigada: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Actualiza una brigada existente */
-    public void actualizarBrigada(Brigada brigadaActualizada) throws BrigadaException {
+    public synchronized void actualizarBrigada(Brigada brigadaActualizada) throws BrigadaException {
         if (brigadaActualizada == null) {
             throw new BrigadaException("La brigada actualizada no puede ser nula.");
         }
 
         Brigada brigadaExistente = obtenerBrigadaPorId(brigadaActualizada.getId());
 
-        // Guardar el estado anterior para poder revertir si es necesario
-        String nombreAnterior = brigadaExistente.getNombre();
-        String tipoAnterior = brigadaExistente.getTipo();
-        String zonaAnterior = brigadaExistente.getZona();
-        String descripcionAnterior = brigadaExistente.getDescripcion();
-        String estadoAnterior = brigadaExistente.getEstado();
-        Coordinador coordinadorAnterior = brigadaExistente.getCoordinador();
-
+        ReentrantLock bloqueo = bloqueoDe(brigadaExistente.getId());
+        bloqueo.lock();
         try {
-            // Actualizar propiedades
-            brigadaExistente.setNombre(brigadaActualizada.getNombre());
-            brigadaExistente.setTipo(brigadaActualizada.getTipo());
-            brigadaExistente.setZona(brigadaActualizada.getZona());
-            brigadaExistente.setDescripcion(brigadaActualizada.getDescripcion());
-            brigadaExistente.setEstado(brigadaActualizada.getEstado());
-
-            // Actualizar coordinador si es diferente
-            if (brigadaActualizada.getCoordinador() != null) {
-                brigadaExistente.setCoordinador(brigadaActualizada.getCoordinador());
-            }
+            // Guardar el estado anterior para poder revertir si es necesario
+            String nombreAnterior = brigadaExistente.getNombre();
+            String tipoAnterior = brigadaExistente.getTipo();
+            String zonaAnterior = brigadaExistente.getZona();
+            String descripcionAnterior = brigadaExistente.getDescripcion();
+            String estadoAnterior = brigadaExistente.getEstado();
+            Coordinador coordinadorAnterior = brigadaExistente.getCoordinador();
+
+            try {
+                // Actualizar propiedades
+                brigadaExistente.setNombre(brigadaActualizada.getNombre());
+                brigadaExistente.setTipo(brigadaActualizada.getTipo());
+                brigadaExistente.setZona(brigadaActualizada.getZona());
+                brigadaExistente.setDescripcion(brigadaActualizada.getDescripcion());
+                brigadaExistente.setEstado(brigadaActualizada.getEstado());
+
+                // Actualizar coordinador si es diferente
+                if (brigadaActualizada.getCoordinador() != null) {
+                    brigadaExistente.setCoordinador(brigadaActualizada.getCoordinador());
+                }
 
-            guardarBrigadas();
-            System.out.println("[INFO] Brigada " + brigadaExistente.getNombre() + " actualizada exitosamente.");
-        } catch (PersistenciaException e) {
-            // Revertir cambios si falla el guardado
-            brigadaExistente.setNombre(nombreAnterior);
-            brigadaExistente.setTipo(tipoAnterior);
-            brigadaExistente.setZona(zonaAnterior);
-            brigadaExistente.setDescripcion(descripcionAnterior);
-            brigadaExistente.setEstado(estadoAnterior);
-            brigadaExistente.setCoordinador(coordinadorAnterior);
-            throw new BrigadaException("Error al actualizar la brigada: " + e.getMessage());
+                persistirBrigada(brigadaExistente);
+                System.out.println("[INFO] Brigada " + brigadaExistente.getNombre() + " actualizada exitosamente.");
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigadaExistente));
+            } catch (PersistenciaException e) {
+                // Revertir cambios si falla el guardado
+                brigadaExistente.setNombre(nombreAnterior);
+                brigadaExistente.setTipo(tipoAnterior);
+                brigadaExistente.setZona(zonaAnterior);
+                brigadaExistente.setDescripcion(descripcionAnterior);
+                brigadaExistente.setEstado(estadoAnterior);
+                brigadaExistente.setCoordinador(coordinadorAnterior);
+                throw new BrigadaException("Error al actualizar la brigada: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Guarda una brigada (crea o actualiza) */
-    public void guardarBrigada(Brigada brigada) throws BrigadaException {
+    public synchronized void guardarBrigada(Brigada brigada) throws BrigadaException {
         if (brigada == null) {
             throw new BrigadaException("La brigada no puede ser nula.");
         }
+        ReentrantLock bloqueo = bloqueoDe(brigada.getId());
+        bloqueo.lock();
+        try {
+            // Verificar si ya existe
+            int posicion = -1;
+            for (int i = 0; i < brigadas.size() && posicion < 0; i++) {
+                if (brigadas.get(i).getId().equals(brigada.getId())) {
+                    posicion = i;
+                }
+            }
 
-        // Verificar si ya existe
-        for (int i = 0; i < brigadas.size(); i++) {
-            if (brigadas.get(i).getId().equals(brigada.getId())) {
-                brigadas.set(i, brigada); // Actualizar
+            if (posicion >= 0) {
+                desindexarBrigada(brigadas.get(posicion));
+                brigadas.set(posicion, brigada); // Actualizar
+                indexarBrigada(brigada);
                 try {
-                    guardarBrigadas();
+                    persistirBrigada(brigada);
                     System.out.println("[INFO] Brigada " + brigada.getNombre() + " actualizada.");
-                    return;
+                    eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
                 } catch (PersistenciaException e) {
                     throw new BrigadaException("Error al actualizar brigada: " + e.getMessage());
                 }
+            } else {
+                // Si no existe, agregar
+                brigadas.add(brigada);
+                indexarBrigada(brigada);
+                try {
+                    persistirBrigada(brigada);
+                    System.out.println("[INFO] Brigada " + brigada.getNombre() + " creada.");
+                    eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+                } catch (PersistenciaException e) {
+                    brigadas.remove(brigada); // Revertir si falla
+                    desindexarBrigada(brigada);
+                    throw new BrigadaException("Error al crear brigada: " + e.getMessage());
+                }
             }
+        } finally {
+            bloqueo.unlock();
         }
-
-        // Si no existe, agregar
-        brigadas.add(brigada);
-        try {
-            guardarBrigadas();
-            System.out.println("[INFO] Brigada " + brigada.getNombre() + " creada.");
-        } catch (PersistenciaException e) {
-            brigadas.remove(brigada); // Revertir si falla
-            throw new BrigadaException("Error al crear brigada: " + e.getMessage());
-        }
+        compactarSiCorresponde();
     }
 
     /* Obtiene todas las brigadas */
@@ -380,7 +598,7 @@ public class GestorBrigadas {
     /* Obtiene el total de voluntarios en todas las brigadas */
     public int obtenerTotalVoluntariosEnBrigadas() {
         return brigadas.stream()
-                .mapToInt(b -> b.getVoluntarios().size())
+                .mapToInt(Brigada::getCantidadVoluntarios)
                 .sum();
     }
 
@@ -391,24 +609,35 @@ public class GestorBrigadas {
 
     /* Verifica si un voluntario está en alguna brigada */
     public boolean voluntarioEstaEnAlgunaBrigada(String voluntarioId) {
-        return brigadas.stream()
-                .anyMatch(b -> b.getVoluntarios().stream()
-                        .anyMatch(v -> v.getId().equals(voluntarioId)));
+        return brigadasPorVoluntario.containsKey(voluntarioId);
+    }
+
+    /* Verifica si un voluntario pertenece a una brigada específica */
+    public boolean voluntarioEstaEnBrigada(String voluntarioId, String brigadaId) {
+        Set<String> ids = brigadasPorVoluntario.get(voluntarioId);
+        return ids != null && ids.contains(brigadaId);
     }
 
     /* Obtiene las brigadas a las que pertenece un voluntario */
     public List<Brigada> obtenerBrigadasDeVoluntario(String voluntarioId) {
-        return brigadas.stream()
-                .filter(b -> b.getVoluntarios().stream()
-                        .anyMatch(v -> v.getId().equals(voluntarioId)))
-                .collect(Collectors.toList());
+        Set<String> ids = brigadasPorVoluntario.get(voluntarioId);
+        List<Brigada> resultado = new ArrayList<>();
+        if (ids != null) {
+            for (String brigadaId : ids) {
+                Brigada brigada = brigadasPorId.get(brigadaId);
+                if (brigada != null) {
+                    resultado.add(brigada);
+                }
+            }
+        }
+        return resultado;
     }
 
     /* Convoca voluntarios urgentes (RF-09) */
     public void convocarUrgente(String brigadaId, String mensaje) throws BrigadaException {
         Brigada brigada = obtenerBrigadaPorId(brigadaId);
 
-        if (brigada.getVoluntarios().isEmpty()) {
+        if (brigada.getCantidadVoluntarios() == 0) {
             throw new BrigadaException("La brigada no tiene voluntarios asignados.");
         }
 
@@ -421,28 +650,36 @@ public class GestorBrigadas {
             System.out.println("✓ Aviso enviado a: " + v.getNombre() +
                     " (" + v.getEmail() + " | " + v.getTelefono() + ")");
         }
-        System.out.println("✓ Total de avisos urgentes enviados: " + brigada.getVoluntarios().size());
+        System.out.println("✓ Total de avisos urgentes enviados: " + brigada.getCantidadVoluntarios());
     }
 
     /* Cambia el estado de una brigada */
-    public void cambiarEstadoBrigada(String brigadaId, String nuevoEstado) throws BrigadaException {
+    public synchronized void cambiarEstadoBrigada(String brigadaId, String nuevoEstado) throws BrigadaException {
         Brigada brigada = obtenerBrigadaPorId(brigadaId);
 
         if (nuevoEstado == null || nuevoEstado.trim().isEmpty()) {
             throw new BrigadaException("El nuevo estado no puede estar vacío.");
         }
 
-        String estadoAnterior = brigada.getEstado();
-        brigada.setEstado(nuevoEstado);
-
+        ReentrantLock bloqueo = bloqueoDe(brigadaId);
+        bloqueo.lock();
         try {
-            guardarBrigadas();
-            System.out.println("[INFO] Brigada " + brigada.getNombre() +
-                    " cambió de estado: " + estadoAnterior + " → " + nuevoEstado);
-        } catch (PersistenciaException e) {
-            brigada.setEstado(estadoAnterior); // Revertir si falla
-            throw new BrigadaException("Error al cambiar estado: " + e.getMessage());
+            String estadoAnterior = brigada.getEstado();
+            brigada.setEstado(nuevoEstado);
+
+            try {
+                persistirBrigada(brigada);
+                System.out.println("[INFO] Brigada " + brigada.getNombre() +
+                        " cambió de estado: " + estadoAnterior + " → " + nuevoEstado);
+                eventos.publicar(new EventoDominio.BrigadaActualizada(brigada));
+            } catch (PersistenciaException e) {
+                brigada.setEstado(estadoAnterior); // Revertir si falla
+                throw new BrigadaException("Error al cambiar estado: " + e.getMessage());
+            }
+        } finally {
+            bloqueo.unlock();
         }
+        compactarSiCorresponde();
     }
 
     /* Activa una brigada */
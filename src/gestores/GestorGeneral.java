@@ -3,6 +3,9 @@ package gestores;
 import exceptions.PersistenciaException;
 import gestores.*;
 import model.*;
+import persistence.CargadorInicial;
+import persistence.GestorAlmacenamiento;
+import persistence.MapaIdentidades;
 import java.util.Date;
 import java.util.List;
 
@@ -13,7 +16,9 @@ public class GestorGeneral {
     private GestorActividades gestorActividades;
     private GestorRecursos gestorRecursos;
     private GestorResultados gestorResultados;
-
+    // Eventos de todos los gestores de esta instancia; las ventanas se suscriben aquí
+    private final BusEventos busEventos = new BusEventos();
+    private final EstadisticasSistema estadisticas;
 
     public GestorGeneral() {
         // 1. Inicializar persistencia
@@ -22,12 +27,61 @@ public class GestorGeneral {
         // 2. Inicializar gestores de negocio
         gestorVoluntarios = new GestorVoluntarios();
         gestorBrigadas = new GestorBrigadas(gestorVoluntarios);
-        gestorActividades = new GestorActividades(gestorBrigadas, gestorVoluntarios, gestorRecursos);
         gestorRecursos = new GestorRecursos();
+        gestorActividades = new GestorActividades(gestorBrigadas, gestorVoluntarios, gestorRecursos);
+        gestorRecursos.setGestorActividades(gestorActividades);
         this.gestorResultados = new GestorResultados(gestorActividades);
+        conectarEventos();
 
-        // 3. Sincronizar datos de persistencia con gestores
+        // 3. Cargar los archivos de datos en paralelo
+        cargarDatos();
+
+        // 4. Sincronizar datos de persistencia con gestores
         sincronizarDatos();
+
+        // 5. Resolver las referencias por ID entre archivos
+        resolverReferencias();
+
+        // 6. Rearmar el libro de horas y los totales de impacto si faltan o están desactualizados (necesitan las actividades)
+        gestorResultados.prepararAgregados();
+
+        // 7. Calcular los conteos de los dashboards; desde aquí se mantienen con los eventos
+        estadisticas = new EstadisticasSistema(gestorUsuarios, gestorBrigadas, gestorActividades, gestorRecursos);
+        estadisticas.conectar(busEventos);
+        estadisticas.recalcular();
+    }
+
+    private void conectarEventos() {
+        gestorUsuarios.setBusEventos(busEventos);
+        gestorBrigadas.setBusEventos(busEventos);
+        gestorRecursos.setBusEventos(busEventos);
+        gestorActividades.setBusEventos(busEventos);
+        gestorResultados.setBusEventos(busEventos);
+    }
+
+    /*
+    Cada archivo se lee de forma independiente; las referencias entre ellos se resuelven
+    cuando terminan todas las cargas.
+    */
+    private void cargarDatos() {
+        new CargadorInicial()
+                .agregar("usuarios.dat", gestorUsuarios::cargarUsuarios)
+                .agregar("brigadas.dat", gestorBrigadas::cargarBrigadas)
+                .agregar("actividades.dat", gestorActividades::cargarActividades)
+                .agregar("recursos.dat", gestorRecursos::cargarRecursos)
+                .agregar("resultados.dat", gestorResultados::cargarResultados)
+                .ejecutar();
+    }
+
+    /*
+    Los archivos guardan solo el ID de los usuarios y brigadas referenciados; aquí se reemplazan por
+    las instancias cargadas (usuarios -> brigadas -> actividades) para que cada entidad exista una sola vez.
+    */
+    private void resolverReferencias() {
+        MapaIdentidades mapa = new MapaIdentidades();
+        mapa.registrarUsuarios(gestorUsuarios.obtenerTodosUsuarios());
+        gestorBrigadas.resolverReferencias(mapa);
+        gestorActividades.resolverReferencias(mapa);
     }
 
     private void sincronizarDatos() {
@@ -94,6 +148,7 @@ public class GestorGeneral {
 
         Voluntario voluntario = new Voluntario(nombre, telefono, email,
                 password, habilidades, diasDisponibles);
+        voluntario.setId(gestorUsuarios.generarNuevoIdVoluntario());
 
         // Guardar en persistencia
         gestorUsuarios.guardarVoluntario(voluntario);
@@ -114,6 +169,7 @@ public class GestorGeneral {
 
         Coordinador coordinador = new Coordinador(nombre, telefono, email,
                 password, areaResponsabilidad);
+        coordinador.setId(gestorUsuarios.generarNuevoIdCoordinador());
 
         // Guardar en persistencia
         gestorUsuarios.guardarCoordinador(coordinador);
@@ -125,9 +181,33 @@ public class GestorGeneral {
         return gestorUsuarios.autenticarUsuario(email, password);
     }
 
+    /*
+    Cierra esta instancia para que otra tome los mismos archivos: los gestores dejan de aceptar escrituras
+    (fallan con PersistenciaException), el bus de eventos se desarma y se espera a que lo ya encolado llegue a disco.
+    */
+    public void cerrar() throws PersistenciaException {
+        gestorUsuarios.cerrar();
+        gestorBrigadas.cerrar();
+        gestorRecursos.cerrar();
+        gestorActividades.cerrar();
+        gestorResultados.cerrar();
+        busEventos.cerrar();
+        sincronizarPersistencia();
+    }
+
+    /*
+    Espera a que todos los cambios pendientes de escritura estén guardados en disco.
+    Se usa antes de cerrar sesión para no depender del retraso del escritor en segundo plano.
+    */
+    public void sincronizarPersistencia() throws PersistenciaException {
+        new GestorAlmacenamiento().sincronizar();
+    }
+
     // Getters para los gestores de negocio
     public GestorVoluntarios getGestorVoluntarios() { return gestorVoluntarios; }
     public GestorBrigadas getGestorBrigadas() { return gestorBrigadas; }
     public GestorActividades getGestorActividades() { return gestorActividades; }
     public GestorRecursos getGestorRecursos() { return gestorRecursos; }
+    public BusEventos getBusEventos() { return busEventos; }
+    public EstadisticasSistema getEstadisticas() { return estadisticas; }
 }
\ No newline at end of file
@@ -5,53 +5,109 @@ import model.Actividad;
 import exceptions.BrigadaException;
 import exceptions.PersistenciaException;
 import persistence.GestorAlmacenamiento;
+import persistence.GestorSecuencias;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Gestor responsable de la administración de recursos e inventario (RF-06, RF-10).
  * Incluye persistencia completa de datos.
+ * Las operaciones que modifican el inventario se ejecutan de a una (synchronized); las consultas
+ * recorren una lista copy-on-write y no necesitan bloqueo. El stock se reserva y repone con operaciones
+ * atómicas sobre cada recurso, sin pasar por el bloqueo del gestor.
  */
 public class GestorRecursos {
     private static final String ARCHIVO_RECURSOS = "recursos.dat";
-    private List<Recurso> inventario;
+    private volatile List<Recurso> inventario;
     private GestorAlmacenamiento gestorAlmacenamiento;
+    private final GestorSecuencias secuencias = GestorSecuencias.getInstancia();
+    // Bus donde se anuncian los cambios confirmados; GestorGeneral conecta el compartido
+    private BusEventos eventos = new BusEventos();
+    // Dueño de las actividades; el uso de recursos se registra a través de él, con su bloqueo
+    private GestorActividades gestorActividades;
 
     public GestorRecursos() {
         this.gestorAlmacenamiento = new GestorAlmacenamiento();
-        this.inventario = new ArrayList<>();
-        cargarRecursos();
+        this.inventario = new CopyOnWriteArrayList<>();
+        // Los datos se cargan con cargar*() desde GestorGeneral, en paralelo con los demás archivos
+    }
+
+    void setBusEventos(BusEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    void setGestorActividades(GestorActividades gestorActividades) {
+        this.gestorActividades = gestorActividades;
+    }
+
+    // Deja de escribir en disco (otros gestores pasaron a ser dueños de los archivos)
+    void cerrar() {
+        gestorAlmacenamiento.cerrar();
     }
 
     /**
      * Carga los recursos desde el archivo de persistencia.
      */
-    @SuppressWarnings("unchecked")
-    private void cargarRecursos() {
+    synchronized void cargarRecursos() {
         try {
-            Object datos = gestorAlmacenamiento.cargar(ARCHIVO_RECURSOS);
+            List<Recurso> datos = gestorAlmacenamiento.cargarLista(ARCHIVO_RECURSOS, Recurso::getId);
             if (datos != null) {
-                inventario = (List<Recurso>) datos;
+                inventario = new CopyOnWriteArrayList<>(datos);
                 System.out.println("[INFO] Cargados " + inventario.size() + " recursos desde persistencia.");
 
                 // Verificar alertas de stock al cargar
                 verificarAlertasStock();
             } else {
-                inventario = new ArrayList<>();
+                inventario = new CopyOnWriteArrayList<>();
                 System.out.println("[INFO] No se encontraron recursos guardados, iniciando inventario vacío.");
             }
         } catch (PersistenciaException e) {
             System.err.println("Error cargando recursos: " + e.getMessage());
-            inventario = new ArrayList<>();
+            inventario = new CopyOnWriteArrayList<>();
+        }
+        List<String> ids = new ArrayList<>();
+        for (Recurso recurso : inventario) {
+            ids.add(recurso.getId());
+        }
+        secuencias.registrarExistentes(GestorSecuencias.PREFIJO_RECURSO, ids);
+    }
+
+    /**
+     * Genera el siguiente ID de recurso (REC-001, REC-002, ...).
+     */
+    public String generarIdRecurso() {
+        return secuencias.siguienteId(GestorSecuencias.PREFIJO_RECURSO);
+    }
+
+    /**
+     * Programa la escritura del inventario completo en segundo plano.
+     * El inventario se codifica en el momento, con el bloqueo del gestor tomado.
+     */
+    private synchronized void guardarRecursos() throws PersistenciaException {
+        gestorAlmacenamiento.guardarDiferido(ARCHIVO_RECURSOS, new ArrayList<>(inventario));
+    }
+
+    /**
+     * Registra en el diario el estado actual de un recurso.
+     */
+    private void persistirRecurso(Recurso recurso) throws PersistenciaException {
+        secuencias.registrarExistente(GestorSecuencias.PREFIJO_RECURSO, recurso.getId());
+        // El stock cambia sin el bloqueo del gestor: serializar por recurso asegura que el último registro
+        // encolado sea también el último estado leído
+        synchronized (recurso) {
+            gestorAlmacenamiento.registrarGuardado(ARCHIVO_RECURSOS, recurso.getId(), recurso, inventario);
         }
     }
 
     /**
-     * Guarda los recursos en el archivo de persistencia.
+     * Registra en el diario la eliminación de un recurso.
      */
-    private void guardarRecursos() throws PersistenciaException {
-        gestorAlmacenamiento.guardar(ARCHIVO_RECURSOS, inventario);
+    private void persistirEliminacion(String recursoId) throws PersistenciaException {
+        gestorAlmacenamiento.registrarEliminacion(ARCHIVO_RECURSOS, recursoId, inventario);
     }
 
     /**
@@ -66,7 +122,7 @@ public class GestorRecursos {
     /**
      * Agrega un recurso al inventario con persistencia.
      */
-    public void agregarRecurso(Recurso recurso) throws BrigadaException {
+    public synchronized void agregarRecurso(Recurso recurso) throws BrigadaException {
         if (recurso == null) {
             throw new BrigadaException("El recurso no puede ser nulo.");
         }
@@ -79,9 +135,10 @@ public class GestorRecursos {
 
         try {
             inventario.add(recurso);
-            guardarRecursos();
+            persistirRecurso(recurso);
             System.out.println("[INFO] Recurso '" + recurso.getNombre() + "' agregado al inventario.");
             recurso.verificarAlerta(); // Verifica el umbral inicial
+            eventos.publicar(new EventoDominio.StockCambiado(recurso));
         } catch (PersistenciaException e) {
             // Revertir si falla el guardado
             inventario.remove(recurso);
@@ -101,41 +158,129 @@ public class GestorRecursos {
     }
 
     /**
-     * Asigna recursos a una actividad y deduce el stock (RF-06).
+     * Reserva stock de un recurso de forma atómica (compare-and-set sobre el contador del recurso).
+     * Dos reservas simultáneas nunca pueden tomar las mismas unidades, y no se usa un bloqueo global.
      */
-    public void asignarRecursosAActividad(Actividad actividad, String recursoId, int cantidad)
-            throws BrigadaException {
+    public void reservar(String recursoId, int cantidad) throws BrigadaException {
+        Map<String, Integer> cantidades = new LinkedHashMap<>();
+        cantidades.put(recursoId, cantidad);
+        reservarRecursos(cantidades);
+    }
 
-        Recurso recurso = buscarRecursoPorId(recursoId);
+    /**
+     * Reserva varios recursos a la vez y guarda el nuevo stock: se reservan todos o ninguno.
+     * Si alguno no tiene stock suficiente, o falla el guardado, se liberan las reservas ya tomadas.
+     * @param cantidades ID de recurso -> cantidad requerida
+     */
+    public void reservarRecursos(Map<String, Integer> cantidades) throws BrigadaException {
+        for (Recurso recurso : reservarYGuardar(cantidades).keySet()) {
+            eventos.publicar(new EventoDominio.StockCambiado(recurso));
+        }
+    }
 
-        if (recurso == null) {
-            throw new BrigadaException("Recurso no encontrado: " + recursoId);
+    // Reserva todos los recursos y registra el stock resultante en el diario; si falla, revierte ambas cosas
+    private Map<Recurso, Integer> reservarYGuardar(Map<String, Integer> cantidades) throws BrigadaException {
+        Map<Recurso, Integer> reservados = reservarTodos(cantidades);
+        List<Recurso> guardados = new ArrayList<>();
+        try {
+            for (Recurso recurso : reservados.keySet()) {
+                persistirRecurso(recurso);
+                guardados.add(recurso);
+            }
+        } catch (PersistenciaException e) {
+            revertirReservas(reservados, guardados);
+            throw new BrigadaException("Error al reservar recursos: " + e.getMessage());
         }
+        return reservados;
+    }
 
-        if (!consultarDisponibilidad(recursoId, cantidad)) {
-            throw new BrigadaException("Stock insuficiente para " + recurso.getNombre() +
-                    ". Se requieren " + cantidad + ", disponible: " + recurso.getStockActual());
+    // Reserva todos los recursos indicados y devuelve las reservas tomadas, para poder liberarlas
+    private Map<Recurso, Integer> reservarTodos(Map<String, Integer> cantidades) throws BrigadaException {
+        Map<Recurso, Integer> reservados = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entrada : cantidades.entrySet()) {
+            Recurso recurso = buscarRecursoPorId(entrada.getKey());
+            int cantidad = entrada.getValue();
+            String error = null;
+            if (recurso == null) {
+                error = "Recurso no encontrado: " + entrada.getKey();
+            } else if (cantidad <= 0) {
+                error = "La cantidad a reservar debe ser mayor que cero.";
+            } else if (!recurso.reservar(cantidad)) {
+                error = "Stock insuficiente para " + recurso.getNombre() +
+                        ". Se requieren " + cantidad + ", disponible: " + recurso.getStockActual();
+            }
+            if (error != null) {
+                liberar(reservados);
+                throw new BrigadaException(error);
+            }
+            reservados.put(recurso, cantidad);
         }
+        return reservados;
+    }
 
-        try {
-            // 1. Deducir del stock
-            recurso.deducirStock(cantidad);
+    // Devuelve al stock las reservas indicadas
+    private void liberar(Map<Recurso, Integer> reservados) {
+        for (Map.Entry<Recurso, Integer> reserva : reservados.entrySet()) {
+            reserva.getKey().liberar(reserva.getValue());
+        }
+    }
 
-            // 2. Registrar el uso en la Actividad
-            actividad.registrarUsoRecurso(recursoId, cantidad);
+    // Libera las reservas y vuelve a registrar en el diario los recursos que ya se habían guardado con el stock descontado
+    private void revertirReservas(Map<Recurso, Integer> reservados, List<Recurso> guardados) {
+        liberar(reservados);
+        for (Recurso recurso : guardados) {
+            try {
+                persistirRecurso(recurso);
+            } catch (PersistenciaException e) {
+                System.err.println("[WARNING] No se pudo guardar el stock restaurado de " +
+                        recurso.getNombre() + ": " + e.getMessage());
+            }
+        }
+    }
 
-            // 3. Guardar cambios
-            guardarRecursos();
+    /**
+     * Asigna recursos a una actividad y deduce el stock (RF-06).
+     */
+    public void asignarRecursosAActividad(Actividad actividad, String recursoId, int cantidad)
+            throws BrigadaException {
+        Map<String, Integer> cantidades = new LinkedHashMap<>();
+        cantidades.put(recursoId, cantidad);
+        asignarRecursosAActividad(actividad, cantidades);
+    }
 
-            System.out.println("[INFO] Recurso " + recurso.getNombre() + " asignado a " +
-                    actividad.getNombre() + " (Cantidad: " + cantidad + "). (RF-06)");
-            recurso.verificarAlerta();
+    /**
+     * Asigna varios recursos a una actividad en una sola operación (RF-06).
+     * El stock de todos se reserva y se guarda antes de registrar el uso; si falta alguno, o falla algún
+     * guardado, no se asigna ninguno y el stock vuelve a su valor anterior en memoria y en el diario.
+     * @param cantidades ID de recurso -> cantidad a asignar
+     */
+    public void asignarRecursosAActividad(Actividad actividad, Map<String, Integer> cantidades)
+            throws BrigadaException {
+        if (actividad == null) {
+            throw new BrigadaException("La actividad no puede ser nula.");
+        }
+        if (gestorActividades == null) {
+            throw new BrigadaException("El gestor de actividades no está conectado.");
+        }
 
-        } catch (PersistenciaException e) {
-            // Revertir la deducción si falla el guardado
-            recurso.reponerStock(cantidad);
+        // 1. Reservar (deducir) el stock de todos los recursos y guardarlo
+        Map<Recurso, Integer> reservados = reservarYGuardar(cantidades);
+
+        // 2. Registrar el uso en la actividad con el bloqueo de GestorActividades (también la guarda)
+        try {
+            gestorActividades.registrarUsoRecursos(actividad, cantidades);
+        } catch (BrigadaException e) {
+            revertirReservas(reservados, new ArrayList<>(reservados.keySet()));
             throw new BrigadaException("Error al asignar recursos: " + e.getMessage());
         }
+
+        for (Map.Entry<Recurso, Integer> reserva : reservados.entrySet()) {
+            Recurso recurso = reserva.getKey();
+            System.out.println("[INFO] Recurso " + recurso.getNombre() + " asignado a " +
+                    actividad.getNombre() + " (Cantidad: " + reserva.getValue() + "). (RF-06)");
+            recurso.verificarAlerta();
+            eventos.publicar(new EventoDominio.StockCambiado(recurso));
+        }
     }
 
     /**
@@ -158,7 +303,7 @@ public class GestorRecursos {
     /**
      * Actualiza un recurso existente con persistencia.
      */
-    public void actualizarRecurso(Recurso recursoActualizado) throws BrigadaException {
+    public synchronized void actualizarRecurso(Recurso recursoActualizado) throws BrigadaException {
         if (recursoActualizado == null) {
             throw new BrigadaException("El recurso actualizado no puede ser nulo.");
         }
@@ -183,9 +328,10 @@ public class GestorRecursos {
             recursoExistente.setCapacidadMaxima(recursoActualizado.getCapacidadMaxima());
             recursoExistente.setUmbralAlerta(recursoActualizado.getUmbralAlerta());
 
-            guardarRecursos();
+            persistirRecurso(recursoExistente);
             System.out.println("[INFO] Recurso '" + recursoExistente.getNombre() + "' actualizado.");
             recursoExistente.verificarAlerta();
+            eventos.publicar(new EventoDominio.StockCambiado(recursoExistente));
 
         } catch (PersistenciaException e) {
             // Revertir cambios si falla el guardado
@@ -201,7 +347,7 @@ public class GestorRecursos {
     /**
      * Elimina un recurso del inventario con persistencia.
      */
-    public void eliminarRecurso(String id) throws BrigadaException {
+    public synchronized void eliminarRecurso(String id) throws BrigadaException {
         Recurso recurso = buscarRecursoPorId(id);
         if (recurso == null) {
             throw new BrigadaException("Recurso no encontrado con ID: " + id);
@@ -215,8 +361,9 @@ public class GestorRecursos {
 
         try {
             inventario.remove(recurso);
-            guardarRecursos();
+            persistirEliminacion(recurso.getId());
             System.out.println("[INFO] Recurso '" + recurso.getNombre() + "' eliminado del inventario.");
+            eventos.publicar(new EventoDominio.RecursoEliminado(id));
         } catch (PersistenciaException e) {
             // Revertir si falla el guardado
             inventario.add(recurso);
@@ -281,15 +428,20 @@ public class GestorRecursos {
             throw new BrigadaException("Recurso no encontrado: " + recursoId);
         }
 
-        int stockAnterior = recurso.getStockActual();
+        // La reposición también es atómica, por lo que puede ocurrir junto con reservas en curso
+        recurso.reponerStock(cantidad);
         try {
-            recurso.reponerStock(cantidad);
-            guardarRecursos();
+            persistirRecurso(recurso);
             System.out.println("[INFO] Stock repuesto para " + recurso.getNombre() +
                     ". Nueva cantidad: " + recurso.getStockActual());
+            eventos.publicar(new EventoDominio.StockCambiado(recurso));
         } catch (PersistenciaException e) {
-            // Revertir si falla el guardado
-            recurso.setStockActual(stockAnterior);
+            // Revertir si falla el guardado (sin pisar las reservas hechas mientras tanto)
+            int restante = recurso.deshacerReposicion(cantidad);
+            if (restante < 0) {
+                System.err.println("[WARNING] Stock negativo (" + restante + ") en " + recurso.getNombre() +
+                        ": se reservaron unidades de una reposición que no se pudo guardar.");
+            }
             throw new BrigadaException("Error al reponer stock: " + e.getMessage());
         }
     }
@@ -345,6 +497,7 @@ public class GestorRecursos {
     public void guardarInventario() throws BrigadaException {
         try {
             guardarRecursos();
+            gestorAlmacenamiento.sincronizar();
             System.out.println("[INFO] Inventario guardado exitosamente.");
         } catch (PersistenciaException e) {
             throw new BrigadaException("Error al guardar el inventario: " + e.getMessage());
@@ -3,61 +3,360 @@ package gestores;
 import model.ResultadoActividad;
 import model.Actividad;
 import model.Coordinador;
+import model.HorasVoluntario;
+import model.MarcaResultados;
+import model.ResumenImpacto;
 import exceptions.PersistenciaException;
+import persistence.Exportador;
 import persistence.GestorAlmacenamiento;
+import persistence.GestorSecuencias;
 
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * Gestor para manejar los resultados de actividades (RF-07).
+ * Los registros nuevos se serializan con synchronized; los reportes leen la lista copy-on-write sin bloquear,
+ * por lo que pueden generarse en segundo plano mientras se registran resultados.
+ * Además lleva el libro de horas de cada voluntario (horas_voluntarios.dat), que se actualiza al registrar
+ * resultados para que los perfiles no tengan que sumar horas recorriendo actividades y resultados, y los
+ * totales de impacto por mes, coordinador y brigada (impacto_resultados.dat) que usan los reportes.
  */
 public class GestorResultados {
     private static final String ARCHIVO_RESULTADOS = "resultados.dat";
-    private List<ResultadoActividad> resultados;
+    private static final String ARCHIVO_HORAS = "horas_voluntarios.dat";
+    private static final String ARCHIVO_IMPACTO = "impacto_resultados.dat";
+    private static final String[] NOMBRES_MESES = {
+            "Enero", "Febrero", "Marzo", "Abril", "Mayo", "Junio",
+            "Julio", "Agosto", "Septiembre", "Octubre", "Noviembre", "Diciembre"
+    };
+    private volatile List<ResultadoActividad> resultados;
+    private final Map<String, ResultadoActividad> resultadosPorActividad = new ConcurrentHashMap<>();
+    // Libro de horas: cada cambio reemplaza la entrada por una copia nueva, así las lecturas no necesitan bloqueo
+    private final Map<String, HorasVoluntario> horasPorVoluntario = new ConcurrentHashMap<>();
+    private boolean libroHorasPendiente;
+    // Totales por grupo (ver ResumenImpacto); como el libro de horas, cada cambio reemplaza la entrada por una copia
+    private final Map<String, ResumenImpacto> resumenes = new ConcurrentHashMap<>();
+    private boolean resumenesPendientes;
+    // Rankings que se mantienen al registrar resultados: actividades por impacto, voluntarios por horas
+    // y brigadas por beneficiados
+    private final Clasificacion rankingActividades = new Clasificacion();
+    private final Clasificacion rankingVoluntarios = new Clasificacion();
+    private final Clasificacion rankingBrigadas = new Clasificacion();
     private GestorAlmacenamiento gestorAlmacenamiento;
     private GestorActividades gestorActividades;
+    private final GestorSecuencias secuencias = GestorSecuencias.getInstancia();
+    // Bus donde se anuncian los cambios confirmados; GestorGeneral conecta el compartido
+    private BusEventos eventos = new BusEventos();
 
     public GestorResultados(GestorActividades gestorActividades) {
-        this.resultados = new ArrayList<>();
+        this.resultados = new CopyOnWriteArrayList<>();
         this.gestorAlmacenamiento = new GestorAlmacenamiento();
         this.gestorActividades = gestorActividades;
-        cargarResultados();
+        // Los datos se cargan con cargar*() desde GestorGeneral, en paralelo con los demás archivos
+    }
+
+    void setBusEventos(BusEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    // Deja de escribir en disco (otros gestores pasaron a ser dueños de los archivos)
+    void cerrar() {
+        gestorAlmacenamiento.cerrar();
     }
 
     /**
      * Carga los resultados desde persistencia.
      */
-    @SuppressWarnings("unchecked")
-    private void cargarResultados() {
+    synchronized void cargarResultados() {
         try {
-            Object datos = gestorAlmacenamiento.cargar(ARCHIVO_RESULTADOS);
+            List<ResultadoActividad> datos = gestorAlmacenamiento.cargarLista(ARCHIVO_RESULTADOS, ResultadoActividad::getId);
             if (datos != null) {
-                resultados = (List<ResultadoActividad>) datos;
+                resultados = new CopyOnWriteArrayList<>(datos);
                 System.out.println("[INFO] Cargados " + resultados.size() + " resultados desde persistencia.");
             } else {
-                resultados = new ArrayList<>();
+                resultados = new CopyOnWriteArrayList<>();
                 System.out.println("[INFO] No se encontraron resultados guardados, iniciando lista vacía.");
             }
         } catch (PersistenciaException e) {
             System.err.println("Error cargando resultados: " + e.getMessage());
-            resultados = new ArrayList<>();
+            resultados = new CopyOnWriteArrayList<>();
+        }
+        secuencias.registrarExistentes(GestorSecuencias.PREFIJO_RESULTADO,
+                resultados.stream().map(ResultadoActividad::getId).collect(Collectors.toList()));
+        resultadosPorActividad.clear();
+        rankingActividades.limpiar();
+        for (ResultadoActividad resultado : resultados) {
+            if (resultadosPorActividad.putIfAbsent(resultado.getActividadId(), resultado) == null) {
+                rankingActividades.actualizar(resultado.getActividadId(), resultado.calcularImpacto());
+            }
+        }
+        cargarLibroHoras();
+        cargarResumenes();
+    }
+
+    private void cargarLibroHoras() {
+        horasPorVoluntario.clear();
+        rankingVoluntarios.limpiar();
+        try {
+            List<Object> libro = gestorAlmacenamiento.cargarLista(ARCHIVO_HORAS, GestorResultados::idEntradaHoras);
+            MarcaResultados marca = null;
+            if (libro != null) {
+                for (Object entrada : libro) {
+                    if (entrada instanceof MarcaResultados) {
+                        marca = (MarcaResultados) entrada;
+                        continue;
+                    }
+                    HorasVoluntario horas = (HorasVoluntario) entrada;
+                    horasPorVoluntario.put(horas.getVoluntarioId(), horas);
+                    rankingVoluntarios.actualizar(horas.getVoluntarioId(), horas.getTotalHoras());
+                }
+                System.out.println("[INFO] Cargadas las horas de " + horasPorVoluntario.size() + " voluntarios.");
+            }
+            // Sin archivo se arma a partir de los resultados existentes; si el libro se guardó con otros
+            // resultados (o antes de tener marca), se vuelve a armar para no mostrar horas desactualizadas
+            if (libro == null) {
+                libroHorasPendiente = !resultados.isEmpty();
+            } else if (marca == null || !marca.coincideCon(resultados)) {
+                System.err.println("[WARNING] El libro de horas no corresponde a " + ARCHIVO_RESULTADOS +
+                        " (marca: " + marca + "), se reconstruirá.");
+                libroHorasPendiente = true;
+            } else {
+                libroHorasPendiente = false;
+            }
+        } catch (PersistenciaException e) {
+            System.err.println("[WARNING] No se pudo leer el libro de horas, se reconstruirá: " + e.getMessage());
+            libroHorasPendiente = true;
+        }
+    }
+
+    private static String idEntradaHoras(Object entrada) {
+        return entrada instanceof MarcaResultados ? MarcaResultados.ID : ((HorasVoluntario) entrada).getVoluntarioId();
+    }
+
+    /**
+     * Entradas del libro de horas más la marca de los resultados aplicados, tal como se guardan en disco
+     */
+    private List<Object> estadoLibroHoras(MarcaResultados marca) {
+        List<Object> estado = new ArrayList<>(horasPorVoluntario.values());
+        estado.add(marca);
+        return estado;
+    }
+
+    private void cargarResumenes() {
+        resumenes.clear();
+        rankingBrigadas.limpiar();
+        try {
+            List<Object> guardados = gestorAlmacenamiento.cargarLista(ARCHIVO_IMPACTO, GestorResultados::idEntradaImpacto);
+            MarcaResultados marca = null;
+            if (guardados != null) {
+                for (Object entrada : guardados) {
+                    if (entrada instanceof MarcaResultados) {
+                        marca = (MarcaResultados) entrada;
+                        continue;
+                    }
+                    ResumenImpacto resumen = (ResumenImpacto) entrada;
+                    resumenes.put(resumen.getClave(), resumen);
+                    actualizarRankingBrigadas(resumen);
+                }
+            }
+            // Igual que el libro de horas: se recalculan si faltan o si se guardaron con otros resultados
+            if (guardados == null) {
+                resumenesPendientes = !resultados.isEmpty();
+            } else if (marca == null || !marca.coincideCon(resultados)) {
+                System.err.println("[WARNING] Los totales de impacto no corresponden a " + ARCHIVO_RESULTADOS +
+                        " (marca: " + marca + "), se recalcularán.");
+                resumenesPendientes = true;
+            } else {
+                resumenesPendientes = false;
+            }
+        } catch (PersistenciaException e) {
+            System.err.println("[WARNING] No se pudieron leer los totales de impacto, se recalcularán: " + e.getMessage());
+            resumenesPendientes = true;
+        }
+    }
+
+    private static String idEntradaImpacto(Object entrada) {
+        return entrada instanceof MarcaResultados ? MarcaResultados.ID : ((ResumenImpacto) entrada).getClave();
+    }
+
+    /**
+     * Totales de impacto más la marca de los resultados aplicados, tal como se guardan en disco
+     */
+    private List<Object> estadoResumenes(MarcaResultados marca) {
+        List<Object> estado = new ArrayList<>(resumenes.values());
+        estado.add(marca);
+        return estado;
+    }
+
+    /**
+     * Arma desde los resultados el libro de horas y los totales de impacto que falten o no correspondan a ellos.
+     * Necesita las actividades cargadas, por eso GestorGeneral lo llama después de resolver las referencias.
+     */
+    synchronized void prepararAgregados() {
+        if (libroHorasPendiente) {
+            libroHorasPendiente = false;
+            horasPorVoluntario.clear();
+            rankingVoluntarios.limpiar();
+            for (ResultadoActividad resultado : resultados) {
+                Actividad actividad = gestorActividades.buscarActividadPorId(resultado.getActividadId());
+                for (String voluntarioId : participantesDe(resultado, actividad)) {
+                    acreditarHoras(voluntarioId, resultado);
+                }
+            }
+            guardarCompleto(ARCHIVO_HORAS, estadoLibroHoras(MarcaResultados.de(resultados)));
+            System.out.println("[INFO] Libro de horas reconstruido para " + horasPorVoluntario.size() + " voluntarios.");
+        }
+        if (resumenesPendientes) {
+            resumenesPendientes = false;
+            resumenes.clear();
+            rankingBrigadas.limpiar();
+            for (ResultadoActividad resultado : resultados) {
+                Actividad actividad = gestorActividades.buscarActividadPorId(resultado.getActividadId());
+                for (String clave : clavesResumen(resultado, actividad)) {
+                    sumarAResumen(clave, resultado);
+                }
+            }
+            guardarCompleto(ARCHIVO_IMPACTO, estadoResumenes(MarcaResultados.de(resultados)));
+            System.out.println("[INFO] Totales de impacto recalculados (" + resumenes.size() + " grupos).");
+        }
+    }
+
+    private void guardarCompleto(String archivo, List<?> datos) {
+        try {
+            gestorAlmacenamiento.guardarDiferido(archivo, datos);
+        } catch (PersistenciaException e) {
+            System.err.println("[WARNING] No se pudo guardar " + archivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Suma el resultado a los totales de su mes, coordinador, brigada y al total general, y guarda los modificados
+     */
+    private void registrarResumenesDeResultado(ResultadoActividad resultado, Actividad actividad) {
+        List<ResumenImpacto> modificados = new ArrayList<>();
+        for (String clave : clavesResumen(resultado, actividad)) {
+            modificados.add(sumarAResumen(clave, resultado));
+        }
+        MarcaResultados marca = MarcaResultados.de(resultados);
+        List<Object> todos = estadoResumenes(marca);
+        try {
+            for (ResumenImpacto resumen : modificados) {
+                gestorAlmacenamiento.registrarGuardado(ARCHIVO_IMPACTO, resumen.getClave(), resumen, todos);
+            }
+            // La marca va al final, como en el libro de horas
+            gestorAlmacenamiento.registrarGuardado(ARCHIVO_IMPACTO, MarcaResultados.ID, marca, todos);
+        } catch (PersistenciaException e) {
+            System.err.println("[WARNING] No se pudieron guardar los totales del resultado " + resultado.getId() +
+                    ", se guardan completos: " + e.getMessage());
+            guardarCompleto(ARCHIVO_IMPACTO, todos);
         }
     }
 
+    private ResumenImpacto sumarAResumen(String clave, ResultadoActividad resultado) {
+        ResumenImpacto anterior = resumenes.get(clave);
+        ResumenImpacto resumen = anterior != null ? anterior.copiar() : new ResumenImpacto(clave);
+        resumen.sumar(resultado);
+        resumenes.put(clave, resumen);
+        actualizarRankingBrigadas(resumen);
+        return resumen;
+    }
+
+    private void actualizarRankingBrigadas(ResumenImpacto resumen) {
+        if (resumen.getClave().startsWith(ResumenImpacto.PREFIJO_BRIGADA)) {
+            rankingBrigadas.actualizar(resumen.getGrupo(), resumen.getPersonasBeneficiadas());
+        }
+    }
+
+    private static List<String> clavesResumen(ResultadoActividad resultado, Actividad actividad) {
+        List<String> claves = new ArrayList<>();
+        claves.add(ResumenImpacto.TOTAL);
+        if (resultado.getFechaActividad() != null) {
+            claves.add(ResumenImpacto.PREFIJO_MES + mesDe(resultado.getFechaActividad()));
+        }
+        if (resultado.getCoordinadorId() != null) {
+            claves.add(ResumenImpacto.PREFIJO_COORDINADOR + resultado.getCoordinadorId());
+        }
+        if (actividad != null && actividad.getBrigadaAsociada() != null) {
+            claves.add(ResumenImpacto.PREFIJO_BRIGADA + actividad.getBrigadaAsociada().getId());
+        }
+        return claves;
+    }
+
     /**
-     * Guarda los resultados en persistencia.
+     * Mes de la fecha en formato yyyy-MM (ordena igual como texto que como fecha)
      */
-    private void guardarResultados() throws PersistenciaException {
-        gestorAlmacenamiento.guardar(ARCHIVO_RESULTADOS, resultados);
+    private static String mesDe(Date fecha) {
+        return YearMonth.from(fecha.toInstant().atZone(ZoneId.systemDefault())).toString();
+    }
+
+    /**
+     * Suma las horas del resultado a cada voluntario que participó y guarda las entradas modificadas
+     */
+    private void registrarHorasDeResultado(ResultadoActividad resultado, Actividad actividad) {
+        List<HorasVoluntario> modificadas = new ArrayList<>();
+        for (String voluntarioId : participantesDe(resultado, actividad)) {
+            modificadas.add(acreditarHoras(voluntarioId, resultado));
+        }
+        MarcaResultados marca = MarcaResultados.de(resultados);
+        List<Object> libroCompleto = estadoLibroHoras(marca);
+        try {
+            for (HorasVoluntario horas : modificadas) {
+                gestorAlmacenamiento.registrarGuardado(ARCHIVO_HORAS, horas.getVoluntarioId(), horas, libroCompleto);
+            }
+            // La marca va al final: si no llega a guardarse, al cargar no coincide y el libro se reconstruye
+            gestorAlmacenamiento.registrarGuardado(ARCHIVO_HORAS, MarcaResultados.ID, marca, libroCompleto);
+        } catch (PersistenciaException e) {
+            // El resultado ya quedó guardado y el libro en memoria está al día: se guarda completo
+            System.err.println("[WARNING] No se pudieron guardar las horas del resultado " + resultado.getId() +
+                    ", se guarda el libro completo: " + e.getMessage());
+            guardarCompleto(ARCHIVO_HORAS, libroCompleto);
+        }
+    }
+
+    private HorasVoluntario acreditarHoras(String voluntarioId, ResultadoActividad resultado) {
+        HorasVoluntario anterior = horasPorVoluntario.get(voluntarioId);
+        HorasVoluntario horas = anterior != null ? anterior.copiar() : new HorasVoluntario(voluntarioId);
+        horas.registrarHoras(resultado.getActividadId(), resultado.getHorasTrabajadas());
+        horasPorVoluntario.put(voluntarioId, horas);
+        rankingVoluntarios.actualizar(voluntarioId, horas.getTotalHoras());
+        return horas;
+    }
+
+    /**
+     * Voluntarios que reciben las horas: la lista de participantes del resultado o, si no se indicó,
+     * los voluntarios asignados a la actividad
+     */
+    private static List<String> participantesDe(ResultadoActividad resultado, Actividad actividad) {
+        List<String> participantes = resultado.getVoluntariosParticipantes();
+        if (participantes != null && !participantes.isEmpty()) {
+            return participantes;
+        }
+        return actividad != null ? actividad.getVoluntariosIds() : Collections.emptyList();
+    }
+
+    /**
+     * Registra en el diario un resultado nuevo o modificado.
+     */
+    private void persistirResultado(ResultadoActividad resultado) throws PersistenciaException {
+        secuencias.registrarExistente(GestorSecuencias.PREFIJO_RESULTADO, resultado.getId());
+        gestorAlmacenamiento.registrarGuardado(ARCHIVO_RESULTADOS, resultado.getId(), resultado, resultados);
     }
 
     /**
      * Registra resultados para una actividad (RF-07).
      */
-    public ResultadoActividad registrarResultados(
+    public synchronized ResultadoActividad registrarResultados(
             String actividadId,
             String coordinadorId,
             String coordinadorNombre,
@@ -121,15 +420,23 @@ public class GestorResultados {
 
             // Guardar resultado específico
             resultados.add(nuevoResultado);
-            guardarResultados();
+            resultadosPorActividad.put(actividadId, nuevoResultado);
+            rankingActividades.actualizar(actividadId, nuevoResultado.calcularImpacto());
+            persistirResultado(nuevoResultado);
+            registrarHorasDeResultado(nuevoResultado, actividad);
+            registrarResumenesDeResultado(nuevoResultado, actividad);
 
             System.out.println("[INFO] Resultados registrados exitosamente para la actividad '" +
                     actividad.getNombre() + "' (RF-07).");
+            eventos.publicar(new EventoDominio.ResultadoRegistrado(nuevoResultado));
 
             return nuevoResultado;
 
         } catch (Exception e) {
             resultados.remove(nuevoResultado);
+            if (resultadosPorActividad.remove(actividadId, nuevoResultado)) {
+                rankingActividades.quitar(actividadId);
+            }
             throw new Exception("Error al registrar resultados: " + e.getMessage());
         }
     }
@@ -138,10 +445,23 @@ public class GestorResultados {
      * Obtiene resultados por actividad.
      */
     public ResultadoActividad obtenerResultadoPorActividad(String actividadId) {
-        return resultados.stream()
-                .filter(r -> r.getActividadId().equals(actividadId))
-                .findFirst()
-                .orElse(null);
+        return actividadId != null ? resultadosPorActividad.get(actividadId) : null;
+    }
+
+    /**
+     * Total de horas aportadas por el voluntario según el libro de horas.
+     */
+    public double obtenerHorasVoluntario(String voluntarioId) {
+        HorasVoluntario horas = voluntarioId != null ? horasPorVoluntario.get(voluntarioId) : null;
+        return horas != null ? horas.getTotalHoras() : 0.0;
+    }
+
+    /**
+     * Horas del voluntario por actividad (ID de actividad -> horas).
+     */
+    public Map<String, Double> obtenerDesgloseHorasVoluntario(String voluntarioId) {
+        HorasVoluntario horas = voluntarioId != null ? horasPorVoluntario.get(voluntarioId) : null;
+        return horas != null ? horas.getHorasPorActividad() : Collections.emptyMap();
     }
 
     /**
@@ -179,14 +499,48 @@ public class GestorResultados {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Totales de todos los resultados registrados.
+     */
+    public ResumenImpacto obtenerResumenTotal() {
+        return copiaDeResumen(ResumenImpacto.TOTAL);
+    }
+
+    /**
+     * Totales de los resultados registrados por un coordinador.
+     */
+    public ResumenImpacto obtenerResumenPorCoordinador(String coordinadorId) {
+        return copiaDeResumen(ResumenImpacto.PREFIJO_COORDINADOR + coordinadorId);
+    }
+
+    /**
+     * Totales de los resultados de las actividades de una brigada.
+     */
+    public ResumenImpacto obtenerResumenPorBrigada(String brigadaId) {
+        return copiaDeResumen(ResumenImpacto.PREFIJO_BRIGADA + brigadaId);
+    }
+
+    /**
+     * Totales de cada mes con resultados, del más reciente al más antiguo.
+     */
+    public List<ResumenImpacto> obtenerResumenesMensuales() {
+        return resumenes.values().stream()
+                .filter(r -> r.getClave().startsWith(ResumenImpacto.PREFIJO_MES))
+                .sorted((r1, r2) -> r2.getClave().compareTo(r1.getClave()))
+                .map(ResumenImpacto::copiar)
+                .collect(Collectors.toList());
+    }
+
+    private ResumenImpacto copiaDeResumen(String clave) {
+        ResumenImpacto resumen = resumenes.get(clave);
+        return resumen != null ? resumen.copiar() : new ResumenImpacto(clave);
+    }
+
     /**
      * Obtiene estadísticas de resultados.
      */
     public String obtenerEstadisticasResultados() {
-        int totalResultados = resultados.size();
-        int totalBeneficiados = resultados.stream().mapToInt(ResultadoActividad::getPersonasBeneficiadas).sum();
-        double totalHoras = resultados.stream().mapToDouble(ResultadoActividad::getHorasTrabajadas).sum();
-        double impactoTotal = resultados.stream().mapToDouble(ResultadoActividad::calcularImpacto).sum();
+        ResumenImpacto total = obtenerResumenTotal();
 
         return String.format("""
             ========== ESTADÍSTICAS DE RESULTADOS ==========
@@ -198,54 +552,34 @@ public class GestorResultados {
             Promedio de horas por actividad: %.1f
             ================================================
             """,
-                totalResultados,
-                totalBeneficiados,
-                totalHoras,
-                impactoTotal,
-                totalResultados > 0 ? (double) totalBeneficiados / totalResultados : 0,
-                totalResultados > 0 ? totalHoras / totalResultados : 0
+                total.getCantidadResultados(),
+                total.getPersonasBeneficiadas(),
+                total.getHorasTrabajadas(),
+                total.getImpacto(),
+                total.getPromedioBeneficiados(),
+                total.getPromedioHoras()
         );
     }
 
     /**
-     * Genera reporte de impacto por mes.
+     * Genera reporte de impacto por mes (más reciente primero).
      */
     public List<String[]> generarReporteImpactoMensual() {
         List<String[]> reporte = new ArrayList<>();
 
-        // Agrupar por mes-año
-        java.util.Map<String, Integer> beneficiadosPorMes = new java.util.HashMap<>();
-        java.util.Map<String, Double> horasPorMes = new java.util.HashMap<>();
-
-        for (ResultadoActividad resultado : resultados) {
-            String mesKey = new java.text.SimpleDateFormat("yyyy-MM").format(resultado.getFechaActividad());
-
-            beneficiadosPorMes.put(mesKey,
-                    beneficiadosPorMes.getOrDefault(mesKey, 0) + resultado.getPersonasBeneficiadas());
-
-            horasPorMes.put(mesKey,
-                    horasPorMes.getOrDefault(mesKey, 0.0) + resultado.getHorasTrabajadas());
-        }
-
-        // Convertir a lista
-        for (String mesKey : beneficiadosPorMes.keySet()) {
-            int beneficiados = beneficiadosPorMes.get(mesKey);
-            double horas = horasPorMes.get(mesKey);
+        for (ResumenImpacto mes : obtenerResumenesMensuales()) {
+            long beneficiados = mes.getPersonasBeneficiadas();
+            double horas = mes.getHorasTrabajadas();
             double impacto = beneficiados * horas;
 
-            String mesFormateado = formatearMes(mesKey);
-
             reporte.add(new String[]{
-                    mesFormateado,
+                    formatearMes(mes.getGrupo()),
                     String.valueOf(beneficiados),
                     String.format("%.1f", horas),
                     String.format("%.1f", impacto)
             });
         }
 
-        // Ordenar por mes (más reciente primero)
-        reporte.sort((a, b) -> b[0].compareTo(a[0]));
-
         return reporte;
     }
 
@@ -253,15 +587,14 @@ public class GestorResultados {
      * Verifica si existe resultado para una actividad.
      */
     private boolean existeResultadoParaActividad(String actividadId) {
-        return resultados.stream()
-                .anyMatch(r -> r.getActividadId().equals(actividadId));
+        return resultadosPorActividad.containsKey(actividadId);
     }
 
     /**
      * Genera un ID único para resultado.
      */
     private String generarIdResultado() {
-        return String.format("RES-%03d", resultados.size() + 1);
+        return secuencias.siguienteId(GestorSecuencias.PREFIJO_RESULTADO);
     }
 
     /**
@@ -273,12 +606,7 @@ public class GestorResultados {
             int año = Integer.parseInt(parts[0]);
             int mes = Integer.parseInt(parts[1]);
 
-            String[] nombresMeses = {
-                    "Enero", "Febrero", "Marzo", "Abril", "Mayo", "Junio",
-                    "Julio", "Agosto", "Septiembre", "Octubre", "Noviembre", "Diciembre"
-            };
-
-            return nombresMeses[mes - 1] + " " + año;
+            return NOMBRES_MESES[mes - 1] + " " + año;
         } catch (Exception e) {
             return mesKey;
         }
@@ -288,10 +616,39 @@ public class GestorResultados {
      * Obtiene el top de actividades con mayor impacto.
      */
     public List<ResultadoActividad> obtenerTopActividadesImpacto(int cantidad) {
-        return resultados.stream()
-                .sorted((r1, r2) -> Double.compare(r2.calcularImpacto(), r1.calcularImpacto()))
-                .limit(cantidad)
-                .collect(Collectors.toList());
+        List<ResultadoActividad> top = new ArrayList<>();
+        for (String actividadId : rankingActividades.obtenerTop(cantidad)) {
+            ResultadoActividad resultado = resultadosPorActividad.get(actividadId);
+            if (resultado != null) {
+                top.add(resultado);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Obtiene los voluntarios con más horas aportadas.
+     */
+    public List<HorasVoluntario> obtenerTopVoluntariosPorHoras(int cantidad) {
+        List<HorasVoluntario> top = new ArrayList<>();
+        for (String voluntarioId : rankingVoluntarios.obtenerTop(cantidad)) {
+            HorasVoluntario horas = horasPorVoluntario.get(voluntarioId);
+            if (horas != null) {
+                top.add(horas);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Obtiene las brigadas cuyas actividades beneficiaron a más personas.
+     */
+    public List<ResumenImpacto> obtenerTopBrigadasPorBeneficiados(int cantidad) {
+        List<ResumenImpacto> top = new ArrayList<>();
+        for (String brigadaId : rankingBrigadas.obtenerTop(cantidad)) {
+            top.add(obtenerResumenPorBrigada(brigadaId));
+        }
+        return top;
     }
 
     /**
@@ -312,29 +669,26 @@ public class GestorResultados {
 
     /**
      * Exporta resultados a formato CSV.
+     * Para exportaciones grandes conviene {@link #exportarResultados(Path, Exportador)}, que escribe al archivo
+     * fila por fila en lugar de armar el texto completo.
      */
     public String exportarResultadosCSV() {
-        StringBuilder csv = new StringBuilder();
-
-        // Encabezados
-        csv.append("ID Resultado,ID Actividad,Nombre Actividad,Fecha Actividad,Coordinador,")
-                .append("Personas Beneficiadas,Horas Trabajadas,Impacto Total,Resultados\n");
-
-        // Datos
-        for (ResultadoActividad resultado : resultados) {
-            csv.append(String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%d,%.1f,%.1f,\"%s\"\n",
-                    resultado.getId(),
-                    resultado.getActividadId(),
-                    resultado.getNombreActividad(),
-                    new java.text.SimpleDateFormat("dd/MM/yyyy").format(resultado.getFechaActividad()),
-                    resultado.getCoordinadorNombre(),
-                    resultado.getPersonasBeneficiadas(),
-                    resultado.getHorasTrabajadas(),
-                    resultado.calcularImpacto(),
-                    resultado.getResultadosAlcanzados().replace("\"", "\"\"") // Escapar comillas
-            ));
+        StringWriter csv = new StringWriter();
+        try {
+            Exportaciones.resultadosFormatoOriginal().exportar(resultados, csv);
+        } catch (PersistenciaException e) {
+            // Un StringWriter no falla al escribir; solo puede llegar aquí si se interrumpió el hilo
+            System.err.println("[WARNING] Exportación de resultados incompleta: " + e.getMessage());
         }
-
         return csv.toString();
     }
+
+    /**
+     * Exporta los resultados a un archivo con las columnas, rango de fechas y formato ya configurados en el exportador
+     * (ver {@link Exportaciones#resultados()}).
+     * @return cantidad de resultados exportados
+     */
+    public int exportarResultados(Path archivo, Exportador<ResultadoActividad> exportador) throws PersistenciaException {
+        return exportador.exportar(resultados, archivo);
+    }
 }
\ No newline at end of file
@@ -5,48 +5,163 @@ import model.Voluntario;
 import model.Coordinador;
 import exceptions.PersistenciaException;
 import persistence.GestorAlmacenamiento;
+import persistence.GestorSecuencias;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
+/*
+Gestor de usuarios del sistema.
+Las escrituras se serializan con el monitor del gestor (métodos synchronized); las lecturas no toman
+bloqueos: los usuarios y los índices están en mapas concurrentes, así que pueden recorrerse desde otros
+hilos (actualizaciones en segundo plano, reportes) mientras se registra un usuario.
+Los usuarios se guardan por posición de registro y el índice por ID conserva esa posición: agregar o
+reemplazar un usuario no copia ni recorre la lista, que se arma solo cuando se pide.
+*/
 public class GestorUsuarios {
     private static final String ARCHIVO_USUARIOS = "usuarios.dat";
     private GestorAlmacenamiento gestor;
-    private List<Usuario> usuarios;
+    // Posición de registro -> usuario, en el orden en que se agregaron (reemplazado entero al recargar)
+    private volatile ConcurrentSkipListMap<Long, Usuario> usuarios;
+    // Posición de cada ID en "usuarios"; solo se usa con el monitor tomado
+    private final Map<String, Long> posicionPorId = new HashMap<>();
+    private long siguientePosicion;
+    private final GestorSecuencias secuencias = GestorSecuencias.getInstancia();
+    // Bus donde se anuncian los cambios confirmados; GestorGeneral conecta el compartido
+    private BusEventos eventos = new BusEventos();
+
+    // Índices en memoria: ID -> usuario y email en minúsculas -> usuario
+    private final Map<String, Usuario> usuariosPorId = new ConcurrentHashMap<>();
+    private final Map<String, Usuario> usuariosPorEmail = new ConcurrentHashMap<>();
+    // Email con el que está indexado cada usuario, para actualizar el índice si el email cambia
+    private final Map<String, String> emailIndexadoPorId = new ConcurrentHashMap<>();
 
     public GestorUsuarios() {
         this.gestor = new GestorAlmacenamiento();
-        cargarUsuarios();
+        this.usuarios = new ConcurrentSkipListMap<>();
+        // Los datos se cargan con cargar*() desde GestorGeneral, en paralelo con los demás archivos
+    }
+
+    void setBusEventos(BusEventos eventos) {
+        this.eventos = eventos;
+    }
+
+    // Deja de escribir en disco (otros gestores pasaron a ser dueños de los archivos)
+    void cerrar() {
+        gestor.cerrar();
     }
 
-    @SuppressWarnings("unchecked")
-    private void cargarUsuarios() {
+    synchronized void cargarUsuarios() {
         try {
-            Object datos = gestor.cargar(ARCHIVO_USUARIOS);
-            if (datos != null) {
-                usuarios = (List<Usuario>) datos;
-            } else {
-                usuarios = new ArrayList<>();
-            }
+            List<Usuario> datos = gestor.cargarLista(ARCHIVO_USUARIOS, Usuario::getId);
+            reemplazarUsuarios(datos != null ? datos : new ArrayList<>());
         } catch (PersistenciaException e) {
             System.err.println("Error cargando usuarios: " + e.getMessage());
-            usuarios = new ArrayList<>();
+            reemplazarUsuarios(new ArrayList<>());
+        }
+        secuencias.registrarExistentes(GestorSecuencias.PREFIJO_VOLUNTARIO, usuariosPorId.keySet());
+        secuencias.registrarExistentes(GestorSecuencias.PREFIJO_COORDINADOR, usuariosPorId.keySet());
+    }
+
+    // Publica una lista completa de una vez y reconstruye los índices en una sola pasada sobre ella
+    private void reemplazarUsuarios(List<? extends Usuario> lista) {
+        ConcurrentSkipListMap<Long, Usuario> nuevos = new ConcurrentSkipListMap<>();
+        posicionPorId.clear();
+        siguientePosicion = 0;
+        for (Usuario usuario : lista) {
+            Long posicion = posicionPorId.get(usuario.getId());
+            if (posicion == null) {
+                posicion = siguientePosicion++;
+                posicionPorId.put(usuario.getId(), posicion);
+            }
+            nuevos.put(posicion, usuario); // Un ID repetido conserva la primera posición y el último estado
+        }
+        usuarios = nuevos;
+
+        usuariosPorId.clear();
+        usuariosPorEmail.clear();
+        emailIndexadoPorId.clear();
+        for (Usuario usuario : nuevos.values()) {
+            usuariosPorId.put(usuario.getId(), usuario);
+            String clave = claveEmail(usuario.getEmail());
+            if (clave != null && usuariosPorEmail.putIfAbsent(clave, usuario) == null) {
+                emailIndexadoPorId.put(usuario.getId(), clave);
+            }
+        }
+    }
+
+    // Actualiza los índices para un usuario nuevo o modificado
+    private void indexar(Usuario usuario) {
+        usuariosPorId.put(usuario.getId(), usuario);
+
+        String claveAnterior = emailIndexadoPorId.remove(usuario.getId());
+        if (claveAnterior != null) {
+            Usuario indexado = usuariosPorEmail.get(claveAnterior);
+            if (indexado != null && indexado.getId().equals(usuario.getId())) {
+                usuariosPorEmail.remove(claveAnterior);
+            }
+        }
+        String clave = claveEmail(usuario.getEmail());
+        if (clave != null) {
+            Usuario existente = usuariosPorEmail.get(clave);
+            if (existente == null || existente.getId().equals(usuario.getId())) {
+                usuariosPorEmail.put(clave, usuario);
+                emailIndexadoPorId.put(usuario.getId(), clave);
+            }
+        }
+    }
+
+    private static String claveEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    // Agrega el usuario o reemplaza al que tenga el mismo ID, y lo registra en el diario
+    private synchronized void guardarUsuario(Usuario usuario) throws PersistenciaException {
+        Long posicion = posicionPorId.get(usuario.getId());
+        if (posicion == null) {
+            posicion = siguientePosicion++;
+            posicionPorId.put(usuario.getId(), posicion);
+        }
+        usuarios.put(posicion, usuario); // Alta al final, o reemplazo en su lugar
+        indexar(usuario);
+        persistirUsuario(usuario);
+        if (usuario instanceof Voluntario) {
+            eventos.publicar(new EventoDominio.VoluntarioActualizado((Voluntario) usuario));
         }
     }
 
+    // Programa la escritura de la lista completa en segundo plano (se codifica ahora, con el bloqueo tomado)
     private void guardarUsuarios() throws PersistenciaException {
-        gestor.guardar(ARCHIVO_USUARIOS, usuarios);
+        gestor.guardarDiferido(ARCHIVO_USUARIOS, new ArrayList<>(usuarios.values()));
+    }
+
+    // Registra en el diario el estado actual de un usuario. La lista completa solo se arma cuando el diario
+    // llegó al umbral de compactación (con el monitor tomado, así que es consistente).
+    private void persistirUsuario(Usuario usuario) throws PersistenciaException {
+        String prefijo = usuario instanceof Coordinador
+                ? GestorSecuencias.PREFIJO_COORDINADOR
+                : GestorSecuencias.PREFIJO_VOLUNTARIO;
+        secuencias.registrarExistente(prefijo, usuario.getId());
+        gestor.registrarGuardado(ARCHIVO_USUARIOS, usuario.getId(), usuario, null);
+        if (gestor.compactacionPendiente(ARCHIVO_USUARIOS)) {
+            guardarUsuarios();
+        }
     }
 
     // Métodos para trabajar con tus gestores existentes
 
     public List<Usuario> obtenerTodosUsuarios() {
-        return new ArrayList<>(usuarios);
+        return new ArrayList<>(usuarios.values());
     }
 
     public List<Voluntario> obtenerVoluntarios() {
         List<Voluntario> voluntarios = new ArrayList<>();
-        for (Usuario usuario : usuarios) {
+        for (Usuario usuario : usuarios.values()) {
             if (usuario instanceof Voluntario) {
                 voluntarios.add((Voluntario) usuario);
             }
@@ -56,7 +171,7 @@ public class GestorUsuarios {
 
     public List<Coordinador> obtenerCoordinadores() {
         List<Coordinador> coordinadores = new ArrayList<>();
-        for (Usuario usuario : usuarios) {
+        for (Usuario usuario : usuarios.values()) {
             if (usuario instanceof Coordinador) {
                 coordinadores.add((Coordinador) usuario);
             }
@@ -65,100 +180,82 @@ public class GestorUsuarios {
     }
 
     public void guardarVoluntario(Voluntario voluntario) throws PersistenciaException {
-        // Verificar si ya existe
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getId().equals(voluntario.getId())) {
-                usuarios.set(i, voluntario); // Actualizar
-                guardarUsuarios();
-                return;
-            }
-        }
-        // Si no existe, agregar
-        usuarios.add(voluntario);
-        guardarUsuarios();
+        guardarUsuario(voluntario);
     }
 
-    public void guardarVoluntarioList(List<Voluntario> nuevaListaVoluntarios) throws PersistenciaException {
-        // Primero, eliminar todos los voluntarios actuales
-        usuarios.removeIf(usuario -> usuario instanceof Voluntario);
+    public synchronized void guardarVoluntarioList(List<Voluntario> nuevaListaVoluntarios) throws PersistenciaException {
+        // Primero, conservar solo los usuarios que no son voluntarios
+        List<Usuario> nuevaLista = new ArrayList<>();
+        Map<String, Usuario> voluntariosAnteriores = new HashMap<>();
+        for (Usuario usuario : usuarios.values()) {
+            if (!(usuario instanceof Voluntario)) {
+                nuevaLista.add(usuario);
+            } else {
+                voluntariosAnteriores.put(usuario.getId(), usuario);
+            }
+        }
 
-        // Agregar la nueva lista de voluntarios
-        usuarios.addAll(nuevaListaVoluntarios);
+        // Agregar la nueva lista de voluntarios y publicar la lista completa de una vez
+        nuevaLista.addAll(nuevaListaVoluntarios);
+        reemplazarUsuarios(nuevaLista);
 
         // Guardar los cambios
         guardarUsuarios();
-    }
 
-    public void registrarVoluntario(Voluntario voluntario) throws PersistenciaException {
-        // Verificar si ya existe
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getId().equals(voluntario.getId())) {
-                usuarios.set(i, voluntario); // Actualizar
-                guardarUsuarios();
-                return;
+        // Anunciar solo las diferencias con la lista anterior
+        for (Voluntario voluntario : nuevaListaVoluntarios) {
+            if (voluntariosAnteriores.remove(voluntario.getId()) != voluntario) {
+                eventos.publicar(new EventoDominio.VoluntarioActualizado(voluntario));
             }
         }
-        // Si no existe, agregar
-        usuarios.add(voluntario);
-        guardarUsuarios();
+        for (String idEliminado : voluntariosAnteriores.keySet()) {
+            eventos.publicar(new EventoDominio.VoluntarioEliminado(idEliminado));
+        }
+    }
+
+    public void registrarVoluntario(Voluntario voluntario) throws PersistenciaException {
+        guardarUsuario(voluntario);
     }
 
     public void guardarCoordinador(Coordinador coordinador) throws PersistenciaException {
-        // Verificar si ya existe
-        for (int i = 0; i < usuarios.size(); i++) {
-            if (usuarios.get(i).getId().equals(coordinador.getId())) {
-                usuarios.set(i, coordinador); // Actualizar
-                guardarUsuarios();
-                return;
-            }
-        }
-        // Si no existe, agregar
-        usuarios.add(coordinador);
-        guardarUsuarios();
+        guardarUsuario(coordinador);
     }
 
     public Usuario autenticarUsuario(String email, String password) {
-        for (Usuario usuario : usuarios) {
-            if (usuario.getEmail().equalsIgnoreCase(email) &&
-                    usuario.getPassword().equals(password)) {
-                return usuario;
-            }
+        Usuario usuario = buscarUsuarioPorEmail(email);
+        if (usuario != null && usuario.getPassword().equals(password)) {
+            return usuario;
         }
         return null;
     }
 
     public boolean existeEmail(String email) {
-        for (Usuario usuario : usuarios) {
-            if (usuario.getEmail().equalsIgnoreCase(email)) {
-                return true;
-            }
-        }
-        return false;
+        return buscarUsuarioPorEmail(email) != null;
+    }
+
+    public Usuario buscarUsuarioPorId(String id) {
+        return usuariosPorId.get(id);
+    }
+
+    public Usuario buscarUsuarioPorEmail(String email) {
+        String clave = claveEmail(email);
+        return clave != null ? usuariosPorEmail.get(clave) : null;
     }
 
     // NUEVOS MÉTODOS PARA BUSCAR VOLUNTARIOS
 
     public Voluntario buscarVoluntarioPorId(String id) {
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Voluntario && usuario.getId().equals(id)) {
-                return (Voluntario) usuario;
-            }
-        }
-        return null;
+        Usuario usuario = buscarUsuarioPorId(id);
+        return usuario instanceof Voluntario ? (Voluntario) usuario : null;
     }
 
     public Voluntario buscarVoluntarioPorEmail(String email) {
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Voluntario &&
-                    usuario.getEmail().equalsIgnoreCase(email)) {
-                return (Voluntario) usuario;
-            }
-        }
-        return null;
+        Usuario usuario = buscarUsuarioPorEmail(email);
+        return usuario instanceof Voluntario ? (Voluntario) usuario : null;
     }
 
     public Voluntario buscarVoluntarioPorNombre(String nombre) {
-        for (Usuario usuario : usuarios) {
+        for (Usuario usuario : usuarios.values()) {
             if (usuario instanceof Voluntario &&
                     usuario.getNombre().equalsIgnoreCase(nombre)) {
                 return (Voluntario) usuario;
@@ -168,22 +265,13 @@ public class GestorUsuarios {
     }
 
     public Coordinador buscarCoordinadorPorId(String id) {
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Coordinador && usuario.getId().equals(id)) {
-                return (Coordinador) usuario;
-            }
-        }
-        return null;
+        Usuario usuario = buscarUsuarioPorId(id);
+        return usuario instanceof Coordinador ? (Coordinador) usuario : null;
     }
 
     public Coordinador buscarCoordinadorPorEmail(String email) {
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Coordinador &&
-                    usuario.getEmail().equalsIgnoreCase(email)) {
-                return (Coordinador) usuario;
-            }
-        }
-        return null;
+        Usuario usuario = buscarUsuarioPorEmail(email);
+        return usuario instanceof Coordinador ? (Coordinador) usuario : null;
     }
 
     public boolean existeVoluntarioConId(String id) {
@@ -194,41 +282,18 @@ public class GestorUsuarios {
         return buscarCoordinadorPorId(id) != null;
     }
 
-    // Método para generar ID único para nuevo voluntario
+    // Genera el siguiente ID de voluntario (VOL-001, VOL-002, ...)
     public String generarNuevoIdVoluntario() {
-        int maxId = 0;
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Voluntario) {
-                try {
-                    String idStr = usuario.getId().replace("VOL-", "");
-                    int idNum = Integer.parseInt(idStr);
-                    if (idNum > maxId) {
-                        maxId = idNum;
-                    }
-                } catch (NumberFormatException e) {
-                    // Ignorar IDs que no sigan el formato
-                }
-            }
-        }
-        return String.format("VOL-%03d", maxId + 1);
+        return secuencias.siguienteId(GestorSecuencias.PREFIJO_VOLUNTARIO);
     }
 
-    // Método para generar ID único para nuevo coordinador
+    // Muestra el próximo ID de voluntario sin consumirlo
+    public String verSiguienteIdVoluntario() {
+        return secuencias.verSiguienteId(GestorSecuencias.PREFIJO_VOLUNTARIO);
+    }
+
+    // Genera el siguiente ID de coordinador (COORD-001, COORD-002, ...)
     public String generarNuevoIdCoordinador() {
-        int maxId = 0;
-        for (Usuario usuario : usuarios) {
-            if (usuario instanceof Coordinador) {
-                try {
-                    String idStr = usuario.getId().replace("COORD-", "");
-                    int idNum = Integer.parseInt(idStr);
-                    if (idNum > maxId) {
-                        maxId = idNum;
-                    }
-                } catch (NumberFormatException e) {
-                    // Ignorar IDs que no sigan el formato
-                }
-            }
-        }
-        return String.format("COORD-%03d", maxId + 1);
+        return secuencias.siguienteId(GestorSecuencias.PREFIJO_COORDINADOR);
     }
 }
\ No newline at end of file
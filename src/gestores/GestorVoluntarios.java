@@ -2,8 +2,8 @@ package gestores;
 
 import model.Voluntario;
 import exceptions.VoluntarioNoEncontradoException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /*
@@ -13,11 +13,11 @@ public class GestorVoluntarios {
     private List<Voluntario> voluntarios;
 
     public GestorVoluntarios() {
-        this.voluntarios = new ArrayList<>();
+        this.voluntarios = new CopyOnWriteArrayList<>();
     }
 
     /* Registra un nuevo voluntario en el sistema. */
-    public void registrarVoluntario(Voluntario voluntario) {
+    public synchronized void registrarVoluntario(Voluntario voluntario) {
         if (voluntario != null && !existeVoluntario(voluntario.getId())) {
             voluntarios.add(voluntario);
         }
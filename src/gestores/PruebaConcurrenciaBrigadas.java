@@ -0,0 +1,142 @@
+package gestores;
+
+import model.Brigada;
+import model.Voluntario;
+import persistence.GestorAlmacenamiento;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Prueba de estrés de GestorBrigadas: varios hilos agregan y quitan voluntarios de pocas brigadas con cupo chico
+mientras otros cambian el estado y los datos de esas mismas brigadas. Al final verifica que ninguna brigada supere
+su capacidad, que el índice de membresías coincida con las listas y que, al volver a cargar desde disco (diario y
+compactaciones incluidas), las listas sean las mismas que en memoria.
+Escribe brigadas.dat en el directorio actual: ejecutar desde un directorio vacío, por ejemplo
+    mkdir /tmp/prueba && cd /tmp/prueba && java -cp <clases> gestores.PruebaConcurrenciaBrigadas
+*/
+class PruebaConcurrenciaBrigadas {
+    private static final int BRIGADAS = 4;
+    private static final int CAPACIDAD = 10;
+    private static final int VOLUNTARIOS = 200;
+    private static final int HILOS = 8;
+    private static final int OPERACIONES_POR_HILO = 400;
+
+    public static void main(String[] args) throws Exception {
+        if (new File("brigadas.dat").exists() || new File("brigadas.dat.log").exists()) {
+            System.err.println("Ya hay datos de brigadas en " + new File("").getAbsolutePath() +
+                    "; ejecutar desde un directorio vacío.");
+            System.exit(2);
+        }
+
+        GestorVoluntarios voluntarios = new GestorVoluntarios();
+        for (int i = 0; i < VOLUNTARIOS; i++) {
+            voluntarios.registrarVoluntario(new Voluntario("VOL-" + i, "Voluntario " + i, "000",
+                    "v" + i + "@prueba", "clave", new ArrayList<>(), new ArrayList<>()));
+        }
+        GestorBrigadas gestor = new GestorBrigadas(voluntarios);
+        gestor.cargarBrigadas();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < BRIGADAS; i++) {
+            Brigada brigada = new Brigada("BRG-" + i, "Brigada " + i, "Prueba", "Zona", "", null);
+            brigada.setCapacidadMaxima(CAPACIDAD);
+            gestor.crearBrigada(brigada);
+            ids.add(brigada.getId());
+        }
+
+        AtomicInteger altas = new AtomicInteger();
+        AtomicInteger bajas = new AtomicInteger();
+        AtomicInteger rechazos = new AtomicInteger();
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            int semilla = h;
+            tareas.add(hilos.submit(() -> {
+                Random azar = new Random(semilla);
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    String brigadaId = ids.get(azar.nextInt(BRIGADAS));
+                    String voluntarioId = "VOL-" + azar.nextInt(VOLUNTARIOS);
+                    int operacion = azar.nextInt(10);
+                    try {
+                        if (operacion < 6) {
+                            gestor.agregarVoluntarioABrigada(brigadaId, voluntarioId);
+                            altas.incrementAndGet();
+                        } else if (operacion < 8) {
+                            gestor.eliminarVoluntarioDeBrigada(brigadaId, voluntarioId);
+                            bajas.incrementAndGet();
+                        } else if (operacion == 8) {
+                            gestor.cambiarEstadoBrigada(brigadaId, azar.nextBoolean() ? "Activa" : "Inactiva");
+                        } else {
+                            Brigada cambios = new Brigada(brigadaId, "Brigada " + brigadaId + " v" + i, "Prueba",
+                                    "Zona " + semilla, "", null);
+                            gestor.actualizarBrigada(cambios);
+                        }
+                    } catch (Exception e) {
+                        rechazos.incrementAndGet(); // Sin cupo, ya asignado o no asignado: esperado
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        hilos.shutdown();
+        new GestorAlmacenamiento().sincronizar();
+
+        List<String> errores = new ArrayList<>();
+        int miembros = 0;
+        for (String id : ids) {
+            Brigada brigada = gestor.buscarBrigadaPorId(id);
+            miembros += brigada.getCantidadVoluntarios();
+            if (brigada.getCantidadVoluntarios() > CAPACIDAD) {
+                errores.add(id + " supera su capacidad: " + brigada.getCantidadVoluntarios());
+            }
+            for (int v = 0; v < VOLUNTARIOS; v++) {
+                String voluntarioId = "VOL-" + v;
+                if (brigada.contieneVoluntario(voluntarioId) != gestor.voluntarioEstaEnBrigada(voluntarioId, id)) {
+                    errores.add("Índice de membresías distinto de la lista para " + voluntarioId + " en " + id);
+                }
+            }
+        }
+        if (miembros != altas.get() - bajas.get()) {
+            errores.add("Miembros (" + miembros + ") distinto de altas - bajas (" + (altas.get() - bajas.get()) + ")");
+        }
+
+        GestorBrigadas recargado = new GestorBrigadas(voluntarios);
+        recargado.cargarBrigadas();
+        for (String id : ids) {
+            Set<String> enMemoria = idsVoluntarios(gestor.buscarBrigadaPorId(id));
+            Set<String> enDisco = idsVoluntarios(recargado.buscarBrigadaPorId(id));
+            if (!enMemoria.equals(enDisco)) {
+                errores.add(id + " en disco " + enDisco + " distinto de memoria " + enMemoria);
+            }
+        }
+
+        System.out.println("Altas: " + altas + ", bajas: " + bajas + ", rechazos: " + rechazos + ", miembros: " + miembros);
+        if (!errores.isEmpty()) {
+            errores.forEach(System.err::println);
+            System.exit(1);
+        }
+        System.out.println("OK");
+        System.exit(0);
+    }
+
+    private static Set<String> idsVoluntarios(Brigada brigada) {
+        Set<String> ids = new HashSet<>();
+        if (brigada != null) {
+            for (Voluntario voluntario : brigada.getVoluntarios()) {
+                ids.add(voluntario.getId());
+            }
+        }
+        return ids;
+    }
+}
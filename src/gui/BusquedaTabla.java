@@ -0,0 +1,238 @@
+package gui;
+
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.RowFilter;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableRowSorter;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Búsqueda mientras se escribe sobre una tabla de {@link ModeloTablaEntidades}.
+ * En lugar de volver a pedir las entidades a los gestores y reconstruir la tabla, filtra las filas que ya están
+ * con un {@link TableRowSorter}, comparando el término contra una clave normalizada (sin mayúsculas ni tildes)
+ * que el modelo guarda por fila. Las pulsaciones se agrupan con un retardo corto, y en tablas grandes las claves
+ * y las coincidencias se calculan fuera del EDT sobre una copia, así escribir nunca bloquea la ventana.
+ * Debe usarse desde el EDT.
+ */
+class BusquedaTabla<T> {
+    static final int RETARDO_MS = 250;
+    static final int UMBRAL_SEGUNDO_PLANO = 2000; // Filas a partir de las cuales se filtra en segundo plano
+    private static final String SEPARADOR = "\u0001"; // Evita coincidencias que crucen de un campo al siguiente
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private final JTable tabla;
+    private final ModeloTablaEntidades<T> modelo;
+    private final TableRowSorter<ModeloTablaEntidades<T>> ordenador;
+    private final Timer retardo;
+
+    private String pendiente = "";
+    private String termino = "";
+    private BitSet coincidencias; // Resultado calculado en segundo plano, válido solo para versionCoincidencias
+    private int versionCoincidencias = -1;
+    private SwingWorker<BitSet, Void> calculo;
+
+    private final RowFilter<ModeloTablaEntidades<T>, Integer> filtro =
+            new RowFilter<ModeloTablaEntidades<T>, Integer>() {
+                @Override
+                public boolean include(Entry<? extends ModeloTablaEntidades<T>, ? extends Integer> fila) {
+                    int indice = fila.getIdentifier();
+                    if (coincidencias != null && versionCoincidencias == modelo.getVersion()) {
+                        return coincidencias.get(indice);
+                    }
+                    // El modelo cambió después del cálculo: se compara solo la fila que se está reevaluando
+                    return modelo.getClaveBusqueda(indice).contains(termino);
+                }
+            };
+
+    /**
+     * @param campos textos de la entidad en los que se busca
+     */
+    @SafeVarargs
+    BusquedaTabla(JTable tabla, ModeloTablaEntidades<T> modelo, Function<T, String>... campos) {
+        this.tabla = tabla;
+        this.modelo = modelo;
+        // Copia en una lista: el lambda no retiene el arreglo varargs
+        List<Function<T, String>> lista = new ArrayList<>(campos.length);
+        for (Function<T, String> campo : campos) {
+            lista.add(campo);
+        }
+        modelo.setTextoBusqueda(entidad -> unir(entidad, lista));
+
+        ordenador = new TableRowSorter<>(modelo);
+        for (int i = 0; i < modelo.getColumnCount(); i++) {
+            ordenador.setSortable(i, false); // Solo filtra; las tablas se siguen mostrando en el orden de carga
+        }
+        tabla.setRowSorter(ordenador);
+
+        retardo = new Timer(RETARDO_MS, e -> buscar(pendiente, null));
+        retardo.setRepeats(false);
+    }
+
+    /**
+     * Reinicia el retardo; el filtro se aplica cuando se deja de escribir
+     */
+    void programar(String texto) {
+        pendiente = texto;
+        retardo.restart();
+    }
+
+    /**
+     * Filtra en el acto. Si el término no vacío no deja ninguna fila visible se avisa a {@code sinResultados}
+     * (puede ser null), cuando termine el filtrado.
+     */
+    void buscar(String texto, Consumer<String> sinResultados) {
+        retardo.stop();
+        cancelarCalculo();
+        String normalizado = normalizar(texto).trim();
+
+        if (normalizado.isEmpty()) {
+            aplicar("", null, -1);
+            return;
+        }
+        Runnable alTerminar = () -> {
+            if (sinResultados != null && tabla.getRowCount() == 0) {
+                sinResultados.accept(texto.trim());
+            }
+        };
+        if (modelo.getRowCount() < UMBRAL_SEGUNDO_PLANO) {
+            aplicar(normalizado, null, -1);
+            alTerminar.run();
+        } else {
+            filtrarEnSegundoPlano(normalizado, alTerminar);
+        }
+    }
+
+    String getTermino() {
+        return termino;
+    }
+
+    /**
+     * Detiene el retardo y el cálculo en curso (al cerrar la ventana)
+     */
+    void detener() {
+        retardo.stop();
+        cancelarCalculo();
+    }
+
+    /**
+     * Calcula sobre una copia las claves que falten y qué filas coinciden. Si el modelo cambió mientras tanto,
+     * el resultado no se guarda y el filtro compara fila por fila.
+     */
+    private void filtrarEnSegundoPlano(String normalizado, Runnable alTerminar) {
+        int version = modelo.getVersion();
+        List<T> copia = new ArrayList<>(modelo.getEntidades());
+        String[] claves = modelo.getClavesBusqueda();
+        Function<T, String> texto = modelo.getTextoBusqueda();
+
+        SwingWorker<BitSet, Void> nuevo = new SwingWorker<BitSet, Void>() {
+            @Override
+            protected BitSet doInBackground() {
+                BitSet resultado = new BitSet(copia.size());
+                for (int i = 0; i < copia.size() && !isCancelled(); i++) {
+                    if (claves[i] == null) {
+                        claves[i] = normalizar(texto.apply(copia.get(i)));
+                    }
+                    if (claves[i].contains(normalizado)) {
+                        resultado.set(i);
+                    }
+                }
+                return resultado;
+            }
+
+            @Override
+            protected void done() {
+                if (calculo != this) {
+                    return; // Reemplazado por una búsqueda más nueva
+                }
+                calculo = null;
+                try {
+                    if (modelo.guardarClavesBusqueda(version, claves)) {
+                        aplicar(normalizado, get(), version);
+                    } else {
+                        aplicar(normalizado, null, -1);
+                    }
+                    alTerminar.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("[WARNING] Falló la búsqueda en segundo plano: " + e.getCause());
+                    aplicar(normalizado, null, -1);
+                }
+            }
+        };
+        calculo = nuevo;
+        nuevo.execute();
+    }
+
+    private void aplicar(String normalizado, BitSet resultado, int version) {
+        termino = normalizado;
+        coincidencias = resultado;
+        versionCoincidencias = version;
+        ordenador.setRowFilter(normalizado.isEmpty() ? null : filtro);
+    }
+
+    private void cancelarCalculo() {
+        if (calculo != null) {
+            SwingWorker<BitSet, Void> anterior = calculo;
+            calculo = null; // Antes de cancelar: en el EDT, cancel() llama a done() en el acto
+            anterior.cancel(true);
+        }
+    }
+
+    /**
+     * Conecta el campo para que cada cambio de texto programe la búsqueda
+     */
+    static void alEscribir(JTextField campo, Consumer<String> accion) {
+        campo.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                accion.accept(campo.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                accion.accept(campo.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                accion.accept(campo.getText());
+            }
+        });
+    }
+
+    /**
+     * Pasa el texto a minúsculas y le quita las tildes, para que "Maria" encuentre a "María"
+     */
+    static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> String unir(T entidad, List<Function<T, String>> campos) {
+        StringBuilder texto = new StringBuilder();
+        for (Function<T, String> campo : campos) {
+            String valor = campo.apply(entidad);
+            if (valor != null) {
+                texto.append(valor);
+            }
+            texto.append(SEPARADOR);
+        }
+        return texto.toString();
+    }
+}
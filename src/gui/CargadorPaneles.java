@@ -0,0 +1,204 @@
+package gui;
+
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.SwingWorker;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Carga en segundo plano los datos de los paneles de los dashboards.
+ * La consulta a los gestores corre en el pool de hilos de {@link SwingWorker} y el resultado se aplica
+ * en el hilo de Swing (EDT), así la ventana no se congela mientras se leen muchos datos.
+ * Las cargas se identifican con una clave "tarjeta" o "tarjeta:detalle"; una carga nueva con la misma
+ * clave reemplaza a la anterior, y al cambiar de tarjeta se cancelan las de las otras.
+ * Todos los métodos deben llamarse desde el EDT.
+ */
+class CargadorPaneles {
+    private static final Color COLOR_ESQUELETO = new Color(232, 232, 232);
+
+    private final Map<String, SwingWorker<?, ?>> cargas = new HashMap<>();
+    private final List<Runnable> alTerminar = new ArrayList<>();
+
+    /**
+     * Ejecuta la consulta fuera del EDT y aplica su resultado en el EDT.
+     * Si mientras tanto se lanzó otra carga con la misma clave, o esta se canceló, el resultado se descarta.
+     */
+    <T> void ejecutar(String clave, Callable<T> consulta, Consumer<T> aplicar) {
+        ejecutar(clave, consulta, aplicar,
+                error -> System.err.println("[WARNING] No se pudo cargar '" + clave + "': " + error));
+    }
+
+    /**
+     * Igual que {@link #ejecutar(String, Callable, Consumer)}, pero el error de la consulta se entrega
+     * en el EDT a {@code alFallar} (por ejemplo, para mostrar un mensaje)
+     */
+    <T> void ejecutar(String clave, Callable<T> consulta, Consumer<T> aplicar, Consumer<Throwable> alFallar) {
+        cancelar(clave);
+
+        SwingWorker<T, Void> carga = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return consulta.call();
+            }
+
+            @Override
+            protected void done() {
+                if (cargas.get(clave) != this) {
+                    return; // Reemplazada por una carga más nueva o cancelada
+                }
+                cargas.remove(clave);
+                try {
+                    aplicar.accept(get());
+                } catch (CancellationException e) {
+                    // Se canceló justo antes de terminar
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    alFallar.accept(e.getCause());
+                } finally {
+                    avisarSiTermino();
+                }
+            }
+        };
+        cargas.put(clave, carga);
+        carga.execute();
+    }
+
+    /**
+     * Muestra un esqueleto en el contenedor mientras se consulta y luego lo reemplaza por la vista armada con el resultado
+     */
+    <T> void cargar(String clave, JPanel contenedor, Callable<T> consulta, Function<T, ? extends Component> vista) {
+        mostrarEsqueleto(contenedor, 3);
+        ejecutar(clave, consulta, datos -> reemplazar(contenedor, vista.apply(datos)));
+    }
+
+    boolean enCurso(String clave) {
+        return cargas.containsKey(clave);
+    }
+
+    void cancelar(String clave) {
+        SwingWorker<?, ?> anterior = cargas.remove(clave);
+        if (anterior != null) {
+            anterior.cancel(true);
+            avisarSiTermino();
+        }
+    }
+
+    /**
+     * Cancela las cargas de todas las tarjetas salvo la indicada
+     * @return las tarjetas que tenían cargas canceladas, para volver a cargarlas cuando se muestren
+     */
+    Set<String> cancelarExcepto(String tarjeta) {
+        Set<String> canceladas = new HashSet<>();
+        List<SwingWorker<?, ?>> aCancelar = new ArrayList<>();
+        Iterator<Map.Entry<String, SwingWorker<?, ?>>> it = cargas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, SwingWorker<?, ?>> entrada = it.next();
+            String tarjetaCarga = tarjetaDe(entrada.getKey());
+            if (!tarjetaCarga.equals(tarjeta)) {
+                aCancelar.add(entrada.getValue());
+                it.remove();
+                canceladas.add(tarjetaCarga);
+            }
+        }
+        // Se cancelan después de sacarlas del mapa: en el EDT, cancel() llama a done() en el acto
+        for (SwingWorker<?, ?> carga : aCancelar) {
+            carga.cancel(true);
+        }
+        avisarSiTermino();
+        return canceladas;
+    }
+
+    void cancelarTodas() {
+        List<SwingWorker<?, ?>> aCancelar = new ArrayList<>(cargas.values());
+        cargas.clear();
+        alTerminar.clear();
+        for (SwingWorker<?, ?> carga : aCancelar) {
+            carga.cancel(true);
+        }
+    }
+
+    /**
+     * Ejecuta la acción cuando no quede ninguna carga pendiente (enseguida si no hay ninguna)
+     */
+    void alTerminar(Runnable accion) {
+        alTerminar.add(accion);
+        avisarSiTermino();
+    }
+
+    /**
+     * Contenedor transparente que ocupa el lugar de una sección mientras sus datos se cargan
+     */
+    static JPanel crearContenedor() {
+        JPanel contenedor = new JPanel();
+        contenedor.setLayout(new BoxLayout(contenedor, BoxLayout.Y_AXIS));
+        contenedor.setOpaque(false);
+        contenedor.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return contenedor;
+    }
+
+    /**
+     * Reemplaza el contenido del contenedor por barras grises que ocupan el lugar de los datos
+     */
+    static void mostrarEsqueleto(JPanel contenedor, int lineas) {
+        JPanel esqueleto = new JPanel();
+        esqueleto.setLayout(new BoxLayout(esqueleto, BoxLayout.Y_AXIS));
+        esqueleto.setOpaque(false);
+        esqueleto.setAlignmentX(Component.LEFT_ALIGNMENT);
+        for (int i = 0; i < lineas; i++) {
+            JPanel barra = new JPanel();
+            barra.setBackground(COLOR_ESQUELETO);
+            barra.setBorder(BorderFactory.createEmptyBorder());
+            int ancho = i == lineas - 1 ? 420 : 720; // La última más corta, como un párrafo
+            barra.setPreferredSize(new Dimension(ancho, 18));
+            barra.setMaximumSize(new Dimension(ancho, 18));
+            barra.setAlignmentX(Component.LEFT_ALIGNMENT);
+            esqueleto.add(barra);
+            esqueleto.add(Box.createVerticalStrut(12));
+        }
+        reemplazar(contenedor, esqueleto);
+    }
+
+    static void reemplazar(JPanel contenedor, Component vista) {
+        contenedor.removeAll();
+        if (vista instanceof JComponent) {
+            ((JComponent) vista).setAlignmentX(Component.LEFT_ALIGNMENT);
+        }
+        contenedor.add(vista);
+        contenedor.revalidate();
+        contenedor.repaint();
+    }
+
+    private static String tarjetaDe(String clave) {
+        int separador = clave.indexOf(':');
+        return separador < 0 ? clave : clave.substring(0, separador);
+    }
+
+    private void avisarSiTermino() {
+        if (!cargas.isEmpty() || alTerminar.isEmpty()) {
+            return;
+        }
+        List<Runnable> acciones = new ArrayList<>(alTerminar);
+        alTerminar.clear();
+        for (Runnable accion : acciones) {
+            accion.run();
+        }
+    }
+}
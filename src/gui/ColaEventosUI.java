@@ -0,0 +1,69 @@
+package gui;
+
+import gestores.BusEventos;
+import gestores.EventoDominio;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Recibe los eventos del bus desde cualquier hilo y los entrega por lotes en el hilo de Swing (EDT).
+ * Todos los eventos que llegan antes de que el EDT atienda la entrega programada forman un solo lote,
+ * y los repetidos (misma clave) se reducen al último, así una ráfaga de cambios produce un solo repintado.
+ */
+class ColaEventosUI {
+    private final BusEventos bus;
+    private final Consumer<List<EventoDominio>> manejador;
+    private final Map<String, EventoDominio> pendientes = new LinkedHashMap<>();
+    private boolean entregaProgramada;
+    private Consumer<? super EventoDominio> suscripcion;
+
+    ColaEventosUI(BusEventos bus, Consumer<List<EventoDominio>> manejador) {
+        this.bus = bus;
+        this.manejador = manejador;
+    }
+
+    void iniciar() {
+        if (suscripcion == null) {
+            suscripcion = bus.suscribir(EventoDominio.class, this::encolar);
+        }
+    }
+
+    /**
+     * Deja de recibir eventos (al cerrar la ventana); lo que quedó pendiente se descarta
+     */
+    void detener() {
+        if (suscripcion != null) {
+            bus.desuscribir(suscripcion);
+            suscripcion = null;
+        }
+        synchronized (this) {
+            pendientes.clear();
+        }
+    }
+
+    private synchronized void encolar(EventoDominio evento) {
+        pendientes.remove(evento.getClave()); // El último de cada clave queda al final, en orden de llegada
+        pendientes.put(evento.getClave(), evento);
+        if (!entregaProgramada) {
+            entregaProgramada = true;
+            SwingUtilities.invokeLater(this::entregar);
+        }
+    }
+
+    private void entregar() {
+        List<EventoDominio> lote;
+        synchronized (this) {
+            lote = new ArrayList<>(pendientes.values());
+            pendientes.clear();
+            entregaProgramada = false;
+        }
+        if (!lote.isEmpty()) {
+            manejador.accept(lote);
+        }
+    }
+}
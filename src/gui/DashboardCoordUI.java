@@ -2,8 +2,12 @@ package gui;
 
 import gestores.GestorActividades;
 import gestores.GestorBrigadas;
+import gestores.ContextoAplicacion;
 import gestores.GestorGeneral;
 import gestores.GestorRecursos;
+import gestores.GestorResultados;
+import gestores.EventoDominio;
+import exceptions.PersistenciaException;
 import model.*;
 
 import javax.swing.*;
@@ -14,6 +18,8 @@ import javax.swing.table.TableCellEditor;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
 import java.util.*;
 
@@ -21,6 +27,7 @@ import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Clipboard;
 import java.awt.Toolkit;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class DashboardCoordUI extends JFrame {
 
@@ -35,6 +42,7 @@ public class DashboardCoordUI extends JFrame {
 
     // Componentes principales
     private Coordinador coordinador;
+    private ContextoAplicacion contexto;
     private GestorGeneral gestorGeneral;
     private GestorActividades gestorActividades;
     private GestorBrigadas gestorBrigadas;
@@ -49,12 +57,152 @@ public class DashboardCoordUI extends JFrame {
     private JPanel recursosPanel;
     private JPanel reportesPanel;
 
-    public DashboardCoordUI(Coordinador coordinador, GestorGeneral gestorGeneral) {
+    // Modelos de las tablas de gestión; se crean junto con su panel
+    private ModeloTablaEntidades<Voluntario> modeloVoluntarios;
+    private ModeloTablaEntidades<Brigada> modeloBrigadas;
+    private ModeloTablaEntidades<Actividad> modeloActividades;
+    private ModeloTablaEntidades<Recurso> modeloRecursos;
+    private BusquedaTabla<Voluntario> busquedaVoluntarios;
+    private BusquedaTabla<Actividad> busquedaActividades;
+    private BusquedaTabla<Recurso> busquedaRecursos;
+    private final java.text.SimpleDateFormat formatoFechaTabla = new java.text.SimpleDateFormat("dd/MM/yyyy");
+    // Cambios anunciados por los gestores, aplicados por lotes en el EDT
+    private ColaEventosUI colaEventos;
+    private Consumer<GestorGeneral> oyenteRecarga;
+    // Consultas de las tarjetas en segundo plano; las canceladas al cambiar de tarjeta se repiten al volver
+    private final CargadorPaneles cargador = new CargadorPaneles();
+    private final Set<String> tarjetasPorRecargar = new HashSet<>();
+    private JComboBox<String> brigadaHistorialCombo;
+
+    public DashboardCoordUI(Coordinador coordinador, ContextoAplicacion contexto) {
         this.coordinador = coordinador;
-        this.gestorGeneral = gestorGeneral;
+        this.contexto = contexto;
+        this.gestorGeneral = contexto.getGestorGeneral();
         this.gestorActividades = gestorGeneral.getGestorActividades();
         this.gestorBrigadas = gestorGeneral.getGestorBrigadas();
         initUI();
+        suscribirEventos();
+    }
+
+    /**
+     * Las tablas y tarjetas se actualizan con los eventos de los gestores, sin importar desde qué ventana
+     * o hilo se hizo el cambio
+     */
+    private void suscribirEventos() {
+        colaEventos = new ColaEventosUI(gestorGeneral.getBusEventos(), this::aplicarEventos);
+        colaEventos.iniciar();
+        oyenteRecarga = contexto.alRecargar(nuevo -> SwingUtilities.invokeLater(() -> reabrirCon(nuevo)));
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                contexto.quitarOyenteRecarga(oyenteRecarga);
+                colaEventos.detener();
+                cargador.cancelarTodas();
+                for (BusquedaTabla<?> busqueda : Arrays.asList(busquedaVoluntarios, busquedaActividades, busquedaRecursos)) {
+                    if (busqueda != null) busqueda.detener();
+                }
+            }
+        });
+    }
+
+    /**
+     * Los datos se recargaron: esta ventana guarda referencias a los gestores anteriores (ya cerrados),
+     * así que se reemplaza por una nueva enlazada a los gestores nuevos
+     */
+    private void reabrirCon(GestorGeneral nuevo) {
+        if (!isDisplayable()) {
+            return;
+        }
+        Coordinador actualizado = nuevo.getGestorUsuarios().buscarCoordinadorPorId(coordinador.getId());
+        if (actualizado != null) {
+            new DashboardCoordUI(actualizado, contexto);
+        } else {
+            new gui.LoginUI(contexto);
+        }
+        dispose();
+    }
+
+    /**
+     * Aplica un lote de eventos: solo se repintan las filas afectadas y las tarjetas se recalculan una vez
+     */
+    private void aplicarEventos(List<EventoDominio> lote) {
+        for (EventoDominio evento : lote) {
+            if (evento instanceof EventoDominio.ActividadCreada) {
+                if (modeloActividades != null) {
+                    modeloActividades.actualizar(((EventoDominio.ActividadCreada) evento).getActividad());
+                }
+            } else if (evento instanceof EventoDominio.ActividadActualizada) {
+                if (modeloActividades != null) {
+                    modeloActividades.refrescar(((EventoDominio.ActividadActualizada) evento).getActividad());
+                }
+            } else if (evento instanceof EventoDominio.ActividadEliminada) {
+                if (modeloActividades != null) {
+                    modeloActividades.eliminar(evento.getEntidadId());
+                }
+            } else if (evento instanceof EventoDominio.VoluntarioAsignado) {
+                EventoDominio.VoluntarioAsignado asignado = (EventoDominio.VoluntarioAsignado) evento;
+                refrescarAsignacion(asignado.getVoluntarioId(), asignado.getActividadId(), asignado.getBrigadaId());
+            } else if (evento instanceof EventoDominio.VoluntarioRetirado) {
+                EventoDominio.VoluntarioRetirado retirado = (EventoDominio.VoluntarioRetirado) evento;
+                refrescarAsignacion(retirado.getVoluntarioId(), retirado.getActividadId(), retirado.getBrigadaId());
+            } else if (evento instanceof EventoDominio.VoluntarioActualizado) {
+                if (modeloVoluntarios != null) {
+                    modeloVoluntarios.actualizar(((EventoDominio.VoluntarioActualizado) evento).getVoluntario());
+                }
+            } else if (evento instanceof EventoDominio.VoluntarioEliminado) {
+                if (modeloVoluntarios != null) {
+                    modeloVoluntarios.eliminar(evento.getEntidadId());
+                }
+            } else if (evento instanceof EventoDominio.BrigadaActualizada) {
+                Brigada brigada = ((EventoDominio.BrigadaActualizada) evento).getBrigada();
+                if (modeloBrigadas != null) {
+                    modeloBrigadas.actualizar(brigada);
+                }
+                // El nombre de la brigada también aparece en las filas de sus miembros y actividades
+                if (modeloVoluntarios != null) {
+                    for (Voluntario miembro : brigada.getVoluntarios()) {
+                        modeloVoluntarios.refrescar(miembro);
+                    }
+                }
+                if (modeloActividades != null) {
+                    for (Actividad actividad : gestorActividades.obtenerActividadesPorBrigada(brigada.getId())) {
+                        modeloActividades.refrescar(actividad);
+                    }
+                }
+            } else if (evento instanceof EventoDominio.BrigadaEliminada) {
+                if (modeloBrigadas != null) {
+                    modeloBrigadas.eliminar(evento.getEntidadId());
+                }
+                if (modeloVoluntarios != null) {
+                    modeloVoluntarios.refrescarTodas(); // Ya no se sabe quiénes eran sus miembros
+                }
+            } else if (evento instanceof EventoDominio.StockCambiado) {
+                if (modeloRecursos != null) {
+                    modeloRecursos.actualizar(((EventoDominio.StockCambiado) evento).getRecurso());
+                }
+            } else if (evento instanceof EventoDominio.RecursoEliminado) {
+                if (modeloRecursos != null) {
+                    modeloRecursos.eliminar(evento.getEntidadId());
+                }
+            }
+        }
+
+        // Una carga que empezó antes de estos cambios traería una copia vieja de los datos: se repite
+        for (String tarjeta : new String[]{"voluntarios", "brigadas", "actividades", "recursos"}) {
+            if (cargador.enCurso(tarjeta)) {
+                recargarTarjeta(tarjeta);
+            }
+        }
+        actualizarEstadisticas();
+    }
+
+    private void refrescarAsignacion(String voluntarioId, String actividadId, String brigadaId) {
+        if (actividadId != null && modeloActividades != null) {
+            modeloActividades.refrescar(gestorActividades.buscarActividadPorId(actividadId));
+        }
+        if (brigadaId != null && modeloVoluntarios != null) {
+            modeloVoluntarios.refrescar(gestorGeneral.getGestorUsuarios().buscarVoluntarioPorId(voluntarioId));
+        }
     }
 
     private void initUI() {
@@ -83,8 +231,9 @@ public class DashboardCoordUI extends JFrame {
         cardLayout = new CardLayout();
         cardPanel = new JPanel(cardLayout);
 
-        // Crear los diferentes paneles
+        // Crear los diferentes paneles (los datos llegan en segundo plano)
         inicioPanel = createInicioPanel();
+        actualizarEstadisticas();
         brigadasPanel = createBrigadasPanel();
         voluntariosPanel = createVoluntariosPanel();
         actividadesPanel = createActividadesPanel();
@@ -111,6 +260,41 @@ public class DashboardCoordUI extends JFrame {
      */
     private void cambiarPanel(String nombrePanel) {
         cardLayout.show(cardPanel, nombrePanel);
+
+        // Las cargas de las tarjetas que ya no se ven se cancelan y se repiten cuando vuelvan a mostrarse
+        tarjetasPorRecargar.addAll(cargador.cancelarExcepto(nombrePanel));
+        if (tarjetasPorRecargar.remove(nombrePanel)) {
+            recargarTarjeta(nombrePanel);
+        }
+    }
+
+    /**
+     * Vuelve a consultar los datos de una tarjeta
+     */
+    private void recargarTarjeta(String tarjeta) {
+        switch (tarjeta) {
+            case "inicio":
+                actualizarEstadisticas();
+                break;
+            case "brigadas":
+                if (modeloBrigadas != null) cargarBrigadasEnTabla();
+                break;
+            case "voluntarios":
+                if (modeloVoluntarios != null) cargarVoluntariosEnTabla();
+                break;
+            case "actividades":
+                if (modeloActividades != null) cargarActividadesEnTabla();
+                break;
+            case "recursos":
+                if (modeloRecursos != null) cargarRecursosEnTabla();
+                break;
+            case "reportes":
+                if (reportesPanel != null) {
+                    cargarBrigadasHistorial();
+                    cargarHistorialCompleto();
+                }
+                break;
+        }
     }
 
     /**
@@ -273,7 +457,14 @@ public class DashboardCoordUI extends JFrame {
                         JOptionPane.YES_NO_OPTION
                 );
                 if (confirm == JOptionPane.YES_OPTION) {
-                    new gui.LoginUI();
+                    try {
+                        gestorGeneral.sincronizarPersistencia();
+                    } catch (PersistenciaException ex) {
+                        JOptionPane.showMessageDialog(DashboardCoordUI.this,
+                                "Error al guardar los cambios pendientes: " + ex.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                    new gui.LoginUI(contexto);
                     dispose();
                 }
             }
@@ -363,14 +554,10 @@ public class DashboardCoordUI extends JFrame {
 
         // Tabla de voluntarios
         String[] columnNames = {"ID", "Nombre", "Email", "Teléfono", "Habilidades", "Brigadas Asociadas", "Acciones"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 6; // Solo la columna de acciones es editable
-            }
-        };
+        // Solo la columna de acciones es editable
+        modeloVoluntarios = new ModeloTablaEntidades<>(columnNames, Voluntario::getId, this::filaVoluntario, 6);
 
-        JTable tabla = new JTable(model);
+        JTable tabla = new JTable(modeloVoluntarios);
         tabla.setRowHeight(40);
         tabla.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         tabla.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -388,8 +575,13 @@ public class DashboardCoordUI extends JFrame {
         tabla.getColumnModel().getColumn(6).setCellRenderer(new VoluntariosButtonRenderer());
         tabla.getColumnModel().getColumn(6).setCellEditor(new VoluntariosButtonEditor(new JCheckBox(), tabla));
 
+        // Búsqueda sobre las filas ya cargadas
+        busquedaVoluntarios = new BusquedaTabla<>(tabla, modeloVoluntarios,
+                Voluntario::getNombre, Voluntario::getEmail, Voluntario::getTelefono,
+                vol -> vol.getHabilidades() != null ? String.join(", ", vol.getHabilidades()) : "");
+
         // Cargar datos
-        cargarVoluntariosEnTabla(model);
+        cargarVoluntariosEnTabla();
 
         JScrollPane scrollPane = new JScrollPane(tabla);
         scrollPane.setPreferredSize(new Dimension(1100, 500));
@@ -418,6 +610,10 @@ public class DashboardCoordUI extends JFrame {
         JTextField searchField = new JTextField(25);
         searchField.setToolTipText("Buscar voluntario por nombre, email o habilidades");
         toolbar.add(searchField);
+        // La tabla se crea después de la barra, por eso se consulta la búsqueda recién al escribir
+        BusquedaTabla.alEscribir(searchField, texto -> {
+            if (busquedaVoluntarios != null) busquedaVoluntarios.programar(texto);
+        });
 
         JButton buscarBtn = new JButton("Buscar");
         buscarBtn.addActionListener(e -> buscarVoluntarios(searchField.getText()));
@@ -702,11 +898,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito",
                         JOptionPane.INFORMATION_MESSAGE);
 
-                // Actualizar tabla usando SwingUtilities.invokeLater
-                SwingUtilities.invokeLater(() -> {
-                    actualizarTablaBrigadas();
-                });
-
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(tabla,
                         "Error al eliminar brigada: " + e.getMessage(),
@@ -830,8 +1021,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaBrigadas();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al actualizar brigada: " + ex.getMessage(),
@@ -1047,41 +1236,38 @@ public class DashboardCoordUI extends JFrame {
     }
 
     /**
-     * Carga los voluntarios en la tabla
+     * Carga los voluntarios en la tabla (consulta en segundo plano), actualizando solo las filas que cambiaron
      */
-    private void cargarVoluntariosEnTabla(DefaultTableModel model) {
-        model.setRowCount(0); // Limpiar tabla
-
-        try {
-            List<Voluntario> voluntarios = gestorGeneral.getGestorUsuarios().obtenerVoluntarios();
-
-            for (Voluntario vol : voluntarios) {
-                // Convertir habilidades de List<String> a String
-                String habilidadesStr = "";
-                if (vol.getHabilidades() != null && !vol.getHabilidades().isEmpty()) {
-                    habilidadesStr = String.join(", ", vol.getHabilidades());
-                }
+    private void cargarVoluntariosEnTabla() {
+        cargador.ejecutar("voluntarios", () -> gestorGeneral.getGestorUsuarios().obtenerVoluntarios(), modeloVoluntarios::sincronizar,
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error cargando voluntarios: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-                // Obtener brigadas a las que pertenece
-                List<Brigada> brigadasDelVoluntario = gestorGeneral.getGestorBrigadas().obtenerBrigadasDeVoluntario(vol.getId());
-                String brigadasStr = formatBrigadasList(brigadasDelVoluntario);
-
-                model.addRow(new Object[]{
-                        vol.getId(),
-                        vol.getNombre(),
-                        vol.getEmail(),
-                        vol.getTelefono(),
-                        habilidadesStr,
-                        brigadasStr,
-                        "Editar|Asociar|Eliminar"
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error cargando voluntarios: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    /**
+     * Valores de la fila de un voluntario (se calculan solo cuando la fila se muestra)
+     */
+    private Object[] filaVoluntario(Voluntario vol) {
+        // Convertir habilidades de List<String> a String
+        String habilidadesStr = "";
+        if (vol.getHabilidades() != null && !vol.getHabilidades().isEmpty()) {
+            habilidadesStr = String.join(", ", vol.getHabilidades());
         }
+
+        // Obtener brigadas a las que pertenece
+        List<Brigada> brigadasDelVoluntario = gestorGeneral.getGestorBrigadas().obtenerBrigadasDeVoluntario(vol.getId());
+        String brigadasStr = formatBrigadasList(brigadasDelVoluntario);
+
+        return new Object[]{
+                vol.getId(),
+                vol.getNombre(),
+                vol.getEmail(),
+                vol.getTelefono(),
+                habilidadesStr,
+                brigadasStr,
+                "Editar|Asociar|Eliminar"
+        };
     }
 
     /**
@@ -1240,8 +1426,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaVoluntarios();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al registrar voluntario: " + ex.getMessage(),
@@ -1368,8 +1552,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaVoluntarios();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al actualizar voluntario: " + ex.getMessage(),
@@ -1547,7 +1729,6 @@ public class DashboardCoordUI extends JFrame {
         JButton cerrarBtn = new JButton("Cerrar");
         cerrarBtn.addActionListener(e -> {
             dialog.dispose();
-            actualizarTablaVoluntarios();
         });
 
         actionPanel.add(asociarBtn);
@@ -1651,10 +1832,6 @@ public class DashboardCoordUI extends JFrame {
                 JOptionPane.showMessageDialog(this,
                         "Voluntario '" + nombreVoluntario + "' eliminado exitosamente",
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
-
-                // Actualizar la tabla
-                actualizarTablaVoluntarios();
-
             } else {
                 JOptionPane.showMessageDialog(this,
                         "No se encontró el voluntario a eliminar",
@@ -1673,91 +1850,19 @@ public class DashboardCoordUI extends JFrame {
      * Busca voluntarios por término
      */
     private void buscarVoluntarios(String termino) {
-        if (termino == null || termino.trim().isEmpty()) {
-            actualizarTablaVoluntarios();
-            return;
-        }
-
-        try {
-            Component[] components = voluntariosPanel.getComponents();
-            JTable tabla = null;
-
-            for (Component comp : components) {
-                if (comp instanceof JScrollPane) {
-                    JViewport viewport = ((JScrollPane) comp).getViewport();
-                    if (viewport.getView() instanceof JTable) {
-                        tabla = (JTable) viewport.getView();
-                        break;
-                    }
-                }
-            }
-
-            if (tabla == null) return;
-
-            DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-            List<Voluntario> todosVoluntarios = gestorGeneral.getGestorUsuarios().obtenerVoluntarios();
-
-            // Limpiar la tabla
-            model.setRowCount(0);
-
-            String terminoLower = termino.toLowerCase();
-            for (Voluntario vol : todosVoluntarios) {
-                // Convertir habilidades a String para búsqueda
-                String habilidadesStr = "";
-                if (vol.getHabilidades() != null && !vol.getHabilidades().isEmpty()) {
-                    habilidadesStr = String.join(", ", vol.getHabilidades()).toLowerCase();
-                }
-
-                // Buscar en nombre, email, teléfono o habilidades
-                if (vol.getNombre().toLowerCase().contains(terminoLower) ||
-                        vol.getEmail().toLowerCase().contains(terminoLower) ||
-                        (vol.getTelefono() != null && vol.getTelefono().toLowerCase().contains(terminoLower)) ||
-                        habilidadesStr.contains(terminoLower)) {
-
-                    // Obtener brigadas a las que pertenece
-                    List<Brigada> brigadasDelVoluntario = gestorGeneral.getGestorBrigadas().obtenerBrigadasDeVoluntario(vol.getId());
-                    String brigadasStr = formatBrigadasList(brigadasDelVoluntario);
-
-                    model.addRow(new Object[]{
-                            vol.getId(),
-                            vol.getNombre(),
-                            vol.getEmail(),
-                            vol.getTelefono(),
-                            habilidadesStr.isEmpty() ? "" : String.join(", ", vol.getHabilidades()),
-                            brigadasStr,
-                            "Editar|Asociar|Eliminar"
-                    });
-                }
-            }
+        if (busquedaVoluntarios == null) return;
 
-            if (model.getRowCount() == 0) {
+        // Filtra las filas ya cargadas; con el término vacío vuelven a verse todas
+        busquedaVoluntarios.buscar(termino != null ? termino : "", texto ->
                 JOptionPane.showMessageDialog(this,
-                        "No se encontraron voluntarios que coincidan con: '" + termino + "'",
-                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE);
-            }
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error en la búsqueda: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+                        "No se encontraron voluntarios que coincidan con: '" + texto + "'",
+                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE));
     }
 
     private void actualizarTablaVoluntarios() {
         SwingUtilities.invokeLater(() -> {
-            // Buscar el JScrollPane en el panel de voluntarios
-            JScrollPane scrollPane = findScrollPaneInPanel(voluntariosPanel);
-
-            if (scrollPane != null) {
-                Component view = scrollPane.getViewport().getView();
-                if (view instanceof JTable) {
-                    JTable tabla = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-                    cargarVoluntariosEnTabla(model);
-                    tabla.repaint();
-                    tabla.revalidate();
-                }
+            if (modeloVoluntarios != null) {
+                cargarVoluntariosEnTabla();
             }
         });
     }
@@ -1784,9 +1889,8 @@ public class DashboardCoordUI extends JFrame {
      */
     private String generarIdVoluntario() {
         try {
-            List<Voluntario> voluntarios = gestorGeneral.getGestorUsuarios().obtenerVoluntarios();
-            int nextId = voluntarios.size() + 1;
-            return String.format("VOL-%03d", nextId);
+            // Vista previa: el ID definitivo se asigna al registrar
+            return gestorGeneral.getGestorUsuarios().verSiguienteIdVoluntario();
         } catch (Exception e) {
             return "VOL-001";
         }
@@ -1854,8 +1958,8 @@ public class DashboardCoordUI extends JFrame {
 
         panel.add(Box.createVerticalStrut(20)); // Espacio reducido
 
-        // Panel de Actividades Pendientes
-        panel.add(createActividadesPendientesPanel());
+        // Panel de Actividades Pendientes (se completa cuando llegan los datos)
+        panel.add(createActividadesPendientesPanel(null));
 
         panel.add(Box.createVerticalGlue());
 
@@ -1882,38 +1986,16 @@ public class DashboardCoordUI extends JFrame {
         loadingDialog.add(loadingPanel);
         loadingDialog.setVisible(true);
 
-        new Thread(() -> {
-            try {
-                // Actualizar todas las tablas
-                actualizarTodasLasTablas();
-
-                // Actualizar estadísticas
-                SwingUtilities.invokeLater(() -> {
-                    // Actualizar el panel de estadísticas
-                    actualizarEstadisticas();
-                });
-
-                Thread.sleep(500); // Dar tiempo para que se completen
-
-                SwingUtilities.invokeLater(() -> {
-                    loadingDialog.dispose();
-                    JOptionPane.showMessageDialog(this,
-                            "Dashboard actualizado exitosamente",
-                            "Actualización Completada",
-                            JOptionPane.INFORMATION_MESSAGE);
-                });
-
-            } catch (Exception e) {
-                e.printStackTrace();
-                SwingUtilities.invokeLater(() -> {
-                    loadingDialog.dispose();
-                    JOptionPane.showMessageDialog(this,
-                            "Error al actualizar: " + e.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                });
-            }
-        }).start();
+        // Las recargas se lanzan desde la cola del EDT; el aviso espera a que terminen todas las consultas
+        actualizarTodasLasTablas();
+        actualizarEstadisticas();
+        SwingUtilities.invokeLater(() -> cargador.alTerminar(() -> {
+            loadingDialog.dispose();
+            JOptionPane.showMessageDialog(this,
+                    "Dashboard actualizado exitosamente",
+                    "Actualización Completada",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }));
     }
 
     /**
@@ -1921,70 +2003,92 @@ public class DashboardCoordUI extends JFrame {
      */
     public void actualizarTodasLasTablas() {
         SwingUtilities.invokeLater(() -> {
-            actualizarTablaActividades();
-            actualizarTablaBrigadas();
-            actualizarTablaVoluntarios();
-            actualizarTablaRecursos();
-            cargarHistorialCompleto(); // Para reportes
+            recargarTarjeta("actividades");
+            recargarTarjeta("brigadas");
+            recargarTarjeta("voluntarios");
+            recargarTarjeta("recursos");
+            recargarTarjeta("reportes");
         });
     }
 
     /**
-     * Actualiza las estadísticas del dashboard (tarjetas de estadísticas)
+     * Datos de la tarjeta de inicio; se consultan fuera del EDT
+     */
+    private static final class DatosInicio {
+        int brigadasActivas;
+        int totalVoluntarios;
+        int actividadesProgramadas;
+        int recursosDisponibles;
+        List<Actividad> actividadesPendientes;
+    }
+
+    private DatosInicio consultarDatosInicio() {
+        DatosInicio datos = new DatosInicio();
+        datos.brigadasActivas = obtenerCantidadBrigadasActivas();
+        datos.totalVoluntarios = obtenerTotalVoluntarios();
+        datos.actividadesProgramadas = obtenerCantidadActividadesProgramadas();
+        datos.recursosDisponibles = obtenerPorcentajeRecursosDisponibles();
+        datos.actividadesPendientes = obtenerActividadesPendientesYEnProceso();
+        return datos;
+    }
+
+    /**
+     * Actualiza las estadísticas del dashboard (tarjetas de estadísticas); los conteos se calculan en segundo plano
      */
     private void actualizarEstadisticas() {
-        // Obtener los datos actualizados
-        int brigadasActivas = obtenerCantidadBrigadasActivas();
-        int totalVoluntarios = obtenerTotalVoluntarios();
-        int actividadesProgramadas = obtenerCantidadActividadesProgramadas();
-        int recursosDisponibles = obtenerPorcentajeRecursosDisponibles();
+        cargador.ejecutar("inicio", this::consultarDatosInicio, this::aplicarEstadisticas);
+    }
+
+    private void aplicarEstadisticas(DatosInicio datos) {
+        int brigadasActivas = datos.brigadasActivas;
+        int totalVoluntarios = datos.totalVoluntarios;
+        int actividadesProgramadas = datos.actividadesProgramadas;
+        int recursosDisponibles = datos.recursosDisponibles;
 
         // Encontrar y actualizar las tarjetas en el panel de inicio
-        SwingUtilities.invokeLater(() -> {
-            Component[] components = inicioPanel.getComponents();
+        Component[] components = inicioPanel.getComponents();
 
-            for (Component comp : components) {
-                if (comp instanceof JPanel) {
-                    JPanel panel = (JPanel) comp;
-
-                    // Buscar el panel de estadísticas (que tiene FlowLayout)
-                    if (panel.getLayout() instanceof FlowLayout) {
-                        Component[] cards = panel.getComponents();
-
-                        // Actualizar cada tarjeta
-                        for (int i = 0; i < cards.length && i < 4; i++) {
-                            if (cards[i] instanceof JPanel) {
-                                JPanel card = (JPanel) cards[i];
-
-                                // Actualizar según el índice
-                                switch (i) {
-                                    case 0: // Brigadas Activas
-                                        actualizarTarjetaEstadistica(card, "Brigadas Activas",
-                                                String.valueOf(brigadasActivas), "🏢", PRIMARY_BLUE);
-                                        break;
-                                    case 1: // Total Voluntarios
-                                        actualizarTarjetaEstadistica(card, "Total Voluntarios",
-                                                String.valueOf(totalVoluntarios), "👥", CARD_GREEN);
-                                        break;
-                                    case 2: // Actividades Programadas
-                                        actualizarTarjetaEstadistica(card, "Actividades Programadas",
-                                                String.valueOf(actividadesProgramadas), "📅", CARD_PURPLE);
-                                        break;
-                                    case 3: // Recursos Disponibles
-                                        actualizarTarjetaEstadistica(card, "Recursos Disponibles",
-                                                recursosDisponibles + "%", "📦", CARD_ORANGE);
-                                        break;
-                                }
+        for (Component comp : components) {
+            if (comp instanceof JPanel) {
+                JPanel panel = (JPanel) comp;
+
+                // Buscar el panel de estadísticas (que tiene FlowLayout)
+                if (panel.getLayout() instanceof FlowLayout) {
+                    Component[] cards = panel.getComponents();
+
+                    // Actualizar cada tarjeta
+                    for (int i = 0; i < cards.length && i < 4; i++) {
+                        if (cards[i] instanceof JPanel) {
+                            JPanel card = (JPanel) cards[i];
+
+                            // Actualizar según el índice
+                            switch (i) {
+                                case 0: // Brigadas Activas
+                                    actualizarTarjetaEstadistica(card, "Brigadas Activas",
+                                            String.valueOf(brigadasActivas), "🏢", PRIMARY_BLUE);
+                                    break;
+                                case 1: // Total Voluntarios
+                                    actualizarTarjetaEstadistica(card, "Total Voluntarios",
+                                            String.valueOf(totalVoluntarios), "👥", CARD_GREEN);
+                                    break;
+                                case 2: // Actividades Programadas
+                                    actualizarTarjetaEstadistica(card, "Actividades Programadas",
+                                            String.valueOf(actividadesProgramadas), "📅", CARD_PURPLE);
+                                    break;
+                                case 3: // Recursos Disponibles
+                                    actualizarTarjetaEstadistica(card, "Recursos Disponibles",
+                                            recursosDisponibles + "%", "📦", CARD_ORANGE);
+                                    break;
                             }
                         }
-                        break; // Salir del bucle una vez encontrado
                     }
+                    break; // Salir del bucle una vez encontrado
                 }
             }
+        }
 
-            // También actualizar el panel de actividades pendientes
-            actualizarActividadesPendientesPanel();
-        });
+        // También actualizar el panel de actividades pendientes
+        actualizarActividadesPendientesPanel(datos.actividadesPendientes);
     }
 
     /**
@@ -2044,7 +2148,7 @@ public class DashboardCoordUI extends JFrame {
     /**
      * Actualiza el panel de actividades pendientes
      */
-    private void actualizarActividadesPendientesPanel() {
+    private void actualizarActividadesPendientesPanel(List<Actividad> actividades) {
         // Buscar el panel de actividades pendientes
         Component[] components = inicioPanel.getComponents();
 
@@ -2063,7 +2167,7 @@ public class DashboardCoordUI extends JFrame {
                             panel.removeAll();
 
                             // Reconstruir el panel con datos actualizados
-                            JPanel nuevoPanelActividades = createActividadesPendientesPanel();
+                            JPanel nuevoPanelActividades = createActividadesPendientesPanel(actividades);
 
                             // Reemplazar el panel existente
                             inicioPanel.remove(panel);
@@ -2100,27 +2204,20 @@ public class DashboardCoordUI extends JFrame {
         statsPanel.setOpaque(false);
         statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        // Obtener datos reales
-        int brigadasActivas = obtenerCantidadBrigadasActivas();
-        int totalVoluntarios = obtenerTotalVoluntarios();
-        int actividadesProgramadas = obtenerCantidadActividadesProgramadas();
-        int recursosDisponibles = obtenerPorcentajeRecursosDisponibles();
+        // Los valores reales los pone actualizarEstadisticas() cuando termina la consulta
+        String cargando = "…";
 
         // 1. Brigadas Activas
-        statsPanel.add(createStatsCard("Brigadas Activas",
-                String.valueOf(brigadasActivas), "🏢", PRIMARY_BLUE));
+        statsPanel.add(createStatsCard("Brigadas Activas", cargando, "🏢", PRIMARY_BLUE));
 
         // 2. Total Voluntarios
-        statsPanel.add(createStatsCard("Total Voluntarios",
-                String.valueOf(totalVoluntarios), "👥", CARD_GREEN));
+        statsPanel.add(createStatsCard("Total Voluntarios", cargando, "👥", CARD_GREEN));
 
         // 3. Actividades Programadas
-        statsPanel.add(createStatsCard("Actividades Programadas",
-                String.valueOf(actividadesProgramadas), "📅", CARD_PURPLE));
+        statsPanel.add(createStatsCard("Actividades Programadas", cargando, "📅", CARD_PURPLE));
 
         // 4. Recursos Disponibles
-        statsPanel.add(createStatsCard("Recursos Disponibles",
-                recursosDisponibles + "%", "📦", CARD_ORANGE));
+        statsPanel.add(createStatsCard("Recursos Disponibles", cargando, "📦", CARD_ORANGE));
 
         return statsPanel;
     }
@@ -2186,47 +2283,21 @@ public class DashboardCoordUI extends JFrame {
         return card;
     }
 
-    // Métodos auxiliares para obtener datos
+    // Métodos auxiliares para obtener datos: los conteos se mantienen con los eventos, leerlos no recorre las listas
     private int obtenerCantidadBrigadasActivas() {
-        try {
-            return gestorGeneral.getGestorBrigadas().obtenerBrigadasActivas().size();
-        } catch (Exception e) {
-            return 0;
-        }
+        return gestorGeneral.getEstadisticas().getBrigadasActivas();
     }
 
     private int obtenerTotalVoluntarios() {
-        try {
-            return gestorGeneral.getGestorUsuarios().obtenerVoluntarios().size();
-        } catch (Exception e) {
-            return 0;
-        }
+        return gestorGeneral.getEstadisticas().getTotalVoluntarios();
     }
 
     private int obtenerCantidadActividadesProgramadas() {
-        try {
-            List<Actividad> todas = gestorActividades.obtenerTodasActividades();
-            int contador = 0;
-
-            for (Actividad actividad : todas) {
-                String estado = determinarEstado(actividad);
-                if ("Pendiente".equals(estado) || "En proceso".equals(estado)) {
-                    contador++;
-                }
-            }
-            return contador;
-        } catch (Exception e) {
-            return 0;
-        }
+        return gestorGeneral.getEstadisticas().getActividadesProgramadas();
     }
 
     private int obtenerPorcentajeRecursosDisponibles() {
-        try {
-            double porcentaje = gestorGeneral.getGestorRecursos().obtenerPorcentajeRecursosDisponibles();
-            return (int) Math.round(porcentaje);
-        } catch (Exception e) {
-            return 85;
-        }
+        return (int) Math.round(gestorGeneral.getEstadisticas().getPorcentajeRecursosDisponibles());
     }
 
     /**
@@ -2305,7 +2376,7 @@ public class DashboardCoordUI extends JFrame {
     /**
      * Crea el panel de actividades pendientes y en proceso con datos reales del sistema
      */
-    private JPanel createActividadesPendientesPanel() {
+    private JPanel createActividadesPendientesPanel(List<Actividad> actividades) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -2327,10 +2398,12 @@ public class DashboardCoordUI extends JFrame {
 
         panel.add(Box.createVerticalStrut(15));
 
-        // Obtener actividades pendientes y en proceso reales del sistema
-        List<Actividad> actividades = obtenerActividadesPendientesYEnProceso();
-
-        if (actividades.isEmpty()) {
+        if (actividades == null) {
+            // Todavía se están consultando
+            JPanel esqueleto = CargadorPaneles.crearContenedor();
+            CargadorPaneles.mostrarEsqueleto(esqueleto, 3);
+            panel.add(esqueleto);
+        } else if (actividades.isEmpty()) {
             JLabel noActividadesLabel = new JLabel("No hay actividades pendientes o en proceso en este momento.");
             noActividadesLabel.setFont(new Font("Arial", Font.ITALIC, 12));
             noActividadesLabel.setForeground(Color.GRAY);
@@ -2510,7 +2583,7 @@ public class DashboardCoordUI extends JFrame {
         String fechaStr = new java.text.SimpleDateFormat("dd/MM/yyyy").format(actividad.getFecha());
         String lugarStr = actividad.getLugar();
         String brigadaStr = actividad.getBrigadaAsociada() != null ?
-                actividad.getBrigadaAsociada().getNombre() : "Sin brigada";
+                actividad.getNombreBrigada() : "Sin brigada";
 
         JLabel detallesLabel = new JLabel(String.format("%s | %s | %s", fechaStr, lugarStr, brigadaStr));
         detallesLabel.setFont(new Font("Arial", Font.PLAIN, 10));
@@ -2589,14 +2662,10 @@ public class DashboardCoordUI extends JFrame {
 
         // Tabla de brigadas
         String[] columnNames = {"ID", "Nombre", "Tipo", "Zona", "Estado", "Voluntarios", "Acciones"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 6; // Solo la columna de acciones es editable
-            }
-        };
+        // Solo la columna de acciones es editable
+        modeloBrigadas = new ModeloTablaEntidades<>(columnNames, Brigada::getId, this::filaBrigada, 6);
 
-        JTable tabla = new JTable(model);
+        JTable tabla = new JTable(modeloBrigadas);
         tabla.setRowHeight(40);
         tabla.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         tabla.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -2615,7 +2684,7 @@ public class DashboardCoordUI extends JFrame {
         tabla.getColumnModel().getColumn(6).setCellEditor(new ButtonEditor(new JCheckBox(), tabla));
 
         // Cargar datos
-        cargarBrigadasEnTabla(model);
+        cargarBrigadasEnTabla();
 
         JScrollPane scrollPane = new JScrollPane(tabla);
         scrollPane.setPreferredSize(new Dimension(1100, 500));
@@ -2649,71 +2718,35 @@ public class DashboardCoordUI extends JFrame {
     }
 
     /**
-     * Carga las brigadas en la tabla
+     * Carga las brigadas en la tabla, actualizando solo las filas que cambiaron
      */
-    private void cargarBrigadasEnTabla(DefaultTableModel model) {
-        model.setRowCount(0); // Limpiar tabla
-
-        try {
-            List<Brigada> brigadas = gestorGeneral.getGestorBrigadas().obtenerTodasBrigadas();
+    private void cargarBrigadasEnTabla() {
+        cargador.ejecutar("brigadas", () -> gestorGeneral.getGestorBrigadas().obtenerTodasBrigadas(), modeloBrigadas::sincronizar,
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error cargando brigadas: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-            for (Brigada brigada : brigadas) {
-                model.addRow(new Object[]{
-                        brigada.getId(),
-                        brigada.getNombre(),
-                        brigada.getTipo(),
-                        brigada.getZona(),
-                        brigada.getEstado(),
-                        brigada.getCantidadVoluntarios(),
-                        "Editar|Eliminar|Ver"
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error cargando brigadas: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    private Object[] filaBrigada(Brigada brigada) {
+        return new Object[]{
+                brigada.getId(),
+                brigada.getNombre(),
+                brigada.getTipo(),
+                brigada.getZona(),
+                brigada.getEstado(),
+                brigada.getCantidadVoluntarios(),
+                "Editar|Eliminar|Ver"
+        };
     }
 
     private void actualizarTablaBrigadas() {
         SwingUtilities.invokeLater(() -> {
-            // Buscar el JScrollPane en el panel de brigadas
-            JScrollPane scrollPane = findScrollPaneInPanel(brigadasPanel);
-
-            if (scrollPane != null) {
-                Component view = scrollPane.getViewport().getView();
-                if (view instanceof JTable) {
-                    JTable tabla = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-                    cargarBrigadasEnTabla(model);
-                    tabla.repaint();
-                    tabla.revalidate();
-                }
+            if (modeloBrigadas != null) {
+                cargarBrigadasEnTabla();
             }
         });
     }
 
-    private JScrollPane findScrollPaneInPanel(JPanel panel) {
-        // Primero buscar directamente en los componentes
-        for (Component comp : panel.getComponents()) {
-            if (comp instanceof JScrollPane) {
-                return (JScrollPane) comp;
-            }
-        }
-
-        // Si no se encuentra, buscar recursivamente en subpaneles
-        for (Component comp : panel.getComponents()) {
-            if (comp instanceof JPanel) {
-                JScrollPane found = findScrollPaneInPanel((JPanel) comp);
-                if (found != null) {
-                    return found;
-                }
-            }
-        }
-
-        return null;
-    }
-
     // ===== MÉTODOS SIMPLIFICADOS PARA LAS DEMÁS SECCIONES =====
 // En DashboardCoordUI.java, reemplazar el método createActividadesPanel():
 
@@ -2742,14 +2775,10 @@ public class DashboardCoordUI extends JFrame {
 
         // Tabla de actividades
         String[] columnNames = {"ID", "Nombre", "Fecha", "Lugar", "Objetivo", "Brigada", "Estado", "Acciones"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 7; // Solo la columna de acciones es editable
-            }
-        };
+        // Solo la columna de acciones es editable
+        modeloActividades = new ModeloTablaEntidades<>(columnNames, Actividad::getId, this::filaActividad, 7);
 
-        JTable tabla = new JTable(model);
+        JTable tabla = new JTable(modeloActividades);
         tabla.setRowHeight(65);
         tabla.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         tabla.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -2768,8 +2797,13 @@ public class DashboardCoordUI extends JFrame {
         tabla.getColumnModel().getColumn(7).setCellRenderer(new ActividadesButtonRenderer());
         tabla.getColumnModel().getColumn(7).setCellEditor(new ActividadesButtonEditor(new JCheckBox(), tabla));
 
+        // Búsqueda sobre las filas ya cargadas
+        busquedaActividades = new BusquedaTabla<>(tabla, modeloActividades,
+                Actividad::getNombre, Actividad::getLugar, Actividad::getObjetivo,
+                act -> act.getBrigadaAsociada() != null ? act.getNombreBrigada() : "");
+
         // Cargar datos
-        cargarActividadesEnTabla(model);
+        cargarActividadesEnTabla();
 
         JScrollPane scrollPane = new JScrollPane(tabla);
         scrollPane.setPreferredSize(new Dimension(1100, 500));
@@ -2798,6 +2832,10 @@ public class DashboardCoordUI extends JFrame {
         JTextField searchField = new JTextField(25);
         searchField.setToolTipText("Buscar actividad por nombre, lugar o brigada");
         toolbar.add(searchField);
+        // La tabla se crea después de la barra, por eso se consulta la búsqueda recién al escribir
+        BusquedaTabla.alEscribir(searchField, texto -> {
+            if (busquedaActividades != null) busquedaActividades.programar(texto);
+        });
 
         JButton buscarBtn = new JButton("Buscar");
         buscarBtn.addActionListener(e -> buscarActividades(searchField.getText()));
@@ -3118,7 +3156,7 @@ public class DashboardCoordUI extends JFrame {
         infoPanel.add(new JLabel(actividad.getLugar()));
         infoPanel.add(new JLabel("Brigada asignada:"));
         infoPanel.add(new JLabel(actividad.getBrigadaAsociada() != null ?
-                actividad.getBrigadaAsociada().getNombre() : "Ninguna"));
+                actividad.getNombreBrigada() : "Ninguna"));
 
         mainPanel.add(infoPanel, BorderLayout.NORTH);
 
@@ -3561,7 +3599,7 @@ public class DashboardCoordUI extends JFrame {
 
                     if (confirm == JOptionPane.YES_OPTION) {
                         // Asignar brigada
-                        actividad.setBrigadaAsociada(brigadaSeleccionada);
+                        gestorActividades.asignarBrigadaAActividad(actividad.getId(), brigadaSeleccionada);
 
                         // Agregar todos los voluntarios de la brigada
                         List<Voluntario> voluntariosBrigada = gestorGeneral.getGestorBrigadas()
@@ -3692,10 +3730,10 @@ public class DashboardCoordUI extends JFrame {
                 // Buscar brigada actual
                 Brigada brigadaActual = actividad.getBrigadaAsociada();
 
-                if (brigadaActual != null && brigadaActual.getNombre().equals(brigadaNombre)) {
+                if (brigadaActual != null && actividad.getNombreBrigada().equals(brigadaNombre)) {
                     // Confirmar quitar brigada
                     int confirm = JOptionPane.showConfirmDialog(dialog,
-                            "¿Está seguro de quitar la brigada '" + brigadaActual.getNombre() + "'?\n" +
+                            "¿Está seguro de quitar la brigada '" + actividad.getNombreBrigada() + "'?\n" +
                                     "Esto quitará a todos los voluntarios que participan por esta brigada.",
                             "Confirmar quitar brigada",
                             JOptionPane.YES_NO_OPTION,
@@ -3703,7 +3741,7 @@ public class DashboardCoordUI extends JFrame {
 
                     if (confirm == JOptionPane.YES_OPTION) {
                         // Quitar brigada
-                        actividad.setBrigadaAsociada(null);
+                        gestorActividades.asignarBrigadaAActividad(actividad.getId(), null);
 
                         JOptionPane.showMessageDialog(dialog,
                                 "Brigada '" + brigadaNombre + "' quitada exitosamente",
@@ -3732,8 +3770,6 @@ public class DashboardCoordUI extends JFrame {
                     "Cambios guardados", JOptionPane.INFORMATION_MESSAGE);
 
             dialog.dispose();
-            actualizarTablaActividades();
-
         } catch (Exception e) {
             JOptionPane.showMessageDialog(dialog,
                     "Error al guardar cambios: " + e.getMessage(),
@@ -3847,8 +3883,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaActividades();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al registrar resultados: " + ex.getMessage(),
@@ -4012,8 +4046,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaActividades();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al actualizar actividad: " + ex.getMessage(),
@@ -4192,8 +4224,6 @@ public class DashboardCoordUI extends JFrame {
                         "Actividad Planificada (RF-04)", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaActividades();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al planificar actividad: " + ex.getMessage(),
@@ -4214,50 +4244,46 @@ public class DashboardCoordUI extends JFrame {
     }
 
     /**
-     * Carga las actividades en la tabla
+     * Carga las actividades en la tabla, actualizando solo las filas que cambiaron
      */
-    private void cargarActividadesEnTabla(DefaultTableModel model) {
-        model.setRowCount(0); // Limpiar tabla
-
-        try {
-            // CAMBIO: Usar el gestor real en lugar de simulado
-            List<Actividad> actividades = gestorActividades.obtenerTodasActividades();
-
-            for (Actividad actividad : actividades) {
-                String fechaStr = new java.text.SimpleDateFormat("dd/MM/yyyy").format(actividad.getFecha());
-                String brigadaNombre = actividad.getBrigadaAsociada() != null ?
-                        actividad.getBrigadaAsociada().getNombre() : "Sin asignar";
+    private void cargarActividadesEnTabla() {
+        cargador.ejecutar("actividades", gestorActividades::obtenerTodasActividades, modeloActividades::sincronizar,
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error cargando actividades: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-                // Determinar estado basado en fecha
-                String estado;
-                Date ahora = new Date();
-                if (actividad.getFecha().after(ahora)) {
-                    estado = "Pendiente";
-                } else if (actividad.getFecha().before(ahora) && actividad.getResultados() == null) {
-                    estado = "En proceso";
-                } else if (actividad.getResultados() != null) {
-                    estado = "Completada";
-                } else {
-                    estado = "Planificada";
-                }
+    /**
+     * Valores de la fila de una actividad; el estado depende de la fecha y de si ya tiene resultados
+     */
+    private Object[] filaActividad(Actividad actividad) {
+        String fechaStr = formatoFechaTabla.format(actividad.getFecha());
+        String brigadaNombre = actividad.getBrigadaAsociada() != null ?
+                actividad.getNombreBrigada() : "Sin asignar";
 
-                model.addRow(new Object[]{
-                        actividad.getId(),
-                        actividad.getNombre(),
-                        fechaStr,
-                        actividad.getLugar(),
-                        actividad.getObjetivo(),
-                        brigadaNombre,
-                        estado,
-                        "Asignar|Resultados|Editar|Eliminar"
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error cargando actividades: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        // Determinar estado basado en fecha
+        String estado;
+        Date ahora = new Date();
+        if (actividad.getFecha().after(ahora)) {
+            estado = "Pendiente";
+        } else if (actividad.getFecha().before(ahora) && actividad.getResultados() == null) {
+            estado = "En proceso";
+        } else if (actividad.getResultados() != null) {
+            estado = "Completada";
+        } else {
+            estado = "Planificada";
         }
+
+        return new Object[]{
+                actividad.getId(),
+                actividad.getNombre(),
+                fechaStr,
+                actividad.getLugar(),
+                actividad.getObjetivo(),
+                brigadaNombre,
+                estado,
+                "Asignar|Resultados|Editar|Eliminar"
+        };
     }
 
     /**
@@ -4265,18 +4291,8 @@ public class DashboardCoordUI extends JFrame {
      */
     private void actualizarTablaActividades() {
         SwingUtilities.invokeLater(() -> {
-            // Buscar el JScrollPane en el panel de actividades
-            JScrollPane scrollPane = findScrollPaneInPanel(actividadesPanel);
-
-            if (scrollPane != null) {
-                Component view = scrollPane.getViewport().getView();
-                if (view instanceof JTable) {
-                    JTable tabla = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-                    cargarActividadesEnTabla(model);
-                    tabla.repaint();
-                    tabla.revalidate();
-                }
+            if (modeloActividades != null) {
+                cargarActividadesEnTabla();
             }
         });
     }
@@ -4296,71 +4312,13 @@ public class DashboardCoordUI extends JFrame {
      * Busca actividades por término
      */
     private void buscarActividades(String termino) {
-        if (termino == null || termino.trim().isEmpty()) {
-            actualizarTablaActividades();
-            return;
-        }
-
-        try {
-            Component[] components = actividadesPanel.getComponents();
-            JTable tabla = null;
+        if (busquedaActividades == null) return;
 
-            for (Component comp : components) {
-                if (comp instanceof JScrollPane) {
-                    JViewport viewport = ((JScrollPane) comp).getViewport();
-                    if (viewport.getView() instanceof JTable) {
-                        tabla = (JTable) viewport.getView();
-                        break;
-                    }
-                }
-            }
-
-            if (tabla == null) return;
-
-            DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-            List<Actividad> actividadesEncontradas = gestorActividades.buscarActividades(termino);
-
-            // Limpiar la tabla
-            model.setRowCount(0);
-
-            String terminoLower = termino.toLowerCase();
-            for (Actividad actividad : actividadesEncontradas) {
-                // Buscar en nombre, lugar, objetivo o brigada
-                if (actividad.getNombre().toLowerCase().contains(terminoLower) ||
-                        actividad.getLugar().toLowerCase().contains(terminoLower) ||
-                        actividad.getObjetivo().toLowerCase().contains(terminoLower) ||
-                        (actividad.getBrigadaAsociada() != null &&
-                                actividad.getBrigadaAsociada().getNombre().toLowerCase().contains(terminoLower))) {
-
-                    String fechaStr = new java.text.SimpleDateFormat("dd/MM/yyyy").format(actividad.getFecha());
-                    String brigadaNombre = actividad.getBrigadaAsociada() != null ?
-                            actividad.getBrigadaAsociada().getNombre() : "Sin asignar";
-
-                    model.addRow(new Object[]{
-                            actividad.getId(),
-                            actividad.getNombre(),
-                            fechaStr,
-                            actividad.getLugar(),
-                            actividad.getObjetivo(),
-                            brigadaNombre,
-                            "Planificada",
-                            "Asignar|Resultados|Editar|Eliminar"
-                    });
-                }
-            }
-
-            if (model.getRowCount() == 0) {
+        // Filtra las filas ya cargadas; con el término vacío vuelven a verse todas
+        busquedaActividades.buscar(termino != null ? termino : "", texto ->
                 JOptionPane.showMessageDialog(this,
-                        "No se encontraron actividades que coincidan con: '" + termino + "'",
-                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE);
-            }
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error en la búsqueda: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+                        "No se encontraron actividades que coincidan con: '" + texto + "'",
+                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE));
     }
 
     /**
@@ -4404,8 +4362,6 @@ public class DashboardCoordUI extends JFrame {
                     "Actividad '" + nombre + "' eliminada exitosamente",
                     "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
-            actualizarTablaActividades();
-
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
                     "Error al eliminar actividad: " + ex.getMessage(),
@@ -4441,14 +4397,10 @@ public class DashboardCoordUI extends JFrame {
 
         // Tabla de recursos
         String[] columnNames = {"ID", "Nombre", "Categoría", "Stock Actual", "Umbral Alerta", "Capacidad Máx", "Unidad", "Estado", "Acciones"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 8; // Solo la columna de acciones es editable
-            }
-        };
+        // Solo la columna de acciones es editable
+        modeloRecursos = new ModeloTablaEntidades<>(columnNames, Recurso::getId, this::filaRecurso, 8);
 
-        JTable tabla = new JTable(model);
+        JTable tabla = new JTable(modeloRecursos);
         tabla.setRowHeight(65);
         tabla.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         tabla.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -4468,8 +4420,12 @@ public class DashboardCoordUI extends JFrame {
         tabla.getColumnModel().getColumn(8).setCellRenderer(new RecursosButtonRenderer());
         tabla.getColumnModel().getColumn(8).setCellEditor(new RecursosButtonEditor(new JCheckBox(), tabla));
 
+        // Búsqueda sobre las filas ya cargadas
+        busquedaRecursos = new BusquedaTabla<>(tabla, modeloRecursos,
+                Recurso::getNombre, Recurso::getCategoria, Recurso::getId);
+
         // Cargar datos
-        cargarRecursosEnTabla(model);
+        cargarRecursosEnTabla();
 
         JScrollPane scrollPane = new JScrollPane(tabla);
         scrollPane.setPreferredSize(new Dimension(1200, 500));
@@ -4500,6 +4456,10 @@ public class DashboardCoordUI extends JFrame {
         JTextField searchField = new JTextField(25);
         searchField.setToolTipText("Buscar recurso por nombre, categoría o ID");
         toolbar.add(searchField);
+        // La tabla se crea después de la barra, por eso se consulta la búsqueda recién al escribir
+        BusquedaTabla.alEscribir(searchField, texto -> {
+            if (busquedaRecursos != null) busquedaRecursos.programar(texto);
+        });
 
         JButton buscarBtn = new JButton("Buscar");
         buscarBtn.addActionListener(e -> buscarRecursos(searchField.getText()));
@@ -4519,47 +4479,36 @@ public class DashboardCoordUI extends JFrame {
     }
 
     /**
-     * Carga los recursos en la tabla
+     * Carga los recursos en la tabla, actualizando solo las filas que cambiaron
      */
-    private void cargarRecursosEnTabla(DefaultTableModel model) {
-        model.setRowCount(0); // Limpiar tabla
-
-        try {
-            List<Recurso> recursos = gestorGeneral.getGestorRecursos().obtenerTodosRecursos();
-
-            for (Recurso recurso : recursos) {
-                String estado;
-                Color estadoColor;
-
-                if (recurso.getStockActual() <= 0) {
-                    estado = "AGOTADO";
-                    estadoColor = Color.RED;
-                } else if (recurso.getStockActual() <= recurso.getUmbralAlerta()) {
-                    estado = "BAJO STOCK";
-                    estadoColor = Color.ORANGE;
-                } else {
-                    estado = "DISPONIBLE";
-                    estadoColor = new Color(0, 150, 0); // Verde
-                }
+    private void cargarRecursosEnTabla() {
+        cargador.ejecutar("recursos", () -> gestorGeneral.getGestorRecursos().obtenerTodosRecursos(), modeloRecursos::sincronizar,
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error cargando recursos: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-                model.addRow(new Object[]{
-                        recurso.getId(),
-                        recurso.getNombre(),
-                        recurso.getCategoria(),
-                        recurso.getStockActual(),
-                        recurso.getUmbralAlerta(),
-                        recurso.getCapacidadMaxima(),
-                        recurso.getUnidadMedida(),
-                        estado,
-                        "Editar|Reponer|Eliminar|Asignar"
-                });
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error cargando recursos: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+    private Object[] filaRecurso(Recurso recurso) {
+        String estado;
+        if (recurso.getStockActual() <= 0) {
+            estado = "AGOTADO";
+        } else if (recurso.getStockActual() <= recurso.getUmbralAlerta()) {
+            estado = "BAJO STOCK";
+        } else {
+            estado = "DISPONIBLE";
         }
+
+        return new Object[]{
+                recurso.getId(),
+                recurso.getNombre(),
+                recurso.getCategoria(),
+                recurso.getStockActual(),
+                recurso.getUmbralAlerta(),
+                recurso.getCapacidadMaxima(),
+                recurso.getUnidadMedida(),
+                estado,
+                "Editar|Reponer|Eliminar|Asignar"
+        };
     }
 
     /**
@@ -4567,18 +4516,8 @@ public class DashboardCoordUI extends JFrame {
      */
     private void actualizarTablaRecursos() {
         SwingUtilities.invokeLater(() -> {
-            // Buscar el JScrollPane en el panel de recursos
-            JScrollPane scrollPane = findScrollPaneInPanel(recursosPanel);
-
-            if (scrollPane != null) {
-                Component view = scrollPane.getViewport().getView();
-                if (view instanceof JTable) {
-                    JTable tabla = (JTable) view;
-                    DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-                    cargarRecursosEnTabla(model);
-                    tabla.repaint();
-                    tabla.revalidate();
-                }
+            if (modeloRecursos != null) {
+                cargarRecursosEnTabla();
             }
         });
     }
@@ -4698,8 +4637,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaRecursos();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al agregar recurso: " + ex.getMessage(),
@@ -4724,9 +4661,7 @@ public class DashboardCoordUI extends JFrame {
      */
     private String generarIdRecurso() {
         try {
-            List<Recurso> recursos = gestorGeneral.getGestorRecursos().obtenerTodosRecursos();
-            int nextId = recursos.size() + 1;
-            return String.format("REC-%03d", nextId);
+            return gestorGeneral.getGestorRecursos().generarIdRecurso();
         } catch (Exception e) {
             return "REC-001";
         }
@@ -4736,62 +4671,13 @@ public class DashboardCoordUI extends JFrame {
      * Busca recursos por término
      */
     private void buscarRecursos(String termino) {
-        if (termino == null || termino.trim().isEmpty()) {
-            actualizarTablaRecursos();
-            return;
-        }
-
-        try {
-            Component[] components = recursosPanel.getComponents();
-            JTable tabla = null;
-
-            for (Component comp : components) {
-                if (comp instanceof JScrollPane) {
-                    JViewport viewport = ((JScrollPane) comp).getViewport();
-                    if (viewport.getView() instanceof JTable) {
-                        tabla = (JTable) viewport.getView();
-                        break;
-                    }
-                }
-            }
-
-            if (tabla == null) return;
-
-            DefaultTableModel model = (DefaultTableModel) tabla.getModel();
-            List<Recurso> recursosEncontrados = gestorGeneral.getGestorRecursos().buscarRecursos(termino);
-
-            // Limpiar la tabla
-            model.setRowCount(0);
-
-            for (Recurso recurso : recursosEncontrados) {
-                String estado = recurso.getStockActual() <= recurso.getUmbralAlerta() ?
-                        "BAJO STOCK" : "DISPONIBLE";
-
-                model.addRow(new Object[]{
-                        recurso.getId(),
-                        recurso.getNombre(),
-                        recurso.getCategoria(),
-                        recurso.getStockActual(),
-                        recurso.getUmbralAlerta(),
-                        recurso.getCapacidadMaxima(),
-                        recurso.getUnidadMedida(),
-                        estado,
-                        "Editar|Reponer|Eliminar|Asignar"
-                });
-            }
+        if (busquedaRecursos == null) return;
 
-            if (model.getRowCount() == 0) {
+        // Filtra las filas ya cargadas; con el término vacío vuelven a verse todas
+        busquedaRecursos.buscar(termino != null ? termino : "", texto ->
                 JOptionPane.showMessageDialog(this,
-                        "No se encontraron recursos que coincidan con: '" + termino + "'",
-                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE);
-            }
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error en la búsqueda: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+                        "No se encontraron recursos que coincidan con: '" + texto + "'",
+                        "Búsqueda", JOptionPane.INFORMATION_MESSAGE));
     }
 
     /**
@@ -4867,8 +4753,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaRecursos();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al reponer stock: " + ex.getMessage(),
@@ -5168,8 +5052,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaRecursos();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al actualizar recurso: " + ex.getMessage(),
@@ -5318,7 +5200,6 @@ public class DashboardCoordUI extends JFrame {
                     }
 
                     gestorGeneral.getGestorRecursos().reponerStock(id, cantidad);
-                    actualizarTablaRecursos();
 
                 } catch (NumberFormatException e) {
                     JOptionPane.showMessageDialog(DashboardCoordUI.this,
@@ -5380,7 +5261,6 @@ public class DashboardCoordUI extends JFrame {
             JOptionPane.showMessageDialog(DashboardCoordUI.this,
                     "Recurso '" + nombre + "' eliminado exitosamente",
                     "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            actualizarTablaRecursos();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(DashboardCoordUI.this,
                     "Error al eliminar recurso: " + e.getMessage(),
@@ -5477,8 +5357,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito (RF-06)", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-                actualizarTablaRecursos();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al asignar recurso: " + ex.getMessage(),
@@ -5602,14 +5480,8 @@ public class DashboardCoordUI extends JFrame {
         toolbar.add(new JLabel("Brigada:"));
         JComboBox<String> brigadaCombo = new JComboBox<>();
         brigadaCombo.addItem("Todas");
-        try {
-            List<Brigada> brigadas = gestorGeneral.getGestorBrigadas().obtenerTodasBrigadas();
-            for (Brigada brigada : brigadas) {
-                brigadaCombo.addItem(brigada.getNombre());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        brigadaHistorialCombo = brigadaCombo;
+        cargarBrigadasHistorial();
         toolbar.add(brigadaCombo);
 
         toolbar.add(Box.createHorizontalStrut(20));
@@ -5641,6 +5513,11 @@ public class DashboardCoordUI extends JFrame {
         actualizarBtn.addActionListener(e -> cargarHistorialCompleto());
         toolbar.add(actualizarBtn);
 
+        JButton exportarBtn = new JButton("Exportar...");
+        exportarBtn.setToolTipText("Exportar resultados, actividades, voluntarios, brigadas o recursos a CSV/NDJSON");
+        exportarBtn.addActionListener(e -> new ExportacionDatos(this, gestorGeneral).mostrar());
+        toolbar.add(exportarBtn);
+
         panel.add(toolbar, BorderLayout.NORTH);
 
         // Tabla de historial
@@ -5697,21 +5574,32 @@ public class DashboardCoordUI extends JFrame {
     }
 
     /**
-     * Carga el historial completo en la tabla
+     * Llena el combo de brigadas del historial en segundo plano, conservando la brigada elegida
      */
-    private void cargarHistorialCompletoEnTabla(DefaultTableModel model) {
-        model.setRowCount(0); // Limpiar tabla
-
-        try {
-            List<Actividad> actividades = gestorActividades.obtenerTodasActividades();
-            cargarActividadesEnTabla(model, actividades);
+    private void cargarBrigadasHistorial() {
+        cargador.ejecutar("reportes:brigadas", () -> gestorGeneral.getGestorBrigadas().obtenerTodasBrigadas(),
+                brigadas -> {
+                    Object seleccionada = brigadaHistorialCombo.getSelectedItem();
+                    brigadaHistorialCombo.removeAllItems();
+                    brigadaHistorialCombo.addItem("Todas");
+                    for (Brigada brigada : brigadas) {
+                        brigadaHistorialCombo.addItem(brigada.getNombre());
+                    }
+                    if (seleccionada != null) {
+                        brigadaHistorialCombo.setSelectedItem(seleccionada);
+                    }
+                });
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error cargando historial: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+    /**
+     * Carga el historial completo en la tabla; la consulta corre en segundo plano
+     */
+    private void cargarHistorialCompletoEnTabla(DefaultTableModel model) {
+        cargador.ejecutar("reportes:historial", gestorActividades::obtenerTodasActividades,
+                actividades -> cargarActividadesEnTabla(model, actividades),
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error cargando historial: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -5730,7 +5618,7 @@ public class DashboardCoordUI extends JFrame {
         for (Actividad actividad : actividades) {
             String fechaStr = new java.text.SimpleDateFormat("dd/MM/yyyy").format(actividad.getFecha());
             String brigadaNombre = actividad.getBrigadaAsociada() != null ?
-                    actividad.getBrigadaAsociada().getNombre() : "Sin asignar";
+                    actividad.getNombreBrigada() : "Sin asignar";
 
             // Estado
             String estado = actividad.getFecha().after(ahora) ? "Pendiente" : "Completada";
@@ -5778,6 +5666,7 @@ public class DashboardCoordUI extends JFrame {
      * Filtra el historial de manera simplificada
      */
     private void filtrarHistorialSimplicado(int filtroIndex, int brigadaIndex, String busqueda) {
+        cargador.cancelar("reportes:historial"); // Que una recarga pendiente no reemplace el filtrado
         try {
             List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
             List<Actividad> actividadesFiltradas = new ArrayList<>();
@@ -5820,7 +5709,7 @@ public class DashboardCoordUI extends JFrame {
                 // Aplicar filtro de brigada
                 if (pasaFiltro && brigadaIndex > 0) {
                     if (actividad.getBrigadaAsociada() == null ||
-                            !actividad.getBrigadaAsociada().getNombre().equals(brigadaNombre)) {
+                            !actividad.getNombreBrigada().equals(brigadaNombre)) {
                         pasaFiltro = false;
                     }
                 }
@@ -5831,7 +5720,7 @@ public class DashboardCoordUI extends JFrame {
                             actividad.getNombre().toLowerCase().contains(busquedaLower) ||
                                     actividad.getLugar().toLowerCase().contains(busquedaLower) ||
                                     (actividad.getBrigadaAsociada() != null &&
-                                            actividad.getBrigadaAsociada().getNombre().toLowerCase().contains(busquedaLower));
+                                            actividad.getNombreBrigada().toLowerCase().contains(busquedaLower));
 
                     if (!coincide) pasaFiltro = false;
                 }
@@ -6042,7 +5931,7 @@ public class DashboardCoordUI extends JFrame {
         info.append("-".repeat(30)).append("\n");
         if (actividad.getBrigadaAsociada() != null) {
             Brigada brigada = actividad.getBrigadaAsociada();
-            info.append("• Nombre: ").append(brigada.getNombre()).append("\n");
+            info.append("• Nombre: ").append(actividad.getNombreBrigada()).append("\n");
             info.append("• ID: ").append(brigada.getId()).append("\n");
             info.append("• Tipo: ").append(brigada.getTipo()).append("\n");
             info.append("• Zona: ").append(brigada.getZona()).append("\n");
@@ -6170,7 +6059,7 @@ public class DashboardCoordUI extends JFrame {
                 if (voluntariosUnicos.add(vol.getId())) {
                     todosVoluntarios.add(vol);
                     info.append("• ").append(vol.getNombre())
-                            .append(" (Por brigada: ").append(actividad.getBrigadaAsociada().getNombre()).append(")\n")
+                            .append(" (Por brigada: ").append(actividad.getNombreBrigada()).append(")\n")
                             .append("  Email: ").append(vol.getEmail()).append("\n");
 
                     if (vol.getHabilidades() != null && !vol.getHabilidades().isEmpty()) {
@@ -6188,7 +6077,7 @@ public class DashboardCoordUI extends JFrame {
                 info.append("• Total de voluntarios: ").append(todosVoluntarios.size()).append("\n");
                 info.append("• Por asignación directa: ").append(voluntariosDirectos.size()).append("\n");
                 if (actividad.getBrigadaAsociada() != null) {
-                    info.append("• Por brigada '").append(actividad.getBrigadaAsociada().getNombre())
+                    info.append("• Por brigada '").append(actividad.getNombreBrigada())
                             .append("': ").append(voluntariosPorBrigada.size()).append("\n");
                 }
             }
@@ -6256,6 +6145,34 @@ public class DashboardCoordUI extends JFrame {
         return panel;
     }
 
+    /**
+     * Líderes de los rankings que mantiene GestorResultados (no recorre el historial)
+     */
+    private String crearTextoLideres(int cantidad) {
+        GestorResultados gestorResultados = gestorGeneral.getGestorResultados();
+        StringBuilder texto = new StringBuilder("\nLÍDERES:\n");
+
+        texto.append("Actividades con mayor impacto:\n");
+        for (ResultadoActividad resultado : gestorResultados.obtenerTopActividadesImpacto(cantidad)) {
+            texto.append(String.format("  • %s (%.1f)%n", resultado.getNombreActividad(), resultado.calcularImpacto()));
+        }
+
+        texto.append("Voluntarios con más horas:\n");
+        for (HorasVoluntario horas : gestorResultados.obtenerTopVoluntariosPorHoras(cantidad)) {
+            Voluntario vol = gestorGeneral.getGestorUsuarios().buscarVoluntarioPorId(horas.getVoluntarioId());
+            String nombre = vol != null ? vol.getNombre() : horas.getVoluntarioId();
+            texto.append(String.format("  • %s (%.1fh)%n", nombre, horas.getTotalHoras()));
+        }
+
+        texto.append("Brigadas con más beneficiados:\n");
+        for (ResumenImpacto resumen : gestorResultados.obtenerTopBrigadasPorBeneficiados(cantidad)) {
+            Brigada brigada = gestorGeneral.getGestorBrigadas().buscarBrigadaPorId(resumen.getGrupo());
+            String nombre = brigada != null ? brigada.getNombre() : resumen.getGrupo();
+            texto.append(String.format("  • %s (%d personas)%n", nombre, resumen.getPersonasBeneficiadas()));
+        }
+        return texto.toString();
+    }
+
     private JPanel crearPanelError(Exception e) {
         JPanel panel = new JPanel(new BorderLayout());
         JLabel error = new JLabel("<html><center><h3>Error</h3><p>" + e.getMessage() + "</p></center></html>");
@@ -6315,7 +6232,7 @@ public class DashboardCoordUI extends JFrame {
                     actividadesCompletadas > 0 ? (actividadesConResultados * 100.0 / actividadesCompletadas) : 0,
                     actividadesSinResultados,
                     actividadesCompletadas > 0 ? (actividadesSinResultados * 100.0 / actividadesCompletadas) : 0
-            );
+            ) + crearTextoLideres(3);
 
             JTextArea textArea = new JTextArea(estadisticas);
             textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
@@ -6553,9 +6470,6 @@ public class DashboardCoordUI extends JFrame {
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
 
                 dialog.dispose();
-
-                actualizarTablaBrigadas();
-
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(dialog,
                         "Error al crear brigada: " + ex.getMessage(),
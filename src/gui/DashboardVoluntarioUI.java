@@ -2,13 +2,19 @@ package gui;
 
 import model.*;
 import gestores.*;
+import exceptions.PersistenciaException;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class DashboardVoluntarioUI extends JFrame {
 
@@ -29,6 +35,7 @@ public class DashboardVoluntarioUI extends JFrame {
     // COMPONENTES PRINCIPALES
     // ============================================
     private Voluntario voluntario;
+    private ContextoAplicacion contexto;
     private GestorGeneral gestorGeneral;
     private GestorActividades gestorActividades;
     private CardLayout cardLayout;
@@ -43,6 +50,15 @@ public class DashboardVoluntarioUI extends JFrame {
     private JPanel perfilPanel;
     private JPanel actividadesPanel;
 
+    // Paneles que quedaron con datos viejos según los eventos de los gestores; se reconstruyen al mostrarse
+    private final Set<String> panelesDesactualizados = new HashSet<>();
+    private String panelVisible = "inicio";
+    private ColaEventosUI colaEventos;
+    private Consumer<GestorGeneral> oyenteRecarga;
+
+    // Consultas de los paneles en segundo plano (una por tarjeta)
+    private final CargadorPaneles cargador = new CargadorPaneles();
+
     // Componentes de perfil
     private JTextField perfilNombreField;
     private JTextField perfilTelefonoField;
@@ -57,12 +73,74 @@ public class DashboardVoluntarioUI extends JFrame {
     // ============================================
     // CONSTRUCTOR Y CONFIGURACIÓN INICIAL
     // ============================================
-    public DashboardVoluntarioUI(Voluntario voluntario, GestorGeneral gestorGeneral) {
+    public DashboardVoluntarioUI(Voluntario voluntario, ContextoAplicacion contexto) {
         this.voluntario = voluntario;
-        this.gestorGeneral = gestorGeneral;
+        this.contexto = contexto;
+        this.gestorGeneral = contexto.getGestorGeneral();
         this.gestorActividades = gestorGeneral.getGestorActividades();
         configurarVentana();
         initUI();
+        suscribirEventos();
+    }
+
+    private void suscribirEventos() {
+        colaEventos = new ColaEventosUI(gestorGeneral.getBusEventos(), this::aplicarEventos);
+        colaEventos.iniciar();
+        oyenteRecarga = contexto.alRecargar(nuevo -> SwingUtilities.invokeLater(() -> reabrirCon(nuevo)));
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                contexto.quitarOyenteRecarga(oyenteRecarga);
+                colaEventos.detener();
+                cargador.cancelarTodas();
+            }
+        });
+    }
+
+    /**
+     * Los datos se recargaron: esta ventana guarda referencias a los gestores anteriores (ya cerrados),
+     * así que se reemplaza por una nueva enlazada a los gestores nuevos
+     */
+    private void reabrirCon(GestorGeneral nuevo) {
+        if (!isDisplayable()) {
+            return;
+        }
+        Voluntario actualizado = nuevo.getGestorUsuarios().buscarVoluntarioPorId(voluntario.getId());
+        if (actualizado != null) {
+            new DashboardVoluntarioUI(actualizado, contexto);
+        } else {
+            new gui.LoginUI(contexto);
+        }
+        dispose();
+    }
+
+    /**
+     * Marca los paneles afectados por el lote de eventos; el visible se reconstruye enseguida
+     * y los demás recién cuando el voluntario vuelva a abrirlos
+     */
+    private void aplicarEventos(List<EventoDominio> lote) {
+        for (EventoDominio evento : lote) {
+            if (evento instanceof EventoDominio.ActividadCreada
+                    || evento instanceof EventoDominio.ActividadActualizada
+                    || evento instanceof EventoDominio.ActividadEliminada) {
+                panelesDesactualizados.add("actividades");
+                panelesDesactualizados.add("inicio");
+            } else if (evento instanceof EventoDominio.VoluntarioAsignado
+                    || evento instanceof EventoDominio.VoluntarioRetirado) {
+                if (voluntario.getId().equals(evento.getEntidadId())) {
+                    panelesDesactualizados.add("actividades");
+                    panelesDesactualizados.add("brigadas");
+                    panelesDesactualizados.add("inicio");
+                }
+            } else if (evento instanceof EventoDominio.BrigadaActualizada
+                    || evento instanceof EventoDominio.BrigadaEliminada) {
+                panelesDesactualizados.add("brigadas");
+                panelesDesactualizados.add("inicio");
+            }
+        }
+        if (panelesDesactualizados.contains(panelVisible)) {
+            cambiarPanel(panelVisible);
+        }
     }
 
     private void configurarVentana() {
@@ -300,7 +378,14 @@ public class DashboardVoluntarioUI extends JFrame {
                         JOptionPane.YES_NO_OPTION
                 );
                 if (confirm == JOptionPane.YES_OPTION) {
-                    new gui.LoginUI();
+                    try {
+                        gestorGeneral.sincronizarPersistencia();
+                    } catch (PersistenciaException ex) {
+                        JOptionPane.showMessageDialog(DashboardVoluntarioUI.this,
+                                "Error al guardar los cambios pendientes: " + ex.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                    new gui.LoginUI(contexto);
                     dispose();
                 }
             }
@@ -332,6 +417,15 @@ public class DashboardVoluntarioUI extends JFrame {
 
     private void cambiarPanel(String nombrePanel) {
         cardLayout.show(cardPanel, nombrePanel);
+        panelVisible = nombrePanel;
+
+        // Lo que se estaba cargando para otras tarjetas ya no se ve: se cancela y se vuelve a cargar al mostrarlas
+        panelesDesactualizados.addAll(cargador.cancelarExcepto(nombrePanel));
+
+        // Los paneles se reconstruyen solo si algún cambio los dejó desactualizados (el perfil se relee siempre)
+        if (!panelesDesactualizados.remove(nombrePanel) && !"perfil".equals(nombrePanel)) {
+            return;
+        }
 
         // Actualizar datos específicos del panel
         switch (nombrePanel) {
@@ -381,8 +475,10 @@ public class DashboardVoluntarioUI extends JFrame {
         innerPanel.add(crearEncabezadoInicio());
         innerPanel.add(Box.createVerticalStrut(30));
 
-        // Tarjetas de estadísticas
-        innerPanel.add(crearPanelEstadisticas());
+        // Tarjetas de estadísticas (se consultan en segundo plano junto con las actividades próximas)
+        JPanel estadisticasContenedor = CargadorPaneles.crearContenedor();
+        CargadorPaneles.mostrarEsqueleto(estadisticasContenedor, 2);
+        innerPanel.add(estadisticasContenedor);
         innerPanel.add(Box.createVerticalStrut(30));
 
         // Información personal
@@ -390,9 +486,16 @@ public class DashboardVoluntarioUI extends JFrame {
         innerPanel.add(Box.createVerticalStrut(30));
 
         // Actividades próximas
-        innerPanel.add(crearSeccionActividadesProximas());
+        JPanel proximasContenedor = CargadorPaneles.crearContenedor();
+        CargadorPaneles.mostrarEsqueleto(proximasContenedor, 3);
+        innerPanel.add(proximasContenedor);
         innerPanel.add(Box.createVerticalGlue());
 
+        cargador.ejecutar("inicio", this::consultarDatosInicio, datos -> {
+            CargadorPaneles.reemplazar(estadisticasContenedor, crearPanelEstadisticas(datos));
+            CargadorPaneles.reemplazar(proximasContenedor, crearSeccionActividadesProximas(datos.proximas));
+        });
+
         contentPanel.add(innerPanel);
 
         // ScrollPane con tamaño preferido fijo
@@ -427,241 +530,70 @@ public class DashboardVoluntarioUI extends JFrame {
 
         return panel;
     }
-    private JPanel crearPanelEstadisticas() {
-        JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 0));
-        statsPanel.setOpaque(false);
-        statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        statsPanel.setMaximumSize(new Dimension(800, 120));
+    /**
+     * Datos del panel de inicio; se consultan fuera del EDT
+     */
+    private static final class DatosInicio {
+        int misParticipaciones;
+        int proximasActividades;
+        double horasAportadas;
+        List<Actividad> proximas;
+    }
+
+    private DatosInicio consultarDatosInicio() {
+        DatosInicio datos = new DatosInicio();
 
         // 1. Calcular horas aportadas solo de actividades COMPLETADAS
-        double horasAportadas = calcularHorasDeActividadesCompletadas();
+        datos.horasAportadas = calcularHorasDeActividadesCompletadas();
 
         // 2. Calcular estadísticas de actividades NO completadas
         List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-        List<Actividad> actividadesPendientes = new ArrayList<>();
-        List<Actividad> actividadesNoCompletadas = new ArrayList<>();
+        Date ahora = new Date();
 
-        int misParticipaciones = 0;
         for (Actividad actividad : todasActividades) {
             String estado = actividad.determinarEstado();
 
             // Contar actividades pendientes (futuras)
-            if (actividad.getFecha().after(new Date())) {
-                actividadesPendientes.add(actividad);
+            if (actividad.getFecha().after(ahora)) {
+                datos.proximasActividades++;
             }
 
             // Contar mis participaciones en actividades NO completadas
             if (!estado.equals("Completada") &&
                     gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-                misParticipaciones++;
-            }
-
-            // Para la lista de actividades no completadas
-            if (!estado.equals("Completada")) {
-                actividadesNoCompletadas.add(actividad);
+                datos.misParticipaciones++;
             }
         }
 
+        // 3. Actividades próximas para la sección inferior
+        datos.proximas = gestorActividades.obtenerActividadesPendientes();
+        return datos;
+    }
+
+    private JPanel crearPanelEstadisticas(DatosInicio datos) {
+        JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 0));
+        statsPanel.setOpaque(false);
+        statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        statsPanel.setMaximumSize(new Dimension(800, 120));
+
         statsPanel.add(crearTarjetaEstadistica("Mis Participaciones",
-                String.valueOf(misParticipaciones), "📅", PRIMARY_BLUE));
+                String.valueOf(datos.misParticipaciones), "📅", PRIMARY_BLUE));
 
         // Usar las horas calculadas desde actividades COMPLETADAS
         statsPanel.add(crearTarjetaEstadistica("Horas Aportadas",
-                String.format("%.1fh", horasAportadas), "🕒", CARD_GREEN));
+                String.format("%.1fh", datos.horasAportadas), "🕒", CARD_GREEN));
 
         statsPanel.add(crearTarjetaEstadistica("Próximas Actividades",
-                String.valueOf(actividadesPendientes.size()), "🗓️", CARD_PURPLE));
+                String.valueOf(datos.proximasActividades), "🗓️", CARD_PURPLE));
 
         return statsPanel;
     }
 
     /**
-     * Método nuevo: Calcula horas solo de actividades COMPLETADAS
+     * Horas aportadas por el voluntario, leídas del libro de horas que se actualiza al registrar resultados
      */
     private double calcularHorasDeActividadesCompletadas() {
-        double horasTotales = 0.0;
-
-        try {
-            List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-            GestorResultados gestorResultados = gestorGeneral.getGestorResultados();
-
-            for (Actividad actividad : todasActividades) {
-                String estado = actividad.determinarEstado();
-
-                // Solo considerar actividades COMPLETADAS
-                if (estado.equals("Completada") &&
-                        gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-
-                    // Obtener resultados de la actividad
-                    ResultadoActividad resultado = gestorResultados.obtenerResultadoPorActividad(actividad.getId());
-
-                    if (resultado != null) {
-                        List<String> voluntariosParticipantes = resultado.getVoluntariosParticipantes();
-                        String voluntarioId = voluntario.getId();
-
-                        // Opción 1: Si hay lista específica de participantes
-                        if (voluntariosParticipantes != null && !voluntariosParticipantes.isEmpty()) {
-                            if (voluntariosParticipantes.contains(voluntarioId)) {
-                                horasTotales += resultado.getHorasTrabajadas();
-                            }
-                        }
-                        // Opción 2: Si no hay lista específica, asumir participación
-                        else {
-                            horasTotales += resultado.getHorasTrabajadas();
-                        }
-                    }
-                }
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error al calcular horas de actividades completadas: " + e.getMessage());
-            // En caso de error, usar método alternativo
-            horasTotales = calcularHorasAlternativo();
-        }
-
-        return horasTotales;
-    }
-
-    /**
-     * Método alternativo para cálculo de horas
-     */
-    private double calcularHorasAlternativo() {
-        double horasTotales = 0.0;
-
-        try {
-            List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-
-            for (Actividad actividad : todasActividades) {
-                String estado = actividad.determinarEstado();
-
-                if (estado.equals("Completada") &&
-                        gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-
-                    // Si no hay resultados, usar un cálculo aproximado basado en duración típica
-                    // Suponer 4 horas por actividad completada si no hay información específica
-                    horasTotales += 4.0; // Ajusta este valor según sea necesario
-                }
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error en cálculo alternativo: " + e.getMessage());
-            horasTotales = voluntario.getHorasAcumuladas();
-        }
-
-        return horasTotales;
-    }
-
-    /**
-     * Nuevo método: Calcula las horas aportadas del voluntario a partir de resultados de actividades
-     */
-    private double calcularHorasAportadasDesdeResultados() {
-        double horasTotales = 0.0;
-
-        try {
-            // Obtener todas las actividades
-            List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-
-            for (Actividad actividad : todasActividades) {
-                // Verificar si el voluntario participó en esta actividad
-                if (gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-
-                    // Buscar si hay resultados registrados para esta actividad
-                    ResultadoActividad resultado = gestorGeneral.getGestorResultados()
-                            .obtenerResultadoPorActividad(actividad.getId());
-
-                    if (resultado != null) {
-                        // Si hay resultados, verificar si el voluntario está en la lista de participantes
-                        List<String> voluntariosParticipantes = resultado.getVoluntariosParticipantes();
-                        String voluntarioId = voluntario.getId();
-
-                        // Opción 1: Si el resultado tiene lista específica de participantes
-                        if (voluntariosParticipantes != null && !voluntariosParticipantes.isEmpty()) {
-                            if (voluntariosParticipantes.contains(voluntarioId)) {
-                                // Sumar horas del resultado
-                                horasTotales += resultado.getHorasTrabajadas();
-                            }
-                        }
-                        // Opción 2: Si no hay lista específica, pero el voluntario estaba inscrito
-                        else {
-                            // Sumar las horas totales de la actividad (asumiendo participación completa)
-                            horasTotales += resultado.getHorasTrabajadas();
-                        }
-                    }
-                }
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error al calcular horas desde resultados: " + e.getMessage());
-            // En caso de error, usar las horas acumuladas del voluntario
-            horasTotales = voluntario.getHorasAcumuladas();
-        }
-
-        return horasTotales;
-    }
-
-    /**
-     * Método alternativo más preciso: Calcula horas basándose en distribución proporcional
-     */
-    private double calcularHorasAportadasProporcionales() {
-        double horasTotales = 0.0;
-
-        try {
-            List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-            GestorResultados gestorResultados = gestorGeneral.getGestorResultados();
-
-            for (Actividad actividad : todasActividades) {
-                if (gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-
-                    ResultadoActividad resultado = gestorResultados.obtenerResultadoPorActividad(actividad.getId());
-
-                    if (resultado != null) {
-                        double horasActividad = resultado.getHorasTrabajadas();
-                        int voluntariosTotales = actividad.getVoluntariosAsignados().size();
-
-                        if (voluntariosTotales > 0) {
-                            // Distribuir horas proporcionalmente entre voluntarios
-                            double horasPorVoluntario = horasActividad / voluntariosTotales;
-                            horasTotales += horasPorVoluntario;
-                        }
-                    }
-                }
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error en cálculo proporcional: " + e.getMessage());
-            horasTotales = voluntario.getHorasAcumuladas();
-        }
-
-        return horasTotales;
-    }
-
-    /**
-     * Método mejorado: Usa la lista específica de voluntarios participantes del resultado
-     */
-    private double calcularHorasAportadasPrecisas() {
-        double horasTotales = 0.0;
-
-        try {
-            // Obtener todos los resultados
-            GestorResultados gestorResultados = gestorGeneral.getGestorResultados();
-            List<ResultadoActividad> todosResultados = gestorResultados.obtenerTodosResultados();
-
-            for (ResultadoActividad resultado : todosResultados) {
-                List<String> voluntariosParticipantes = resultado.getVoluntariosParticipantes();
-
-                if (voluntariosParticipantes != null && voluntariosParticipantes.contains(voluntario.getId())) {
-                    // Sumar las horas de este resultado
-                    horasTotales += resultado.getHorasTrabajadas();
-                }
-            }
-
-        } catch (Exception e) {
-            System.err.println("Error en cálculo preciso: " + e.getMessage());
-            // Volver al método anterior si hay error
-            horasTotales = calcularHorasAportadasDesdeResultados();
-        }
-
-        return horasTotales;
+        return gestorGeneral.getGestorResultados().obtenerHorasVoluntario(voluntario.getId());
     }
 
     private JPanel crearTarjetaEstadistica(String titulo, String valor, String icono, Color colorIcono) {
@@ -762,7 +694,7 @@ public class DashboardVoluntarioUI extends JFrame {
         panel.add(row);
     }
 
-    private JPanel crearSeccionActividadesProximas() {
+    private JPanel crearSeccionActividadesProximas(List<Actividad> actividadesPendientes) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setOpaque(false);
@@ -776,9 +708,6 @@ public class DashboardVoluntarioUI extends JFrame {
 
         panel.add(Box.createVerticalStrut(15));
 
-        // Obtener actividades próximas
-        List<Actividad> actividadesPendientes = gestorActividades.obtenerActividadesPendientes();
-
         if (actividadesPendientes.isEmpty()) {
             JLabel noActivitiesLabel = new JLabel("No hay actividades próximas disponibles");
             noActivitiesLabel.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -996,13 +925,17 @@ public class DashboardVoluntarioUI extends JFrame {
     }
 
     private JPanel crearPanelInfoSistema() {
-        JPanel infoPanel = new JPanel(new GridLayout(2, 2, 10, 5));
+        JPanel infoPanel = new JPanel(new GridLayout(3, 2, 10, 5));
         infoPanel.setOpaque(false);
 
+        GestorResultados gestorResultados = gestorGeneral.getGestorResultados();
         agregarInfoItem(infoPanel, "ID de Usuario:", voluntario.getId());
-        agregarInfoItem(infoPanel, "Horas Acumuladas:", voluntario.getHorasAcumuladas() + " horas");
+        agregarInfoItem(infoPanel, "Horas Acumuladas:",
+                String.format("%.1f horas", gestorResultados.obtenerHorasVoluntario(voluntario.getId())));
+        agregarInfoItem(infoPanel, "Actividades con horas:",
+                String.valueOf(gestorResultados.obtenerDesgloseHorasVoluntario(voluntario.getId()).size()));
 
-        infoPanel.setMaximumSize(new Dimension(400, 60));
+        infoPanel.setMaximumSize(new Dimension(400, 90));
         return infoPanel;
     }
 
@@ -1140,7 +1073,9 @@ public class DashboardVoluntarioUI extends JFrame {
         innerPanelDisponibles.add(Box.createVerticalStrut(30));
 
         // Lista de actividades DISPONIBLES (excluyendo completadas)
-        innerPanelDisponibles.add(crearListaActividadesDisponibles());
+        JPanel disponiblesContenedor = CargadorPaneles.crearContenedor();
+        CargadorPaneles.mostrarEsqueleto(disponiblesContenedor, 4);
+        innerPanelDisponibles.add(disponiblesContenedor);
         innerPanelDisponibles.add(Box.createVerticalGlue());
 
         contentPanelDisponibles.add(innerPanelDisponibles);
@@ -1173,7 +1108,9 @@ public class DashboardVoluntarioUI extends JFrame {
         innerPanelCompletadas.add(Box.createVerticalStrut(30));
 
         // Sección de actividades completadas
-        innerPanelCompletadas.add(crearSeccionActividadesCompletadas());
+        JPanel completadasContenedor = CargadorPaneles.crearContenedor();
+        CargadorPaneles.mostrarEsqueleto(completadasContenedor, 4);
+        innerPanelCompletadas.add(completadasContenedor);
         innerPanelCompletadas.add(Box.createVerticalGlue());
 
         contentPanelCompletadas.add(innerPanelCompletadas);
@@ -1195,6 +1132,13 @@ public class DashboardVoluntarioUI extends JFrame {
         tabbedPane.setBackgroundAt(0, new Color(240, 248, 255));
         tabbedPane.setBackgroundAt(1, new Color(240, 248, 255));
 
+        // Ambas pestañas salen de la misma consulta; los filtros se aplican ya en el EDT
+        cargador.ejecutar("actividades", this::consultarDatosActividades, datos -> {
+            CargadorPaneles.reemplazar(disponiblesContenedor, crearListaActividadesDisponibles(datos.noCompletadas));
+            CargadorPaneles.reemplazar(completadasContenedor,
+                    crearSeccionActividadesCompletadas(datos.misCompletadas, datos.horasAportadas));
+        });
+
         container.add(tabbedPane, BorderLayout.CENTER);
         return container;
     }
@@ -1229,16 +1173,13 @@ public class DashboardVoluntarioUI extends JFrame {
     }
 
     // Método modificado: Lista solo actividades NO completadas
-    private JPanel crearListaActividadesDisponibles() {
+    private JPanel crearListaActividadesDisponibles(List<Actividad> actividades) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setOpaque(false);
         panel.setAlignmentX(Component.LEFT_ALIGNMENT);
         panel.setMaximumSize(new Dimension(800, 1000));
 
-        // Obtener solo actividades NO completadas
-        List<Actividad> actividades = obtenerActividadesNoCompletadas();
-
         if (actividades.isEmpty()) {
             panel.add(crearMensajeSinActividades());
         } else {
@@ -1247,12 +1188,7 @@ public class DashboardVoluntarioUI extends JFrame {
             if (actividadesFiltradas.isEmpty()) {
                 panel.add(crearMensajeSinResultados());
             } else {
-                for (int i = 0; i < actividadesFiltradas.size(); i++) {
-                    panel.add(crearTarjetaActividad(actividadesFiltradas.get(i)));
-                    if (i < actividadesFiltradas.size() - 1) {
-                        panel.add(Box.createVerticalStrut(20));
-                    }
-                }
+                panel.add(crearListaTarjetasActividades(actividadesFiltradas, false));
             }
         }
 
@@ -1277,48 +1213,59 @@ public class DashboardVoluntarioUI extends JFrame {
     // ============================================
 // SECCIÓN DE ACTIVIDADES COMPLETADAS
 // ============================================
-    private JPanel crearSeccionActividadesCompletadas() {
-        JPanel panel = new JPanel();
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-        panel.setOpaque(false);
-        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        panel.setMaximumSize(new Dimension(800, 1000));
+    /**
+     * Datos de las pestañas de actividades; se consultan fuera del EDT
+     */
+    private static final class DatosActividades {
+        List<Actividad> noCompletadas;
+        List<Actividad> misCompletadas;
+        double horasAportadas;
+    }
 
-        // Obtener actividades completadas en las que participó
-        List<Actividad> todasActividades = gestorActividades.obtenerTodasActividades();
-        List<Actividad> misActividadesCompletadas = new ArrayList<>();
+    private DatosActividades consultarDatosActividades() {
+        DatosActividades datos = new DatosActividades();
+        datos.noCompletadas = obtenerActividadesNoCompletadas();
 
-        for (Actividad actividad : todasActividades) {
+        // Obtener actividades completadas en las que participó
+        datos.misCompletadas = new ArrayList<>();
+        for (Actividad actividad : gestorActividades.obtenerTodasActividades()) {
             String estado = actividad.determinarEstado();
             if (estado.equals("Completada") &&
                     gestorActividades.estaVoluntarioEnActividad(actividad.getId(), voluntario.getId())) {
-                misActividadesCompletadas.add(actividad);
+                datos.misCompletadas.add(actividad);
             }
         }
+        // Ordenar por fecha (más recientes primero)
+        datos.misCompletadas.sort((a1, a2) -> a2.getFecha().compareTo(a1.getFecha()));
+
+        datos.horasAportadas = calcularHorasDeActividadesCompletadas();
+        return datos;
+    }
+
+    private JPanel crearSeccionActividadesCompletadas(List<Actividad> misActividadesCompletadas, double horasAportadas) {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setOpaque(false);
+        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.setMaximumSize(new Dimension(800, 1000));
 
         // Panel de estadísticas de actividades completadas
-        panel.add(crearEstadisticasCompletadas(misActividadesCompletadas));
+        panel.add(crearEstadisticasCompletadas(misActividadesCompletadas, horasAportadas));
         panel.add(Box.createVerticalStrut(20));
 
         if (misActividadesCompletadas.isEmpty()) {
             panel.add(crearMensajeSinActividadesCompletadas());
         } else {
-            // Ordenar por fecha (más recientes primero)
-            misActividadesCompletadas.sort((a1, a2) -> a2.getFecha().compareTo(a1.getFecha()));
-
-            for (int i = 0; i < misActividadesCompletadas.size(); i++) {
-                panel.add(crearTarjetaActividadCompletada(misActividadesCompletadas.get(i)));
-                if (i < misActividadesCompletadas.size() - 1) {
-                    panel.add(Box.createVerticalStrut(15));
-                }
-            }
+            ListaTarjetas<Actividad> lista = crearListaTarjetasActividades(misActividadesCompletadas, true);
+            lista.setPreferredSize(new Dimension(800, 360));
+            panel.add(lista);
         }
 
         return panel;
     }
 
     // Panel de estadísticas de actividades completadas
-    private JPanel crearEstadisticasCompletadas(List<Actividad> actividadesCompletadas) {
+    private JPanel crearEstadisticasCompletadas(List<Actividad> actividadesCompletadas, double totalHoras) {
         JPanel statsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 15, 0));
         statsPanel.setOpaque(false);
         statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -1330,7 +1277,6 @@ public class DashboardVoluntarioUI extends JFrame {
         ));
 
         int totalActividades = actividadesCompletadas.size();
-        double totalHoras = calcularHorasDeActividadesCompletadas();
 
         JLabel actividadesLabel = new JLabel("Actividades Completadas: " + totalActividades);
         actividadesLabel.setFont(new Font("Arial", Font.BOLD, 14));
@@ -1388,63 +1334,6 @@ public class DashboardVoluntarioUI extends JFrame {
         return label;
     }
 
-    // Tarjeta especial para actividades completadas
-    private JPanel crearTarjetaActividadCompletada(Actividad actividad) {
-        JPanel card = crearTarjetaActividad(actividad);
-
-        // Agregar encabezado especial para actividad completada
-        JPanel headerPanel = new JPanel(new BorderLayout());
-        headerPanel.setOpaque(false);
-        headerPanel.setMaximumSize(new Dimension(760, 40));
-        headerPanel.setBorder(new EmptyBorder(0, 0, 10, 0));
-
-        JLabel completadaLabel = new JLabel("✓ COMPLETADA");
-        completadaLabel.setFont(new Font("Arial", Font.BOLD, 12));
-        completadaLabel.setForeground(CARD_GREEN);
-        completadaLabel.setBackground(new Color(76, 175, 80, 20));
-        completadaLabel.setOpaque(true);
-        completadaLabel.setBorder(new EmptyBorder(5, 10, 5, 10));
-        completadaLabel.setHorizontalAlignment(SwingConstants.CENTER);
-
-        headerPanel.add(completadaLabel, BorderLayout.WEST);
-
-        // Mostrar resultados si existen
-        if (actividad.getResultados() != null && !actividad.getResultados().isEmpty()) {
-            JButton verResultadosBtn = new JButton("Ver Resultados");
-            verResultadosBtn.setFont(new Font("Arial", Font.PLAIN, 11));
-            verResultadosBtn.setBackground(new Color(76, 175, 80));
-            verResultadosBtn.setForeground(Color.WHITE);
-            verResultadosBtn.setFocusPainted(false);
-            verResultadosBtn.addActionListener(e -> mostrarResultadosActividad(actividad));
-            headerPanel.add(verResultadosBtn, BorderLayout.EAST);
-        }
-
-        // Deshabilitar botón "Participar" en actividades completadas
-        Component[] components = card.getComponents();
-        for (Component comp : components) {
-            if (comp instanceof JPanel) {
-                Component[] subComponents = ((JPanel) comp).getComponents();
-                for (Component subComp : subComponents) {
-                    if (subComp instanceof JButton) {
-                        JButton btn = (JButton) subComp;
-                        if (btn.getText().equals("Participar") || btn.getText().equals("Ya Inscrito")) {
-                            btn.setText("Completada");
-                            btn.setBackground(CARD_GREEN);
-                            btn.setEnabled(false);
-                        }
-                    }
-                }
-            }
-        }
-
-        JPanel wrapper = new JPanel();
-        wrapper.setLayout(new BoxLayout(wrapper, BoxLayout.Y_AXIS));
-        wrapper.add(headerPanel);
-        wrapper.add(card);
-
-        return wrapper;
-    }
-
     // Método para mostrar resultados de actividad completada
     private void mostrarResultadosActividad(Actividad actividad) {
         StringBuilder detalles = new StringBuilder();
@@ -1619,12 +1508,7 @@ public class DashboardVoluntarioUI extends JFrame {
             if (actividadesFiltradas.isEmpty()) {
                 panel.add(crearMensajeSinResultados());
             } else {
-                for (int i = 0; i < actividadesFiltradas.size(); i++) {
-                    panel.add(crearTarjetaActividad(actividadesFiltradas.get(i)));
-                    if (i < actividadesFiltradas.size() - 1) {
-                        panel.add(Box.createVerticalStrut(20));
-                    }
-                }
+                panel.add(crearListaTarjetasActividades(actividadesFiltradas, false));
             }
         }
 
@@ -1694,7 +1578,7 @@ public class DashboardVoluntarioUI extends JFrame {
         String icono = obtenerIconoActividad(actividad);
         String fechaFormateada = new SimpleDateFormat("dd MMM yyyy • HH:mm").format(actividad.getFecha());
         String brigadaNombre = actividad.getBrigadaAsociada() != null ?
-                actividad.getBrigadaAsociada().getNombre() : "Sin brigada asignada";
+                actividad.getNombreBrigada() : "Sin brigada asignada";
 
         int maxVoluntarios = 20;
 
@@ -1964,7 +1848,6 @@ public class DashboardVoluntarioUI extends JFrame {
                                 "Recibirás más detalles por correo electrónico.",
                         "Inscripción Exitosa",
                         JOptionPane.INFORMATION_MESSAGE);
-                actualizarPanelActividades();
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                         "Error al inscribirse: " + ex.getMessage(),
@@ -2015,6 +1898,232 @@ public class DashboardVoluntarioUI extends JFrame {
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
+    // ============================================
+    // LISTA VIRTUAL DE TARJETAS DE ACTIVIDAD
+    // ============================================
+    private ListaTarjetas<Actividad> crearListaTarjetasActividades(List<Actividad> actividades, boolean completadas) {
+        ListaTarjetas<Actividad> lista = new ListaTarjetas<>(actividades,
+                new TarjetaActividadRenderer(completadas), this::pulsarEnTarjetaActividad);
+        lista.setFondo(BACKGROUND_GRAY);
+        return lista;
+    }
+
+    private void pulsarEnTarjetaActividad(Actividad actividad, String comando) {
+        switch (comando) {
+            case "participar":
+                manejarInscripcion(actividad.getNombre(), actividad.getId());
+                break;
+            case "detalles":
+                int inscritos = actividad.getVoluntariosAsignados() != null ? actividad.getVoluntariosAsignados().size() : 0;
+                String brigadaNombre = actividad.getBrigadaAsociada() != null ?
+                        actividad.getNombreBrigada() : "Sin brigada asignada";
+                mostrarDetallesActividad(actividad.getNombre(), actividad.getId(),
+                        " " + new SimpleDateFormat("dd MMM yyyy • HH:mm").format(actividad.getFecha()),
+                        " " + actividad.getLugar(), brigadaNombre, actividad.getObjetivo(),
+                        inscritos, 20, actividad.getVoluntariosAsignados() != null &&
+                                actividad.getVoluntariosAsignados().containsKey(voluntario.getId()));
+                break;
+            case "resultados":
+                mostrarResultadosActividad(actividad);
+                break;
+        }
+    }
+
+    /**
+     * Una sola tarjeta de actividad que se rellena con los datos de cada fila visible de la lista.
+     * Reproduce el diseño de crearTarjetaActividadDetallada (y el de la tarjeta de completadas).
+     */
+    private class TarjetaActividadRenderer implements ListCellRenderer<Actividad> {
+        private final boolean completadas;
+        private final SimpleDateFormat formatoFecha = new SimpleDateFormat("dd MMM yyyy • HH:mm");
+        private final JPanel celda = new JPanel(new BorderLayout());
+        private final JLabel icono = new JLabel();
+        private final JLabel titulo = new JLabel();
+        private final JLabel subtitulo = new JLabel();
+        private final JLabel cupos = new JLabel();
+        private final JLabel fecha = new JLabel();
+        private final JLabel lugar = new JLabel();
+        private final JTextArea descripcion = new JTextArea();
+        private final JLabel inscritosLabel = new JLabel();
+        private final JProgressBar progreso = new JProgressBar(0, 20);
+        private final JButton participar = new JButton();
+        private final JButton detalles = new JButton("Ver Detalles");
+        private final JButton resultados = new JButton("Ver Resultados");
+
+        TarjetaActividadRenderer(boolean completadas) {
+            this.completadas = completadas;
+
+            JPanel card = new JPanel();
+            card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
+            card.setBackground(Color.WHITE);
+            card.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(BORDER_GRAY, 1),
+                    new EmptyBorder(20, 20, 20, 20)
+            ));
+
+            if (completadas) {
+                JPanel banda = new JPanel(new BorderLayout());
+                banda.setOpaque(false);
+                banda.setAlignmentX(Component.LEFT_ALIGNMENT);
+                banda.setMaximumSize(new Dimension(760, 40));
+                banda.setBorder(new EmptyBorder(0, 0, 10, 0));
+
+                JLabel completadaLabel = new JLabel("✓ COMPLETADA");
+                completadaLabel.setFont(new Font("Arial", Font.BOLD, 12));
+                completadaLabel.setForeground(CARD_GREEN);
+                completadaLabel.setBackground(new Color(76, 175, 80, 20));
+                completadaLabel.setOpaque(true);
+                completadaLabel.setBorder(new EmptyBorder(5, 10, 5, 10));
+                banda.add(completadaLabel, BorderLayout.WEST);
+
+                resultados.setFont(new Font("Arial", Font.PLAIN, 11));
+                resultados.setBackground(new Color(76, 175, 80));
+                resultados.setForeground(Color.WHITE);
+                resultados.setFocusPainted(false);
+                resultados.setActionCommand("resultados");
+                banda.add(resultados, BorderLayout.EAST);
+                card.add(banda);
+            }
+
+            // 1. Encabezado (Título y Cupos)
+            JPanel header = new JPanel(new BorderLayout());
+            header.setOpaque(false);
+            header.setAlignmentX(Component.LEFT_ALIGNMENT);
+            header.setMaximumSize(new Dimension(760, 60));
+            JPanel titleGroup = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+            titleGroup.setOpaque(false);
+            icono.setFont(new Font("Arial", Font.BOLD, 24));
+            titleGroup.add(icono);
+            JPanel textGroup = new JPanel();
+            textGroup.setLayout(new BoxLayout(textGroup, BoxLayout.Y_AXIS));
+            textGroup.setOpaque(false);
+            titulo.setFont(new Font("Arial", Font.BOLD, 18));
+            textGroup.add(titulo);
+            subtitulo.setFont(new Font("Arial", Font.PLAIN, 12));
+            subtitulo.setForeground(TEXT_GRAY);
+            textGroup.add(subtitulo);
+            titleGroup.add(textGroup);
+            header.add(titleGroup, BorderLayout.WEST);
+            cupos.setFont(new Font("Arial", Font.BOLD, 12));
+            cupos.setBorder(new EmptyBorder(5, 10, 5, 10));
+            cupos.setOpaque(true);
+            header.add(cupos, BorderLayout.EAST);
+            card.add(header);
+            card.add(Box.createVerticalStrut(15));
+
+            // 2. Información de fecha y ubicación
+            JPanel metaPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 30, 0));
+            metaPanel.setOpaque(false);
+            metaPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            metaPanel.setMaximumSize(new Dimension(760, 30));
+            fecha.setFont(new Font("Arial", Font.PLAIN, 12));
+            lugar.setFont(new Font("Arial", Font.PLAIN, 12));
+            metaPanel.add(fecha);
+            metaPanel.add(lugar);
+            card.add(metaPanel);
+            card.add(Box.createVerticalStrut(15));
+
+            // 3. Descripción (alto fijo: todas las filas de la lista miden lo mismo)
+            descripcion.setFont(new Font("Arial", Font.PLAIN, 12));
+            descripcion.setLineWrap(true);
+            descripcion.setWrapStyleWord(true);
+            descripcion.setEditable(false);
+            descripcion.setBackground(Color.WHITE);
+            descripcion.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(BORDER_GRAY, 1),
+                    BorderFactory.createEmptyBorder(10, 0, 10, 0)));
+            descripcion.setAlignmentX(Component.LEFT_ALIGNMENT);
+            descripcion.setPreferredSize(new Dimension(760, 70));
+            descripcion.setMaximumSize(new Dimension(760, 70));
+            card.add(descripcion);
+            card.add(Box.createVerticalStrut(15));
+
+            // 4. Barra de progreso
+            JPanel progressPanel = new JPanel(new BorderLayout(10, 0));
+            progressPanel.setOpaque(false);
+            progressPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            progressPanel.setMaximumSize(new Dimension(760, 30));
+            inscritosLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+            progressPanel.add(inscritosLabel, BorderLayout.WEST);
+            progreso.setStringPainted(false);
+            progreso.setBackground(new Color(220, 220, 220));
+            progreso.setPreferredSize(new Dimension(400, 20));
+            progressPanel.add(progreso, BorderLayout.CENTER);
+            card.add(progressPanel);
+            card.add(Box.createVerticalStrut(20));
+
+            // 5. Botones de acción
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+            buttonPanel.setOpaque(false);
+            buttonPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            buttonPanel.setMaximumSize(new Dimension(760, 50));
+            participar.setForeground(Color.WHITE);
+            participar.setFocusPainted(false);
+            participar.setFont(new Font("Arial", Font.BOLD, 14));
+            participar.setPreferredSize(new Dimension(120, 35));
+            participar.setActionCommand("participar");
+            detalles.setBackground(Color.WHITE);
+            detalles.setForeground(PRIMARY_BLUE);
+            detalles.setFocusPainted(false);
+            detalles.setFont(new Font("Arial", Font.PLAIN, 14));
+            detalles.setBorder(BorderFactory.createLineBorder(PRIMARY_BLUE, 1));
+            detalles.setPreferredSize(new Dimension(120, 35));
+            detalles.setActionCommand("detalles");
+            buttonPanel.add(participar);
+            buttonPanel.add(detalles);
+            card.add(buttonPanel);
+
+            celda.setOpaque(false);
+            celda.setBorder(new EmptyBorder(0, 0, 20, 0)); // Separación entre tarjetas
+            celda.add(card, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Actividad> list, Actividad actividad,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            int maxVoluntarios = 20;
+            java.util.Map<String, String> voluntariosMap = actividad.getVoluntariosAsignados();
+            int inscritos = voluntariosMap != null ? voluntariosMap.size() : 0;
+            int cuposDisponibles = maxVoluntarios - inscritos;
+            boolean yaInscrito = voluntariosMap != null && voluntariosMap.containsKey(voluntario.getId());
+            Color colorEstado = obtenerColorEstado(actividad, inscritos, maxVoluntarios);
+
+            icono.setText(obtenerIconoActividad(actividad));
+            titulo.setText(actividad.getNombre());
+            subtitulo.setText(actividad.getBrigadaAsociada() != null ?
+                    actividad.getNombreBrigada() : "Sin brigada asignada");
+            cupos.setText(cuposDisponibles > 0 ? cuposDisponibles + " cupos disponibles" : "Completado");
+            cupos.setForeground(colorEstado);
+            cupos.setBackground(new Color(colorEstado.getRed(), colorEstado.getGreen(), colorEstado.getBlue(), 20));
+            fecha.setText(" " + formatoFecha.format(actividad.getFecha()));
+            lugar.setText(" " + actividad.getLugar());
+            descripcion.setText(actividad.getObjetivo());
+            inscritosLabel.setText(inscritos + "/" + maxVoluntarios + " voluntarios inscritos");
+            progreso.setValue(inscritos);
+            progreso.setForeground(colorEstado);
+
+            if (completadas) {
+                participar.setText("Completada");
+                participar.setBackground(CARD_GREEN);
+                participar.setEnabled(false);
+                resultados.setVisible(actividad.getResultados() != null && !actividad.getResultados().isEmpty());
+            } else if (yaInscrito) {
+                participar.setText("Ya Inscrito");
+                participar.setBackground(CARD_GREEN);
+                participar.setEnabled(false);
+            } else if (inscritos >= maxVoluntarios) {
+                participar.setText("Completado");
+                participar.setBackground(CARD_RED);
+                participar.setEnabled(false);
+            } else {
+                participar.setText("Participar");
+                participar.setBackground(PRIMARY_BLUE);
+                participar.setEnabled(true);
+            }
+            return celda;
+        }
+    }
+
     // Métodos nuevos para el panel de brigadas:
     private JPanel crearPanelBrigadas() {
         JPanel container = new JPanel(new BorderLayout());
@@ -2034,8 +2143,13 @@ public class DashboardVoluntarioUI extends JFrame {
         innerPanel.add(Box.createVerticalStrut(30));
         innerPanel.add(crearPanelFiltrosBrigadas());
         innerPanel.add(Box.createVerticalStrut(30));
-        innerPanel.add(crearListaBrigadas());
+
+        JPanel listaContenedor = CargadorPaneles.crearContenedor();
+        innerPanel.add(listaContenedor);
         innerPanel.add(Box.createVerticalGlue());
+        cargador.cargar("brigadas", listaContenedor,
+                () -> gestorGeneral.getGestorBrigadas().obtenerBrigadasDeVoluntario(voluntario.getId()),
+                this::crearListaBrigadas);
 
         contentPanel.add(innerPanel);
 
@@ -2147,15 +2261,13 @@ public class DashboardVoluntarioUI extends JFrame {
         return filterPanel;
     }
 
-    private JPanel crearListaBrigadas() {
+    private JPanel crearListaBrigadas(List<Brigada> misBrigadas) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setOpaque(false);
         panel.setAlignmentX(Component.LEFT_ALIGNMENT);
         panel.setMaximumSize(new Dimension(800, 1000));
 
-        List<Brigada> misBrigadas = gestorGeneral.getGestorBrigadas().obtenerBrigadasDeVoluntario(voluntario.getId());
-
         if (misBrigadas.isEmpty()) {
             panel.add(crearMensajeSinBrigadas());
         } else {
@@ -2164,12 +2276,10 @@ public class DashboardVoluntarioUI extends JFrame {
             if (brigadasFiltradas.isEmpty()) {
                 panel.add(crearMensajeSinResultadosBrigadas());
             } else {
-                for (int i = 0; i < brigadasFiltradas.size(); i++) {
-                    panel.add(crearTarjetaBrigada(brigadasFiltradas.get(i)));
-                    if (i < brigadasFiltradas.size() - 1) {
-                        panel.add(Box.createVerticalStrut(20));
-                    }
-                }
+                ListaTarjetas<Brigada> lista = new ListaTarjetas<>(brigadasFiltradas,
+                        new TarjetaBrigadaRenderer(), this::pulsarEnTarjetaBrigada);
+                lista.setFondo(BACKGROUND_GRAY);
+                panel.add(lista);
             }
         }
 
@@ -2229,27 +2339,6 @@ public class DashboardVoluntarioUI extends JFrame {
         return true;
     }
 
-    private JPanel crearTarjetaBrigada(Brigada brigada) {
-        String icono = obtenerIconoBrigada(brigada);
-        String coordinadorNombre = brigada.getCoordinador() != null ?
-                brigada.getCoordinador().getNombre() : "Sin coordinador asignado";
-        int totalVoluntarios = brigada.getVoluntarios().size();
-        Color colorEstado = obtenerColorEstadoBrigada(brigada.getEstado());
-
-        return crearTarjetaBrigadaDetallada(
-                brigada.getNombre(),
-                icono,
-                brigada.getTipo(),
-                " " + brigada.getEstado(),
-                " " + brigada.getZona(),
-                coordinadorNombre,
-                brigada.getDescripcion(),
-                totalVoluntarios,
-                brigada.getId(),
-                colorEstado
-        );
-    }
-
     private String obtenerIconoBrigada(Brigada brigada) {
         String tipo = brigada.getTipo().toLowerCase();
 
@@ -2287,143 +2376,6 @@ public class DashboardVoluntarioUI extends JFrame {
         }
     }
 
-    private JPanel crearTarjetaBrigadaDetallada(String titulo, String icono, String tipo,
-                                                String estado, String zona, String coordinador,
-                                                String descripcion, int totalVoluntarios,
-                                                String brigadaId, Color colorEstado) {
-
-        JPanel card = new JPanel();
-        card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
-        card.setAlignmentX(Component.LEFT_ALIGNMENT);
-        card.setBackground(Color.WHITE);
-        card.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(BORDER_GRAY, 1),
-                new EmptyBorder(20, 20, 20, 20)
-        ));
-        card.setMaximumSize(new Dimension(800, 300));
-
-        card.add(crearEncabezadoBrigadaCard(titulo, icono, tipo, estado, colorEstado));
-        card.add(Box.createVerticalStrut(15));
-        card.add(crearInfoBasicaBrigada(zona, coordinador, totalVoluntarios));
-        card.add(Box.createVerticalStrut(15));
-        card.add(crearDescripcionBrigada(descripcion));
-        card.add(Box.createVerticalStrut(15));
-        card.add(crearBotonesAccionBrigada(brigadaId, titulo, descripcion, tipo, zona,
-                coordinador, totalVoluntarios, estado));
-
-        return card;
-    }
-
-    private JPanel crearEncabezadoBrigadaCard(String titulo, String icono, String tipo,
-                                              String estado, Color colorEstado) {
-        JPanel header = new JPanel(new BorderLayout());
-        header.setOpaque(false);
-        header.setMaximumSize(new Dimension(760, 60));
-
-        JPanel titleGroup = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
-        titleGroup.setOpaque(false);
-
-        JLabel brigadaIcon = new JLabel(icono);
-        brigadaIcon.setFont(new Font("Arial", Font.BOLD, 24));
-        titleGroup.add(brigadaIcon);
-
-        JPanel textGroup = new JPanel();
-        textGroup.setLayout(new BoxLayout(textGroup, BoxLayout.Y_AXIS));
-        textGroup.setOpaque(false);
-        textGroup.setMaximumSize(new Dimension(600, 60));
-
-        JLabel titleLabel = new JLabel(titulo);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        textGroup.add(titleLabel);
-
-        JLabel typeLabel = new JLabel("Tipo: " + tipo);
-        typeLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        typeLabel.setForeground(TEXT_GRAY);
-        textGroup.add(typeLabel);
-
-        titleGroup.add(textGroup);
-        header.add(titleGroup, BorderLayout.WEST);
-
-        JLabel statusLabel = new JLabel(estado.trim());
-        statusLabel.setFont(new Font("Arial", Font.BOLD, 12));
-        statusLabel.setForeground(colorEstado);
-        statusLabel.setBorder(new EmptyBorder(5, 10, 5, 10));
-        statusLabel.setBackground(new Color(colorEstado.getRed(), colorEstado.getGreen(),
-                colorEstado.getBlue(), 20));
-        statusLabel.setOpaque(true);
-        header.add(statusLabel, BorderLayout.EAST);
-
-        return header;
-    }
-
-    private JPanel crearInfoBasicaBrigada(String zona, String coordinador, int totalVoluntarios) {
-        JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 30, 0));
-        infoPanel.setOpaque(false);
-        infoPanel.setMaximumSize(new Dimension(760, 30));
-
-        JLabel zonaLabel = new JLabel("📍 " + zona);
-        zonaLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        infoPanel.add(zonaLabel);
-
-        JLabel coordinadorLabel = new JLabel("👤 Coordinador: " + coordinador);
-        coordinadorLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        infoPanel.add(coordinadorLabel);
-
-        JLabel voluntariosLabel = new JLabel("👥 Voluntarios: " + totalVoluntarios);
-        voluntariosLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-        infoPanel.add(voluntariosLabel);
-
-        return infoPanel;
-    }
-
-    private JScrollPane crearDescripcionBrigada(String descripcion) {
-        JTextArea descriptionArea = new JTextArea(descripcion);
-        descriptionArea.setFont(new Font("Arial", Font.PLAIN, 12));
-        descriptionArea.setLineWrap(true);
-        descriptionArea.setWrapStyleWord(true);
-        descriptionArea.setEditable(false);
-        descriptionArea.setBackground(Color.WHITE);
-        descriptionArea.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
-
-        JScrollPane scrollPane = new JScrollPane(descriptionArea);
-        scrollPane.setMaximumSize(new Dimension(760, 80));
-        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-
-        return scrollPane;
-    }
-
-    private JPanel crearBotonesAccionBrigada(String brigadaId, String titulo, String descripcion,
-                                             String tipo, String zona, String coordinador,
-                                             int totalVoluntarios, String estado) {
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
-        buttonPanel.setOpaque(false);
-        buttonPanel.setMaximumSize(new Dimension(760, 50));
-
-        JButton detailsButton = new JButton("Ver Detalles");
-        detailsButton.setBackground(Color.WHITE);
-        detailsButton.setForeground(PRIMARY_BLUE);
-        detailsButton.setFocusPainted(false);
-        detailsButton.setFont(new Font("Arial", Font.PLAIN, 14));
-        detailsButton.setBorder(BorderFactory.createLineBorder(PRIMARY_BLUE, 1));
-        detailsButton.setPreferredSize(new Dimension(120, 35));
-        detailsButton.addActionListener(e -> mostrarDetallesBrigada(titulo, brigadaId, tipo,
-                zona, coordinador, descripcion, totalVoluntarios, estado));
-
-        JButton volunteersButton = new JButton("Ver Voluntarios");
-        volunteersButton.setBackground(new Color(0, 150, 136));
-        volunteersButton.setForeground(Color.WHITE);
-        volunteersButton.setFocusPainted(false);
-        volunteersButton.setFont(new Font("Arial", Font.BOLD, 14));
-        volunteersButton.setPreferredSize(new Dimension(140, 35));
-        volunteersButton.addActionListener(e -> mostrarVoluntariosBrigada(brigadaId, titulo));
-
-        buttonPanel.add(detailsButton);
-        buttonPanel.add(volunteersButton);
-
-        return buttonPanel;
-    }
-
     private void mostrarDetallesBrigada(String titulo, String brigadaId, String tipo,
                                         String zona, String coordinador, String descripcion,
                                         int totalVoluntarios, String estado) {
@@ -2464,7 +2416,8 @@ public class DashboardVoluntarioUI extends JFrame {
                 listaVoluntarios.append(contador).append(". ").append(voluntario.getNombre()).append("\n");
                 listaVoluntarios.append("   ").append(voluntario.getEmail()).append("\n");
                 listaVoluntarios.append("   ").append(voluntario.getTelefono()).append("\n");
-                listaVoluntarios.append("   Horas acumuladas: ").append(voluntario.getHorasAcumuladas()).append("h\n");
+                listaVoluntarios.append("   Horas acumuladas: ").append(String.format("%.1f",
+                        gestorGeneral.getGestorResultados().obtenerHorasVoluntario(voluntario.getId()))).append("h\n");
 
                 if (!voluntario.getHabilidadesTexto().isEmpty()) {
                     listaVoluntarios.append("   Habilidades: ").append(voluntario.getHabilidadesTexto()).append("\n");
@@ -2488,4 +2441,144 @@ public class DashboardVoluntarioUI extends JFrame {
                     JOptionPane.ERROR_MESSAGE);
         }
     }
-}
\ No newline at end of file
+
+    private void pulsarEnTarjetaBrigada(Brigada brigada, String comando) {
+        String coordinadorNombre = brigada.getCoordinador() != null ?
+                brigada.getCoordinador().getNombre() : "Sin coordinador asignado";
+        switch (comando) {
+            case "detalles":
+                mostrarDetallesBrigada(brigada.getNombre(), brigada.getId(), brigada.getTipo(),
+                        " " + brigada.getZona(), coordinadorNombre, brigada.getDescripcion(),
+                        brigada.getCantidadVoluntarios(), " " + brigada.getEstado());
+                break;
+            case "voluntarios":
+                mostrarVoluntariosBrigada(brigada.getId(), brigada.getNombre());
+                break;
+        }
+    }
+
+    /**
+     * Tarjeta de brigada reutilizada para todas las filas visibles de la lista (mismo diseño que
+     * crearTarjetaBrigadaDetallada)
+     */
+    private class TarjetaBrigadaRenderer implements ListCellRenderer<Brigada> {
+        private final JPanel celda = new JPanel(new BorderLayout());
+        private final JLabel icono = new JLabel();
+        private final JLabel titulo = new JLabel();
+        private final JLabel tipo = new JLabel();
+        private final JLabel estado = new JLabel();
+        private final JLabel zona = new JLabel();
+        private final JLabel coordinador = new JLabel();
+        private final JLabel voluntarios = new JLabel();
+        private final JTextArea descripcion = new JTextArea();
+
+        TarjetaBrigadaRenderer() {
+            JPanel card = new JPanel();
+            card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
+            card.setBackground(Color.WHITE);
+            card.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(BORDER_GRAY, 1),
+                    new EmptyBorder(20, 20, 20, 20)
+            ));
+
+            JPanel header = new JPanel(new BorderLayout());
+            header.setOpaque(false);
+            header.setAlignmentX(Component.LEFT_ALIGNMENT);
+            header.setMaximumSize(new Dimension(760, 60));
+            JPanel titleGroup = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+            titleGroup.setOpaque(false);
+            icono.setFont(new Font("Arial", Font.BOLD, 24));
+            titleGroup.add(icono);
+            JPanel textGroup = new JPanel();
+            textGroup.setLayout(new BoxLayout(textGroup, BoxLayout.Y_AXIS));
+            textGroup.setOpaque(false);
+            titulo.setFont(new Font("Arial", Font.BOLD, 18));
+            textGroup.add(titulo);
+            tipo.setFont(new Font("Arial", Font.PLAIN, 12));
+            tipo.setForeground(TEXT_GRAY);
+            textGroup.add(tipo);
+            titleGroup.add(textGroup);
+            header.add(titleGroup, BorderLayout.WEST);
+            estado.setFont(new Font("Arial", Font.BOLD, 12));
+            estado.setBorder(new EmptyBorder(5, 10, 5, 10));
+            estado.setOpaque(true);
+            header.add(estado, BorderLayout.EAST);
+            card.add(header);
+            card.add(Box.createVerticalStrut(15));
+
+            JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 30, 0));
+            infoPanel.setOpaque(false);
+            infoPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            infoPanel.setMaximumSize(new Dimension(760, 30));
+            for (JLabel label : new JLabel[]{zona, coordinador, voluntarios}) {
+                label.setFont(new Font("Arial", Font.PLAIN, 12));
+                infoPanel.add(label);
+            }
+            card.add(infoPanel);
+            card.add(Box.createVerticalStrut(15));
+
+            descripcion.setFont(new Font("Arial", Font.PLAIN, 12));
+            descripcion.setLineWrap(true);
+            descripcion.setWrapStyleWord(true);
+            descripcion.setEditable(false);
+            descripcion.setBackground(Color.WHITE);
+            descripcion.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(BORDER_GRAY, 1),
+                    BorderFactory.createEmptyBorder(10, 0, 10, 0)));
+            descripcion.setAlignmentX(Component.LEFT_ALIGNMENT);
+            descripcion.setPreferredSize(new Dimension(760, 60));
+            descripcion.setMaximumSize(new Dimension(760, 60));
+            card.add(descripcion);
+            card.add(Box.createVerticalStrut(15));
+
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+            buttonPanel.setOpaque(false);
+            buttonPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            buttonPanel.setMaximumSize(new Dimension(760, 50));
+
+            JButton detailsButton = new JButton("Ver Detalles");
+            detailsButton.setBackground(Color.WHITE);
+            detailsButton.setForeground(PRIMARY_BLUE);
+            detailsButton.setFocusPainted(false);
+            detailsButton.setFont(new Font("Arial", Font.PLAIN, 14));
+            detailsButton.setBorder(BorderFactory.createLineBorder(PRIMARY_BLUE, 1));
+            detailsButton.setPreferredSize(new Dimension(120, 35));
+            detailsButton.setActionCommand("detalles");
+
+            JButton volunteersButton = new JButton("Ver Voluntarios");
+            volunteersButton.setBackground(new Color(0, 150, 136));
+            volunteersButton.setForeground(Color.WHITE);
+            volunteersButton.setFocusPainted(false);
+            volunteersButton.setFont(new Font("Arial", Font.BOLD, 14));
+            volunteersButton.setPreferredSize(new Dimension(140, 35));
+            volunteersButton.setActionCommand("voluntarios");
+
+            buttonPanel.add(detailsButton);
+            buttonPanel.add(volunteersButton);
+            card.add(buttonPanel);
+
+            celda.setOpaque(false);
+            celda.setBorder(new EmptyBorder(0, 0, 20, 0)); // Separación entre tarjetas
+            celda.add(card, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Brigada> list, Brigada brigada,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            Color colorEstado = obtenerColorEstadoBrigada(brigada.getEstado());
+
+            icono.setText(obtenerIconoBrigada(brigada));
+            titulo.setText(brigada.getNombre());
+            tipo.setText("Tipo: " + brigada.getTipo());
+            estado.setText(brigada.getEstado());
+            estado.setForeground(colorEstado);
+            estado.setBackground(new Color(colorEstado.getRed(), colorEstado.getGreen(), colorEstado.getBlue(), 20));
+            zona.setText("📍  " + brigada.getZona());
+            coordinador.setText("👤 Coordinador: " + (brigada.getCoordinador() != null ?
+                    brigada.getCoordinador().getNombre() : "Sin coordinador asignado"));
+            voluntarios.setText("👥 Voluntarios: " + brigada.getCantidadVoluntarios());
+            descripcion.setText(brigada.getDescripcion());
+            return celda;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package gui;
+
+import exceptions.PersistenciaException;
+import gestores.Exportaciones;
+import gestores.GestorGeneral;
+import persistence.Exportador;
+
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.GridLayout;
+import java.io.File;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Diálogo del coordinador para exportar entidades a CSV o NDJSON.
+ * Se eligen entidad, formato, columnas y, si la entidad tiene fecha, un rango; la escritura corre en un
+ * {@link SwingWorker} con un {@link ProgressMonitor}, así la ventana sigue respondiendo y se puede cancelar.
+ */
+class ExportacionDatos {
+    private static final int INTERVALO_CANCELACION_MS = 100; // Cada cuánto se revisa si se pulsó Cancelar
+    private static final String[] ENTIDADES = {
+            Exportaciones.RESULTADOS, Exportaciones.ACTIVIDADES, Exportaciones.VOLUNTARIOS,
+            Exportaciones.BRIGADAS, Exportaciones.RECURSOS
+    };
+
+    private final Component padre;
+    private final GestorGeneral gestorGeneral;
+
+    ExportacionDatos(Component padre, GestorGeneral gestorGeneral) {
+        this.padre = padre;
+        this.gestorGeneral = gestorGeneral;
+    }
+
+    /**
+     * Muestra el diálogo y, si se confirma, inicia la exportación en segundo plano. Debe llamarse desde el EDT.
+     */
+    void mostrar() {
+        JComboBox<String> entidadCombo = new JComboBox<>(ENTIDADES);
+        JComboBox<Exportador.Formato> formatoCombo = new JComboBox<>(Exportador.Formato.values());
+        JTextField desdeField = new JTextField(10);
+        JTextField hastaField = new JTextField(10);
+        desdeField.setToolTipText("dd/MM/yyyy (vacío: sin límite)");
+        hastaField.setToolTipText("dd/MM/yyyy (vacío: sin límite)");
+
+        DefaultListModel<String> columnasModel = new DefaultListModel<>();
+        JList<String> columnasList = new JList<>(columnasModel);
+        columnasList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        columnasList.setVisibleRowCount(8);
+
+        Runnable cargarColumnas = () -> {
+            Exportador<?> exportador = crearFuente((String) entidadCombo.getSelectedItem()).exportador;
+            columnasModel.clear();
+            for (String columna : exportador.getColumnas()) {
+                columnasModel.addElement(columna);
+            }
+            columnasList.setSelectionInterval(0, columnasModel.size() - 1);
+            desdeField.setEnabled(exportador.tieneFecha());
+            hastaField.setEnabled(exportador.tieneFecha());
+        };
+        entidadCombo.addActionListener(e -> cargarColumnas.run());
+        cargarColumnas.run();
+
+        JPanel opciones = new JPanel(new GridLayout(0, 2, 5, 5));
+        opciones.add(new JLabel("Datos:"));
+        opciones.add(entidadCombo);
+        opciones.add(new JLabel("Formato:"));
+        opciones.add(formatoCombo);
+        opciones.add(new JLabel("Desde (dd/MM/yyyy):"));
+        opciones.add(desdeField);
+        opciones.add(new JLabel("Hasta (dd/MM/yyyy):"));
+        opciones.add(hastaField);
+
+        JScrollPane columnasScroll = new JScrollPane(columnasList);
+        columnasScroll.setBorder(BorderFactory.createTitledBorder("Columnas"));
+        columnasScroll.setPreferredSize(new Dimension(300, 180));
+
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.add(opciones, BorderLayout.NORTH);
+        panel.add(columnasScroll, BorderLayout.CENTER);
+
+        int opcion = JOptionPane.showConfirmDialog(padre, panel, "Exportar datos",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (opcion != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        Date desde;
+        Date hasta;
+        try {
+            desde = leerFecha(desdeField, false);
+            hasta = leerFecha(hastaField, true);
+        } catch (ParseException e) {
+            JOptionPane.showMessageDialog(padre, "Use el formato dd/MM/yyyy para las fechas.",
+                    "Fecha inválida", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<String> columnas = columnasList.getSelectedValuesList();
+        if (columnas.isEmpty()) {
+            JOptionPane.showMessageDialog(padre, "Seleccione al menos una columna.",
+                    "Exportar datos", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        String entidad = (String) entidadCombo.getSelectedItem();
+        Exportador.Formato formato = (Exportador.Formato) formatoCombo.getSelectedItem();
+        String extension = formato == Exportador.Formato.CSV ? ".csv" : ".ndjson";
+
+        JFileChooser selector = new JFileChooser();
+        selector.setSelectedFile(new File(entidad.toLowerCase() + extension));
+        if (selector.showSaveDialog(padre) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        Fuente<?> fuente = crearFuente(entidad);
+        fuente.exportador.seleccionar(columnas).entre(desde, hasta).formato(formato);
+        exportar(fuente, selector.getSelectedFile().toPath());
+    }
+
+    private void exportar(Fuente<?> fuente, Path archivo) {
+        ProgressMonitor monitor = new ProgressMonitor(padre, "Exportando a " + archivo.getFileName(), "", 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+        Timer revisarCancelacion = new Timer(INTERVALO_CANCELACION_MS, null);
+
+        SwingWorker<Integer, Void> exportacion = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                fuente.exportador.alAvanzar((procesadas, total) ->
+                        setProgress(total == 0 ? 100 : (int) (procesadas * 100L / total)));
+                return fuente.exportar(archivo);
+            }
+
+            @Override
+            protected void done() {
+                revisarCancelacion.stop();
+                monitor.close();
+                try {
+                    int filas = get();
+                    JOptionPane.showMessageDialog(padre, "Se exportaron " + filas + " filas a:\n" + archivo,
+                            "Exportación completada", JOptionPane.INFORMATION_MESSAGE);
+                } catch (CancellationException e) {
+                    System.out.println("[INFO] Exportación a " + archivo + " cancelada.");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable causa = e.getCause();
+                    System.err.println("[WARNING] Error al exportar a " + archivo + ": " + causa);
+                    JOptionPane.showMessageDialog(padre, "No se pudo exportar: " + causa.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        // El avance llega cada Exportador.INTERVALO_PROGRESO filas: la cancelación se revisa aparte, con un Timer,
+        // para que responda enseguida aunque las filas sean lentas o no haya ningún aviso de avance
+        revisarCancelacion.addActionListener(e -> {
+            if (monitor.isCanceled()) {
+                revisarCancelacion.stop();
+                exportacion.cancel(true); // Interrumpe el hilo; el exportador borra el archivo temporal
+            }
+        });
+        exportacion.addPropertyChangeListener(evento -> {
+            if (!"progress".equals(evento.getPropertyName()) || exportacion.isCancelled()) {
+                return;
+            }
+            int progreso = (Integer) evento.getNewValue();
+            monitor.setProgress(progreso);
+            monitor.setNote(progreso + "%");
+        });
+        revisarCancelacion.start();
+        exportacion.execute();
+    }
+
+    private Fuente<?> crearFuente(String entidad) {
+        switch (entidad) {
+            case Exportaciones.ACTIVIDADES:
+                return new Fuente<>(Exportaciones.actividades(),
+                        () -> gestorGeneral.getGestorActividades().obtenerTodasActividades());
+            case Exportaciones.VOLUNTARIOS:
+                return new Fuente<>(Exportaciones.voluntarios(gestorGeneral.getGestorResultados()),
+                        () -> gestorGeneral.getGestorUsuarios().obtenerVoluntarios());
+            case Exportaciones.BRIGADAS:
+                return new Fuente<>(Exportaciones.brigadas(),
+                        () -> gestorGeneral.getGestorBrigadas().obtenerTodasBrigadas());
+            case Exportaciones.RECURSOS:
+                return new Fuente<>(Exportaciones.recursos(),
+                        () -> gestorGeneral.getGestorRecursos().obtenerTodosRecursos());
+            default:
+                return new Fuente<>(Exportaciones.resultados(),
+                        () -> gestorGeneral.getGestorResultados().obtenerTodosResultados());
+        }
+    }
+
+    /**
+     * Fecha del campo, o null si está vacío; el límite superior incluye todo ese día
+     */
+    private static Date leerFecha(JTextField campo, boolean finDelDia) throws ParseException {
+        String texto = campo.getText().trim();
+        if (!campo.isEnabled() || texto.isEmpty()) {
+            return null;
+        }
+        SimpleDateFormat formato = new SimpleDateFormat("dd/MM/yyyy");
+        formato.setLenient(false);
+        Date fecha = formato.parse(texto);
+        if (!finDelDia) {
+            return fecha;
+        }
+        Calendar calendario = Calendar.getInstance();
+        calendario.setTime(fecha);
+        calendario.add(Calendar.DAY_OF_MONTH, 1);
+        calendario.add(Calendar.MILLISECOND, -1);
+        return calendario.getTime();
+    }
+
+    /**
+     * Exportador de una entidad junto con la consulta de sus datos, que se hace recién al exportar
+     */
+    private static final class Fuente<T> {
+        final Exportador<T> exportador;
+        final Supplier<? extends Collection<? extends T>> datos;
+
+        Fuente(Exportador<T> exportador, Supplier<? extends Collection<? extends T>> datos) {
+            this.exportador = exportador;
+            this.datos = datos;
+        }
+
+        int exportar(Path archivo) throws PersistenciaException {
+            return exportador.exportar(datos.get(), archivo);
+        }
+    }
+}
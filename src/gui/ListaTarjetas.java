@@ -0,0 +1,182 @@
+package gui;
+
+import javax.swing.AbstractButton;
+import javax.swing.AbstractListModel;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Lista de tarjetas virtualizada para los dashboards.
+ * En lugar de un panel completo por elemento, un {@link JList} dibuja solo las filas visibles con un único
+ * renderer que se reconfigura para cada una, así el costo no crece con la cantidad de actividades o brigadas.
+ * Los elementos pasan al modelo por páginas a medida que el scroll se acerca al final.
+ * Como las tarjetas dibujadas no reciben eventos, el clic se resuelve ubicando el botón del renderer bajo
+ * el puntero y se avisa a {@code alPulsar} con el elemento y el comando del botón.
+ */
+class ListaTarjetas<T> extends JScrollPane {
+    private static final long serialVersionUID = 1L;
+
+    static final int TAMANO_PAGINA = 25;
+    private static final int ANCHO_CELDA = 780; // El ancho de los paneles (800) menos la barra de scroll
+
+    private final JList<T> lista;
+    private final ModeloPaginado<T> modelo;
+    private final ListCellRenderer<? super T> renderer;
+    private final BiConsumer<T, String> alPulsar;
+
+    /**
+     * @param elementos elementos a mostrar, ya filtrados y ordenados
+     * @param renderer renderer de la tarjeta; sus botones deben tener un action command
+     * @param alPulsar recibe el elemento y el comando del botón pulsado
+     */
+    ListaTarjetas(List<T> elementos, ListCellRenderer<? super T> renderer, BiConsumer<T, String> alPulsar) {
+        this.modelo = new ModeloPaginado<>(elementos);
+        this.lista = new JList<>(modelo);
+        this.renderer = renderer;
+        this.alPulsar = alPulsar;
+
+        lista.setCellRenderer(renderer);
+        lista.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        lista.setFocusable(false);
+
+        // Ancho fijo, pero no alto: las tarjetas tienen contenido variable (descripciones, listas de recursos)
+        // y cada fila toma el alto de su tarjeta. Solo se miden las filas ya cargadas en el modelo.
+        lista.setFixedCellWidth(ANCHO_CELDA);
+
+        setViewportView(lista);
+        setBorder(null);
+        setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        getVerticalScrollBar().setUnitIncrement(16);
+        setAlignmentX(Component.LEFT_ALIGNMENT);
+        setPreferredSize(new Dimension(800, 420));
+        setMaximumSize(new Dimension(800, Integer.MAX_VALUE));
+
+        getVerticalScrollBar().addAdjustmentListener(e -> {
+            int restante = e.getAdjustable().getMaximum()
+                    - (e.getValue() + e.getAdjustable().getVisibleAmount());
+            if (restante < e.getAdjustable().getVisibleAmount()) {
+                modelo.cargarPagina();
+            }
+        });
+
+        MouseAdapter raton = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int indice = indiceEn(e.getPoint());
+                AbstractButton boton = botonEn(e.getPoint(), indice);
+                if (boton != null && boton.isEnabled()) {
+                    alPulsar.accept(modelo.getElementAt(indice), boton.getActionCommand());
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                AbstractButton boton = botonEn(e.getPoint(), indiceEn(e.getPoint()));
+                lista.setCursor(boton != null && boton.isEnabled()
+                        ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+            }
+        };
+        lista.addMouseListener(raton);
+        lista.addMouseMotionListener(raton);
+    }
+
+    /**
+     * Fondo detrás de las tarjetas (el espacio entre ellas)
+     */
+    void setFondo(Color color) {
+        lista.setBackground(color);
+        getViewport().setBackground(color);
+    }
+
+    int getCantidadCargada() {
+        return modelo.getSize();
+    }
+
+    private int indiceEn(Point punto) {
+        int indice = lista.locationToIndex(punto);
+        if (indice < 0 || !lista.getCellBounds(indice, indice).contains(punto)) {
+            return -1;
+        }
+        return indice;
+    }
+
+    /**
+     * Arma el renderer para la fila como si se fuera a dibujar y busca el botón que queda bajo el punto
+     */
+    private AbstractButton botonEn(Point punto, int indice) {
+        if (indice < 0) {
+            return null;
+        }
+        Rectangle celda = lista.getCellBounds(indice, indice);
+        Component tarjeta = renderer.getListCellRendererComponent(
+                lista, modelo.getElementAt(indice), indice, false, false);
+        tarjeta.setBounds(0, 0, celda.width, celda.height);
+        distribuir(tarjeta);
+
+        Component bajoPuntero = SwingUtilities.getDeepestComponentAt(tarjeta, punto.x - celda.x, punto.y - celda.y);
+        while (bajoPuntero != null && !(bajoPuntero instanceof AbstractButton) && bajoPuntero != tarjeta) {
+            bajoPuntero = bajoPuntero.getParent();
+        }
+        return bajoPuntero instanceof AbstractButton ? (AbstractButton) bajoPuntero : null;
+    }
+
+    private static void distribuir(Component componente) {
+        if (componente instanceof Container) {
+            Container contenedor = (Container) componente;
+            contenedor.doLayout();
+            for (Component hijo : contenedor.getComponents()) {
+                distribuir(hijo);
+            }
+        }
+    }
+
+    /**
+     * Modelo que expone los elementos de a una página; la lista completa ya está en memoria,
+     * lo que se difiere es que el JList los conozca
+     */
+    static class ModeloPaginado<T> extends AbstractListModel<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> todos;
+        private int cargados;
+
+        ModeloPaginado(List<T> elementos) {
+            this.todos = new ArrayList<>(elementos);
+            this.cargados = Math.min(TAMANO_PAGINA, todos.size());
+        }
+
+        @Override
+        public int getSize() {
+            return cargados;
+        }
+
+        @Override
+        public T getElementAt(int indice) {
+            return todos.get(indice);
+        }
+
+        void cargarPagina() {
+            if (cargados >= todos.size()) {
+                return;
+            }
+            int desde = cargados;
+            cargados = Math.min(cargados + TAMANO_PAGINA, todos.size());
+            fireIntervalAdded(this, desde, cargados - 1);
+        }
+    }
+}
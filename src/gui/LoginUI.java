@@ -1,5 +1,6 @@
 package gui;
 
+import gestores.ContextoAplicacion;
 import gestores.GestorGeneral;
 import model.Coordinador;
 import model.Usuario;
@@ -11,8 +12,11 @@ import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 
 public class LoginUI extends JFrame {
+    // Contexto compartido: los datos ya están cargados en memoria
+    private final ContextoAplicacion contexto;
 
-    public LoginUI() {
+    public LoginUI(ContextoAplicacion contexto) {
+        this.contexto = contexto;
         setTitle("Iniciar Sesión");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(500, 600);
@@ -123,7 +127,7 @@ public class LoginUI extends JFrame {
             }
 
             try {
-                GestorGeneral gestorGeneral = new GestorGeneral();
+                GestorGeneral gestorGeneral = contexto.getGestorGeneral();
                 Usuario usuario = gestorGeneral.autenticarUsuario(email, password);
 
                 if (usuario != null) {
@@ -140,9 +144,9 @@ public class LoginUI extends JFrame {
 
                     // Abrir dashboard con gestorGeneral para acceso a todos los gestores
                     if (usuario instanceof Coordinador) {
-                        new DashboardCoordUI((Coordinador) usuario, gestorGeneral);
+                        new DashboardCoordUI((Coordinador) usuario, contexto);
                     } else if (usuario instanceof Voluntario) {
-                        new DashboardVoluntarioUI((Voluntario) usuario, gestorGeneral);
+                        new DashboardVoluntarioUI((Voluntario) usuario, contexto);
                     }
                     dispose();
 
@@ -169,7 +173,7 @@ public class LoginUI extends JFrame {
         JLabel registerLink = createLink("Regístrate aquí");
         registerLink.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseClicked(java.awt.event.MouseEvent evt) {
-                new RegisterUI();
+                new RegisterUI(contexto);
                 dispose();
             }
         });
@@ -217,6 +221,7 @@ public class LoginUI extends JFrame {
     }
 
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(LoginUI::new);
+        ContextoAplicacion contexto = new ContextoAplicacion();
+        SwingUtilities.invokeLater(() -> new LoginUI(contexto));
     }
 }
@@ -0,0 +1,301 @@
+package gui;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Modelo de tabla respaldado directamente por las entidades de los gestores.
+ * Cada fila se formatea recién cuando la tabla la pide (normalmente solo las visibles) y queda en caché
+ * hasta que su entidad cambia. Los cambios se notifican por fila (insertada, actualizada o eliminada),
+ * así una edición repinta una sola fila y se conserva la selección.
+ * Opcionalmente guarda, también por fila y con el mismo criterio de caché, una clave de búsqueda normalizada
+ * que usan los filtros de {@link BusquedaTabla}.
+ * Como todo modelo de Swing, debe usarse desde el hilo de eventos.
+ */
+public class ModeloTablaEntidades<T> extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columnas;
+    private final Function<T, String> clave;
+    private final Function<T, Object[]> formateador;
+    private final int columnaEditable;
+
+    private final List<T> entidades = new ArrayList<>();
+    private final List<Object[]> filas = new ArrayList<>(); // Filas formateadas; null = pendiente de formatear
+    private final Map<String, Integer> posiciones = new HashMap<>();
+
+    private Function<T, String> textoBusqueda;
+    private final List<String> claves = new ArrayList<>(); // Claves de búsqueda; null = pendiente de calcular
+    private int version; // Cambia con cada notificación, para saber si un cálculo hecho aparte sigue valiendo
+
+    /**
+     * @param columnas nombres de las columnas
+     * @param clave ID de cada entidad, para ubicar su fila
+     * @param formateador valores de la fila de una entidad, en el orden de las columnas
+     * @param columnaEditable columna de acciones (la única editable), o -1 si no hay
+     */
+    public ModeloTablaEntidades(String[] columnas, Function<T, String> clave,
+                                Function<T, Object[]> formateador, int columnaEditable) {
+        this.columnas = columnas.clone();
+        this.clave = clave;
+        this.formateador = formateador;
+        this.columnaEditable = columnaEditable;
+    }
+
+    @Override
+    public int getRowCount() {
+        return entidades.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas[columna];
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Object[] valores = filas.get(fila);
+        if (valores == null) {
+            valores = formateador.apply(entidades.get(fila));
+            filas.set(fila, valores);
+        }
+        return columna < valores.length ? valores[columna] : null;
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return columna == columnaEditable;
+    }
+
+    /**
+     * La columna editable solo contiene los botones de acción, así que el valor del editor se descarta
+     */
+    @Override
+    public void setValueAt(Object valor, int fila, int columna) {
+    }
+
+    public T getEntidad(int fila) {
+        return entidades.get(fila);
+    }
+
+    /**
+     * @return fila de la entidad con ese ID, o -1 si no está en la tabla
+     */
+    public int indiceDe(String id) {
+        Integer posicion = posiciones.get(id);
+        return posicion != null ? posicion : -1;
+    }
+
+    public List<T> getEntidades() {
+        return Collections.unmodifiableList(entidades);
+    }
+
+    /**
+     * Define el texto en el que se busca para cada entidad; la clave de la fila es ese texto normalizado
+     */
+    public void setTextoBusqueda(Function<T, String> textoBusqueda) {
+        this.textoBusqueda = textoBusqueda;
+        Collections.fill(claves, null);
+    }
+
+    public Function<T, String> getTextoBusqueda() {
+        return textoBusqueda;
+    }
+
+    /**
+     * Clave de búsqueda de la fila (del modelo), calculada la primera vez que se pide
+     */
+    public String getClaveBusqueda(int fila) {
+        String clave = claves.get(fila);
+        if (clave == null) {
+            clave = BusquedaTabla.normalizar(textoBusqueda != null ? textoBusqueda.apply(entidades.get(fila)) : "");
+            claves.set(fila, clave);
+        }
+        return clave;
+    }
+
+    /**
+     * Guarda claves calculadas fuera del EDT, siempre que el modelo no haya cambiado desde que se tomó la copia
+     * @return false si el modelo cambió y las claves se descartaron
+     */
+    public boolean guardarClavesBusqueda(int versionCalculo, String[] calculadas) {
+        if (versionCalculo != version || calculadas.length != claves.size()) {
+            return false;
+        }
+        for (int i = 0; i < calculadas.length; i++) {
+            if (claves.get(i) == null) {
+                claves.set(i, calculadas[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Claves ya calculadas (null en las pendientes), para completarlas fuera del EDT
+     */
+    public String[] getClavesBusqueda() {
+        return claves.toArray(new String[0]);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        version++;
+        super.fireTableChanged(e);
+    }
+
+    /**
+     * Reemplaza todo el contenido (por ejemplo, con el resultado de una búsqueda)
+     */
+    public void setDatos(Collection<? extends T> nuevas) {
+        entidades.clear();
+        filas.clear();
+        claves.clear();
+        for (T entidad : nuevas) {
+            entidades.add(entidad);
+            filas.add(null);
+            claves.add(null);
+        }
+        reconstruirPosiciones(0);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Lleva la tabla al contenido indicado notificando solo las diferencias: se quitan las filas que ya no
+     * están, las nuevas se agregan al final y las que siguen se vuelven a formatear cuando se repinten.
+     */
+    public void sincronizar(Collection<? extends T> nuevas) {
+        Map<String, T> porId = new LinkedHashMap<>();
+        for (T entidad : nuevas) {
+            porId.putIfAbsent(clave.apply(entidad), entidad);
+        }
+
+        // 1. Quitar las filas que ya no están, agrupando las eliminaciones consecutivas
+        int finRango = -1;
+        for (int i = entidades.size() - 1; i >= 0; i--) {
+            boolean sigue = porId.containsKey(clave.apply(entidades.get(i)));
+            if (!sigue && finRango < 0) {
+                finRango = i;
+            }
+            if (finRango >= 0 && (sigue || i == 0)) {
+                int inicioRango = sigue ? i + 1 : i;
+                quitarRango(inicioRango, finRango);
+                finRango = -1;
+            }
+        }
+        reconstruirPosiciones(0);
+
+        // 2. Actualizar las que siguen (la instancia puede haber cambiado tras una recarga)
+        for (int i = 0; i < entidades.size(); i++) {
+            entidades.set(i, porId.remove(clave.apply(entidades.get(i))));
+            filas.set(i, null);
+            claves.set(i, null);
+        }
+        if (!entidades.isEmpty()) {
+            fireTableRowsUpdated(0, entidades.size() - 1);
+        }
+
+        // 3. Agregar las nuevas al final
+        if (!porId.isEmpty()) {
+            int inicio = entidades.size();
+            for (T entidad : porId.values()) {
+                posiciones.put(clave.apply(entidad), entidades.size());
+                entidades.add(entidad);
+                filas.add(null);
+                claves.add(null);
+            }
+            fireTableRowsInserted(inicio, entidades.size() - 1);
+        }
+    }
+
+    /**
+     * Agrega la entidad o, si ya tiene fila, la vuelve a formatear y repinta solo esa fila
+     */
+    public void actualizar(T entidad) {
+        String id = clave.apply(entidad);
+        Integer posicion = posiciones.get(id);
+        if (posicion == null) {
+            int fila = entidades.size();
+            posiciones.put(id, fila);
+            entidades.add(entidad);
+            filas.add(null);
+            claves.add(null);
+            fireTableRowsInserted(fila, fila);
+        } else {
+            entidades.set(posicion, entidad);
+            filas.set(posicion, null);
+            claves.set(posicion, null);
+            fireTableRowsUpdated(posicion, posicion);
+        }
+    }
+
+    /**
+     * Vuelve a formatear la fila de la entidad solo si ya está en la tabla (por ejemplo, con una búsqueda activa)
+     */
+    public void refrescar(T entidad) {
+        if (entidad != null && posiciones.containsKey(clave.apply(entidad))) {
+            actualizar(entidad);
+        }
+    }
+
+    /**
+     * Descarta todas las filas formateadas sin cambiar las entidades, para cuando cambia un dato
+     * que se muestra en muchas filas (por ejemplo, el nombre de una brigada)
+     */
+    public void refrescarTodas() {
+        if (!entidades.isEmpty()) {
+            Collections.fill(filas, null);
+            Collections.fill(claves, null);
+            fireTableRowsUpdated(0, entidades.size() - 1);
+        }
+    }
+
+    /**
+     * Quita la fila de la entidad con ese ID, si está en la tabla
+     */
+    public void eliminar(String id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion != null) {
+            entidades.remove((int) posicion);
+            filas.remove((int) posicion);
+            claves.remove((int) posicion);
+            reconstruirPosiciones(posicion);
+            fireTableRowsDeleted(posicion, posicion);
+        }
+    }
+
+    private void quitarRango(int inicio, int fin) {
+        for (int i = fin; i >= inicio; i--) {
+            posiciones.remove(clave.apply(entidades.get(i)));
+        }
+        entidades.subList(inicio, fin + 1).clear();
+        filas.subList(inicio, fin + 1).clear();
+        claves.subList(inicio, fin + 1).clear();
+        fireTableRowsDeleted(inicio, fin);
+    }
+
+    private void reconstruirPosiciones(int desde) {
+        if (desde == 0) {
+            posiciones.clear();
+        }
+        for (int i = desde; i < entidades.size(); i++) {
+            posiciones.put(clave.apply(entidades.get(i)), i);
+        }
+    }
+}
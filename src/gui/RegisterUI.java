@@ -1,6 +1,7 @@
 package gui;
 
 import exceptions.PersistenciaException;
+import gestores.ContextoAplicacion;
 import gestores.GestorGeneral;
 import gestores.GestorUsuarios;
 
@@ -20,8 +21,10 @@ public class RegisterUI extends JFrame {
     private JPasswordField confirmPasswordField;
     private JTextArea skillsArea;
     private JCheckBox termsCheckbox;
+    private final ContextoAplicacion contexto;
 
-    public RegisterUI() {
+    public RegisterUI(ContextoAplicacion contexto) {
+        this.contexto = contexto;
         setTitle("Registro de Usuario");
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setSize(500, 700);
@@ -192,8 +195,8 @@ public class RegisterUI extends JFrame {
                 String password = new String(passwordField.getPassword());
                 String habilidades = getTextAreaValue(skillsArea);
 
-                // Usar el GestorGeneral en lugar de GestorUsuarios directamente
-                GestorGeneral gestorGeneral = new GestorGeneral();
+                // Usar el GestorGeneral compartido en lugar de GestorUsuarios directamente
+                GestorGeneral gestorGeneral = contexto.getGestorGeneral();
 
                 if (tipoUsuario.equals("Voluntario")) {
                     String diasDisponibles = "Lunes a Viernes";
@@ -209,7 +212,7 @@ public class RegisterUI extends JFrame {
                         "¡Registro exitoso! Bienvenido a la plataforma.",
                         "Registro Completado", JOptionPane.INFORMATION_MESSAGE);
 
-                new LoginUI();
+                new LoginUI(contexto);
                 dispose();
 
             } catch (PersistenciaException ex) {
@@ -228,7 +231,7 @@ public class RegisterUI extends JFrame {
         loginLink.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent evt) {
-                new LoginUI();
+                new LoginUI(contexto);
                 dispose();
             }
         });
@@ -1,6 +1,7 @@
 package model;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,12 +16,15 @@ public class Actividad implements Serializable {
     private String objetivo;
     private Brigada brigadaAsociada;
     private String resultados;
-    private Map<String, String> voluntariosAsignados;
-    private Map<String, Integer> recursosAsignados;
+    // Asignaciones copiadas al escribir, como los miembros de Brigada: cada cambio publica un mapa nuevo que ya no
+    // se modifica, así los hilos que recorren las asignaciones (cargas en segundo plano, búsquedas, exportación,
+    // persistencia) nunca ven un mapa a medio cambiar. Los cambios se serializan con el monitor de la actividad.
+    private volatile Map<String, String> voluntariosAsignados;
+    private volatile Map<String, Integer> recursosAsignados;
 
     public Actividad() {
-        this.voluntariosAsignados = new HashMap<>();
-        this.recursosAsignados = new HashMap<>();
+        this.voluntariosAsignados = Collections.emptyMap();
+        this.recursosAsignados = Collections.emptyMap();
     }
 
     public Actividad(String id, String nombre, Date fecha, String lugar,
@@ -41,7 +45,15 @@ public class Actividad implements Serializable {
     public String getLugar() { return lugar; }
     public String getObjetivo() { return objetivo; }
     public Brigada getBrigadaAsociada() { return brigadaAsociada; }
+    // Nombre para mostrar de la brigada: si se eliminó y el archivo guardaba solo su ID, se usa el ID
+    public String getNombreBrigada() {
+        if (brigadaAsociada == null) {
+            return null;
+        }
+        return brigadaAsociada.getNombre() != null ? brigadaAsociada.getNombre() : brigadaAsociada.getId();
+    }
     public String getResultados() { return resultados; }
+    // Vistas de solo lectura; para cambiarlas se usan los métodos de asignación
     public Map<String, String> getVoluntariosAsignados() {
         return voluntariosAsignados;
     }
@@ -59,12 +71,10 @@ public class Actividad implements Serializable {
     public void setResultados(String resultados) { this.resultados = resultados; }
 
     // SETTER PARA voluntariosAsignados - AÑADIDO
-    public void setVoluntariosAsignados(Map<String, String> voluntariosAsignados) {
-        if (voluntariosAsignados == null) {
-            this.voluntariosAsignados = new HashMap<>();
-        } else {
-            this.voluntariosAsignados = new HashMap<>(voluntariosAsignados);
-        }
+    public synchronized void setVoluntariosAsignados(Map<String, String> voluntariosAsignados) {
+        this.voluntariosAsignados = voluntariosAsignados == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(voluntariosAsignados));
     }
 
     // En la clase Actividad, agrega este método:
@@ -84,39 +94,39 @@ public class Actividad implements Serializable {
     }
 
     // SETTER PARA recursosAsignados - AÑADIDO
-    public void setRecursosAsignados(Map<String, Integer> recursosAsignados) {
-        if (recursosAsignados == null) {
-            this.recursosAsignados = new HashMap<>();
-        } else {
-            this.recursosAsignados = new HashMap<>(recursosAsignados);
-        }
+    public synchronized void setRecursosAsignados(Map<String, Integer> recursosAsignados) {
+        this.recursosAsignados = recursosAsignados == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(recursosAsignados));
     }
 
     // Métodos para manejar voluntarios
-    public void asignarVoluntario(String idVoluntario, String rol) {
-        if (this.voluntariosAsignados == null) {
-            this.voluntariosAsignados = new HashMap<>();
-        }
-        this.voluntariosAsignados.put(idVoluntario, rol);
+    public synchronized void asignarVoluntario(String idVoluntario, String rol) {
+        Map<String, String> nuevos = new HashMap<>(voluntariosAsignados);
+        nuevos.put(idVoluntario, rol);
+        voluntariosAsignados = Collections.unmodifiableMap(nuevos);
     }
 
-    public void eliminarVoluntario(String idVoluntario) {
-        if (this.voluntariosAsignados != null) {
-            this.voluntariosAsignados.remove(idVoluntario);
+    public synchronized void eliminarVoluntario(String idVoluntario) {
+        if (voluntariosAsignados.containsKey(idVoluntario)) {
+            Map<String, String> nuevos = new HashMap<>(voluntariosAsignados);
+            nuevos.remove(idVoluntario);
+            voluntariosAsignados = Collections.unmodifiableMap(nuevos);
         }
     }
 
     // Métodos para manejar recursos
-    public void registrarUsoRecurso(String idRecurso, int cantidad) {
-        if (this.recursosAsignados == null) {
-            this.recursosAsignados = new HashMap<>();
-        }
-        this.recursosAsignados.put(idRecurso, cantidad);
+    public synchronized void registrarUsoRecurso(String idRecurso, int cantidad) {
+        Map<String, Integer> nuevos = new HashMap<>(recursosAsignados);
+        nuevos.put(idRecurso, cantidad);
+        recursosAsignados = Collections.unmodifiableMap(nuevos);
     }
 
-    public void eliminarRecurso(String idRecurso) {
-        if (this.recursosAsignados != null) {
-            this.recursosAsignados.remove(idRecurso);
+    public synchronized void eliminarRecurso(String idRecurso) {
+        if (recursosAsignados.containsKey(idRecurso)) {
+            Map<String, Integer> nuevos = new HashMap<>(recursosAsignados);
+            nuevos.remove(idRecurso);
+            recursosAsignados = Collections.unmodifiableMap(nuevos);
         }
     }
 
@@ -141,10 +151,8 @@ public class Actividad implements Serializable {
     }
 
     public int getCantidadRecursoAsignado(String recursoId) {
-        if (recursosAsignados != null && recursosAsignados.containsKey(recursoId)) {
-            return recursosAsignados.get(recursoId);
-        }
-        return 0;
+        Integer cantidad = recursosAsignados != null ? recursosAsignados.get(recursoId) : null;
+        return cantidad != null ? cantidad : 0;
     }
 
     // Método para obtener lista de IDs de voluntarios
@@ -170,17 +178,13 @@ public class Actividad implements Serializable {
     }
 
     // Método para limpiar todos los voluntarios
-    public void limpiarVoluntarios() {
-        if (this.voluntariosAsignados != null) {
-            this.voluntariosAsignados.clear();
-        }
+    public synchronized void limpiarVoluntarios() {
+        this.voluntariosAsignados = Collections.emptyMap();
     }
 
     // Método para limpiar todos los recursos
-    public void limpiarRecursos() {
-        if (this.recursosAsignados != null) {
-            this.recursosAsignados.clear();
-        }
+    public synchronized void limpiarRecursos() {
+        this.recursosAsignados = Collections.emptyMap();
     }
 
     // Método para obtener el rol por defecto
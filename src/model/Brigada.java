@@ -1,10 +1,34 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class Brigada implements Serializable {
+    private static final long serialVersionUID = -6148637762240252839L;
+
+    // Formato serializado original (voluntarios como lista), para seguir leyendo y escribiendo los archivos existentes
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("id", String.class),
+            new ObjectStreamField("nombre", String.class),
+            new ObjectStreamField("tipo", String.class),
+            new ObjectStreamField("zona", String.class),
+            new ObjectStreamField("descripcion", String.class),
+            new ObjectStreamField("estado", String.class),
+            new ObjectStreamField("coordinador", Coordinador.class),
+            new ObjectStreamField("voluntarios", List.class),
+            new ObjectStreamField("capacidadMaxima", int.class)
+    };
+
     private String id;
     private String nombre;
     private String tipo;
@@ -12,11 +36,14 @@ public class Brigada implements Serializable {
     private String descripcion;    // Nuevo campo para el dashboard
     private String estado;         // Nuevo campo para manejar estados (Activa, Inactiva, etc.)
     private Coordinador coordinador;
-    private List<Voluntario> voluntarios;
+    // Miembros por ID, en orden de alta. Cada cambio publica un mapa nuevo (copia al escribir): las consultas
+    // de pertenencia son O(1) y las vistas de solo lectura se entregan sin copiar, aunque otro hilo agregue miembros
+    private volatile Map<String, Voluntario> miembros;
+    private volatile List<Voluntario> vistaVoluntarios;
     private int capacidadMaxima;   // Para controlar límite de voluntarios
 
     public Brigada() {
-        this.voluntarios = new ArrayList<>();
+        publicar(new LinkedHashMap<>());
         this.estado = "Activa";    // Estado por defecto
         this.capacidadMaxima = 50; // Capacidad por defecto
     }
@@ -59,17 +86,23 @@ public class Brigada implements Serializable {
         this.capacidadMaxima = capacidadMaxima;
     }
 
-    public int getCantidadVoluntarios() { return voluntarios.size(); }
+    public int getCantidadVoluntarios() { return miembros.size(); }
 
     public boolean tieneCupoDisponible() {
-        return voluntarios.size() < capacidadMaxima;
+        return miembros.size() < capacidadMaxima;
+    }
+
+    public boolean contieneVoluntario(String voluntarioId) {
+        return miembros.containsKey(voluntarioId);
     }
 
     // Método para agregar voluntario con validación de capacidad
-    public void agregarVoluntario(Voluntario voluntario) throws IllegalStateException {
-        if (!voluntarios.contains(voluntario)) {
+    public synchronized void agregarVoluntario(Voluntario voluntario) throws IllegalStateException {
+        if (!contieneVoluntario(voluntario.getId())) {
             if (tieneCupoDisponible()) {
-                voluntarios.add(voluntario);
+                Map<String, Voluntario> nuevos = new LinkedHashMap<>(miembros);
+                nuevos.put(voluntario.getId(), voluntario);
+                publicar(nuevos);
             } else {
                 throw new IllegalStateException("La brigada ha alcanzado su capacidad máxima de " + capacidadMaxima + " voluntarios.");
             }
@@ -77,8 +110,20 @@ public class Brigada implements Serializable {
     }
 
     // Método para remover voluntario
-    public boolean removerVoluntario(String voluntarioId) {
-        return voluntarios.removeIf(v -> v.getId().equals(voluntarioId));
+    public synchronized boolean removerVoluntario(String voluntarioId) {
+        if (!contieneVoluntario(voluntarioId)) {
+            return false;
+        }
+        Map<String, Voluntario> nuevos = new LinkedHashMap<>(miembros);
+        nuevos.remove(voluntarioId);
+        publicar(nuevos);
+        return true;
+    }
+
+    // Reemplaza los miembros por un mapa nuevo que ya no se modifica
+    private void publicar(Map<String, Voluntario> nuevos) {
+        this.vistaVoluntarios = Collections.unmodifiableList(new ArrayList<>(nuevos.values()));
+        this.miembros = Collections.unmodifiableMap(nuevos);
     }
 
     // Método mejorado para convocar urgentes
@@ -89,6 +134,7 @@ public class Brigada implements Serializable {
         System.out.println("Zona: " + this.zona);
         System.out.println("Coordinador: " + (coordinador != null ? coordinador.getNombre() : "No asignado"));
 
+        List<Voluntario> voluntarios = vistaVoluntarios;
         if (voluntarios.isEmpty()) {
             System.out.println("No hay voluntarios asignados a esta brigada.");
         } else {
@@ -106,7 +152,7 @@ public class Brigada implements Serializable {
     // Método para obtener información resumida
     public String getResumen() {
         return String.format("%s (%s) - Zona: %s - Voluntarios: %d/%d - Estado: %s",
-                nombre, tipo, zona, voluntarios.size(), capacidadMaxima, estado);
+                nombre, tipo, zona, miembros.size(), capacidadMaxima, estado);
     }
 
     @Override
@@ -122,7 +168,7 @@ public class Brigada implements Serializable {
                 tipo,
                 zona,
                 estado,
-                voluntarios.size() + "/" + capacidadMaxima,
+                miembros.size() + "/" + capacidadMaxima,
                 coordinador != null ? coordinador.getNombre() : "Sin asignar",
                 descripcion
         };
@@ -145,24 +191,60 @@ public class Brigada implements Serializable {
     // Método para obtener porcentaje de ocupación
     public int getPorcentajeOcupacion() {
         if (capacidadMaxima == 0) return 0;
-        return (voluntarios.size() * 100) / capacidadMaxima;
+        return (miembros.size() * 100) / capacidadMaxima;
     }
 
     // En la clase Brigada, asegúrate de tener estos métodos:
     public void eliminarVoluntario(Voluntario voluntario) {
-        this.voluntarios.remove(voluntario);
+        removerVoluntario(voluntario.getId());
     }
 
+    // Vista de solo lectura, sin copiar: no cambia aunque después se agreguen o quiten miembros
     public List<Voluntario> getVoluntarios() {
-        return new ArrayList<>(voluntarios); // Retorna copia para proteger la lista interna
+        return vistaVoluntarios;
+    }
+
+    // IDs de los miembros (vista de solo lectura)
+    public Set<String> getIdsVoluntarios() {
+        return miembros.keySet();
     }
 
     // Y en los setters, asegúrate de que hagan copias defensivas:
-    public void setVoluntarios(List<Voluntario> voluntarios) {
+    public synchronized void setVoluntarios(Collection<Voluntario> voluntarios) {
+        Map<String, Voluntario> nuevos = new LinkedHashMap<>();
         if (voluntarios != null) {
-            this.voluntarios = new ArrayList<>(voluntarios);
-        } else {
-            this.voluntarios = new ArrayList<>();
+            for (Voluntario voluntario : voluntarios) {
+                nuevos.putIfAbsent(voluntario.getId(), voluntario);
+            }
         }
+        publicar(nuevos);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField campos = out.putFields();
+        campos.put("id", id);
+        campos.put("nombre", nombre);
+        campos.put("tipo", tipo);
+        campos.put("zona", zona);
+        campos.put("descripcion", descripcion);
+        campos.put("estado", estado);
+        campos.put("coordinador", coordinador);
+        campos.put("voluntarios", new ArrayList<>(miembros.values()));
+        campos.put("capacidadMaxima", capacidadMaxima);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField campos = in.readFields();
+        id = (String) campos.get("id", null);
+        nombre = (String) campos.get("nombre", null);
+        tipo = (String) campos.get("tipo", null);
+        zona = (String) campos.get("zona", null);
+        descripcion = (String) campos.get("descripcion", null);
+        estado = (String) campos.get("estado", null);
+        coordinador = (Coordinador) campos.get("coordinador", null);
+        capacidadMaxima = campos.get("capacidadMaxima", 0);
+        setVoluntarios((List<Voluntario>) campos.get("voluntarios", null));
     }
 }
\ No newline at end of file
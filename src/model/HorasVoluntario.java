@@ -0,0 +1,58 @@
+package model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Horas aportadas por un voluntario, con el detalle por actividad.
+ * Se actualiza cada vez que se registran resultados, de modo que el total se lee directamente
+ * en lugar de recorrer todas las actividades y sus resultados.
+ */
+public class HorasVoluntario implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String voluntarioId;
+    private double totalHoras;
+    private Map<String, Double> horasPorActividad; // ID de actividad -> horas, en orden de registro
+
+    public HorasVoluntario(String voluntarioId) {
+        this.voluntarioId = voluntarioId;
+        this.totalHoras = 0.0;
+        this.horasPorActividad = new LinkedHashMap<>();
+    }
+
+    /**
+     * Asigna las horas de una actividad; si ya tenía horas registradas para ella, las reemplaza
+     */
+    public void registrarHoras(String actividadId, double horas) {
+        Double anteriores = horasPorActividad.put(actividadId, horas);
+        totalHoras += horas - (anteriores != null ? anteriores : 0.0);
+    }
+
+    public String getVoluntarioId() { return voluntarioId; }
+
+    public double getTotalHoras() { return totalHoras; }
+
+    public Map<String, Double> getHorasPorActividad() {
+        return Collections.unmodifiableMap(horasPorActividad);
+    }
+
+    public int getCantidadActividades() { return horasPorActividad.size(); }
+
+    /**
+     * Copia independiente, para persistirla sin que la afecten cambios posteriores
+     */
+    public HorasVoluntario copiar() {
+        HorasVoluntario copia = new HorasVoluntario(voluntarioId);
+        copia.totalHoras = totalHoras;
+        copia.horasPorActividad.putAll(horasPorActividad);
+        return copia;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f horas en %d actividades", voluntarioId, totalHoras, horasPorActividad.size());
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Marca que se guarda como una entrada más de los archivos calculados a partir de los resultados
+ * (libro de horas y totales de impacto): cuántos resultados se habían aplicado y cuál fue el último.
+ * Al cargar, si no coincide con los resultados leídos de resultados.dat, el archivo se reconstruye.
+ */
+public class MarcaResultados implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Identificador de la entrada; no coincide con ningún ID de voluntario ni clave de ResumenImpacto
+    public static final String ID = "#resultados";
+
+    private final int cantidadResultados;
+    private final String ultimoResultadoId;
+
+    public MarcaResultados(int cantidadResultados, String ultimoResultadoId) {
+        this.cantidadResultados = cantidadResultados;
+        this.ultimoResultadoId = ultimoResultadoId;
+    }
+
+    /**
+     * Marca que corresponde a los resultados indicados, en el orden en que se registraron
+     */
+    public static MarcaResultados de(List<ResultadoActividad> resultados) {
+        String ultimo = resultados.isEmpty() ? null : resultados.get(resultados.size() - 1).getId();
+        return new MarcaResultados(resultados.size(), ultimo);
+    }
+
+    public boolean coincideCon(List<ResultadoActividad> resultados) {
+        MarcaResultados actual = de(resultados);
+        return cantidadResultados == actual.cantidadResultados &&
+                (ultimoResultadoId == null ? actual.ultimoResultadoId == null
+                        : ultimoResultadoId.equals(actual.ultimoResultadoId));
+    }
+
+    public int getCantidadResultados() { return cantidadResultados; }
+
+    public String getUltimoResultadoId() { return ultimoResultadoId; }
+
+    @Override
+    public String toString() {
+        return String.format("%d resultados (último: %s)", cantidadResultados, ultimoResultadoId);
+    }
+}
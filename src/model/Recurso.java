@@ -1,12 +1,31 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Recurso implements Serializable {
+    private static final long serialVersionUID = -2066667041382503550L;
+
+    // Formato serializado original (stockActual como int), para seguir leyendo y escribiendo los archivos existentes
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("id", String.class),
+            new ObjectStreamField("nombre", String.class),
+            new ObjectStreamField("categoria", String.class),
+            new ObjectStreamField("stockActual", int.class),
+            new ObjectStreamField("umbralAlerta", int.class),
+            new ObjectStreamField("capacidadMaxima", int.class),
+            new ObjectStreamField("unidadMedida", String.class)
+    };
+
     private String id;
     private String nombre;
     private String categoria;  // Cambié "tipo" por "categoria" para coincidir con GestorRecursos
-    private int stockActual;
+    // Stock en un contador atómico: las reservas concurrentes se resuelven con compare-and-set, sin bloqueos
+    private AtomicInteger stock = new AtomicInteger();
     private int umbralAlerta;
     private int capacidadMaxima;  // Falta
     private String unidadMedida;  // Falta
@@ -25,13 +44,13 @@ public class Recurso implements Serializable {
         this.capacidadMaxima = capacidadMaxima;
         this.umbralAlerta = umbralAlerta;
         this.unidadMedida = unidadMedida;
-        this.stockActual = 0; // Inicialmente sin stock
+        this.stock = new AtomicInteger(0); // Inicialmente sin stock
     }
 
     // Constructor con stock inicial (para compatibilidad)
     public Recurso(String id, String nombre, String categoria, int stockInicial, int umbralAlerta, int capacidadMaxima, String unidadMedida) {
         this(id, nombre, categoria, capacidadMaxima, umbralAlerta, unidadMedida);
-        this.stockActual = stockInicial;
+        this.stock.set(stockInicial);
     }
 
     // Getters
@@ -39,7 +58,7 @@ public class Recurso implements Serializable {
     public String getNombre() { return nombre; }
     public String getCategoria() { return categoria; }
     public String getTipo() { return categoria; } // Para compatibilidad con código existente
-    public int getStockActual() { return stockActual; }
+    public int getStockActual() { return stock.get(); }
     public int getUmbralAlerta() { return umbralAlerta; }
     public int getCapacidadMaxima() { return capacidadMaxima; }
     public String getUnidadMedida() { return unidadMedida; }
@@ -51,7 +70,7 @@ public class Recurso implements Serializable {
     public void setTipo(String tipo) { this.categoria = tipo; } // Para compatibilidad
     public void setStockActual(int stockActual) {
         if (stockActual >= 0 && stockActual <= capacidadMaxima) {
-            this.stockActual = stockActual;
+            this.stock.set(stockActual);
         } else {
             throw new IllegalArgumentException("Stock debe estar entre 0 y " + capacidadMaxima);
         }
@@ -69,18 +88,57 @@ public class Recurso implements Serializable {
     public void setUnidadMedida(String unidadMedida) { this.unidadMedida = unidadMedida; }
 
     public boolean consultarDisponibilidad(int cantidadRequerida) {
-        return this.stockActual >= cantidadRequerida;
+        return this.stock.get() >= cantidadRequerida;
+    }
+
+    /**
+     * Descuenta la cantidad solo si hay stock suficiente, como una única operación atómica.
+     * @return false si el stock no alcanza (en ese caso no se modifica)
+     */
+    public boolean reservar(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad a reservar debe ser positiva");
+        }
+        int actual;
+        do {
+            actual = this.stock.get();
+            if (actual < cantidad) {
+                return false;
+            }
+        } while (!this.stock.compareAndSet(actual, actual - cantidad));
+        return true;
+    }
+
+    /**
+     * Devuelve al stock una cantidad reservada previamente (por ejemplo, al revertir una asignación).
+     */
+    public void liberar(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad a liberar debe ser positiva");
+        }
+        this.stock.addAndGet(cantidad);
+    }
+
+    /**
+     * Revierte una reposición que no se pudo guardar. Resta siempre, aunque el stock quede negativo: las reservas
+     * hechas mientras tanto ya usaron esas unidades y el faltante debe quedar a la vista.
+     * @return stock resultante
+     */
+    public int deshacerReposicion(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad a revertir debe ser positiva");
+        }
+        return this.stock.addAndGet(-cantidad);
     }
 
     public void deducirStock(int cantidad) {
         if (cantidad <= 0) {
             throw new IllegalArgumentException("La cantidad a deducir debe ser positiva");
         }
-        if (this.stockActual >= cantidad) {
-            this.stockActual -= cantidad;
+        if (reservar(cantidad)) {
             verificarAlerta();
         } else {
-            throw new IllegalArgumentException("Error de stock: No se puede deducir " + cantidad + " de " + this.stockActual + ".");
+            throw new IllegalArgumentException("Error de stock: No se puede deducir " + cantidad + " de " + this.stock.get() + ".");
         }
     }
 
@@ -88,45 +146,71 @@ public class Recurso implements Serializable {
         if (cantidad <= 0) {
             throw new IllegalArgumentException("La cantidad a reponer debe ser positiva");
         }
-        if (this.stockActual + cantidad <= this.capacidadMaxima) {
-            this.stockActual += cantidad;
-        } else {
-            throw new IllegalArgumentException("Excede la capacidad máxima. Capacidad: " +
-                    capacidadMaxima + ", Stock actual: " + stockActual);
-        }
+        int actual;
+        do {
+            actual = this.stock.get();
+            if (actual + cantidad > this.capacidadMaxima) {
+                throw new IllegalArgumentException("Excede la capacidad máxima. Capacidad: " +
+                        capacidadMaxima + ", Stock actual: " + actual);
+            }
+        } while (!this.stock.compareAndSet(actual, actual + cantidad));
     }
 
     public void verificarAlerta() {
-        if (this.stockActual <= this.umbralAlerta) {
+        int actual = this.stock.get();
+        if (actual <= this.umbralAlerta) {
             System.out.println("[ALERTA] Stock Bajo para: " + this.nombre +
-                    " (Stock actual: " + this.stockActual + ", Umbral: " + this.umbralAlerta + ")");
+                    " (Stock actual: " + actual + ", Umbral: " + this.umbralAlerta + ")");
         }
     }
 
     public boolean tieneStockBajo() {
-        return this.stockActual <= this.umbralAlerta;
+        return this.stock.get() <= this.umbralAlerta;
     }
 
     public boolean estaAgotado() {
-        return this.stockActual <= 0;
+        return this.stock.get() <= 0;
     }
 
     public int getStockDisponible() {
-        return this.stockActual;
+        return this.stock.get();
     }
 
     public int getEspacioDisponible() {
-        return this.capacidadMaxima - this.stockActual;
+        return this.capacidadMaxima - this.stock.get();
     }
 
     public double getPorcentajeDisponible() {
         if (capacidadMaxima == 0) return 0.0;
-        return (double) stockActual / capacidadMaxima * 100;
+        return (double) stock.get() / capacidadMaxima * 100;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField campos = out.putFields();
+        campos.put("id", id);
+        campos.put("nombre", nombre);
+        campos.put("categoria", categoria);
+        campos.put("stockActual", stock.get());
+        campos.put("umbralAlerta", umbralAlerta);
+        campos.put("capacidadMaxima", capacidadMaxima);
+        campos.put("unidadMedida", unidadMedida);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField campos = in.readFields();
+        id = (String) campos.get("id", null);
+        nombre = (String) campos.get("nombre", null);
+        categoria = (String) campos.get("categoria", null);
+        stock = new AtomicInteger(campos.get("stockActual", 0));
+        umbralAlerta = campos.get("umbralAlerta", 0);
+        capacidadMaxima = campos.get("capacidadMaxima", 0);
+        unidadMedida = (String) campos.get("unidadMedida", null);
     }
 
     @Override
     public String toString() {
-        return nombre + " (" + categoria + ", Stock: " + stockActual + "/" + capacidadMaxima + " " + unidadMedida + ")";
+        return nombre + " (" + categoria + ", Stock: " + stock.get() + "/" + capacidadMaxima + " " + unidadMedida + ")";
     }
 
     @Override
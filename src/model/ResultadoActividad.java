@@ -1,5 +1,6 @@
 package model;
 
+import java.io.Serializable;
 import java.util.Date;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,7 +8,9 @@ import java.util.List;
 /**
  * Representa los resultados registrados de una actividad (RF-07).
  */
-public class ResultadoActividad {
+public class ResultadoActividad implements Serializable {
+    private static final long serialVersionUID = -4715757479766573454L;
+
     private String id;
     private String actividadId;
     private String nombreActividad;
@@ -0,0 +1,74 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * Totales acumulados de los resultados de un grupo (un mes, un coordinador, una brigada o todo el sistema).
+ * Se suman al registrar cada resultado, así los reportes de impacto no tienen que recorrer el historial.
+ */
+public class ResumenImpacto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String TOTAL = "total";
+    public static final String PREFIJO_MES = "mes:";
+    public static final String PREFIJO_COORDINADOR = "coordinador:";
+    public static final String PREFIJO_BRIGADA = "brigada:";
+
+    private String clave; // Prefijo + valor del grupo, por ejemplo "mes:2025-03"
+    private int cantidadResultados;
+    private long personasBeneficiadas;
+    private double horasTrabajadas;
+    private double impacto; // Suma de calcularImpacto() de cada resultado
+
+    public ResumenImpacto(String clave) {
+        this.clave = clave;
+    }
+
+    public void sumar(ResultadoActividad resultado) {
+        cantidadResultados++;
+        personasBeneficiadas += resultado.getPersonasBeneficiadas();
+        horasTrabajadas += resultado.getHorasTrabajadas();
+        impacto += resultado.calcularImpacto();
+    }
+
+    public String getClave() { return clave; }
+
+    /**
+     * Valor del grupo sin el prefijo (el mes, el ID del coordinador o el de la brigada)
+     */
+    public String getGrupo() {
+        int separador = clave.indexOf(':');
+        return separador < 0 ? clave : clave.substring(separador + 1);
+    }
+
+    public int getCantidadResultados() { return cantidadResultados; }
+    public long getPersonasBeneficiadas() { return personasBeneficiadas; }
+    public double getHorasTrabajadas() { return horasTrabajadas; }
+    public double getImpacto() { return impacto; }
+
+    public double getPromedioBeneficiados() {
+        return cantidadResultados > 0 ? (double) personasBeneficiadas / cantidadResultados : 0;
+    }
+
+    public double getPromedioHoras() {
+        return cantidadResultados > 0 ? horasTrabajadas / cantidadResultados : 0;
+    }
+
+    /**
+     * Copia independiente, para persistirla sin que la afecten cambios posteriores
+     */
+    public ResumenImpacto copiar() {
+        ResumenImpacto copia = new ResumenImpacto(clave);
+        copia.cantidadResultados = cantidadResultados;
+        copia.personasBeneficiadas = personasBeneficiadas;
+        copia.horasTrabajadas = horasTrabajadas;
+        copia.impacto = impacto;
+        return copia;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d resultados, %d beneficiados, %.1f horas, impacto %.1f",
+                clave, cantidadResultados, personasBeneficiadas, horasTrabajadas, impacto);
+    }
+}
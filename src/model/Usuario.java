@@ -1,8 +1,12 @@
 package model;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class Usuario implements Serializable {
+    // Valor calculado para la versión original de la clase, para seguir leyendo usuarios.dat existentes
+    private static final long serialVersionUID = -257859366289336057L;
+
     private String id;
     private String nombre;
     private String telefono;
@@ -30,8 +34,11 @@ public abstract class Usuario implements Serializable {
         this.rol = rol;
     }
 
+    // Contador para que dos usuarios creados en el mismo milisegundo no reciban el mismo ID
+    private static final AtomicInteger CONTADOR_IDS = new AtomicInteger();
+
     private String generarId() {
-        return "USR" + System.currentTimeMillis() + (int)(Math.random() * 1000);
+        return "USR" + System.currentTimeMillis() + String.format("%03d", CONTADOR_IDS.getAndIncrement() % 1000);
     }
 
     // Getters y Setters
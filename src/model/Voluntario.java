@@ -3,12 +3,15 @@ package model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class Voluntario extends Usuario implements Serializable {
-    private List<String> habilidades;
+    // Listas copiadas al escribir (como las asignaciones de Actividad): cada cambio publica una lista nueva de solo
+    // lectura, así pueden recorrerse desde otros hilos mientras se edita el perfil
+    private volatile List<String> habilidades;
     private boolean disponible;
-    private List<String> diasDisponibles; // Cambiado a List<String>
+    private volatile List<String> diasDisponibles; // Cambiado a List<String>
     private int horasAcumuladas;
 
     // Días de la semana constantes para validación y consistencia
@@ -18,17 +21,17 @@ public class Voluntario extends Usuario implements Serializable {
 
     public Voluntario() {
         super();
-        this.habilidades = new ArrayList<>();
+        this.habilidades = Collections.emptyList();
         this.disponible = true;
-        this.diasDisponibles = new ArrayList<>();
+        this.diasDisponibles = Collections.emptyList();
         this.horasAcumuladas = 0;
     }
 
     public Voluntario(String id, String nombre, String telefono, String email,
                       String password, List<String> habilidades, List<String> diasDisponibles) {
         super(id, nombre, telefono, email, password, "Voluntario");
-        this.habilidades = habilidades != null ? habilidades : new ArrayList<>();
-        this.diasDisponibles = diasDisponibles != null ? diasDisponibles : new ArrayList<>();
+        this.habilidades = copia(habilidades);
+        this.diasDisponibles = copia(diasDisponibles);
         this.disponible = true;
         this.horasAcumuladas = 0;
     }
@@ -39,26 +42,10 @@ public class Voluntario extends Usuario implements Serializable {
         super(nombre, telefono, email, password, "Voluntario");
 
         // Procesar habilidades
-        this.habilidades = new ArrayList<>();
-        if (habilidadesTexto != null && !habilidadesTexto.isEmpty()) {
-            String[] habilidadesArray = habilidadesTexto.split(",");
-            for (String habilidad : habilidadesArray) {
-                this.habilidades.add(habilidad.trim());
-            }
-        }
+        this.habilidades = separarHabilidades(habilidadesTexto);
 
         // Procesar días (compatibilidad con versión anterior)
-        this.diasDisponibles = new ArrayList<>();
-        if (diasTexto != null && !diasTexto.isEmpty()) {
-            // Si viene en formato texto separado por comas
-            String[] diasArray = diasTexto.split(",");
-            for (String dia : diasArray) {
-                String diaTrim = dia.trim();
-                if (DIAS_SEMANA.contains(diaTrim)) {
-                    this.diasDisponibles.add(diaTrim);
-                }
-            }
-        }
+        this.diasDisponibles = separarDias(diasTexto);
 
         this.disponible = true;
         this.horasAcumuladas = 0;
@@ -66,20 +53,14 @@ public class Voluntario extends Usuario implements Serializable {
 
     // Getters y Setters
     public List<String> getHabilidades() { return habilidades; }
-    public void setHabilidades(List<String> habilidades) { this.habilidades = habilidades; }
+    public synchronized void setHabilidades(List<String> habilidades) { this.habilidades = copia(habilidades); }
 
     public String getHabilidadesTexto() {
         return String.join(", ", habilidades);
     }
 
-    public void setHabilidadesTexto(String habilidadesTexto) {
-        this.habilidades = new ArrayList<>();
-        if (habilidadesTexto != null && !habilidadesTexto.isEmpty()) {
-            String[] habilidadesArray = habilidadesTexto.split(",");
-            for (String habilidad : habilidadesArray) {
-                this.habilidades.add(habilidad.trim());
-            }
-        }
+    public synchronized void setHabilidadesTexto(String habilidadesTexto) {
+        this.habilidades = separarHabilidades(habilidadesTexto);
     }
 
     public boolean isDisponible() { return disponible; }
@@ -87,8 +68,8 @@ public class Voluntario extends Usuario implements Serializable {
 
     // Nuevos métodos para días como lista
     public List<String> getDiasDisponibles() { return diasDisponibles; }
-    public void setDiasDisponibles(List<String> diasDisponibles) {
-        this.diasDisponibles = diasDisponibles != null ? diasDisponibles : new ArrayList<>();
+    public synchronized void setDiasDisponibles(List<String> diasDisponibles) {
+        this.diasDisponibles = copia(diasDisponibles);
     }
 
     // Para compatibilidad con código existente que espera un String
@@ -97,28 +78,25 @@ public class Voluntario extends Usuario implements Serializable {
     }
 
     // Para compatibilidad con código existente que envía un String
-    public void setDiasDisponiblesTexto(String diasTexto) {
-        this.diasDisponibles = new ArrayList<>();
-        if (diasTexto != null && !diasTexto.isEmpty()) {
-            String[] diasArray = diasTexto.split(",");
-            for (String dia : diasArray) {
-                String diaTrim = dia.trim();
-                if (DIAS_SEMANA.contains(diaTrim)) {
-                    this.diasDisponibles.add(diaTrim);
-                }
-            }
-        }
+    public synchronized void setDiasDisponiblesTexto(String diasTexto) {
+        this.diasDisponibles = separarDias(diasTexto);
     }
 
     // Métodos para manipular días individualmente
-    public void agregarDia(String dia) {
+    public synchronized void agregarDia(String dia) {
         if (dia != null && !diasDisponibles.contains(dia) && DIAS_SEMANA.contains(dia)) {
-            diasDisponibles.add(dia);
+            List<String> nuevos = new ArrayList<>(diasDisponibles);
+            nuevos.add(dia);
+            diasDisponibles = Collections.unmodifiableList(nuevos);
         }
     }
 
-    public void eliminarDia(String dia) {
-        diasDisponibles.remove(dia);
+    public synchronized void eliminarDia(String dia) {
+        if (diasDisponibles.contains(dia)) {
+            List<String> nuevos = new ArrayList<>(diasDisponibles);
+            nuevos.remove(dia);
+            diasDisponibles = Collections.unmodifiableList(nuevos);
+        }
     }
 
     public boolean tieneDia(String dia) {
@@ -126,23 +104,20 @@ public class Voluntario extends Usuario implements Serializable {
     }
 
     // Métodos para configuraciones rápidas
-    public void setDiasLaborables() {
-        diasDisponibles.clear();
-        diasDisponibles.addAll(Arrays.asList("Lunes", "Martes", "Miércoles", "Jueves", "Viernes"));
+    public synchronized void setDiasLaborables() {
+        diasDisponibles = copia(Arrays.asList("Lunes", "Martes", "Miércoles", "Jueves", "Viernes"));
     }
 
-    public void setFinesDeSemana() {
-        diasDisponibles.clear();
-        diasDisponibles.addAll(Arrays.asList("Sábado", "Domingo"));
+    public synchronized void setFinesDeSemana() {
+        diasDisponibles = copia(Arrays.asList("Sábado", "Domingo"));
     }
 
-    public void setTodaLaSemana() {
-        diasDisponibles.clear();
-        diasDisponibles.addAll(DIAS_SEMANA);
+    public synchronized void setTodaLaSemana() {
+        diasDisponibles = copia(DIAS_SEMANA);
     }
 
-    public void limpiarDias() {
-        diasDisponibles.clear();
+    public synchronized void limpiarDias() {
+        diasDisponibles = Collections.emptyList();
     }
 
     public int getHorasAcumuladas() { return horasAcumuladas; }
@@ -157,4 +132,35 @@ public class Voluntario extends Usuario implements Serializable {
     public void consultarHistorial() {
         System.out.println("Consultando historial de actividades de " + this.getNombre());
     }
+
+    // Copia de solo lectura que se publica en lugar de la lista recibida
+    private static List<String> copia(List<String> lista) {
+        return lista == null || lista.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(lista));
+    }
+
+    private static List<String> separarHabilidades(String habilidadesTexto) {
+        List<String> lista = new ArrayList<>();
+        if (habilidadesTexto != null && !habilidadesTexto.isEmpty()) {
+            for (String habilidad : habilidadesTexto.split(",")) {
+                lista.add(habilidad.trim());
+            }
+        }
+        return copia(lista);
+    }
+
+    private static List<String> separarDias(String diasTexto) {
+        List<String> lista = new ArrayList<>();
+        if (diasTexto != null && !diasTexto.isEmpty()) {
+            // Texto separado por comas; se ignoran los valores que no son días de la semana
+            for (String dia : diasTexto.split(",")) {
+                String diaTrim = dia.trim();
+                if (DIAS_SEMANA.contains(diaTrim)) {
+                    lista.add(diaTrim);
+                }
+            }
+        }
+        return copia(lista);
+    }
 }
\ No newline at end of file
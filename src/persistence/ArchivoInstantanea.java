@@ -0,0 +1,267 @@
+package persistence;
+
+import exceptions.PersistenciaException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/*
+Escritura y lectura de instantáneas a prueba de caídas.
+La instantánea se escribe en un archivo temporal, se fuerza a disco y se renombra de forma atómica sobre el archivo
+definitivo, conservando las últimas generaciones como "<archivo>.1", "<archivo>.2", etc.
+Cada archivo lleva una cabecera con versión, cantidad de registros, secuencia del diario incluida y CRC32C del contenido.
+
+Cabecera: [int magia][short versión][byte formato][int cantidad][long secuencia diario][long longitud][int crc32c]
+Las listas de entidades del modelo se escriben con CodecBinario; cualquier otro dato con serialización Java.
+*/
+public class ArchivoInstantanea {
+    public static final int GENERACIONES = 3;
+
+    static final int MAGIA = 0x42524744; // "BRGD"
+    static final short VERSION = 1;
+    static final byte FORMATO_SERIALIZACION_JAVA = 1;
+    static final byte FORMATO_CODEC_BINARIO = 2;
+    static final int LONGITUD_CABECERA = 4 + 2 + 1 + 4 + 8 + 8 + 4;
+
+    // Primeros bytes de un archivo escrito directamente con ObjectOutputStream (formato anterior)
+    private static final int MAGIA_SERIALIZACION_JAVA = 0xACED;
+
+    /*
+    Escribe una instantánea de forma atómica y rota las generaciones anteriores
+    @param secuenciaDiario último registro del diario incluido en los datos
+    @param generaciones cantidad de generaciones anteriores a conservar
+    */
+    public static void escribir(String archivo, Object datos, long secuenciaDiario, int generaciones)
+            throws PersistenciaException {
+        escribir(archivo, codificar(archivo, datos), secuenciaDiario, generaciones);
+    }
+
+    /*
+    Codifica los datos de una instantánea en memoria. Se llama en el hilo que modifica los datos (con el bloqueo
+    de su gestor), así el hilo escritor solo maneja bytes y nunca recorre entidades que otro hilo está cambiando.
+    */
+    static Codificada codificar(String archivo, Object datos) throws PersistenciaException {
+        try {
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            byte formato = CodecBinario.soporta(datos) ? FORMATO_CODEC_BINARIO : FORMATO_SERIALIZACION_JAVA;
+            if (formato == FORMATO_CODEC_BINARIO) {
+                CodecBinario.escribir((List<?>) datos, contenido);
+            } else {
+                ObjectOutputStream oos = new ObjectOutputStream(contenido);
+                oos.writeObject(datos);
+                oos.flush();
+            }
+            int cantidad = datos instanceof List ? ((List<?>) datos).size() : -1;
+            return new Codificada(formato, cantidad, contenido.toByteArray());
+        } catch (IOException e) {
+            throw new PersistenciaException(archivo, "codificar", e);
+        }
+    }
+
+    /*
+    Escribe una instantánea ya codificada de forma atómica y rota las generaciones anteriores
+    */
+    static void escribir(String archivo, Codificada datos, long secuenciaDiario, int generaciones)
+            throws PersistenciaException {
+        Path destino = Paths.get(archivo).toAbsolutePath();
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C crc = new CRC32C();
+            crc.update(datos.bytes);
+
+            ByteBuffer cabecera = ByteBuffer.allocate(LONGITUD_CABECERA);
+            cabecera.putInt(MAGIA);
+            cabecera.putShort(VERSION);
+            cabecera.put(datos.formato);
+            cabecera.putInt(datos.cantidad);
+            cabecera.putLong(secuenciaDiario);
+            cabecera.putLong(datos.bytes.length);
+            cabecera.putInt((int) crc.getValue());
+            cabecera.flip();
+            ByteBuffer contenido = ByteBuffer.wrap(datos.bytes);
+            while (cabecera.hasRemaining() || contenido.hasRemaining()) {
+                canal.write(new ByteBuffer[]{cabecera, contenido});
+            }
+            canal.force(true);
+        } catch (IOException e) {
+            throw new PersistenciaException(archivo, "escribir", e);
+        }
+
+        try {
+            rotarGeneraciones(destino, generaciones);
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forzarDirectorio(destino.getParent());
+        } catch (IOException e) {
+            throw new PersistenciaException(archivo, "renombrar", e);
+        }
+    }
+
+    private static void rotarGeneraciones(Path destino, int generaciones) throws IOException {
+        if (generaciones <= 0 || !Files.exists(destino)) {
+            return;
+        }
+        for (int i = generaciones - 1; i >= 1; i--) {
+            Path anterior = generacion(destino, i);
+            if (Files.exists(anterior)) {
+                Files.move(anterior, generacion(destino, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        // Se copia (no se mueve) para que el archivo principal exista hasta el renombrado atómico
+        Files.copy(destino, generacion(destino, 1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void forzarDirectorio(Path directorio) {
+        if (directorio == null) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Algunos sistemas (Windows) no permiten sincronizar directorios
+        }
+    }
+
+    private static Path generacion(Path destino, int numero) {
+        return destino.resolveSibling(destino.getFileName() + "." + numero);
+    }
+
+    /*
+    Lee la instantánea más reciente que sea válida. El contenido de cada archivo se verifica con el CRC antes de
+    decodificarlo; si no coincide o no se puede decodificar, se pasa a la generación anterior.
+    @return contenido leído, o null si no existe ninguna generación
+    @throws PersistenciaException si existen archivos pero ninguno es válido
+    */
+    public static Contenido leer(String archivo, int generaciones) throws PersistenciaException {
+        Path destino = Paths.get(archivo).toAbsolutePath();
+        PersistenciaException ultimoError = null;
+
+        for (int i = 0; i <= generaciones; i++) {
+            Path candidato = i == 0 ? destino : generacion(destino, i);
+            if (!Files.exists(candidato)) {
+                continue;
+            }
+            try {
+                Contenido contenido = leerArchivo(candidato);
+                if (i > 0) {
+                    System.err.println("[WARNING] " + archivo + " dañado, se recuperó la generación " +
+                            candidato.getFileName() + ".");
+                }
+                return contenido;
+            } catch (PersistenciaException e) {
+                System.err.println("[WARNING] Instantánea inválida " + candidato.getFileName() + ": " + e.getMessage());
+                ultimoError = e;
+            }
+        }
+
+        if (ultimoError != null) {
+            throw ultimoError;
+        }
+        return null;
+    }
+
+    private static Contenido leerArchivo(Path ruta) throws PersistenciaException {
+        String nombre = ruta.getFileName().toString();
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(ruta)))) {
+            dis.mark(4);
+            int magia = dis.readInt();
+            if ((magia >>> 16) == MAGIA_SERIALIZACION_JAVA) {
+                // Archivo anterior sin cabecera: se lee tal cual, sin verificación
+                dis.reset();
+                return new Contenido(new ObjectInputStream(dis).readObject(), 0, nombre);
+            }
+            if (magia != MAGIA) {
+                throw new PersistenciaException("Formato desconocido en " + nombre);
+            }
+
+            short version = dis.readShort();
+            byte formato = dis.readByte();
+            int cantidad = dis.readInt();
+            long secuenciaDiario = dis.readLong();
+            long longitud = dis.readLong();
+            int crcEsperado = dis.readInt();
+            if (version > VERSION || (formato != FORMATO_SERIALIZACION_JAVA && formato != FORMATO_CODEC_BINARIO)) {
+                throw new PersistenciaException("Versión no soportada en " + nombre + ": " + version + "/" + formato);
+            }
+
+            if (longitud < 0 || longitud > Files.size(ruta) - LONGITUD_CABECERA) {
+                throw new PersistenciaException("Longitud de contenido inválida en " + nombre + ": " + longitud);
+            }
+            // Primera pasada: el CRC se calcula leyendo el contenido por bloques, sin cargarlo entero en memoria.
+            // Recién si coincide se decodifica, en una segunda pasada: el códec y la deserialización nunca
+            // reciben bytes dañados
+            if (calcularCrc(dis, longitud) != crcEsperado) {
+                throw new PersistenciaException("CRC inválido en " + nombre);
+            }
+
+            Object datos;
+            try (InputStream entrada = new BufferedInputStream(Files.newInputStream(ruta))) {
+                entrada.skipNBytes(LONGITUD_CABECERA);
+                datos = formato == FORMATO_CODEC_BINARIO
+                        ? CodecBinario.leer(entrada, longitud)
+                        : new ObjectInputStream(entrada).readObject();
+            }
+            if (cantidad >= 0 && (!(datos instanceof List) || ((List<?>) datos).size() != cantidad)) {
+                throw new PersistenciaException("Cantidad de registros inconsistente en " + nombre);
+            }
+            return new Contenido(datos, secuenciaDiario, nombre);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            // Cualquier falla al decodificar cuenta como archivo dañado y se prueba la generación anterior
+            throw new PersistenciaException(nombre, "leer", e);
+        }
+    }
+
+    private static int calcularCrc(InputStream entrada, long longitud) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] bloque = new byte[64 * 1024];
+        long restante = longitud;
+        while (restante > 0) {
+            int leidos = entrada.read(bloque, 0, (int) Math.min(bloque.length, restante));
+            if (leidos < 0) {
+                throw new EOFException("Contenido incompleto: faltan " + restante + " bytes");
+            }
+            crc.update(bloque, 0, leidos);
+            restante -= leidos;
+        }
+        return (int) crc.getValue();
+    }
+
+    /*
+    Contenido de una instantánea ya codificado, listo para escribir desde cualquier hilo
+    */
+    static class Codificada {
+        private final byte formato;
+        private final int cantidad;
+        private final byte[] bytes;
+
+        Codificada(byte formato, int cantidad, byte[] bytes) {
+            this.formato = formato;
+            this.cantidad = cantidad;
+            this.bytes = bytes;
+        }
+    }
+
+    /*
+    Datos leídos de una instantánea junto con su metadato de secuencia
+    */
+    public static class Contenido {
+        private final Object datos;
+        private final long secuenciaDiario;
+        private final String origen;
+
+        Contenido(Object datos, long secuenciaDiario, String origen) {
+            this.datos = datos;
+            this.secuenciaDiario = secuenciaDiario;
+            this.origen = origen;
+        }
+
+        public Object getDatos() { return datos; }
+        public long getSecuenciaDiario() { return secuenciaDiario; }
+        public String getOrigen() { return origen; }
+    }
+}
@@ -0,0 +1,103 @@
+package persistence;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+Carga inicial de los archivos de datos en paralelo.
+Cada tarea lee un archivo independiente en un pool pequeño de hilos; ejecutar() espera a que terminen todas,
+de modo que el tiempo total queda acotado por el archivo más grande y no por la suma.
+Las referencias entre archivos se resuelven después, en el hilo que llamó a ejecutar().
+*/
+public class CargadorInicial {
+    private static final int MAXIMO_HILOS = 4;
+
+    private final Map<String, Runnable> tareas = new LinkedHashMap<>();
+    private final Map<String, Long> tiempos = new LinkedHashMap<>();
+
+    /*
+    Agrega la carga de un archivo
+    @param nombre nombre mostrado en el registro de tiempos
+    @param tarea carga independiente de las demás
+    */
+    public CargadorInicial agregar(String nombre, Runnable tarea) {
+        tareas.put(nombre, tarea);
+        return this;
+    }
+
+    /*
+    Ejecuta todas las cargas en paralelo y espera a que terminen
+    */
+    public void ejecutar() {
+        if (tareas.isEmpty()) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.min(tareas.size(), MAXIMO_HILOS), r -> {
+            Thread hilo = new Thread(r, "carga-inicial-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        try {
+            List<String> nombres = new ArrayList<>(tareas.keySet());
+            List<Future<Long>> futuros = new ArrayList<>();
+            for (Runnable tarea : tareas.values()) {
+                futuros.add(ejecutor.submit(() -> {
+                    long inicioTarea = System.nanoTime();
+                    tarea.run();
+                    return (System.nanoTime() - inicioTarea) / 1_000_000;
+                }));
+            }
+
+            for (int i = 0; i < futuros.size(); i++) {
+                tiempos.put(nombres.get(i), esperar(futuros.get(i)));
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+
+        long total = (System.nanoTime() - inicio) / 1_000_000;
+        StringBuilder detalle = new StringBuilder();
+        for (Map.Entry<String, Long> tiempo : tiempos.entrySet()) {
+            if (detalle.length() > 0) {
+                detalle.append(", ");
+            }
+            detalle.append(tiempo.getKey()).append(" ").append(tiempo.getValue()).append(" ms");
+        }
+        System.out.println("[INFO] Carga inicial completada en " + total + " ms (" + detalle + ").");
+    }
+
+    private static long esperar(Future<Long> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga inicial interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /*
+    Tiempo de carga de cada archivo en milisegundos (disponible después de ejecutar)
+    */
+    public Map<String, Long> getTiempos() {
+        return new LinkedHashMap<>(tiempos);
+    }
+}
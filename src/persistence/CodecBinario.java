@@ -0,0 +1,687 @@
+package persistence;
+
+import model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/*
+Códec binario compacto para las clases del modelo, usado en lugar de la serialización estándar de Java.
+- Enteros como varint (zigzag para valores con signo) y fechas como milisegundos desde epoch.
+- Diccionario de cadenas repetidas (zona, tipo, estado, habilidades, rol, categoría, días...): la primera aparición
+  se escribe completa y las siguientes como un índice.
+- Las referencias a entidades guardadas en otro archivo (coordinador y voluntarios de una brigada, brigada de una
+  actividad) se escriben solo como ID; la brigada de una actividad lleva además su nombre, para que el historial
+  siga mostrándolo si la brigada se elimina. Al leer se devuelven instancias "stub" con esos datos, que
+  MapaIdentidades reemplaza por las instancias canónicas al terminar la carga.
+- El contenido empieza con la versión del esquema para poder evolucionar el formato. La versión 1 guardaba las
+  referencias como objetos completos y la 2 la brigada de una actividad solo como ID; ambas se siguen pudiendo leer.
+*/
+public class CodecBinario {
+    public static final int VERSION_ESQUEMA = 3;
+    private static final int VERSION_REFERENCIAS_EMBEBIDAS = 1;
+    private static final int VERSION_BRIGADA_SOLO_ID = 2;
+
+    private static final int TIPO_VOLUNTARIO = 1;
+    private static final int TIPO_COORDINADOR = 2;
+    private static final int TIPO_BRIGADA = 3;
+    private static final int TIPO_ACTIVIDAD = 4;
+    private static final int TIPO_RECURSO = 5;
+    private static final int TIPO_RESULTADO = 6;
+
+    // Marcas de referencia: 0 = null, 1 = objeto nuevo, n >= 2 = objeto ya escrito con índice n - 2
+    private static final int REF_NULA = 0;
+    private static final int REF_NUEVA = 1;
+
+    /*
+    Indica si los datos son una lista compuesta solo por entidades que el códec sabe escribir
+    */
+    public static boolean soporta(Object datos) {
+        if (!(datos instanceof List)) {
+            return false;
+        }
+        for (Object elemento : (List<?>) datos) {
+            if (tipoDe(elemento) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tipoDe(Object entidad) {
+        if (entidad instanceof Voluntario) return TIPO_VOLUNTARIO;
+        if (entidad instanceof Coordinador) return TIPO_COORDINADOR;
+        if (entidad instanceof Brigada) return TIPO_BRIGADA;
+        if (entidad instanceof Actividad) return TIPO_ACTIVIDAD;
+        if (entidad instanceof Recurso) return TIPO_RECURSO;
+        if (entidad instanceof ResultadoActividad) return TIPO_RESULTADO;
+        return 0;
+    }
+
+    /*
+    Escribe una lista de entidades en el formato binario
+    */
+    public static void escribir(List<?> datos, OutputStream salida) throws IOException {
+        Escritor escritor = new Escritor(salida);
+        escritor.varint(VERSION_ESQUEMA);
+        escritor.varint(datos.size());
+        for (Object entidad : datos) {
+            escritor.referencia(entidad);
+        }
+        escritor.flush();
+    }
+
+    /*
+    Lee una lista de entidades escrita con escribir()
+    @param longitud bytes disponibles en la entrada; ninguna longitud o cantidad leída puede superarlos,
+    así un contenido dañado falla con IOException en lugar de reservar memoria de más
+    */
+    public static List<Object> leer(InputStream entrada, long longitud) throws IOException {
+        Lector lector = new Lector(entrada, longitud);
+        int version = lector.varint();
+        if (version > VERSION_ESQUEMA) {
+            throw new IOException("Versión de esquema no soportada: " + version);
+        }
+        lector.version = version;
+        int cantidad = lector.cantidad();
+        List<Object> datos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            datos.add(lector.referencia());
+        }
+        return datos;
+    }
+
+    /*
+    Escritura de primitivas, diccionario y referencias
+    */
+    private static class Escritor {
+        private final DataOutputStream salida;
+        private final Map<String, Integer> diccionario = new HashMap<>();
+        private final Map<Object, Integer> escritos = new IdentityHashMap<>();
+
+        Escritor(OutputStream salida) {
+            this.salida = new DataOutputStream(new BufferedOutputStream(salida));
+        }
+
+        void flush() throws IOException {
+            salida.flush();
+        }
+
+        void varint(long valor) throws IOException {
+            while ((valor & ~0x7FL) != 0) {
+                salida.writeByte((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            salida.writeByte((int) valor);
+        }
+
+        void entero(long valor) throws IOException {
+            varint((valor << 1) ^ (valor >> 63)); // zigzag
+        }
+
+        void booleano(boolean valor) throws IOException {
+            salida.writeByte(valor ? 1 : 0);
+        }
+
+        void decimal(double valor) throws IOException {
+            salida.writeLong(Double.doubleToLongBits(valor));
+        }
+
+        void fecha(Date fecha) throws IOException {
+            if (fecha == null) {
+                varint(0);
+            } else {
+                long millis = fecha.getTime();
+                varint(((millis << 1) ^ (millis >> 63)) + 1);
+            }
+        }
+
+        void texto(String texto) throws IOException {
+            if (texto == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            salida.write(bytes);
+        }
+
+        // Cadena de valores repetidos: índice en el diccionario o definición nueva
+        void textoRepetido(String texto) throws IOException {
+            if (texto == null) {
+                varint(0);
+                return;
+            }
+            Integer indice = diccionario.get(texto);
+            if (indice != null) {
+                varint(indice + 1L);
+            } else {
+                varint(diccionario.size() + 1L);
+                diccionario.put(texto, diccionario.size());
+                texto(texto);
+            }
+        }
+
+        void listaRepetida(List<String> lista) throws IOException {
+            if (lista == null) {
+                varint(0);
+                return;
+            }
+            varint(lista.size() + 1L);
+            for (String valor : lista) {
+                textoRepetido(valor);
+            }
+        }
+
+        void listaTexto(List<String> lista) throws IOException {
+            if (lista == null) {
+                varint(0);
+                return;
+            }
+            varint(lista.size() + 1L);
+            for (String valor : lista) {
+                texto(valor);
+            }
+        }
+
+        void referencia(Object entidad) throws IOException {
+            if (entidad == null) {
+                varint(REF_NULA);
+                return;
+            }
+            Integer indice = escritos.get(entidad);
+            if (indice != null) {
+                varint(indice + 2L);
+                return;
+            }
+            varint(REF_NUEVA);
+            escritos.put(entidad, escritos.size());
+            entidad(entidad);
+        }
+
+        // Entidad de otro archivo: solo se guarda su ID
+        private void referenciaExterna(Usuario usuario) throws IOException {
+            textoRepetido(usuario != null ? usuario.getId() : null);
+        }
+
+        private void entidad(Object entidad) throws IOException {
+            int tipo = tipoDe(entidad);
+            varint(tipo);
+            switch (tipo) {
+                case TIPO_VOLUNTARIO -> voluntario((Voluntario) entidad);
+                case TIPO_COORDINADOR -> coordinador((Coordinador) entidad);
+                case TIPO_BRIGADA -> brigada((Brigada) entidad);
+                case TIPO_ACTIVIDAD -> actividad((Actividad) entidad);
+                case TIPO_RECURSO -> recurso((Recurso) entidad);
+                case TIPO_RESULTADO -> resultado((ResultadoActividad) entidad);
+                default -> throw new IOException("Tipo no soportado: " + entidad.getClass().getName());
+            }
+        }
+
+        private void usuario(Usuario usuario) throws IOException {
+            texto(usuario.getId());
+            texto(usuario.getNombre());
+            texto(usuario.getTelefono());
+            texto(usuario.getEmail());
+            texto(usuario.getPassword());
+            textoRepetido(usuario.getRol());
+        }
+
+        private void voluntario(Voluntario voluntario) throws IOException {
+            usuario(voluntario);
+            listaRepetida(voluntario.getHabilidades());
+            booleano(voluntario.isDisponible());
+            listaRepetida(voluntario.getDiasDisponibles());
+            entero(voluntario.getHorasAcumuladas());
+        }
+
+        private void coordinador(Coordinador coordinador) throws IOException {
+            usuario(coordinador);
+            textoRepetido(coordinador.getAreaResponsabilidad());
+        }
+
+        private void brigada(Brigada brigada) throws IOException {
+            texto(brigada.getId());
+            texto(brigada.getNombre());
+            textoRepetido(brigada.getTipo());
+            textoRepetido(brigada.getZona());
+            texto(brigada.getDescripcion());
+            textoRepetido(brigada.getEstado());
+            entero(brigada.getCapacidadMaxima());
+            referenciaExterna(brigada.getCoordinador());
+            List<Voluntario> voluntarios = brigada.getVoluntarios();
+            varint(voluntarios.size());
+            for (Voluntario voluntario : voluntarios) {
+                referenciaExterna(voluntario);
+            }
+        }
+
+        private void actividad(Actividad actividad) throws IOException {
+            texto(actividad.getId());
+            texto(actividad.getNombre());
+            fecha(actividad.getFecha());
+            textoRepetido(actividad.getLugar());
+            texto(actividad.getObjetivo());
+            texto(actividad.getResultados());
+            Brigada brigada = actividad.getBrigadaAsociada();
+            textoRepetido(brigada != null ? brigada.getId() : null);
+            if (brigada != null) {
+                texto(brigada.getNombre());
+            }
+
+            Map<String, String> voluntarios = actividad.getVoluntariosAsignados();
+            varint(voluntarios == null ? 0 : voluntarios.size() + 1L);
+            if (voluntarios != null) {
+                for (Map.Entry<String, String> asignacion : voluntarios.entrySet()) {
+                    textoRepetido(asignacion.getKey());
+                    textoRepetido(asignacion.getValue());
+                }
+            }
+
+            Map<String, Integer> recursos = actividad.getRecursosAsignados();
+            varint(recursos == null ? 0 : recursos.size() + 1L);
+            if (recursos != null) {
+                for (Map.Entry<String, Integer> uso : recursos.entrySet()) {
+                    textoRepetido(uso.getKey());
+                    Integer cantidad = uso.getValue();
+                    varint(cantidad == null ? 0 : ((cantidad << 1) ^ (cantidad >> 31)) + 1L);
+                }
+            }
+        }
+
+        private void recurso(Recurso recurso) throws IOException {
+            texto(recurso.getId());
+            texto(recurso.getNombre());
+            textoRepetido(recurso.getCategoria());
+            entero(recurso.getStockActual());
+            entero(recurso.getUmbralAlerta());
+            entero(recurso.getCapacidadMaxima());
+            textoRepetido(recurso.getUnidadMedida());
+        }
+
+        private void resultado(ResultadoActividad resultado) throws IOException {
+            texto(resultado.getId());
+            texto(resultado.getActividadId());
+            texto(resultado.getNombreActividad());
+            fecha(resultado.getFechaActividad());
+            fecha(resultado.getFechaRegistro());
+            textoRepetido(resultado.getCoordinadorId());
+            textoRepetido(resultado.getCoordinadorNombre());
+            entero(resultado.getPersonasBeneficiadas());
+            decimal(resultado.getHorasTrabajadas());
+            listaTexto(resultado.getMaterialesUtilizados());
+            texto(resultado.getResultadosAlcanzados());
+            texto(resultado.getObservaciones());
+            listaRepetida(resultado.getVoluntariosParticipantes());
+            listaTexto(resultado.getEvidencias());
+        }
+    }
+
+    /*
+    Lectura simétrica a Escritor
+    */
+    private static class Lector {
+        private final EntradaContada contada;
+        private final DataInputStream entrada;
+        private final List<String> diccionario = new ArrayList<>();
+        private final List<Object> leidos = new ArrayList<>();
+        private int version = VERSION_ESQUEMA;
+
+        Lector(InputStream entrada, long longitud) {
+            this.contada = new EntradaContada(new BufferedInputStream(entrada), longitud);
+            this.entrada = new DataInputStream(contada);
+        }
+
+        /*
+        Cantidad de elementos o bytes que sigue en la entrada; cada elemento ocupa al menos un byte,
+        así que nunca puede ser mayor que lo que queda por leer
+        */
+        int cantidad() throws IOException {
+            long valor = varlong();
+            if (valor < 0 || valor > contada.restante) {
+                throw new IOException("Cantidad inválida: " + valor);
+            }
+            return (int) valor;
+        }
+
+        // Igual que cantidad() para los valores que guardan cantidad + 1 (0 significa null)
+        int cantidadMasUno() throws IOException {
+            long valor = varlong();
+            if (valor < 0 || valor - 1 > contada.restante) {
+                throw new IOException("Cantidad inválida: " + valor);
+            }
+            return (int) valor;
+        }
+
+        long varlong() throws IOException {
+            long valor = 0;
+            int desplazamiento = 0;
+            while (true) {
+                int b = entrada.readUnsignedByte();
+                valor |= (long) (b & 0x7F) << desplazamiento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+                desplazamiento += 7;
+                if (desplazamiento > 63) {
+                    throw new IOException("Varint mal formado");
+                }
+            }
+        }
+
+        int varint() throws IOException {
+            return (int) varlong();
+        }
+
+        long entero() throws IOException {
+            long valor = varlong();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+
+        boolean booleano() throws IOException {
+            return entrada.readByte() != 0;
+        }
+
+        double decimal() throws IOException {
+            return Double.longBitsToDouble(entrada.readLong());
+        }
+
+        Date fecha() throws IOException {
+            long valor = varlong();
+            if (valor == 0) {
+                return null;
+            }
+            valor -= 1;
+            return new Date((valor >>> 1) ^ -(valor & 1));
+        }
+
+        String texto() throws IOException {
+            int longitud = cantidadMasUno();
+            if (longitud == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[longitud - 1];
+            entrada.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String textoRepetido() throws IOException {
+            long indice = varlong();
+            if (indice == 0) {
+                return null;
+            }
+            if (indice > 0 && indice <= diccionario.size()) {
+                return diccionario.get((int) indice - 1);
+            }
+            if (indice != diccionario.size() + 1) {
+                throw new IOException("Índice de diccionario inválido: " + indice);
+            }
+            String texto = texto();
+            diccionario.add(texto);
+            return texto;
+        }
+
+        List<String> listaRepetida() throws IOException {
+            int cantidad = cantidadMasUno();
+            if (cantidad == 0) {
+                return null;
+            }
+            List<String> lista = new ArrayList<>(cantidad - 1);
+            for (int i = 0; i < cantidad - 1; i++) {
+                lista.add(textoRepetido());
+            }
+            return lista;
+        }
+
+        List<String> listaTexto() throws IOException {
+            int cantidad = cantidadMasUno();
+            if (cantidad == 0) {
+                return null;
+            }
+            List<String> lista = new ArrayList<>(cantidad - 1);
+            for (int i = 0; i < cantidad - 1; i++) {
+                lista.add(texto());
+            }
+            return lista;
+        }
+
+        Object referencia() throws IOException {
+            long marca = varlong();
+            if (marca == REF_NULA) {
+                return null;
+            }
+            if (marca != REF_NUEVA) {
+                long indice = marca - 2;
+                if (indice < 0 || indice >= leidos.size() || leidos.get((int) indice) == null) {
+                    throw new IOException("Referencia inválida: " + indice);
+                }
+                return leidos.get((int) indice);
+            }
+            int posicion = leidos.size();
+            leidos.add(null); // Reservar el índice antes de leer los objetos anidados
+            Object entidad = entidad();
+            leidos.set(posicion, entidad);
+            return entidad;
+        }
+
+        private Object entidad() throws IOException {
+            int tipo = varint();
+            return switch (tipo) {
+                case TIPO_VOLUNTARIO -> voluntario();
+                case TIPO_COORDINADOR -> coordinador();
+                case TIPO_BRIGADA -> brigada();
+                case TIPO_ACTIVIDAD -> actividad();
+                case TIPO_RECURSO -> recurso();
+                case TIPO_RESULTADO -> resultado();
+                default -> throw new IOException("Tipo de entidad desconocido: " + tipo);
+            };
+        }
+
+        private Voluntario voluntario() throws IOException {
+            String id = texto();
+            String nombre = texto();
+            String telefono = texto();
+            String email = texto();
+            String password = texto();
+            String rol = textoRepetido();
+            List<String> habilidades = listaRepetida();
+            boolean disponible = booleano();
+            List<String> dias = listaRepetida();
+            int horas = (int) entero();
+
+            Voluntario voluntario = new Voluntario(id, nombre, telefono, email, password, habilidades, dias);
+            voluntario.setRol(rol);
+            voluntario.setDisponible(disponible);
+            voluntario.setHorasAcumuladas(horas);
+            return voluntario;
+        }
+
+        private Coordinador coordinador() throws IOException {
+            String id = texto();
+            String nombre = texto();
+            String telefono = texto();
+            String email = texto();
+            String password = texto();
+            String rol = textoRepetido();
+            String area = textoRepetido();
+
+            Coordinador coordinador = new Coordinador(id, nombre, telefono, email, password, area);
+            coordinador.setRol(rol);
+            return coordinador;
+        }
+
+        private Brigada brigada() throws IOException {
+            Brigada brigada = new Brigada();
+            brigada.setId(texto());
+            brigada.setNombre(texto());
+            brigada.setTipo(textoRepetido());
+            brigada.setZona(textoRepetido());
+            brigada.setDescripcion(texto());
+            brigada.setEstado(textoRepetido());
+            brigada.setCapacidadMaxima((int) entero());
+            boolean embebidas = version == VERSION_REFERENCIAS_EMBEBIDAS;
+            brigada.setCoordinador(embebidas ? (Coordinador) referencia() : stubCoordinador(textoRepetido()));
+            int cantidad = cantidad();
+            List<Voluntario> voluntarios = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                Voluntario voluntario = embebidas ? (Voluntario) referencia() : stubVoluntario(textoRepetido());
+                if (voluntario != null) {
+                    voluntarios.add(voluntario);
+                }
+            }
+            brigada.setVoluntarios(voluntarios);
+            return brigada;
+        }
+
+        private Actividad actividad() throws IOException {
+            String id = texto();
+            String nombre = texto();
+            Date fecha = fecha();
+            String lugar = textoRepetido();
+            String objetivo = texto();
+            String resultados = texto();
+            Brigada brigada;
+            if (version == VERSION_REFERENCIAS_EMBEBIDAS) {
+                brigada = (Brigada) referencia();
+            } else {
+                brigada = stubBrigada(textoRepetido());
+                if (brigada != null && version > VERSION_BRIGADA_SOLO_ID) {
+                    brigada.setNombre(texto());
+                }
+            }
+
+            Actividad actividad = new Actividad(id, nombre, fecha, lugar, objetivo, brigada);
+            actividad.setResultados(resultados);
+
+            int cantidadVoluntarios = cantidadMasUno();
+            if (cantidadVoluntarios > 0) {
+                Map<String, String> voluntarios = new HashMap<>();
+                for (int i = 0; i < cantidadVoluntarios - 1; i++) {
+                    voluntarios.put(textoRepetido(), textoRepetido());
+                }
+                actividad.setVoluntariosAsignados(voluntarios);
+            }
+
+            int cantidadRecursos = cantidadMasUno();
+            if (cantidadRecursos > 0) {
+                Map<String, Integer> recursos = new HashMap<>();
+                for (int i = 0; i < cantidadRecursos - 1; i++) {
+                    String recursoId = textoRepetido();
+                    long valor = varlong();
+                    Integer cantidad = null;
+                    if (valor != 0) {
+                        valor -= 1;
+                        cantidad = (int) ((valor >>> 1) ^ -(valor & 1));
+                    }
+                    recursos.put(recursoId, cantidad);
+                }
+                actividad.setRecursosAsignados(recursos);
+            }
+            return actividad;
+        }
+
+        private Coordinador stubCoordinador(String id) {
+            if (id == null) {
+                return null;
+            }
+            Coordinador coordinador = new Coordinador();
+            coordinador.setId(id);
+            return coordinador;
+        }
+
+        private Voluntario stubVoluntario(String id) {
+            if (id == null) {
+                return null;
+            }
+            Voluntario voluntario = new Voluntario();
+            voluntario.setId(id);
+            return voluntario;
+        }
+
+        private Brigada stubBrigada(String id) {
+            if (id == null) {
+                return null;
+            }
+            Brigada brigada = new Brigada();
+            brigada.setId(id);
+            return brigada;
+        }
+
+        private Recurso recurso() throws IOException {
+            String id = texto();
+            String nombre = texto();
+            String categoria = textoRepetido();
+            int stock = (int) entero();
+            int umbral = (int) entero();
+            int capacidad = (int) entero();
+            String unidad = textoRepetido();
+            return new Recurso(id, nombre, categoria, stock, umbral, capacidad, unidad);
+        }
+
+        private ResultadoActividad resultado() throws IOException {
+            String id = texto();
+            String actividadId = texto();
+            String nombreActividad = texto();
+            Date fechaActividad = fecha();
+            Date fechaRegistro = fecha();
+            String coordinadorId = textoRepetido();
+            String coordinadorNombre = textoRepetido();
+
+            ResultadoActividad resultado = new ResultadoActividad(id, actividadId, nombreActividad,
+                    fechaActividad, coordinadorId, coordinadorNombre);
+            resultado.setFechaRegistro(fechaRegistro);
+            resultado.setPersonasBeneficiadas((int) entero());
+            resultado.setHorasTrabajadas(decimal());
+            resultado.setMaterialesUtilizados(listaTexto());
+            resultado.setResultadosAlcanzados(texto());
+            resultado.setObservaciones(texto());
+            resultado.setVoluntariosParticipantes(listaRepetida());
+            resultado.setEvidencias(listaTexto());
+            return resultado;
+        }
+    }
+
+    /*
+    Cuenta los bytes leídos y no deja leer más allá de la longitud indicada
+    */
+    private static class EntradaContada extends FilterInputStream {
+        private long restante;
+
+        EntradaContada(InputStream entrada, long longitud) {
+            super(entrada);
+            this.restante = longitud;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restante <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                restante--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (restante <= 0) {
+                return -1;
+            }
+            int leidos = super.read(b, off, (int) Math.min(len, restante));
+            if (leidos > 0) {
+                restante -= leidos;
+            }
+            return leidos;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long saltados = super.skip(Math.min(n, restante));
+            restante -= saltados;
+            return saltados;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package persistence;
+
+import exceptions.PersistenciaException;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/*
+Diario de cambios (write-ahead log) asociado a un archivo de datos.
+Cada mutación se agrega al final de "<archivo>.log" como un registro pequeño, de modo que el costo de escritura
+es proporcional al cambio y no al tamaño total del archivo. Los registros se reaplican al cargar.
+Al compactar en una instantánea completa el diario no se borra: se archiva como "<archivo>.log.1" (y los anteriores
+pasan a ".log.2", etc.), igual que las generaciones de la instantánea. Así, si la instantánea nueva resulta dañada
+y se recupera una generación anterior, los registros que la separan de la nueva siguen disponibles.
+
+Formato de cada registro: [int longitud][int crc32c][long secuencia][byte operacion][UTF id][byte formato][entidad (solo GUARDAR)]
+La entidad se codifica con CodecBinario cuando es una clase del modelo y con serialización Java en otro caso.
+La secuencia es creciente y sobrevive a la compactación: la instantánea guarda la última secuencia que incluye, de modo
+que si la aplicación se cae entre escribir la instantánea y vaciar el diario, esos registros no se reaplican.
+*/
+public class DiarioCambios {
+    public static final byte OPERACION_GUARDAR = 1;
+    public static final byte OPERACION_ELIMINAR = 2;
+
+    private static final byte FORMATO_SERIALIZACION_JAVA = 1;
+    private static final byte FORMATO_CODEC_BINARIO = 2;
+
+    private final File archivoDiario;
+    private int cantidadRegistros;
+    private long ultimaSecuencia;
+
+    /*
+    Crea el diario asociado a un archivo de datos
+    @param archivo archivo de la instantánea; el diario se guarda en "<archivo>.log"
+    */
+    public DiarioCambios(String archivo) {
+        this.archivoDiario = new File(archivo + ".log");
+        this.cantidadRegistros = -1; // Se calcula al leer el diario por primera vez
+    }
+
+    /*
+    Agrega un registro al final del diario y lo fuerza a disco
+    @param operacion OPERACION_GUARDAR u OPERACION_ELIMINAR
+    @param id identificador de la entidad afectada
+    @param entidad estado completo de la entidad (null para eliminaciones)
+    */
+    public synchronized void agregar(byte operacion, String id, Object entidad) throws PersistenciaException {
+        agregarRegistros(List.of(codificarRegistro(operacion, id, entidad)));
+    }
+
+    /*
+    Serializa el contenido de un registro; la secuencia, longitud y CRC se agregan al escribirlo en el diario
+    */
+    public static byte[] codificarRegistro(byte operacion, String id, Object entidad) throws PersistenciaException {
+        try {
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            DataOutputStream dos = new DataOutputStream(contenido);
+            dos.writeByte(operacion);
+            dos.writeUTF(id);
+            if (operacion == OPERACION_GUARDAR) {
+                List<Object> unica = Collections.singletonList(entidad);
+                if (CodecBinario.soporta(unica)) {
+                    dos.writeByte(FORMATO_CODEC_BINARIO);
+                    CodecBinario.escribir(unica, dos);
+                } else {
+                    dos.writeByte(FORMATO_SERIALIZACION_JAVA);
+                    ObjectOutputStream oos = new ObjectOutputStream(dos);
+                    oos.writeObject(entidad);
+                    oos.flush();
+                }
+            }
+            dos.flush();
+            return contenido.toByteArray();
+        } catch (IOException e) {
+            throw new PersistenciaException("registro de diario " + id, e);
+        }
+    }
+
+    /*
+    Agrega varios registros ya codificados con una sola escritura y un solo fsync
+    @param registros contenidos generados por codificarRegistro
+    */
+    public synchronized void agregarRegistros(List<byte[]> registros) throws PersistenciaException {
+        if (registros.isEmpty()) {
+            return;
+        }
+        if (cantidadRegistros < 0) {
+            leerRegistros(); // Continuar la secuencia de los registros ya existentes
+        }
+        try (FileChannel canal = FileChannel.open(archivoDiario.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long secuencia = ultimaSecuencia;
+            for (byte[] contenido : registros) {
+                ByteBuffer buffer = enmarcar(++secuencia, contenido);
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+            }
+            canal.force(false);
+            ultimaSecuencia = secuencia;
+            if (cantidadRegistros >= 0) {
+                cantidadRegistros += registros.size();
+            }
+        } catch (IOException e) {
+            throw new PersistenciaException(archivoDiario.getName(), "escribir", e);
+        }
+    }
+
+    private static ByteBuffer enmarcar(long secuencia, byte[] contenido) {
+        ByteBuffer datos = ByteBuffer.allocate(8 + contenido.length);
+        datos.putLong(secuencia);
+        datos.put(contenido);
+
+        CRC32C crc = new CRC32C();
+        crc.update(datos.array());
+
+        ByteBuffer registro = ByteBuffer.allocate(8 + datos.capacity());
+        registro.putInt(datos.capacity());
+        registro.putInt((int) crc.getValue());
+        registro.put(datos.array());
+        registro.flip();
+        return registro;
+    }
+
+    /*
+    Lee todos los registros válidos del diario. Si el final del archivo quedó incompleto o corrupto
+    (por ejemplo tras una caída durante la escritura), se descarta esa cola y el diario se trunca
+    al último registro válido.
+    @return registros en el orden en que fueron agregados
+    */
+    public synchronized List<Registro> leerRegistros() throws PersistenciaException {
+        List<Registro> registros = new ArrayList<>();
+        long posicionValida = leerArchivo(archivoDiario, registros);
+        if (archivoDiario.exists() && posicionValida < archivoDiario.length()) {
+            System.err.println("[WARNING] Diario " + archivoDiario.getName() +
+                    " con registros incompletos, se trunca a " + posicionValida + " bytes.");
+            truncar(posicionValida);
+        }
+        for (Registro registro : registros) {
+            ultimaSecuencia = Math.max(ultimaSecuencia, registro.getSecuencia());
+        }
+        cantidadRegistros = registros.size();
+        return registros;
+    }
+
+    /*
+    Lee los registros de los diarios archivados en compactaciones anteriores, del más antiguo al más reciente.
+    Los archivos archivados no se modifican.
+    @param segmentos cantidad de diarios archivados a considerar (".log.1" a ".log.<segmentos>")
+    */
+    public synchronized List<Registro> leerRegistrosArchivados(int segmentos) throws PersistenciaException {
+        List<Registro> registros = new ArrayList<>();
+        for (int i = segmentos; i >= 1; i--) {
+            leerArchivo(archivado(i), registros);
+        }
+        return registros;
+    }
+
+    /*
+    Agrega a la lista los registros válidos de un archivo de diario
+    @return posición donde termina el último registro válido
+    */
+    private long leerArchivo(File archivo, List<Registro> registros) throws PersistenciaException {
+        if (!archivo.exists()) {
+            return 0;
+        }
+        long posicionValida = 0;
+        try (DataInputStream dis = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(archivo)))) {
+            while (true) {
+                int longitud;
+                try {
+                    longitud = dis.readInt();
+                } catch (EOFException fin) {
+                    break;
+                }
+                int crcEsperado = dis.readInt();
+                if (longitud <= 0 || longitud > archivo.length()) {
+                    break;
+                }
+                byte[] datos = new byte[longitud];
+                dis.readFully(datos);
+
+                CRC32C crc = new CRC32C();
+                crc.update(datos);
+                if ((int) crc.getValue() != crcEsperado) {
+                    break;
+                }
+
+                registros.add(decodificarRegistro(datos));
+                posicionValida += 8 + longitud;
+            }
+        } catch (EOFException e) {
+            // Registro incompleto al final del diario: se descarta
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            throw new PersistenciaException(archivo.getName(), "leer", e);
+        }
+        return posicionValida;
+    }
+
+    private Registro decodificarRegistro(byte[] datos) throws IOException, ClassNotFoundException {
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(datos));
+        long secuencia = dis.readLong();
+        byte operacion = dis.readByte();
+        String id = dis.readUTF();
+        Object entidad = null;
+        if (operacion == OPERACION_GUARDAR) {
+            byte formato = dis.readByte();
+            if (formato == FORMATO_CODEC_BINARIO) {
+                entidad = CodecBinario.leer(dis, dis.available()).get(0); // available(): lo que queda de "datos"
+            } else {
+                entidad = new ObjectInputStream(dis).readObject();
+            }
+        }
+        return new Registro(secuencia, operacion, id, entidad);
+    }
+
+    /*
+    Archiva el diario después de compactar en una instantánea: "<archivo>.log" pasa a ".log.1", los archivados
+    anteriores se corren una posición y se descarta el que supera la cantidad indicada. Con 0 segmentos el diario
+    simplemente se vacía. La secuencia continúa en el diario nuevo.
+    @param segmentos cantidad de diarios archivados a conservar (la misma que de generaciones de la instantánea)
+    */
+    public synchronized void archivar(int segmentos) throws PersistenciaException {
+        cantidadRegistros = 0;
+        if (!archivoDiario.exists()) {
+            return;
+        }
+        if (segmentos <= 0) {
+            truncar(0);
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivado(segmentos).toPath());
+            for (int i = segmentos - 1; i >= 1; i--) {
+                File anterior = archivado(i);
+                if (anterior.exists()) {
+                    Files.move(anterior.toPath(), archivado(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(archivoDiario.toPath(), archivado(1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new PersistenciaException(archivoDiario.getName(), "archivar", e);
+        }
+    }
+
+    private File archivado(int numero) {
+        return new File(archivoDiario.getPath() + "." + numero);
+    }
+
+    private void truncar(long longitud) throws PersistenciaException {
+        try (FileChannel canal = FileChannel.open(archivoDiario.toPath(), StandardOpenOption.WRITE)) {
+            canal.truncate(longitud);
+            canal.force(true);
+        } catch (IOException e) {
+            throw new PersistenciaException(archivoDiario.getName(), "truncar", e);
+        }
+    }
+
+    /*
+    Obtiene la cantidad de registros pendientes de compactar
+    */
+    public synchronized int getCantidadRegistros() throws PersistenciaException {
+        if (cantidadRegistros < 0) {
+            leerRegistros();
+        }
+        return cantidadRegistros;
+    }
+
+    /*
+    Última secuencia asignada (incluida en las instantáneas para descartar registros ya compactados)
+    */
+    public synchronized long getUltimaSecuencia() {
+        return ultimaSecuencia;
+    }
+
+    /*
+    Garantiza que las próximas secuencias sean mayores que la registrada en la instantánea cargada
+    */
+    public synchronized void asegurarSecuenciaMinima(long secuencia) {
+        ultimaSecuencia = Math.max(ultimaSecuencia, secuencia);
+    }
+
+    public boolean existe() {
+        return archivoDiario.exists() && archivoDiario.length() > 0;
+    }
+
+    /*
+    Registro individual del diario
+    */
+    public static class Registro {
+        private final long secuencia;
+        private final byte operacion;
+        private final String id;
+        private final Object entidad;
+
+        public Registro(long secuencia, byte operacion, String id, Object entidad) {
+            this.secuencia = secuencia;
+            this.operacion = operacion;
+            this.id = id;
+            this.entidad = entidad;
+        }
+
+        public long getSecuencia() { return secuencia; }
+        public byte getOperacion() { return operacion; }
+        public String getId() { return id; }
+        public Object getEntidad() { return entidad; }
+        public boolean esEliminacion() { return operacion == OPERACION_ELIMINAR; }
+    }
+}
@@ -0,0 +1,247 @@
+package persistence;
+
+import exceptions.PersistenciaException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Escritor de persistencia en segundo plano con confirmación agrupada (group commit).
+Las operaciones se encolan sin bloquear al llamador (normalmente el hilo de Swing), se agrupan por archivo
+y un hilo dedicado las escribe como máximo "retrasoMaximoMs" después de la primera operación pendiente.
+Varios cambios sobre la misma entidad antes de una escritura se reducen al último estado, y todos los
+registros de un archivo se agregan al diario con un único fsync.
+*/
+public class EscritorDiferido {
+    public static final long RETRASO_MAXIMO_MS = 200;
+
+    private final Object monitor = new Object();
+    private final Map<String, Pendiente> pendientes = new LinkedHashMap<>();
+    private volatile long retrasoMaximoMs;
+    private long primerEncolado = -1;
+    private long generacionEncolada = 0;
+    private long generacionEscrita = 0;
+    private boolean escribirAhora = false;
+    private PersistenciaException errorUltimoLote;
+    private volatile Thread hilo;
+
+    public EscritorDiferido(long retrasoMaximoMs) {
+        this.retrasoMaximoMs = retrasoMaximoMs;
+    }
+
+    /*
+    Encola un registro ya codificado para el diario de un archivo
+    @param origen gestor de almacenamiento dueño del diario
+    @param id entidad afectada; un registro posterior de la misma entidad reemplaza al anterior
+    @param instantanea estado completo ya codificado si corresponde compactar (incluye este registro), o null
+    */
+    void encolarRegistro(GestorAlmacenamiento origen, String archivo, String id, byte[] registro,
+                         ArchivoInstantanea.Codificada instantanea) {
+        synchronized (monitor) {
+            Pendiente pendiente = obtenerPendiente(origen, archivo);
+            pendiente.registros.remove(id); // Mantener el orden del último cambio
+            pendiente.registros.put(id, registro);
+            if (instantanea != null) {
+                pendiente.reemplazarPor(instantanea);
+            }
+            marcarEncolado();
+        }
+    }
+
+    /*
+    Encola la escritura de una instantánea completa ya codificada. Los registros pendientes del mismo archivo
+    ya están incluidos en ella: se agregan al diario justo antes de escribirla, para que el diario archivado
+    junto con la generación anterior tenga todos los cambios si hay que recuperarla.
+    */
+    void encolarInstantanea(GestorAlmacenamiento origen, String archivo, ArchivoInstantanea.Codificada instantanea) {
+        synchronized (monitor) {
+            obtenerPendiente(origen, archivo).reemplazarPor(instantanea);
+            marcarEncolado();
+        }
+    }
+
+    private Pendiente obtenerPendiente(GestorAlmacenamiento origen, String archivo) {
+        iniciarSiHaceFalta();
+        return pendientes.computeIfAbsent(archivo, a -> new Pendiente(origen, a));
+    }
+
+    private void marcarEncolado() {
+        generacionEncolada++;
+        if (primerEncolado < 0) {
+            primerEncolado = System.currentTimeMillis();
+        }
+        monitor.notifyAll();
+    }
+
+    /*
+    Barrera de durabilidad: bloquea hasta que todo lo encolado antes de la llamada esté escrito en disco
+    @throws PersistenciaException si la escritura de alguna de esas operaciones falló
+    */
+    public void sincronizar() throws PersistenciaException {
+        if (Thread.currentThread() == hilo) {
+            return;
+        }
+        synchronized (monitor) {
+            long objetivo = generacionEncolada;
+            if (objetivo > generacionEscrita) {
+                escribirAhora = true;
+                monitor.notifyAll();
+                while (generacionEscrita < objetivo) {
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new PersistenciaException("Sincronización interrumpida");
+                    }
+                }
+            }
+            if (errorUltimoLote != null) {
+                throw errorUltimoLote;
+            }
+        }
+    }
+
+    public void setRetrasoMaximoMs(long retrasoMaximoMs) {
+        if (retrasoMaximoMs >= 0) {
+            this.retrasoMaximoMs = retrasoMaximoMs;
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    public long getRetrasoMaximoMs() {
+        return retrasoMaximoMs;
+    }
+
+    private void iniciarSiHaceFalta() {
+        if (hilo != null) {
+            return;
+        }
+        hilo = new Thread(this::ejecutar, "escritor-persistencia");
+        hilo.setDaemon(true);
+        hilo.start();
+
+        // Escribir lo pendiente al cerrar la aplicación
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                sincronizar();
+            } catch (PersistenciaException e) {
+                System.err.println("Error guardando cambios pendientes al cerrar: " + e.getMessage());
+            }
+        }, "escritor-persistencia-cierre"));
+    }
+
+    private void ejecutar() {
+        while (true) {
+            List<Pendiente> lote;
+            long generacion;
+            synchronized (monitor) {
+                try {
+                    while (pendientes.isEmpty()) {
+                        monitor.wait();
+                    }
+                    long espera;
+                    while (!escribirAhora &&
+                            (espera = primerEncolado + retrasoMaximoMs - System.currentTimeMillis()) > 0) {
+                        monitor.wait(espera);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                lote = new ArrayList<>(pendientes.values());
+                pendientes.clear();
+                generacion = generacionEncolada;
+                escribirAhora = false;
+                primerEncolado = -1;
+            }
+
+            PersistenciaException error = null;
+            List<Pendiente> fallidos = new ArrayList<>();
+            for (Pendiente pendiente : lote) {
+                try {
+                    escribir(pendiente);
+                } catch (PersistenciaException | RuntimeException e) {
+                    System.err.println("Error escribiendo " + pendiente.archivo + ": " + e.getMessage());
+                    error = e instanceof PersistenciaException
+                            ? (PersistenciaException) e
+                            : new PersistenciaException(pendiente.archivo, "escribir", e);
+                    fallidos.add(pendiente);
+                }
+            }
+
+            synchronized (monitor) {
+                // Reintentar lo que falló junto con lo que se haya encolado mientras tanto
+                for (Pendiente fallido : fallidos) {
+                    Pendiente nuevo = pendientes.remove(fallido.archivo);
+                    if (nuevo != null) {
+                        fallido.combinar(nuevo);
+                    }
+                    pendientes.put(fallido.archivo, fallido);
+                    if (primerEncolado < 0) {
+                        primerEncolado = System.currentTimeMillis();
+                    }
+                }
+                errorUltimoLote = error;
+                generacionEscrita = generacion;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void escribir(Pendiente pendiente) throws PersistenciaException {
+        GestorAlmacenamiento origen = pendiente.origen;
+        if (pendiente.instantanea != null) {
+            if (!pendiente.previos.isEmpty()) {
+                origen.obtenerDiario(pendiente.archivo).agregarRegistros(new ArrayList<>(pendiente.previos.values()));
+                pendiente.previos.clear();
+            }
+            origen.guardar(pendiente.archivo, pendiente.instantanea);
+            pendiente.instantanea = null; // Si fallan los registros, el reintento no vuelve a escribirla
+        }
+        DiarioCambios diario = origen.obtenerDiario(pendiente.archivo);
+        diario.agregarRegistros(new ArrayList<>(pendiente.registros.values()));
+    }
+
+    /*
+    Operaciones pendientes de un archivo: una instantánea opcional, precedida por los registros que ya incluye,
+    y seguida de los registros posteriores a ella
+    */
+    private static class Pendiente {
+        private final GestorAlmacenamiento origen;
+        private final String archivo;
+        private final LinkedHashMap<String, byte[]> previos = new LinkedHashMap<>();
+        private final LinkedHashMap<String, byte[]> registros = new LinkedHashMap<>();
+        private ArchivoInstantanea.Codificada instantanea;
+
+        Pendiente(GestorAlmacenamiento origen, String archivo) {
+            this.origen = origen;
+            this.archivo = archivo;
+        }
+
+        void reemplazarPor(ArchivoInstantanea.Codificada instantanea) {
+            agregar(previos, registros);
+            registros.clear();
+            this.instantanea = instantanea;
+        }
+
+        void combinar(Pendiente posterior) {
+            if (posterior.instantanea != null) {
+                agregar(previos, registros);
+                agregar(previos, posterior.previos);
+                registros.clear();
+                instantanea = posterior.instantanea;
+            }
+            agregar(registros, posterior.registros);
+        }
+
+        private static void agregar(LinkedHashMap<String, byte[]> destino, Map<String, byte[]> nuevos) {
+            for (Map.Entry<String, byte[]> entrada : nuevos.entrySet()) {
+                destino.remove(entrada.getKey());
+                destino.put(entrada.getKey(), entrada.getValue());
+            }
+        }
+    }
+}
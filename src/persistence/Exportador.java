@@ -0,0 +1,360 @@
+package persistence;
+
+import exceptions.PersistenciaException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+Exportación de entidades a CSV o NDJSON (un objeto JSON por línea) escribiendo fila por fila.
+Cada fila se escribe directamente en un Writer con búfer, sin armar el archivo completo en memoria, así que
+la memoria usada no depende de la cantidad de filas. Permite elegir columnas, filtrar por un rango de fechas
+e informar el avance; si el hilo se interrumpe (por ejemplo, al cancelar un SwingWorker) la exportación se detiene.
+*/
+public class Exportador<T> {
+    public enum Formato { CSV, NDJSON }
+
+    /*
+    Recibe el avance de la exportación
+    @param procesadas entidades recorridas hasta ahora (exportadas o descartadas por el filtro)
+    @param total entidades a recorrer
+    */
+    public interface Progreso {
+        void avanzar(int procesadas, int total);
+    }
+
+    // Cada cuántas entidades se informa el avance
+    public static final int INTERVALO_PROGRESO = 500;
+
+    // DateTimeFormatter es inmutable: uno solo sirve para todas las filas y todos los hilos
+    private static final DateTimeFormatter FORMATO_FECHA =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final Map<String, Function<? super T, ?>> columnas = new LinkedHashMap<>();
+    private List<String> seleccion;
+    private Function<? super T, Date> fecha;
+    private Date desde;
+    private Date hasta;
+    private Formato formato = Formato.CSV;
+    private boolean comillasSiempre;
+    private Progreso progreso;
+
+    /*
+    Agrega una columna disponible
+    @param nombre encabezado en CSV y clave en NDJSON
+    @param valor valor de la columna para una entidad (texto, número, fecha, booleano o colección)
+    */
+    public Exportador<T> columna(String nombre, Function<? super T, ?> valor) {
+        columnas.put(nombre, valor);
+        return this;
+    }
+
+    /*
+    Define la fecha de cada entidad, usada por el filtro de entre()
+    */
+    public Exportador<T> fecha(Function<? super T, Date> fecha) {
+        this.fecha = fecha;
+        return this;
+    }
+
+    /*
+    Exporta solo las columnas indicadas, en ese orden (null o vacío: todas)
+    */
+    public Exportador<T> seleccionar(Collection<String> nombres) {
+        if (nombres == null || nombres.isEmpty()) {
+            this.seleccion = null;
+            return this;
+        }
+        for (String nombre : nombres) {
+            if (!columnas.containsKey(nombre)) {
+                throw new IllegalArgumentException("Columna desconocida: " + nombre);
+            }
+        }
+        this.seleccion = new ArrayList<>(nombres);
+        return this;
+    }
+
+    /*
+    Exporta solo las entidades con fecha dentro del rango (extremos incluidos; null deja el extremo abierto).
+    Si el tipo no define fecha(), el rango no se aplica.
+    */
+    public Exportador<T> entre(Date desde, Date hasta) {
+        this.desde = desde;
+        this.hasta = hasta;
+        return this;
+    }
+
+    public Exportador<T> formato(Formato formato) {
+        this.formato = formato;
+        return this;
+    }
+
+    /*
+    En CSV, pone entre comillas todas las celdas de texto (no solo las que lo necesitan), como los CSV que
+    la aplicación generaba antes de este exportador. Los números y booleanos se siguen escribiendo sin comillas.
+    */
+    public Exportador<T> comillasSiempre(boolean comillasSiempre) {
+        this.comillasSiempre = comillasSiempre;
+        return this;
+    }
+
+    public Exportador<T> alAvanzar(Progreso progreso) {
+        this.progreso = progreso;
+        return this;
+    }
+
+    public List<String> getColumnas() {
+        return new ArrayList<>(columnas.keySet());
+    }
+
+    public boolean tieneFecha() {
+        return fecha != null;
+    }
+
+    /*
+    Exporta a un archivo. Se escribe en un temporal que reemplaza al destino recién al terminar,
+    así una exportación cancelada o fallida no deja un archivo a medias.
+    @return cantidad de filas exportadas
+    */
+    public int exportar(Collection<? extends T> datos, Path archivo) throws PersistenciaException {
+        Path destino = archivo.toAbsolutePath();
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        int filas;
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer salida = new BufferedWriter(Channels.newWriter(canal, StandardCharsets.UTF_8), 64 * 1024)) {
+            filas = exportar(datos, salida);
+        } catch (IOException e) {
+            borrarTemporal(temporal);
+            throw new PersistenciaException(archivo.toString(), "escribir", e);
+        } catch (PersistenciaException | RuntimeException e) {
+            borrarTemporal(temporal);
+            throw e;
+        }
+
+        try {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            borrarTemporal(temporal);
+            throw new PersistenciaException(archivo.toString(), "renombrar", e);
+        }
+        System.out.println("[INFO] Exportadas " + filas + " filas a " + destino + ".");
+        return filas;
+    }
+
+    /*
+    Exporta a un Writer ya abierto (no se cierra; sí se vacía al final)
+    @return cantidad de filas exportadas
+    */
+    public int exportar(Collection<? extends T> datos, Writer salida) throws PersistenciaException {
+        List<String> nombres = seleccion != null ? seleccion : getColumnas();
+        List<Function<? super T, ?>> valores = new ArrayList<>(nombres.size());
+        for (String nombre : nombres) {
+            valores.add(columnas.get(nombre));
+        }
+
+        int total = datos.size();
+        int procesadas = 0;
+        int filas = 0;
+        try {
+            if (formato == Formato.CSV) {
+                escribirEncabezadoCsv(nombres, salida);
+            }
+            for (T entidad : datos) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Exportación cancelada");
+                }
+                if (dentroDelRango(entidad)) {
+                    if (formato == Formato.CSV) {
+                        escribirFilaCsv(entidad, valores, salida);
+                    } else {
+                        escribirFilaNdjson(entidad, nombres, valores, salida);
+                    }
+                    filas++;
+                }
+                procesadas++;
+                if (progreso != null && procesadas % INTERVALO_PROGRESO == 0) {
+                    progreso.avanzar(procesadas, total);
+                }
+            }
+            salida.flush();
+        } catch (IOException e) {
+            throw new PersistenciaException("exportación", "escribir", e);
+        }
+        if (progreso != null) {
+            progreso.avanzar(procesadas, total);
+        }
+        return filas;
+    }
+
+    private boolean dentroDelRango(T entidad) {
+        if (fecha == null || (desde == null && hasta == null)) {
+            return true;
+        }
+        Date valor = fecha.apply(entidad);
+        if (valor == null) {
+            return false;
+        }
+        return (desde == null || !valor.before(desde)) && (hasta == null || !valor.after(hasta));
+    }
+
+    /* ===== CSV ===== */
+
+    private static void escribirEncabezadoCsv(List<String> nombres, Writer salida) throws IOException {
+        for (int i = 0; i < nombres.size(); i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            escribirCeldaCsv(nombres.get(i), false, salida);
+        }
+        salida.write('\n');
+    }
+
+    private void escribirFilaCsv(T entidad, List<Function<? super T, ?>> valores, Writer salida) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            Object valor = valores.get(i).apply(entidad);
+            if (valor instanceof Number || valor instanceof Boolean) {
+                salida.write(valor.toString());
+            } else if (valor != null) {
+                escribirCeldaCsv(comoTexto(valor), comillasSiempre, salida);
+            }
+        }
+        salida.write('\n');
+    }
+
+    /*
+    Las celdas con coma, comillas o saltos de línea (o todas, si se pide) van entre comillas, con las comillas
+    internas duplicadas
+    */
+    private static void escribirCeldaCsv(String texto, boolean comillasSiempre, Writer salida) throws IOException {
+        boolean comillas = comillasSiempre;
+        for (int i = 0; i < texto.length() && !comillas; i++) {
+            char c = texto.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            salida.write(texto);
+            return;
+        }
+        salida.write('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"') {
+                salida.write('"');
+            }
+            salida.write(c);
+        }
+        salida.write('"');
+    }
+
+    /* ===== NDJSON ===== */
+
+    private void escribirFilaNdjson(T entidad, List<String> nombres, List<Function<? super T, ?>> valores,
+                                    Writer salida) throws IOException {
+        salida.write('{');
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            escribirTextoJson(nombres.get(i), salida);
+            salida.write(':');
+            escribirValorJson(valores.get(i).apply(entidad), salida);
+        }
+        salida.write("}\n");
+    }
+
+    private static void escribirValorJson(Object valor, Writer salida) throws IOException {
+        if (valor == null) {
+            salida.write("null");
+        } else if (valor instanceof Boolean) {
+            salida.write(valor.toString());
+        } else if (valor instanceof Number) {
+            double numero = ((Number) valor).doubleValue();
+            // JSON no admite NaN ni infinitos
+            salida.write(Double.isNaN(numero) || Double.isInfinite(numero) ? "null" : valor.toString());
+        } else if (valor instanceof Collection) {
+            salida.write('[');
+            boolean primero = true;
+            for (Object elemento : (Collection<?>) valor) {
+                if (!primero) {
+                    salida.write(',');
+                }
+                escribirValorJson(elemento, salida);
+                primero = false;
+            }
+            salida.write(']');
+        } else {
+            escribirTextoJson(comoTexto(valor), salida);
+        }
+    }
+
+    private static void escribirTextoJson(String texto, Writer salida) throws IOException {
+        salida.write('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> salida.write("\\\"");
+                case '\\' -> salida.write("\\\\");
+                case '\n' -> salida.write("\\n");
+                case '\r' -> salida.write("\\r");
+                case '\t' -> salida.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        salida.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        salida.write(c);
+                    }
+                }
+            }
+        }
+        salida.write('"');
+    }
+
+    /* ===== Valores ===== */
+
+    private static String comoTexto(Object valor) {
+        if (valor instanceof Date) {
+            return FORMATO_FECHA.format(((Date) valor).toInstant());
+        }
+        if (valor instanceof Collection) {
+            StringBuilder texto = new StringBuilder();
+            for (Object elemento : (Collection<?>) valor) {
+                if (texto.length() > 0) {
+                    texto.append("; ");
+                }
+                texto.append(elemento);
+            }
+            return texto.toString();
+        }
+        return valor.toString();
+    }
+
+    private static void borrarTemporal(Path temporal) {
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            System.err.println("[WARNING] No se pudo borrar el temporal " + temporal + ": " + e.getMessage());
+        }
+    }
+}
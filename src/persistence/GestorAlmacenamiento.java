@@ -2,28 +2,225 @@ package persistence;
 
 import exceptions.PersistenciaException;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class GestorAlmacenamiento {
-    public void guardar(String archivo, Object datos) throws PersistenciaException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(archivo))) {
-            oos.writeObject(datos);
-        } catch (IOException e) {
-            throw new PersistenciaException("Error guardando " + archivo, e);
-        }
-    }
+    // Cantidad de registros del diario a partir de la cual se compacta en una instantánea completa
+    public static final int UMBRAL_COMPACTACION = 200;
+
+    // Escritor en segundo plano compartido por todos los archivos de la aplicación
+    private static final EscritorDiferido ESCRITOR = new EscritorDiferido(EscritorDiferido.RETRASO_MAXIMO_MS);
+
+    private final Map<String, DiarioCambios> diarios = new HashMap<>();
+    // Registros encolados desde la última instantánea de cada archivo
+    private final Map<String, Integer> registrosSinCompactar = new HashMap<>();
+    private int umbralCompactacion = UMBRAL_COMPACTACION;
+    // Cerrado al reemplazar los gestores que lo usan: ya no se encolan escrituras desde esta instancia
+    private boolean cerrado;
+    private int generaciones = ArchivoInstantanea.GENERACIONES;
 
     public Object cargar(String archivo) throws PersistenciaException {
-        if (!new File(archivo).exists()) {
+        ArchivoInstantanea.Contenido contenido = ArchivoInstantanea.leer(archivo, generaciones);
+        return contenido != null ? contenido.getDatos() : null;
+    }
+
+    /*
+    Carga una lista desde su instantánea y reaplica los cambios registrados en el diario
+    @param archivo archivo de la instantánea
+    @param idDe función que obtiene el identificador de cada entidad
+    @return lista reconstruida, o null si no existe ni instantánea ni diario
+    */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> cargarLista(String archivo, Function<T, String> idDe) throws PersistenciaException {
+        sincronizar(); // Incluir los cambios que todavía estén en cola
+        ArchivoInstantanea.Contenido instantanea = ArchivoInstantanea.leer(archivo, generaciones);
+        DiarioCambios diario = obtenerDiario(archivo);
+        if (instantanea == null && !diario.existe()) {
             return null;
         }
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(archivo))) {
-            return ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            throw new PersistenciaException("Error cargando " + archivo, e);
+
+        Map<String, T> porId = new LinkedHashMap<>();
+        long secuenciaInstantanea = 0;
+        if (instantanea != null) {
+            for (T entidad : (List<T>) instantanea.getDatos()) {
+                porId.put(idDe.apply(entidad), entidad);
+            }
+            secuenciaInstantanea = instantanea.getSecuenciaDiario();
+            diario.asegurarSecuenciaMinima(secuenciaInstantanea);
+        }
+
+        // Los diarios archivados solo hacen falta si se recuperó una generación anterior de la instantánea,
+        // pero se leen siempre: los registros hasta la secuencia de la instantánea ya están incluidos en ella
+        List<DiarioCambios.Registro> leidos = new ArrayList<>(diario.leerRegistrosArchivados(generaciones));
+        leidos.addAll(diario.leerRegistros());
+        List<DiarioCambios.Registro> registros = new ArrayList<>();
+        for (DiarioCambios.Registro registro : leidos) {
+            diario.asegurarSecuenciaMinima(registro.getSecuencia());
+            if (registro.getSecuencia() > secuenciaInstantanea) {
+                registros.add(registro);
+            }
+        }
+        // Las secuencias son consecutivas: si el primer registro no sigue a la instantánea, faltan cambios
+        // (por ejemplo, se recuperó una generación anterior y su diario ya no existe). No se carga a medias.
+        if (!registros.isEmpty() && registros.get(0).getSecuencia() != secuenciaInstantanea + 1) {
+            throw new PersistenciaException("Faltan los cambios " + (secuenciaInstantanea + 1) + " a " +
+                    (registros.get(0).getSecuencia() - 1) + " del diario de " + archivo + " (instantánea " +
+                    (instantanea != null ? instantanea.getOrigen() : "inexistente") + "); se requiere recuperación manual");
+        }
+        for (DiarioCambios.Registro registro : registros) {
+            if (registro.esEliminacion()) {
+                porId.remove(registro.getId());
+            } else {
+                porId.put(registro.getId(), (T) registro.getEntidad());
+            }
+        }
+        if (!registros.isEmpty()) {
+            System.out.println("[INFO] Reaplicados " + registros.size() + " cambios del diario de " + archivo + ".");
+        }
+
+        return new ArrayList<>(porId.values());
+    }
+
+    /*
+    Registra en el diario el estado nuevo de una entidad (alta o modificación).
+    La escritura se realiza en segundo plano; el registro se codifica aquí para capturar el estado actual.
+    Cada UMBRAL_COMPACTACION registros se codifica también la lista completa, que reemplaza al diario; debe
+    llamarse con el bloqueo del gestor dueño de la lista para que la instantánea sea consistente.
+    @param estadoCompleto lista completa, usada solo si corresponde compactar; con null solo se cuenta el registro y
+    el gestor compacta aparte (ver compactacionPendiente)
+    */
+    public void registrarGuardado(String archivo, String id, Object entidad, List<?> estadoCompleto)
+            throws PersistenciaException {
+        byte[] registro = DiarioCambios.codificarRegistro(DiarioCambios.OPERACION_GUARDAR, id, entidad);
+        encolarRegistro(archivo, id, registro, estadoCompleto);
+    }
+
+    /*
+    Registra en el diario la eliminación de una entidad (escritura en segundo plano)
+    @param estadoCompleto lista completa, usada solo si corresponde compactar
+    */
+    public void registrarEliminacion(String archivo, String id, List<?> estadoCompleto)
+            throws PersistenciaException {
+        byte[] registro = DiarioCambios.codificarRegistro(DiarioCambios.OPERACION_ELIMINAR, id, null);
+        encolarRegistro(archivo, id, registro, estadoCompleto);
+    }
+
+    /*
+    Programa la escritura de una instantánea completa en segundo plano.
+    Los datos se codifican en el hilo que llama; si se llama varias veces antes de escribir, solo se escribe el último estado.
+    */
+    public void guardarDiferido(String archivo, Object datos) throws PersistenciaException {
+        ArchivoInstantanea.Codificada instantanea = ArchivoInstantanea.codificar(archivo, datos);
+        synchronized (this) {
+            verificarAbierto();
+            registrosSinCompactar.put(archivo, 0);
+            ESCRITOR.encolarInstantanea(this, archivo, instantanea);
+        }
+    }
+
+    private void encolarRegistro(String archivo, String id, byte[] registro, List<?> estadoCompleto)
+            throws PersistenciaException {
+        ArchivoInstantanea.Codificada instantanea = instantaneaSiCorresponde(archivo, estadoCompleto);
+        synchronized (this) {
+            // Verificar y encolar juntos: después de cerrar() no puede quedar nada en camino al escritor
+            verificarAbierto();
+            ESCRITOR.encolarRegistro(this, archivo, id, registro, instantanea);
+        }
+    }
+
+    /*
+    Indica si el diario del archivo llegó al umbral de compactación. Lo usan los gestores que registran cambios sin
+    su bloqueo general (pasando null como estado completo) y guardan la lista completa aparte, con guardarDiferido(),
+    una vez que pueden tomar los bloqueos que la dejan consistente.
+    */
+    public synchronized boolean compactacionPendiente(String archivo) {
+        Integer cantidad = registrosSinCompactar.get(archivo);
+        return cantidad != null && cantidad >= umbralCompactacion;
+    }
+
+    /*
+    Deja de aceptar escrituras. Se usa cuando otra instancia pasa a ser la dueña de los mismos archivos
+    (al recargar los datos), para que dos diarios no agreguen registros al mismo ".log" con secuencias
+    independientes. Lo ya encolado se sigue escribiendo: hay que llamar a sincronizar() antes de crear la nueva.
+    */
+    public synchronized void cerrar() {
+        cerrado = true;
+    }
+
+    private void verificarAbierto() throws PersistenciaException {
+        if (cerrado) {
+            throw new PersistenciaException("El almacenamiento se cerró porque los datos se recargaron");
+        }
+    }
+
+    /*
+    Espera a que todas las escrituras encoladas hasta ahora estén en disco
+    */
+    public void sincronizar() throws PersistenciaException {
+        ESCRITOR.sincronizar();
+    }
+
+    /*
+    Define el retraso máximo entre un cambio y su escritura en disco (compartido por toda la aplicación)
+    */
+    public static void setRetrasoMaximoEscritura(long retrasoMaximoMs) {
+        ESCRITOR.setRetrasoMaximoMs(retrasoMaximoMs);
+    }
+
+    /*
+    Cuenta el registro y, al llegar al umbral, codifica la lista completa para compactar el diario
+    @return instantánea codificada, o null si todavía no corresponde compactar
+    */
+    private ArchivoInstantanea.Codificada instantaneaSiCorresponde(String archivo, List<?> estadoCompleto)
+            throws PersistenciaException {
+        synchronized (this) {
+            Integer cantidad = registrosSinCompactar.get(archivo);
+            int registros = (cantidad != null ? cantidad : obtenerDiario(archivo).getCantidadRegistros()) + 1;
+            if (estadoCompleto == null || registros < umbralCompactacion) {
+                registrosSinCompactar.put(archivo, registros);
+                return null;
+            }
+            registrosSinCompactar.put(archivo, 0);
+        }
+        return ArchivoInstantanea.codificar(archivo, new ArrayList<>(estadoCompleto));
+    }
+
+    /*
+    Escribe una instantánea ya codificada y vacía el diario (la llama el hilo escritor)
+    */
+    void guardar(String archivo, ArchivoInstantanea.Codificada instantanea) throws PersistenciaException {
+        DiarioCambios diario = obtenerDiario(archivo);
+        ArchivoInstantanea.escribir(archivo, instantanea, diario.getUltimaSecuencia(), generaciones);
+        // La instantánea ya contiene todos los cambios registrados en el diario; se archiva junto con las
+        // generaciones por si esta instantánea resulta dañada y hay que recuperar una anterior
+        diario.archivar(generaciones);
+    }
+
+    synchronized DiarioCambios obtenerDiario(String archivo) {
+        return diarios.computeIfAbsent(archivo, DiarioCambios::new);
+    }
+
+    public void setUmbralCompactacion(int umbralCompactacion) {
+        if (umbralCompactacion > 0) {
+            this.umbralCompactacion = umbralCompactacion;
+        }
+    }
+
+    /*
+    Define cuántas generaciones anteriores de cada instantánea se conservan para recuperación
+    */
+    public void setGeneraciones(int generaciones) {
+        if (generaciones >= 0) {
+            this.generaciones = generaciones;
         }
     }
 
     public boolean existeArchivo(String archivo) {
         return new File(archivo).exists();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package persistence;
+
+import exceptions.PersistenciaException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+Secuencias de identificadores por prefijo (ACT-, VOL-, COORD-, RES-, REC-).
+Cada prefijo tiene un contador atómico que entrega IDs en O(1) sin recorrer los datos existentes.
+Los contadores se guardan en "secuencias.dat" y, al cargar cada archivo de datos, los gestores informan
+los IDs existentes para que la secuencia nunca quede por detrás de ellos (por ejemplo, si la aplicación
+se cerró antes de escribir los contadores).
+*/
+public class GestorSecuencias {
+    public static final String PREFIJO_ACTIVIDAD = "ACT-";
+    public static final String PREFIJO_VOLUNTARIO = "VOL-";
+    public static final String PREFIJO_COORDINADOR = "COORD-";
+    public static final String PREFIJO_RESULTADO = "RES-";
+    public static final String PREFIJO_RECURSO = "REC-";
+
+    private static final String ARCHIVO_SECUENCIAS = "secuencias.dat";
+    private static GestorSecuencias instancia;
+
+    private final GestorAlmacenamiento gestorAlmacenamiento = new GestorAlmacenamiento();
+    private final Map<String, AtomicLong> contadores = new ConcurrentHashMap<>();
+
+    /*
+    Las secuencias son únicas para toda la aplicación, aunque se creen varios GestorGeneral
+    */
+    public static synchronized GestorSecuencias getInstancia() {
+        if (instancia == null) {
+            instancia = new GestorSecuencias();
+        }
+        return instancia;
+    }
+
+    private GestorSecuencias() {
+        cargar();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cargar() {
+        try {
+            Object datos = gestorAlmacenamiento.cargar(ARCHIVO_SECUENCIAS);
+            if (datos instanceof Map) {
+                for (Map.Entry<String, Long> entrada : ((Map<String, Long>) datos).entrySet()) {
+                    contadores.put(entrada.getKey(), new AtomicLong(entrada.getValue()));
+                }
+            }
+        } catch (PersistenciaException | ClassCastException e) {
+            // Los contadores se reconstruyen a partir de los IDs existentes al cargar cada archivo
+            System.err.println("Error cargando secuencias: " + e.getMessage());
+        }
+    }
+
+    private AtomicLong contador(String prefijo) {
+        return contadores.computeIfAbsent(prefijo, p -> new AtomicLong());
+    }
+
+    /*
+    Entrega el siguiente número de la secuencia
+    */
+    public long siguiente(String prefijo) {
+        long valor = contador(prefijo).incrementAndGet();
+        guardar();
+        return valor;
+    }
+
+    /*
+    Entrega el siguiente ID con formato "<prefijo>001"
+    */
+    public String siguienteId(String prefijo) {
+        return formatear(prefijo, siguiente(prefijo));
+    }
+
+    /*
+    Muestra el próximo ID sin consumirlo (puede cambiar si otro hilo pide uno antes)
+    */
+    public String verSiguienteId(String prefijo) {
+        return formatear(prefijo, contador(prefijo).get() + 1);
+    }
+
+    /*
+    Reserva un bloque de IDs consecutivos con una sola operación, para importaciones masivas
+    @param cantidad cantidad de IDs a reservar
+    */
+    public Bloque reservarBloque(String prefijo, int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor que cero: " + cantidad);
+        }
+        long hasta = contador(prefijo).addAndGet(cantidad);
+        guardar();
+        return new Bloque(prefijo, hasta - cantidad + 1, hasta);
+    }
+
+    /*
+    Garantiza que la secuencia no entregue un ID igual o menor a uno ya existente
+    @param id ID existente; se ignora si no tiene el prefijo o su sufijo no es numérico
+    */
+    public void registrarExistente(String prefijo, String id) {
+        asegurarMinimo(prefijo, numeroDe(prefijo, id));
+    }
+
+    /*
+    Igual que registrarExistente para todos los IDs cargados de un archivo, con una sola actualización
+    */
+    public void registrarExistentes(String prefijo, Iterable<String> ids) {
+        long maximo = 0;
+        for (String id : ids) {
+            maximo = Math.max(maximo, numeroDe(prefijo, id));
+        }
+        asegurarMinimo(prefijo, maximo);
+    }
+
+    private void asegurarMinimo(String prefijo, long numero) {
+        AtomicLong contador = contador(prefijo);
+        if (numero > 0 && contador.get() < numero) {
+            contador.accumulateAndGet(numero, Math::max);
+            guardar();
+        }
+    }
+
+    private static long numeroDe(String prefijo, String id) {
+        if (id == null || !id.startsWith(prefijo)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(id.substring(prefijo.length()));
+        } catch (NumberFormatException e) {
+            return 0; // Ignorar IDs que no siguen el formato
+        }
+    }
+
+    private static String formatear(String prefijo, long numero) {
+        return String.format("%s%03d", prefijo, numero);
+    }
+
+    // La escritura se agrupa en segundo plano con el resto de cambios. Los contadores se copian aquí y no en el
+    // hilo escritor; synchronized asegura que las copias se encolen en el mismo orden en que se tomaron
+    private synchronized void guardar() {
+        Map<String, Long> copia = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entrada : contadores.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue().get());
+        }
+        try {
+            gestorAlmacenamiento.guardarDiferido(ARCHIVO_SECUENCIAS, copia);
+        } catch (PersistenciaException e) {
+            // Se reconstruyen a partir de los IDs existentes en la próxima carga
+            System.err.println("Error guardando secuencias: " + e.getMessage());
+        }
+    }
+
+    /*
+    Bloque de IDs reservados con reservarBloque
+    */
+    public static class Bloque {
+        private final String prefijo;
+        private final long desde;
+        private final long hasta;
+        private long siguiente;
+
+        Bloque(String prefijo, long desde, long hasta) {
+            this.prefijo = prefijo;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.siguiente = desde;
+        }
+
+        public boolean hayMas() {
+            return siguiente <= hasta;
+        }
+
+        public String siguienteId() {
+            if (!hayMas()) {
+                throw new IllegalStateException("Bloque de IDs agotado: " + formatear(prefijo, hasta));
+            }
+            return formatear(prefijo, siguiente++);
+        }
+
+        public long getDesde() { return desde; }
+        public long getHasta() { return hasta; }
+    }
+}
@@ -0,0 +1,110 @@
+package persistence;
+
+import model.Actividad;
+import model.Brigada;
+import model.Coordinador;
+import model.Usuario;
+import model.Voluntario;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+Mapa de identidades usado al arrancar para resolver las referencias entre archivos.
+Los archivos guardan solo el ID de las entidades referenciadas (ver CodecBinario); este mapa reemplaza esas
+referencias por la única instancia cargada de cada usuario y brigada, de modo que cada Voluntario o Brigada
+existe una sola vez en memoria.
+Orden de resolución: usuarios -> brigadas -> actividades.
+*/
+public class MapaIdentidades {
+    private final Map<String, Usuario> usuarios = new HashMap<>();
+    private final Map<String, Brigada> brigadas = new HashMap<>();
+
+    public void registrarUsuarios(Collection<? extends Usuario> lista) {
+        for (Usuario usuario : lista) {
+            usuarios.put(usuario.getId(), usuario);
+        }
+    }
+
+    public void registrarBrigadas(Collection<Brigada> lista) {
+        for (Brigada brigada : lista) {
+            brigadas.put(brigada.getId(), brigada);
+        }
+    }
+
+    public Usuario buscarUsuario(String id) {
+        return usuarios.get(id);
+    }
+
+    public Brigada buscarBrigada(String id) {
+        return brigadas.get(id);
+    }
+
+    /*
+    Reemplaza el coordinador y los voluntarios de una brigada por sus instancias canónicas.
+    Las referencias a usuarios que ya no existen se descartan; las copias completas de archivos
+    antiguos sin usuario correspondiente se conservan tal cual.
+    @return cantidad de referencias que no se pudieron resolver
+    */
+    public int resolverBrigada(Brigada brigada) {
+        int sinResolver = 0;
+
+        Coordinador coordinador = brigada.getCoordinador();
+        if (coordinador != null) {
+            Usuario canonico = usuarios.get(coordinador.getId());
+            if (canonico instanceof Coordinador) {
+                brigada.setCoordinador((Coordinador) canonico);
+            } else if (esStub(coordinador)) {
+                brigada.setCoordinador(null);
+                sinResolver++;
+            }
+        }
+
+        List<Voluntario> resueltos = new ArrayList<>(brigada.getVoluntarios().size());
+        Set<String> incluidos = new HashSet<>();
+        for (Voluntario voluntario : brigada.getVoluntarios()) {
+            Usuario canonico = usuarios.get(voluntario.getId());
+            if (canonico instanceof Voluntario) {
+                if (incluidos.add(canonico.getId())) {
+                    resueltos.add((Voluntario) canonico);
+                }
+            } else if (esStub(voluntario)) {
+                sinResolver++;
+            } else {
+                resueltos.add(voluntario);
+            }
+        }
+        brigada.setVoluntarios(resueltos);
+        return sinResolver;
+    }
+
+    /*
+    Reemplaza la brigada asociada a una actividad por su instancia canónica.
+    Si la brigada ya no existe se conserva la referencia (ID y nombre) para no perder el historial. Los archivos
+    de la versión 2 del códec guardaban solo el ID: esas referencias quedan sin nombre, por lo que quien muestre
+    la brigada de una actividad debe tolerar un nombre nulo.
+    @return 1 si la referencia no se pudo resolver, 0 en otro caso
+    */
+    public int resolverActividad(Actividad actividad) {
+        Brigada brigada = actividad.getBrigadaAsociada();
+        if (brigada == null) {
+            return 0;
+        }
+        Brigada canonica = brigadas.get(brigada.getId());
+        if (canonica != null) {
+            actividad.setBrigadaAsociada(canonica);
+            return 0;
+        }
+        return brigada.getNombre() == null ? 1 : 0;
+    }
+
+    // Un stub contiene solo el ID (ver CodecBinario)
+    private static boolean esStub(Usuario usuario) {
+        return usuario.getNombre() == null;
+    }
+}